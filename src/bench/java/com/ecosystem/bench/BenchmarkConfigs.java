@@ -0,0 +1,52 @@
+package com.ecosystem.bench;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.utils.ConfigLoader;
+
+/**
+ * Tạo cấu hình và hệ sinh thái cố định seed cho benchmark, để mọi lần chạy
+ * đo trên đúng cùng một trạng thái.
+ */
+final class BenchmarkConfigs {
+
+    static final long SEED = 42;
+
+    private BenchmarkConfigs() {
+    }
+
+    /**
+     * Cấu hình scenario đã phóng to.
+     *
+     * @param scenario Tên scenario trong ecosystem.yaml
+     * @param scale    Hệ số diện tích grid (mật độ giữ nguyên)
+     * @param density  Hệ số nhân số lượng ban đầu trên cùng diện tích
+     * @return Cấu hình với seed cố định
+     */
+    static EcosystemConfig create(String scenario, double scale, double density) {
+        EcosystemConfig config = ConfigLoader.loadScenario(scenario, scale);
+        return EcosystemConfig.builder(config)
+                .initialPopulation(
+                        (int) Math.round(config.getInitialProducers() * density),
+                        (int) Math.round(config.getInitialHerbivores() * density),
+                        (int) Math.round(config.getInitialCarnivores() * density))
+                .seed(SEED)
+                .build();
+    }
+
+    /**
+     * Hệ sinh thái đã khởi tạo và chạy trước một số tick.
+     *
+     * @param config      Cấu hình
+     * @param warmupTicks Số tick chạy trước
+     * @return Hệ sinh thái
+     */
+    static Ecosystem createEcosystem(EcosystemConfig config, int warmupTicks) {
+        Ecosystem ecosystem = new Ecosystem(config);
+        ecosystem.initialize();
+        for (int i = 0; i < warmupTicks; i++) {
+            ecosystem.update();
+        }
+        return ecosystem;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecosystem.bench;
+
+import com.ecosystem.model.Cell;
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.Producer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark addOrganism/removeOrganism: thêm một Producer vào ô trống rồi
+ * gỡ ra ngay, nên trạng thái hệ sinh thái không đổi giữa các lần gọi.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EcosystemMutationBenchmark {
+
+    @Param({ "balanced", "overpopulation", "extinction" })
+    public String scenario;
+
+    @Param({ "1", "4", "16" })
+    public double scale;
+
+    private EcosystemConfig config;
+    private Ecosystem ecosystem;
+    private List<Cell> emptyCells;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkConfigs.create(scenario, scale, 1);
+        ecosystem = BenchmarkConfigs.createEcosystem(config, 5);
+        emptyCells = ecosystem.getEmptyCells();
+    }
+
+    @Benchmark
+    public boolean addAndRemoveOrganism() {
+        next = (next + 1) % emptyCells.size();
+        Cell cell = emptyCells.get(next);
+        Producer producer = new Producer(cell.getX(), cell.getY(), config);
+        boolean added = ecosystem.addOrganism(producer);
+        ecosystem.removeOrganism(producer);
+        return added;
+    }
+}
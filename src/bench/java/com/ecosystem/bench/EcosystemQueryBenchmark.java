@@ -0,0 +1,106 @@
+package com.ecosystem.bench;
+
+import com.ecosystem.model.Carnivore;
+import com.ecosystem.model.Cell;
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.model.Herbivore;
+import com.ecosystem.model.Organism;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark các truy vấn chỉ đọc trên một trạng thái cố định: tìm thức ăn,
+ * tìm ô trống và thống kê.
+ *
+ * Truy vấn theo vị trí/sinh vật lần lượt đi qua một danh sách chọn trước
+ * (seed cố định) để không đo mãi một điểm nóng trong cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EcosystemQueryBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({ "balanced", "overpopulation", "extinction" })
+    public String scenario;
+
+    @Param({ "1", "4", "16" })
+    public double scale;
+
+    private Ecosystem ecosystem;
+    private int[] sampleX;
+    private int[] sampleY;
+    private List<Herbivore> herbivores;
+    private List<Carnivore> carnivores;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ecosystem = BenchmarkConfigs.createEcosystem(BenchmarkConfigs.create(scenario, scale, 1), 5);
+        herbivores = ecosystem.getHerbivores();
+        carnivores = ecosystem.getCarnivores();
+
+        Random random = new Random(BenchmarkConfigs.SEED);
+        sampleX = new int[SAMPLES];
+        sampleY = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            sampleX[i] = random.nextInt(ecosystem.getWidth());
+            sampleY[i] = random.nextInt(ecosystem.getHeight());
+        }
+    }
+
+    private int nextSample() {
+        next = (next + 1) & (SAMPLES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public List<Cell> getEmptyCells() {
+        return ecosystem.getEmptyCells();
+    }
+
+    @Benchmark
+    public List<Cell> getEmptyNeighbors() {
+        int i = nextSample();
+        return ecosystem.getEmptyNeighbors(sampleX[i], sampleY[i]);
+    }
+
+    @Benchmark
+    public EcosystemStats getStatistics() {
+        return ecosystem.getStatistics();
+    }
+
+    @Benchmark
+    public Organism herbivoreFindFood() {
+        if (herbivores.isEmpty()) {
+            return null;
+        }
+        return herbivores.get(nextSample() % herbivores.size()).findFood(ecosystem);
+    }
+
+    @Benchmark
+    public Organism carnivoreFindFood() {
+        if (carnivores.isEmpty()) {
+            return null;
+        }
+        return carnivores.get(nextSample() % carnivores.size()).findFood(ecosystem);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecosystem.bench;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark Ecosystem.update() và Ecosystem.initialize() theo scenario,
+ * kích thước grid và mật độ.
+ *
+ * update() chạy ở chế độ SingleShotTime: mỗi iteration dựng lại hệ sinh
+ * thái từ cùng trạng thái (seed cố định, sau 10 tick) rồi đo đúng
+ * UPDATE_BATCH tick liên tiếp, nên mọi iteration và mọi lần chạy đo cùng
+ * các thế hệ. Số đo là thời gian của cả batch, không phải của một tick.
+ * (Iteration tính theo thời gian sẽ chạy số tick tùy tốc độ máy và quần thể
+ * trôi qua hàng nghìn thế hệ.)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EcosystemUpdateBenchmark {
+
+    // Số tick mỗi iteration của update()
+    static final int UPDATE_BATCH = 50;
+
+    @Param({ "balanced", "overpopulation", "extinction" })
+    public String scenario;
+
+    // Hệ số diện tích grid (50x30 gốc)
+    @Param({ "1", "4", "16" })
+    public double scale;
+
+    // Hệ số số lượng ban đầu trên cùng diện tích
+    @Param({ "1", "2" })
+    public double density;
+
+    private EcosystemConfig config;
+    private Ecosystem ecosystem;
+
+    @Setup(Level.Trial)
+    public void setUpConfig() {
+        config = BenchmarkConfigs.create(scenario, scale, density);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpEcosystem() {
+        ecosystem = BenchmarkConfigs.createEcosystem(config, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = UPDATE_BATCH)
+    @Measurement(iterations = 20, batchSize = UPDATE_BATCH)
+    public int update() {
+        ecosystem.update();
+        return ecosystem.getGeneration();
+    }
+
+    @Benchmark
+    public Ecosystem initialize() {
+        Ecosystem fresh = new Ecosystem(config);
+        fresh.initialize();
+        return fresh;
+    }
+}
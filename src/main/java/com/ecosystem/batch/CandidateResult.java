@@ -0,0 +1,66 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kết quả đánh giá một ứng viên trong StabilityOptimizer.
+ *
+ * Điểm ổn định là tỷ lệ thế hệ mà EcosystemStats.isBalanced() đúng, trung
+ * bình trên các seed. Một seed kết thúc ngay khi Herbivore hoặc Carnivore
+ * tuyệt chủng (các thế hệ còn lại tính là không cân bằng).
+ */
+public final class CandidateResult {
+
+    private final Map<SweepParameter, Double> values;
+    private final EcosystemConfig config;
+    private final double score;
+    private final int extinctSeeds;
+    private final int seedsRun;
+    private final long ticks;
+    private final boolean terminatedEarly;
+
+    CandidateResult(Map<SweepParameter, Double> values, EcosystemConfig config, double score,
+            int extinctSeeds, int seedsRun, long ticks, boolean terminatedEarly) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        this.config = config;
+        this.score = score;
+        this.extinctSeeds = extinctSeeds;
+        this.seedsRun = seedsRun;
+        this.ticks = ticks;
+        this.terminatedEarly = terminatedEarly;
+    }
+
+    public Map<SweepParameter, Double> getValues() {
+        return values;
+    }
+
+    public EcosystemConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Điểm ổn định 0..1 (với ứng viên bị dừng sớm là cận dưới).
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Tỷ lệ seed có loài động vật bị tuyệt chủng (trong các seed đã chạy).
+     */
+    public double getExtinctionRate() {
+        return seedsRun == 0 ? 0 : (double) extinctSeeds / seedsRun;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public boolean isTerminatedEarly() {
+        return terminatedEarly;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.utils.OnlineStats;
+
+/**
+ * Gộp EcosystemStats của nhiều lần chạy theo từng thế hệ mà không lưu quỹ đạo.
+ *
+ * Bộ nhớ là O(số thế hệ), không phụ thuộc số lần chạy. Mỗi thế hệ có khóa
+ * riêng nên các luồng ở các thế hệ khác nhau không tranh chấp nhau.
+ */
+class EnsembleAggregator {
+
+    private final Generation[] generations;
+
+    EnsembleAggregator(int generationCount) {
+        generations = new Generation[generationCount];
+        for (int i = 0; i < generationCount; i++) {
+            generations[i] = new Generation();
+        }
+    }
+
+    /**
+     * Thêm thống kê của một lần chạy ở một thế hệ.
+     *
+     * @param index Chỉ số thế hệ (0 = thế hệ 1)
+     * @param stats Thống kê sau tick đó
+     */
+    void add(int index, EcosystemStats stats) {
+        Generation generation = generations[index];
+        synchronized (generation) {
+            generation.producers.add(stats.getProducerCount());
+            generation.herbivores.add(stats.getHerbivoreCount());
+            generation.carnivores.add(stats.getCarnivoreCount());
+            if (stats.getHerbivoreCount() + stats.getCarnivoreCount() > 0) {
+                generation.surviving++;
+            }
+        }
+    }
+
+    /**
+     * Chụp dải tin cậy hiện tại.
+     *
+     * @param members Số lần chạy đã hoàn tất
+     * @return Dải tin cậy bất biến
+     */
+    EnsembleBands toBands(int members) {
+        int count = generations.length;
+        EnsembleBands.Band producers = new EnsembleBands.Band(count);
+        EnsembleBands.Band herbivores = new EnsembleBands.Band(count);
+        EnsembleBands.Band carnivores = new EnsembleBands.Band(count);
+        double[] survival = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            Generation generation = generations[i];
+            synchronized (generation) {
+                fill(producers, i, generation.producers);
+                fill(herbivores, i, generation.herbivores);
+                fill(carnivores, i, generation.carnivores);
+                long samples = generation.producers.getCount();
+                survival[i] = samples == 0 ? 0 : (double) generation.surviving / samples;
+            }
+        }
+        return new EnsembleBands(members, producers, herbivores, carnivores, survival);
+    }
+
+    private static void fill(EnsembleBands.Band band, int index, OnlineStats stats) {
+        band.set(index, stats.getMean(), stats.getStdDev(), stats.getConfidenceHalfWidth(),
+                stats.getP05(), stats.getMedian(), stats.getP95());
+    }
+
+    private static final class Generation {
+        private final OnlineStats producers = new OnlineStats();
+        private final OnlineStats herbivores = new OnlineStats();
+        private final OnlineStats carnivores = new OnlineStats();
+        private int surviving;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecosystem.batch;
+
+/**
+ * Dải tin cậy theo thế hệ của một ensemble (kết quả bất biến của EnsembleRunner).
+ *
+ * Mỗi loài có một Band; phần tử thứ i ứng với thế hệ i + 1.
+ */
+public class EnsembleBands {
+
+    private final int members;
+    private final Band producers;
+    private final Band herbivores;
+    private final Band carnivores;
+    private final double[] survival;
+
+    EnsembleBands(int members, Band producers, Band herbivores, Band carnivores, double[] survival) {
+        this.members = members;
+        this.producers = producers;
+        this.herbivores = herbivores;
+        this.carnivores = carnivores;
+        this.survival = survival;
+    }
+
+    /**
+     * Số lần chạy đã đóng góp vào dải (có thể nhỏ hơn kích thước ensemble nếu bị hủy).
+     */
+    public int getMembers() {
+        return members;
+    }
+
+    public int getGenerations() {
+        return survival.length;
+    }
+
+    public Band getProducers() {
+        return producers;
+    }
+
+    public Band getHerbivores() {
+        return herbivores;
+    }
+
+    public Band getCarnivores() {
+        return carnivores;
+    }
+
+    /**
+     * Tỷ lệ lần chạy còn động vật (Herbivore hoặc Carnivore) ở một thế hệ.
+     *
+     * @param index Chỉ số thế hệ (0 = thế hệ 1)
+     * @return Tỷ lệ 0..1
+     */
+    public double getSurvivalFraction(int index) {
+        return survival[index];
+    }
+
+    /**
+     * Thống kê theo thế hệ của một loài.
+     */
+    public static final class Band {
+        private final double[] mean;
+        private final double[] stdDev;
+        private final double[] confidence;
+        private final double[] p05;
+        private final double[] median;
+        private final double[] p95;
+
+        Band(int generations) {
+            this.mean = new double[generations];
+            this.stdDev = new double[generations];
+            this.confidence = new double[generations];
+            this.p05 = new double[generations];
+            this.median = new double[generations];
+            this.p95 = new double[generations];
+        }
+
+        void set(int index, double mean, double stdDev, double confidence,
+                double p05, double median, double p95) {
+            this.mean[index] = mean;
+            this.stdDev[index] = stdDev;
+            this.confidence[index] = confidence;
+            this.p05[index] = p05;
+            this.median[index] = median;
+            this.p95[index] = p95;
+        }
+
+        public double getMean(int index) {
+            return mean[index];
+        }
+
+        public double getStdDev(int index) {
+            return stdDev[index];
+        }
+
+        /**
+         * Cận dưới khoảng tin cậy 95% của mean.
+         */
+        public double getLowerConfidence(int index) {
+            return mean[index] - confidence[index];
+        }
+
+        /**
+         * Cận trên khoảng tin cậy 95% của mean.
+         */
+        public double getUpperConfidence(int index) {
+            return mean[index] + confidence[index];
+        }
+
+        public double getP05(int index) {
+            return p05[index];
+        }
+
+        public double getMedian(int index) {
+            return median[index];
+        }
+
+        public double getP95(int index) {
+            return p95[index];
+        }
+    }
+}
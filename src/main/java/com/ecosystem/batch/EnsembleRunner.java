@@ -0,0 +1,147 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Chạy nhiều Ecosystem cùng scenario với seed khác nhau và gộp thống kê theo
+ * thế hệ thành dải tin cậy (EnsembleBands) cho ChartView.
+ *
+ * Mỗi worker lần lượt nhận lần chạy tiếp theo, nên chỉ có tối đa
+ * {@code parallelism} Ecosystem tồn tại cùng lúc; thống kê được gộp trực
+ * tuyến (Welford + P²) ngay sau mỗi tick. Bộ nhớ vì vậy không tăng theo
+ * kích thước ensemble.
+ */
+public class EnsembleRunner {
+
+    private final EcosystemConfig config;
+    private final int size;
+    private final int generations;
+    private final int parallelism;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor dùng cấu hình ensemble trong config.
+     *
+     * @param config Cấu hình scenario (seed gốc lấy từ config)
+     */
+    public EnsembleRunner(EcosystemConfig config) {
+        this(config, config.getEnsembleSize(), config.getEnsembleGenerations(),
+                config.getEnsembleParallelism());
+    }
+
+    /**
+     * Constructor tạo EnsembleRunner.
+     *
+     * @param config      Cấu hình scenario (seed gốc lấy từ config)
+     * @param size        Số lần chạy
+     * @param generations Số thế hệ mỗi lần chạy
+     * @param parallelism Số luồng (0 = số core)
+     */
+    public EnsembleRunner(EcosystemConfig config, int size, int generations, int parallelism) {
+        if (size <= 0 || generations <= 0) {
+            throw new IllegalArgumentException("Kích thước ensemble và số thế hệ phải > 0");
+        }
+        this.config = config;
+        this.size = size;
+        this.generations = generations;
+        this.parallelism = parallelism > 0
+                ? Math.min(parallelism, size)
+                : Math.min(Runtime.getRuntime().availableProcessors(), size);
+    }
+
+    /**
+     * Chạy toàn bộ ensemble và chờ hoàn tất.
+     *
+     * Lần chạy thứ i dùng seed {@code base + i}, với base là seed trong config
+     * (hoặc 1 nếu config không cố định seed), nên kết quả chạy lại được.
+     * Mỗi lần chạy đi hết số thế hệ kể cả khi tuyệt chủng, để mọi thế hệ có
+     * cùng số mẫu.
+     *
+     * @param progress Callback nhận số lần chạy đã xong (gọi từ worker thread), có thể null
+     * @return Dải tin cậy theo thế hệ
+     * @throws InterruptedException nếu bị ngắt khi đang chờ
+     */
+    public EnsembleBands run(IntConsumer progress) throws InterruptedException {
+        EnsembleAggregator aggregator = new EnsembleAggregator(generations);
+        long baseSeed = config.getRandomSeed() != 0 ? config.getRandomSeed() : 1;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "ensemble-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int w = 0; w < parallelism; w++) {
+                workers.add(pool.submit(() -> {
+                    int member;
+                    while (!cancelled && (member = next.getAndIncrement()) < size) {
+                        if (runMember(baseSeed + member, aggregator)) {
+                            int done = completed.incrementAndGet();
+                            if (progress != null) {
+                                progress.accept(done);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Lần chạy ensemble bị lỗi: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return aggregator.toBands(completed.get());
+    }
+
+    /**
+     * Chạy một thành viên và đẩy thống kê từng thế hệ vào aggregator.
+     *
+     * @return false nếu bị hủy giữa chừng
+     */
+    private boolean runMember(long seed, EnsembleAggregator aggregator) {
+        Ecosystem ecosystem = new Ecosystem(EcosystemConfig.builder(config).seed(seed).build());
+        ecosystem.initialize();
+        for (int i = 0; i < generations; i++) {
+            if (cancelled) {
+                return false;
+            }
+            ecosystem.update();
+            aggregator.add(i, ecosystem.getStatistics());
+        }
+        return true;
+    }
+
+    /**
+     * Hủy ensemble; run() trả về dải của các thế hệ đã gộp tới lúc đó.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.monitoring.MetricsServer;
+import com.ecosystem.simulation.SchedulingMetrics;
+import com.ecosystem.simulation.SimulationEngine;
+import com.ecosystem.simulation.SimulationScheduler;
+import com.ecosystem.simulation.SimulationState;
+import com.ecosystem.utils.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point chạy nhiều simulation headless trong một JVM trên
+ * SimulationScheduler dùng chung (pool worker cố định, chia lát thời gian
+ * theo priority). In định kỳ throughput và độ trễ hàng đợi của từng engine,
+ * đồng thời xuất chúng qua endpoint /metrics nếu bật.
+ *
+ * Cách dùng: {@code java -cp <classpath> com.ecosystem.batch.HostMain [hosting.yaml]}
+ * Không truyền tham số thì dùng /config/hosting.yaml trong resources.
+ */
+public class HostMain {
+
+    public static void main(String[] args) {
+        HostingSpec spec = args.length > 0
+                ? ConfigLoader.loadHostingSpec(Paths.get(args[0]))
+                : ConfigLoader.loadHostingSpec();
+        if (spec == null) {
+            System.exit(1);
+        }
+
+        System.out.println("===========================================");
+        System.out.println("   Chay nhieu simulation tren scheduler dung chung");
+        System.out.println("===========================================");
+        System.out.printf("Scenario: %s | %d engine | %d worker | muc tieu %s tick/s%n",
+                spec.getScenario(), spec.getEngines(), spec.getWorkers(),
+                formatRate(spec.getTargetTicksPerSecond()));
+
+        SimulationScheduler scheduler = new SimulationScheduler(spec.getWorkers());
+        EcosystemConfig base = ConfigLoader.loadScenario(spec.getScenario());
+        List<SimulationEngine> engines = new ArrayList<>(spec.getEngines());
+        for (int i = 0; i < spec.getEngines(); i++) {
+            SimulationEngine engine = new SimulationEngine(scheduler);
+            engine.initialize(EcosystemConfig.builder(base).seed(spec.getSeed() + i).build());
+            engine.setTargetTicksPerSecond(spec.getTargetTicksPerSecond());
+            engine.setPriority(spec.getPriority(i));
+            engines.add(engine);
+        }
+
+        MetricsServer metricsServer = null;
+        if (spec.isMetricsEnabled()) {
+            try {
+                metricsServer = new MetricsServer(spec.getMetricsHost(), spec.getMetricsPort());
+                for (int i = 0; i < engines.size(); i++) {
+                    metricsServer.register(engineName(i), engines.get(i));
+                }
+                metricsServer.start();
+                System.out.println("Metrics: http://" + spec.getMetricsHost() + ":" + metricsServer.getPort() + "/metrics");
+            } catch (IOException e) {
+                System.err.println("Không mở được endpoint metrics: " + e.getMessage());
+                metricsServer = null;
+            }
+        }
+
+        MetricsServer server = metricsServer;
+        Thread shutdownHook = new Thread(() -> stopAll(engines, scheduler, server), "HostShutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        for (SimulationEngine engine : engines) {
+            engine.start();
+        }
+
+        long deadline = spec.getDurationSeconds() > 0
+                ? System.nanoTime() + TimeUnit.SECONDS.toNanos(spec.getDurationSeconds())
+                : Long.MAX_VALUE;
+        try {
+            while (System.nanoTime() < deadline && anyRunning(engines)) {
+                long remaining = deadline - System.nanoTime();
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining,
+                        TimeUnit.SECONDS.toNanos(spec.getReportIntervalSeconds())));
+                System.out.println();
+                System.out.print(formatTable(engines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        stopAll(engines, scheduler, server);
+    }
+
+    private static boolean anyRunning(List<SimulationEngine> engines) {
+        for (SimulationEngine engine : engines) {
+            if (engine.getState() == SimulationState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void stopAll(List<SimulationEngine> engines, SimulationScheduler scheduler, MetricsServer server) {
+        for (SimulationEngine engine : engines) {
+            engine.stop();
+        }
+        scheduler.shutdown();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    /**
+     * Bảng throughput và độ trễ hàng đợi của từng engine.
+     */
+    private static String formatTable(List<SimulationEngine> engines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-8s %4s %8s %9s %9s %11s %11s %11s  %s%n", "engine", "prio", "the he",
+                "tick/s", "muc tieu", "tre TB ms", "tre max ms", "tick TB ms", "trang thai"));
+        for (int i = 0; i < engines.size(); i++) {
+            SimulationEngine engine = engines.get(i);
+            SchedulingMetrics m = engine.getSchedulingMetrics();
+            EcosystemStats stats = engine.getMetrics().getLastStats();
+            sb.append(String.format("%-8s %4d %8d %9.1f %9s %11.2f %11.2f %11.2f  %s%n", engineName(i),
+                    engine.getPriority(), stats != null ? stats.getGeneration() : 0, m.getTicksPerSecond(),
+                    formatRate(engine.getTargetTicksPerSecond()), m.getAverageQueueDelayMs(),
+                    m.getMaxQueueDelayMs(), m.getAverageTickMs(), engine.getState()));
+        }
+        return sb.toString();
+    }
+
+    private static String engineName(int index) {
+        return "sim-" + index;
+    }
+
+    private static String formatRate(double ticksPerSecond) {
+        return Double.isInfinite(ticksPerSecond) ? "inf" : String.format("%.1f", ticksPerSecond);
+    }
+}
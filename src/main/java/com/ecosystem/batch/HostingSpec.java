@@ -0,0 +1,104 @@
+package com.ecosystem.batch;
+
+/**
+ * Mô tả một lần chạy nhiều simulation trên scheduler dùng chung: scenario
+ * gốc, số engine, số worker, tốc độ mục tiêu và priority của từng engine.
+ */
+public class HostingSpec {
+
+    private final String scenario;
+    private final int engines;
+    private final int workers;
+    private final double targetTicksPerSecond;
+    private final int[] priorities;
+    private final int durationSeconds;
+    private final int reportIntervalSeconds;
+    private final long seed;
+    private final String metricsHost;
+    private final int metricsPort;
+
+    /**
+     * Constructor tạo HostingSpec.
+     *
+     * @param scenario              Scenario gốc (trong ecosystem.yaml)
+     * @param engines               Số simulation chạy đồng thời
+     * @param workers               Số worker thread của scheduler
+     * @param targetTicksPerSecond  Tốc độ mục tiêu mỗi engine (vô hạn = không giới hạn)
+     * @param priorities            Priority gán vòng quanh cho các engine (1..10)
+     * @param durationSeconds       Thời gian chạy (0 = chạy tới khi bị dừng)
+     * @param reportIntervalSeconds Số giây giữa hai lần in bảng throughput
+     * @param seed                  Seed của engine thứ nhất (engine thứ i dùng seed + i)
+     * @param metricsHost           Địa chỉ endpoint /metrics
+     * @param metricsPort           Cổng endpoint /metrics (âm = không mở)
+     */
+    public HostingSpec(String scenario, int engines, int workers, double targetTicksPerSecond,
+            int[] priorities, int durationSeconds, int reportIntervalSeconds, long seed,
+            String metricsHost, int metricsPort) {
+        if (engines <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("engines và workers phải > 0");
+        }
+        if (priorities.length == 0) {
+            throw new IllegalArgumentException("priorities không được rỗng");
+        }
+        this.scenario = scenario;
+        this.engines = engines;
+        this.workers = workers;
+        this.targetTicksPerSecond = targetTicksPerSecond;
+        this.priorities = priorities.clone();
+        this.durationSeconds = durationSeconds;
+        this.reportIntervalSeconds = Math.max(1, reportIntervalSeconds);
+        this.seed = seed;
+        this.metricsHost = metricsHost;
+        this.metricsPort = metricsPort;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public int getEngines() {
+        return engines;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public double getTargetTicksPerSecond() {
+        return targetTicksPerSecond;
+    }
+
+    /**
+     * Priority của engine thứ i.
+     */
+    public int getPriority(int engine) {
+        return priorities[engine % priorities.length];
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getReportIntervalSeconds() {
+        return reportIntervalSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getMetricsHost() {
+        return metricsHost;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    /**
+     * Có mở endpoint /metrics hay không.
+     */
+    public boolean isMetricsEnabled() {
+        return metricsPort >= 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.utils.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Entry point tối ưu tham số headless (không mở giao diện JavaFX).
+ *
+ * Cách dùng: {@code java -cp <classpath> com.ecosystem.batch.OptimizerMain [optimize.yaml]}
+ * Không truyền tham số thì dùng /config/optimize.yaml trong resources.
+ */
+public class OptimizerMain {
+
+    public static void main(String[] args) {
+        OptimizerSpec spec = args.length > 0
+                ? ConfigLoader.loadOptimizerSpec(Paths.get(args[0]))
+                : ConfigLoader.loadOptimizerSpec();
+        if (spec == null) {
+            System.exit(1);
+        }
+
+        System.out.println("===========================================");
+        System.out.println("   Toi uu tham so he sinh thai");
+        System.out.println("===========================================");
+        System.out.printf("Scenario: %s | tham so: %d | %d ung vien x %d vong | %d seed x %d the he%n",
+                spec.getScenario(), spec.getBounds().size(), spec.getPopulationSize(),
+                spec.getIterations(), spec.getSeedsPerCandidate(), spec.getGenerations());
+
+        StabilityOptimizer optimizer = new StabilityOptimizer(spec);
+        long start = System.nanoTime();
+        CandidateResult best;
+        try {
+            best = optimizer.run(iteration -> System.out.printf(Locale.ROOT,
+                    "Vong %2d: best %.3f | elite %.3f | tot nhat %.3f | dung som %d/%d | tick %d/%d | %.1f ung vien/s%n",
+                    iteration.getNumber(), iteration.getBestScore(), iteration.getEliteScore(),
+                    iteration.getOverallBest().getScore(), iteration.getTerminatedEarly(),
+                    iteration.getCandidates(), iteration.getTicks(), iteration.getTickBudget(),
+                    iteration.getCandidatesPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Tối ưu bị ngắt.");
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Ung vien tot nhat: diem %.3f, ty le tuyet chung %.0f%%%n",
+                best.getScore(), best.getExtinctionRate() * 100);
+        for (Map.Entry<SweepParameter, Double> entry : best.getValues().entrySet()) {
+            System.out.printf(Locale.ROOT, "  %-24s %.4f%n", entry.getKey().getKey(), entry.getValue());
+        }
+        System.out.printf("%nHoan tat trong %.1f s%n", seconds);
+
+        if (spec.getOutputFile() != null) {
+            try {
+                optimizer.writeHistoryCsv(Paths.get(spec.getOutputFile()));
+                System.out.println("Da ghi lich su toi uu: " + spec.getOutputFile());
+            } catch (IOException e) {
+                System.err.println("Lỗi khi ghi lịch sử tối ưu: " + e.getMessage());
+            }
+        }
+    }
+}
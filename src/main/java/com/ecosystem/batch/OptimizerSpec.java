@@ -0,0 +1,111 @@
+package com.ecosystem.batch;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mô tả một lần tối ưu tham số: scenario xuất phát, khoảng tìm kiếm của
+ * từng tham số và ngân sách đánh giá.
+ */
+public class OptimizerSpec {
+
+    private final String scenario;
+    private final Map<SweepParameter, double[]> bounds;
+    private final int populationSize;
+    private final int eliteSize;
+    private final int iterations;
+    private final int seedsPerCandidate;
+    private final int generations;
+    private final boolean earlyTermination;
+    private final long randomSeed;
+    private final int parallelism;
+    private final String outputFile;
+
+    /**
+     * Constructor tạo OptimizerSpec.
+     *
+     * @param scenario          Scenario xuất phát (trong ecosystem.yaml)
+     * @param bounds            Khoảng {min, max} theo tham số (giữ thứ tự khai báo)
+     * @param populationSize    Số ứng viên mỗi vòng
+     * @param eliteSize         Số ứng viên tốt nhất dùng để cập nhật phân phối
+     * @param iterations        Số vòng tối ưu
+     * @param seedsPerCandidate Số seed đánh giá mỗi ứng viên (seed 1..N, chung cho mọi ứng viên)
+     * @param generations       Số thế hệ mô phỏng mỗi seed
+     * @param earlyTermination  Dừng sớm ứng viên không thể vào nhóm elite
+     * @param randomSeed        Seed của bộ lấy mẫu ứng viên
+     * @param parallelism       Số thread (0 = số CPU)
+     * @param outputFile        File CSV lịch sử tối ưu (null = không ghi)
+     */
+    public OptimizerSpec(String scenario, Map<SweepParameter, double[]> bounds, int populationSize,
+            int eliteSize, int iterations, int seedsPerCandidate, int generations,
+            boolean earlyTermination, long randomSeed, int parallelism, String outputFile) {
+        if (bounds.isEmpty()) {
+            throw new IllegalArgumentException("Cần ít nhất một tham số để tối ưu");
+        }
+        if (eliteSize <= 0 || eliteSize > populationSize) {
+            throw new IllegalArgumentException("elite_size phải trong khoảng 1.." + populationSize);
+        }
+        for (Map.Entry<SweepParameter, double[]> entry : bounds.entrySet()) {
+            double[] range = entry.getValue();
+            if (range.length != 2 || range[1] <= range[0]) {
+                throw new IllegalArgumentException("Khoảng không hợp lệ cho " + entry.getKey().getKey());
+            }
+        }
+        this.scenario = scenario;
+        this.bounds = Collections.unmodifiableMap(new LinkedHashMap<>(bounds));
+        this.populationSize = populationSize;
+        this.eliteSize = eliteSize;
+        this.iterations = iterations;
+        this.seedsPerCandidate = Math.max(1, seedsPerCandidate);
+        this.generations = generations;
+        this.earlyTermination = earlyTermination;
+        this.randomSeed = randomSeed;
+        this.parallelism = parallelism;
+        this.outputFile = outputFile;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public Map<SweepParameter, double[]> getBounds() {
+        return bounds;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getEliteSize() {
+        return eliteSize;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getSeedsPerCandidate() {
+        return seedsPerCandidate;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public boolean isEarlyTermination() {
+        return earlyTermination;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+}
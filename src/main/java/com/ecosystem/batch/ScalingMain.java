@@ -0,0 +1,57 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.utils.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point đo khả năng mở rộng headless (không mở giao diện JavaFX).
+ *
+ * Cách dùng: {@code java -cp <classpath> com.ecosystem.batch.ScalingMain [scaling.yaml]}
+ * Không truyền tham số thì dùng /config/scaling.yaml trong resources.
+ */
+public class ScalingMain {
+
+    public static void main(String[] args) {
+        ScalingSpec spec = args.length > 0
+                ? ConfigLoader.loadScalingSpec(Paths.get(args[0]))
+                : ConfigLoader.loadScalingSpec();
+        if (spec == null) {
+            System.exit(1);
+        }
+
+        System.out.println("===========================================");
+        System.out.println("   Do kha nang mo rong");
+        System.out.println("===========================================");
+        System.out.printf("Scenario: %s | scales: %s | densities: %s | threads: %s | %d tick (+%d warmup)%n",
+                spec.getScenario(), Arrays.toString(spec.getScales()), Arrays.toString(spec.getDensities()),
+                Arrays.toString(spec.getThreads()), spec.getTicks(), spec.getWarmupTicks());
+        System.out.printf("JVM: %s, max heap %d MB, %d CPU%n%n", System.getProperty("java.version"),
+                Runtime.getRuntime().maxMemory() >> 20, Runtime.getRuntime().availableProcessors());
+        System.out.print(ScalingReport.formatHeader());
+
+        List<ScalingResult> results;
+        try {
+            results = new ScalingRunner(spec).run(result -> System.out.print(ScalingReport.formatRow(result)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Đo khả năng mở rộng bị ngắt.");
+            return;
+        } catch (OutOfMemoryError e) {
+            System.err.println("Hết heap ở điểm đo lớn, tăng -Xmx hoặc bỏ bớt scale: " + e.getMessage());
+            return;
+        }
+
+        if (spec.getOutputFile() != null) {
+            try {
+                new ScalingReport(results).writeCsv(Paths.get(spec.getOutputFile()));
+                System.out.println("\nDa ghi bao cao: " + spec.getOutputFile());
+            } catch (IOException e) {
+                System.err.println("Lỗi khi ghi báo cáo: " + e.getMessage());
+            }
+        }
+    }
+}
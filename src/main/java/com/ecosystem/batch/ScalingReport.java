@@ -0,0 +1,87 @@
+package com.ecosystem.batch;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Báo cáo khả năng mở rộng: bảng console và file CSV, mỗi điểm đo một dòng.
+ */
+public class ScalingReport {
+
+    private final List<ScalingResult> results;
+
+    public ScalingReport(List<ScalingResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Tiêu đề bảng console.
+     */
+    public static String formatHeader() {
+        return String.format("%7s %7s %11s %10s %4s %10s %9s %10s %10s %8s %9s%n",
+                "scale", "density", "grid", "organisms", "thr", "tick/s", "ms/tick",
+                "alloc MB/s", "KB/tick", "GC %", "heap MB");
+    }
+
+    /**
+     * Một dòng của bảng console.
+     *
+     * @param result Kết quả điểm đo
+     * @return Dòng text
+     */
+    public static String formatRow(ScalingResult result) {
+        return String.format(Locale.ROOT, "%7.1f %7.2f %11s %10d %4d %10.1f %9.3f %10s %10s %7.1f%% %9.1f%n",
+                result.getScale(), result.getDensity(),
+                result.getGridWidth() + "x" + result.getGridHeight(),
+                result.getInitialOrganisms(), result.getThreads(),
+                result.getTicksPerSecond(), result.getMillisPerTick(),
+                result.getAllocatedBytesPerTick() < 0 ? "n/a"
+                        : String.format(Locale.ROOT, "%.1f", result.getAllocationMbPerSecond()),
+                result.getAllocatedBytesPerTick() < 0 ? "n/a"
+                        : String.format(Locale.ROOT, "%.1f", result.getAllocatedBytesPerTick() / 1024),
+                result.getGcFraction() * 100, result.getPeakHeapMb());
+    }
+
+    /**
+     * Toàn bộ bảng console.
+     */
+    public String formatTable() {
+        StringBuilder sb = new StringBuilder(formatHeader());
+        for (ScalingResult result : results) {
+            sb.append(formatRow(result));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Ghi báo cáo ra file CSV.
+     *
+     * @param file File CSV (thư mục cha được tạo nếu chưa có)
+     * @throws IOException nếu ghi file lỗi
+     */
+    public void writeCsv(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("scale,density,grid_width,grid_height,initial_organisms,final_organisms,threads,"
+                    + "ticks,seconds,ticks_per_second,ms_per_tick,init_ms,allocated_mb_per_second,"
+                    + "allocated_bytes_per_tick,gc_ms,gc_count,gc_fraction,peak_heap_mb");
+            for (ScalingResult r : results) {
+                out.println(String.format(Locale.ROOT,
+                        "%s,%s,%d,%d,%d,%d,%d,%d,%.3f,%.2f,%.4f,%.2f,%.2f,%.1f,%d,%d,%.4f,%.1f",
+                        r.getScale(), r.getDensity(), r.getGridWidth(), r.getGridHeight(),
+                        r.getInitialOrganisms(), r.getFinalOrganisms(), r.getThreads(),
+                        r.getTicks(), r.getSeconds(), r.getTicksPerSecond(), r.getMillisPerTick(),
+                        r.getInitMillis(), r.getAllocationMbPerSecond(), r.getAllocatedBytesPerTick(),
+                        r.getGcMillis(), r.getGcCount(), r.getGcFraction(), r.getPeakHeapMb()));
+            }
+        }
+    }
+}
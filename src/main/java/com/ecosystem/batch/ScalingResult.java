@@ -0,0 +1,140 @@
+package com.ecosystem.batch;
+
+/**
+ * Kết quả một điểm đo khả năng mở rộng.
+ */
+public final class ScalingResult {
+
+    private final double scale;
+    private final double density;
+    private final int threads;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int initialOrganisms;
+    private final int finalOrganisms;
+    private final long ticks;
+    private final long elapsedNanos;
+    private final long initNanos;
+    private final long allocatedBytes;
+    private final long gcMillis;
+    private final long gcCount;
+    private final long peakHeapBytes;
+
+    /**
+     * Constructor tạo ScalingResult.
+     *
+     * @param scale            Hệ số diện tích
+     * @param density          Hệ số mật độ
+     * @param threads          Số simulation đồng thời
+     * @param gridWidth        Chiều rộng grid
+     * @param gridHeight       Chiều cao grid
+     * @param initialOrganisms Số sinh vật ban đầu mỗi simulation
+     * @param finalOrganisms   Số sinh vật cuối (trung bình mỗi simulation)
+     * @param ticks            Tổng số tick đã đo (mọi thread)
+     * @param elapsedNanos     Thời gian đo (wall clock)
+     * @param initNanos        Thời gian initialize() trung bình mỗi simulation
+     * @param allocatedBytes   Tổng byte cấp phát trong lúc đo (mọi thread)
+     * @param gcMillis         Thời gian GC trong lúc đo
+     * @param gcCount          Số lần GC trong lúc đo
+     * @param peakHeapBytes    Heap đỉnh (tổng peak các memory pool heap)
+     */
+    public ScalingResult(double scale, double density, int threads, int gridWidth, int gridHeight,
+            int initialOrganisms, int finalOrganisms, long ticks, long elapsedNanos, long initNanos,
+            long allocatedBytes, long gcMillis, long gcCount, long peakHeapBytes) {
+        this.scale = scale;
+        this.density = density;
+        this.threads = threads;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.initialOrganisms = initialOrganisms;
+        this.finalOrganisms = finalOrganisms;
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.initNanos = initNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcMillis = gcMillis;
+        this.gcCount = gcCount;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    public int getInitialOrganisms() {
+        return initialOrganisms;
+    }
+
+    public int getFinalOrganisms() {
+        return finalOrganisms;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public double getSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public double getInitMillis() {
+        return initNanos / 1e6;
+    }
+
+    /**
+     * Tổng throughput (mọi thread).
+     */
+    public double getTicksPerSecond() {
+        return ticks / Math.max(1e-9, getSeconds());
+    }
+
+    /**
+     * Thời gian trung bình một tick trên một thread.
+     */
+    public double getMillisPerTick() {
+        return ticks == 0 ? 0 : elapsedNanos / 1e6 * threads / ticks;
+    }
+
+    public double getAllocationMbPerSecond() {
+        return allocatedBytes / 1048576.0 / Math.max(1e-9, getSeconds());
+    }
+
+    public double getAllocatedBytesPerTick() {
+        return ticks == 0 ? 0 : (double) allocatedBytes / ticks;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Tỷ lệ thời gian GC trên thời gian đo.
+     */
+    public double getGcFraction() {
+        return gcMillis / 1000.0 / Math.max(1e-9, getSeconds());
+    }
+
+    public double getPeakHeapMb() {
+        return peakHeapBytes / 1048576.0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.ConfigLoader;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Đo khả năng mở rộng: với mỗi tổ hợp (scale × density × threads) chạy
+ * {@code threads} simulation headless độc lập song song trong một số tick
+ * cố định và đo throughput, lượng cấp phát, thời gian GC và heap đỉnh.
+ *
+ * Các điểm đo chạy tuần tự để không ảnh hưởng nhau. Cấp phát được đo theo
+ * từng thread (AllocationMeter), GC và heap qua MXBean chuẩn của JVM.
+ */
+public class ScalingRunner {
+
+    // Chu kỳ kiểm tra worker lỗi khi chờ các worker khởi tạo xong
+    private static final long READY_POLL_MILLIS = 100;
+
+    private final ScalingSpec spec;
+
+    /**
+     * Constructor tạo ScalingRunner.
+     *
+     * @param spec Mô tả lần đo
+     */
+    public ScalingRunner(ScalingSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Chạy mọi điểm đo theo thứ tự scale → density → threads.
+     *
+     * @param listener Nhận kết quả sau mỗi điểm đo (có thể null)
+     * @return Kết quả theo thứ tự chạy
+     * @throws InterruptedException nếu bị ngắt
+     */
+    public List<ScalingResult> run(Consumer<ScalingResult> listener) throws InterruptedException {
+        List<ScalingResult> results = new ArrayList<>(spec.getPointCount());
+        for (double scale : spec.getScales()) {
+            for (double density : spec.getDensities()) {
+                for (int threads : spec.getThreads()) {
+                    ScalingResult result = runPoint(scale, density, threads);
+                    results.add(result);
+                    if (listener != null) {
+                        listener.accept(result);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Chạy một điểm đo.
+     *
+     * @param scale   Hệ số diện tích grid
+     * @param density Hệ số mật độ
+     * @param threads Số simulation đồng thời
+     * @return Kết quả đo
+     * @throws InterruptedException nếu bị ngắt
+     */
+    public ScalingResult runPoint(double scale, double density, int threads) throws InterruptedException {
+        EcosystemConfig scaled = ConfigLoader.loadScenario(spec.getScenario(), scale);
+        EcosystemConfig config = EcosystemConfig.builder(scaled)
+                .initialPopulation(
+                        (int) Math.round(scaled.getInitialProducers() * density),
+                        (int) Math.round(scaled.getInitialHerbivores() * density),
+                        (int) Math.round(scaled.getInitialCarnivores() * density))
+                .build();
+
+        // Dọn rác của điểm đo trước rồi bắt đầu đo heap đỉnh từ đây
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicLong initNanos = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        AtomicLong finalOrganisms = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "scaling-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start;
+        long end;
+        long gcMillisBefore;
+        long gcCountBefore;
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                long seed = spec.getSeed() + i;
+                workers.add(pool.submit(() -> {
+                    Ecosystem ecosystem = new Ecosystem(EcosystemConfig.builder(config).seed(seed).build());
+                    long initStart = System.nanoTime();
+                    ecosystem.initialize();
+                    initNanos.addAndGet(System.nanoTime() - initStart);
+                    for (int t = 0; t < spec.getWarmupTicks(); t++) {
+                        ecosystem.update();
+                    }
+
+                    ready.countDown();
+                    go.await();
+                    long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+                    for (int t = 0; t < spec.getTicks(); t++) {
+                        ecosystem.update();
+                    }
+                    allocated.addAndGet(AllocationMeter.currentThreadAllocatedBytes() - allocatedBefore);
+                    finalOrganisms.addAndGet(ecosystem.getStatistics().getTotalOrganisms());
+                    return null;
+                }));
+            }
+
+            awaitReady(ready, workers);
+            gcMillisBefore = AllocationMeter.gcMillis();
+            gcCountBefore = AllocationMeter.gcCount();
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            end = System.nanoTime();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Điểm đo bị lỗi: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean heapPool : heapPools) {
+            peakHeap += heapPool.getPeakUsage().getUsed();
+        }
+
+        return new ScalingResult(scale, density, threads, config.getGridWidth(), config.getGridHeight(),
+                config.getInitialProducers() + config.getInitialHerbivores() + config.getInitialCarnivores(),
+                (int) (finalOrganisms.get() / threads),
+                (long) spec.getTicks() * threads, end - start, initNanos.get() / threads,
+                AllocationMeter.isSupported() ? allocated.get() : -1,
+                AllocationMeter.gcMillis() - gcMillisBefore, AllocationMeter.gcCount() - gcCountBefore, peakHeap);
+    }
+
+    /**
+     * Chờ mọi worker khởi tạo và warmup xong. Worker lỗi trước khi sẵn sàng
+     * (ví dụ hết bộ nhớ khi tạo Ecosystem) không bao giờ đếm {@code ready},
+     * nên kiểm tra future định kỳ thay vì chờ vô hạn.
+     *
+     * @throws ExecutionException nếu một worker đã lỗi
+     */
+    private static void awaitReady(CountDownLatch ready, List<Future<?>> workers)
+            throws InterruptedException, ExecutionException {
+        while (!ready.await(READY_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            for (Future<?> worker : workers) {
+                if (worker.isDone()) {
+                    worker.get();
+                }
+            }
+        }
+    }
+
+    public ScalingSpec getSpec() {
+        return spec;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecosystem.batch;
+
+/**
+ * Mô tả một lần đo khả năng mở rộng: scenario gốc, các hệ số phóng to
+ * (diện tích grid), hệ số mật độ và số thread chạy đồng thời.
+ * Mỗi tổ hợp (scale × density × threads) là một điểm đo.
+ */
+public class ScalingSpec {
+
+    private final String scenario;
+    private final double[] scales;
+    private final double[] densities;
+    private final int[] threads;
+    private final int ticks;
+    private final int warmupTicks;
+    private final long seed;
+    private final String outputFile;
+
+    /**
+     * Constructor tạo ScalingSpec.
+     *
+     * @param scenario    Scenario gốc (trong ecosystem.yaml)
+     * @param scales      Hệ số diện tích grid (mật độ giữ nguyên)
+     * @param densities   Hệ số số lượng ban đầu trên cùng diện tích
+     * @param threads     Số simulation chạy đồng thời (mỗi simulation một thread)
+     * @param ticks       Số tick đo mỗi simulation
+     * @param warmupTicks Số tick chạy trước khi đo (JIT warmup)
+     * @param seed        Seed của simulation thứ nhất (simulation thứ i dùng seed + i)
+     * @param outputFile  File CSV báo cáo (null = không ghi)
+     */
+    public ScalingSpec(String scenario, double[] scales, double[] densities, int[] threads,
+            int ticks, int warmupTicks, long seed, String outputFile) {
+        if (scales.length == 0 || densities.length == 0 || threads.length == 0) {
+            throw new IllegalArgumentException("scales, densities và threads không được rỗng");
+        }
+        this.scenario = scenario;
+        this.scales = scales.clone();
+        this.densities = densities.clone();
+        this.threads = threads.clone();
+        this.ticks = ticks;
+        this.warmupTicks = warmupTicks;
+        this.seed = seed;
+        this.outputFile = outputFile;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public double[] getScales() {
+        return scales.clone();
+    }
+
+    public double[] getDensities() {
+        return densities.clone();
+    }
+
+    public int[] getThreads() {
+        return threads.clone();
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getWarmupTicks() {
+        return warmupTicks;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * Tổng số điểm đo.
+     */
+    public int getPointCount() {
+        return scales.length * densities.length * threads.length;
+    }
+}
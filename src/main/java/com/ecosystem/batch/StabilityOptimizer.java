@@ -0,0 +1,410 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.utils.ConfigLoader;
+import com.ecosystem.utils.SteadyStateDetector;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Tối ưu tham số EcosystemConfig để tối đa độ ổn định, thay cho việc thử
+ * tay các scenario trong YAML.
+ *
+ * Dùng evolution strategy với phân phối Gaussian có độ lệch chuẩn riêng cho
+ * từng tham số (dạng CMA-ES rút gọn, ma trận hiệp phương sai chéo) trên
+ * không gian chuẩn hóa [0, 1]: mỗi vòng lấy mẫu một quần thể ứng viên, đánh
+ * giá song song bằng mô phỏng headless, rồi dời mean và co giãn độ lệch chuẩn
+ * theo nhóm elite.
+ *
+ * Mọi ứng viên dùng chung các seed 1..N (common random numbers) nên chênh
+ * lệch điểm phản ánh tham số chứ không phải may rủi. Ứng viên bị dừng sớm
+ * khi ngay cả trường hợp tốt nhất của các thế hệ còn lại cũng không vượt
+ * được ngưỡng elite của vòng trước. Seed có quần thể đã ổn định (cân bằng
+ * hoặc chu kỳ giới hạn, theo window và ngưỡng của simulation.early_stop) cũng dừng sớm, với các
+ * thế hệ còn lại được ngoại suy từ chu kỳ (hoặc cửa sổ) gần nhất.
+ */
+public class StabilityOptimizer {
+
+    private static final double INITIAL_SIGMA = 0.3;
+    private static final double MIN_SIGMA = 0.02;
+    private static final double SIGMA_SMOOTHING = 0.3;
+
+    private final OptimizerSpec spec;
+    private final EcosystemConfig base;
+    private final SweepParameter[] parameters;
+    private final double[] lower;
+    private final double[] span;
+    private final List<Iteration> history = new ArrayList<>();
+
+    /**
+     * Constructor tạo optimizer, xuất phát từ scenario trong spec.
+     *
+     * @param spec Mô tả tối ưu
+     */
+    public StabilityOptimizer(OptimizerSpec spec) {
+        this(spec, ConfigLoader.loadScenario(spec.getScenario()));
+    }
+
+    /**
+     * Constructor tạo optimizer với cấu hình xuất phát chỉ định.
+     *
+     * @param spec Mô tả tối ưu
+     * @param base Cấu hình xuất phát (không bị thay đổi)
+     */
+    public StabilityOptimizer(OptimizerSpec spec, EcosystemConfig base) {
+        this.spec = spec;
+        this.base = base;
+        int dimensions = spec.getBounds().size();
+        this.parameters = spec.getBounds().keySet().toArray(new SweepParameter[0]);
+        this.lower = new double[dimensions];
+        this.span = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            double[] range = spec.getBounds().get(parameters[i]);
+            lower[i] = range[0];
+            span[i] = range[1] - range[0];
+        }
+    }
+
+    /**
+     * Chạy toàn bộ các vòng tối ưu.
+     *
+     * @param listener Nhận tóm tắt sau mỗi vòng (có thể null)
+     * @return Ứng viên tốt nhất tìm được
+     * @throws InterruptedException nếu bị ngắt khi đang chờ
+     */
+    public CandidateResult run(Consumer<Iteration> listener) throws InterruptedException {
+        int dimensions = parameters.length;
+        Random random = new Random(spec.getRandomSeed());
+
+        // Xuất phát từ giá trị của scenario
+        double[] mean = new double[dimensions];
+        double[] sigma = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            mean[i] = clamp((parameters[i].read(base) - lower[i]) / span[i]);
+            sigma[i] = INITIAL_SIGMA;
+        }
+
+        int parallelism = spec.getParallelism() > 0
+                ? spec.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CandidateResult best = null;
+        double cutoff = Double.NEGATIVE_INFINITY;
+
+        try {
+            for (int iteration = 1; iteration <= spec.getIterations(); iteration++) {
+                long start = System.nanoTime();
+
+                // Ứng viên 0 là mean hiện tại, còn lại lấy mẫu quanh mean
+                double[][] points = new double[spec.getPopulationSize()][];
+                points[0] = mean.clone();
+                for (int c = 1; c < points.length; c++) {
+                    double[] point = new double[dimensions];
+                    for (int i = 0; i < dimensions; i++) {
+                        point[i] = clamp(mean[i] + sigma[i] * random.nextGaussian());
+                    }
+                    points[c] = point;
+                }
+
+                double iterationCutoff = spec.isEarlyTermination() ? cutoff : Double.NEGATIVE_INFINITY;
+                List<Callable<CandidateResult>> tasks = new ArrayList<>(points.length);
+                for (double[] point : points) {
+                    tasks.add(() -> evaluate(toValues(point), iterationCutoff));
+                }
+                List<CandidateResult> results = new ArrayList<>(points.length);
+                for (Future<CandidateResult> future : pool.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+
+                // Xếp hạng; ứng viên dừng sớm có điểm là cận dưới nên vẫn xếp cuối hợp lệ
+                Integer[] order = new Integer[points.length];
+                for (int c = 0; c < order.length; c++) {
+                    order[c] = c;
+                }
+                Arrays.sort(order, Comparator.comparingDouble((Integer c) -> -results.get(c).getScore()));
+
+                int elite = spec.getEliteSize();
+                double[] newMean = new double[dimensions];
+                double eliteScore = 0;
+                for (int e = 0; e < elite; e++) {
+                    double[] point = points[order[e]];
+                    for (int i = 0; i < dimensions; i++) {
+                        newMean[i] += point[i] / elite;
+                    }
+                    eliteScore += results.get(order[e]).getScore() / elite;
+                }
+                for (int i = 0; i < dimensions; i++) {
+                    double variance = 0;
+                    for (int e = 0; e < elite; e++) {
+                        double d = points[order[e]][i] - newMean[i];
+                        variance += d * d / elite;
+                    }
+                    sigma[i] = Math.max(MIN_SIGMA,
+                            (1 - SIGMA_SMOOTHING) * sigma[i] + SIGMA_SMOOTHING * Math.sqrt(variance));
+                }
+                mean = newMean;
+                cutoff = results.get(order[elite - 1]).getScore();
+
+                CandidateResult iterationBest = results.get(order[0]);
+                if (best == null || iterationBest.getScore() > best.getScore()) {
+                    best = iterationBest;
+                }
+
+                int terminated = 0;
+                long ticks = 0;
+                for (CandidateResult result : results) {
+                    if (result.isTerminatedEarly()) {
+                        terminated++;
+                    }
+                    ticks += result.getTicks();
+                }
+                long budget = (long) points.length * spec.getSeedsPerCandidate() * spec.getGenerations();
+                Iteration summary = new Iteration(iteration, iterationBest.getScore(), eliteScore,
+                        best, points.length, terminated, ticks, budget, System.nanoTime() - start);
+                history.add(summary);
+                if (listener != null) {
+                    listener.accept(summary);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Đánh giá ứng viên bị lỗi: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return best;
+    }
+
+    /**
+     * Đánh giá một ứng viên trên các seed chung.
+     *
+     * Khi SteadyStateDetector xác định quần thể đã ổn định, các thế hệ còn
+     * lại được tính theo tỷ lệ thế hệ cân bằng trong chu kỳ gần nhất (CYCLE)
+     * hoặc trong cửa sổ của detector (EQUILIBRIUM) thay vì mô phỏng tiếp.
+     *
+     * @param values Giá trị tham số
+     * @param cutoff Ngưỡng elite; dừng sớm khi cận trên của điểm thấp hơn ngưỡng
+     * @return Kết quả đánh giá
+     */
+    CandidateResult evaluate(Map<SweepParameter, Double> values, double cutoff) {
+        EcosystemConfig config = base;
+        for (Map.Entry<SweepParameter, Double> entry : values.entrySet()) {
+            config = entry.getKey().apply(config, entry.getValue());
+        }
+
+        int seeds = spec.getSeedsPerCandidate();
+        int generations = spec.getGenerations();
+        double total = (double) seeds * generations;
+        long balancedSum = 0;
+        long ticks = 0;
+        int extinct = 0;
+
+        for (int s = 0; s < seeds; s++) {
+            Ecosystem ecosystem = new Ecosystem(EcosystemConfig.builder(config).seed(s + 1).build());
+            ecosystem.initialize();
+            SteadyStateDetector steadyState = SteadyStateDetector.forBatch(config);
+            // Thế hệ nào trong cửa sổ của detector là cân bằng (để ngoại suy)
+            boolean[] recent = new boolean[steadyState.getWindow()];
+            int balanced = 0;
+            long laterSeeds = (long) (seeds - s - 1) * generations;
+
+            for (int g = 0; g < generations; g++) {
+                ecosystem.update();
+                ticks++;
+                EcosystemStats stats = ecosystem.getStatistics();
+                recent[g % recent.length] = stats.isBalanced();
+                if (stats.isBalanced()) {
+                    balanced++;
+                } else if ((balancedSum + balanced + (generations - g - 1) + laterSeeds) / total < cutoff) {
+                    // Cận trên (mọi thế hệ còn lại đều cân bằng) vẫn dưới ngưỡng elite
+                    return new CandidateResult(values, config, (balancedSum + balanced) / total,
+                            extinct, s + 1, ticks, true);
+                }
+                if (stats.getHerbivoreCount() == 0 || stats.getCarnivoreCount() == 0) {
+                    extinct++;
+                    break;
+                }
+                if (steadyState.add(stats) != SteadyStateDetector.Outcome.NONE) {
+                    int span = steadyState.getOutcome() == SteadyStateDetector.Outcome.CYCLE
+                            ? steadyState.getPeriod()
+                            : recent.length;
+                    balanced += extrapolate(recent, g, span, generations - g - 1);
+                    break;
+                }
+            }
+            balancedSum += balanced;
+        }
+        return new CandidateResult(values, config, balancedSum / total, extinct, seeds, ticks, false);
+    }
+
+    /**
+     * Số thế hệ cân bằng ước lượng trong các thế hệ còn lại, theo tỷ lệ của
+     * {@code span} thế hệ gần nhất.
+     *
+     * @param recent    Ring buffer cờ cân bằng, thế hệ g ở vị trí g % length
+     * @param last      Thế hệ vừa chạy
+     * @param span      Số thế hệ gần nhất dùng để ước lượng (chu kỳ hoặc cửa sổ)
+     * @param remaining Số thế hệ còn lại
+     */
+    private static int extrapolate(boolean[] recent, int last, int span, int remaining) {
+        int n = Math.max(1, Math.min(span, Math.min(recent.length, last + 1)));
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (recent[(last - i) % recent.length]) {
+                count++;
+            }
+        }
+        return (int) Math.round((double) count * remaining / n);
+    }
+
+    /**
+     * Đổi điểm trong không gian chuẩn hóa sang giá trị tham số thật.
+     */
+    private Map<SweepParameter, Double> toValues(double[] point) {
+        Map<SweepParameter, Double> values = new LinkedHashMap<>();
+        for (int i = 0; i < parameters.length; i++) {
+            double value = lower[i] + point[i] * span[i];
+            values.put(parameters[i], parameters[i].isInteger() ? Math.round(value) : value);
+        }
+        return values;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    /**
+     * Ghi lịch sử các vòng ra file CSV.
+     *
+     * @param file File CSV (thư mục cha được tạo nếu chưa có)
+     * @throws IOException nếu ghi file lỗi
+     */
+    public void writeHistoryCsv(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder(
+                    "iteration,best_score,elite_score,overall_best_score,candidates,terminated_early,"
+                            + "ticks,tick_budget,seconds,candidates_per_second");
+            for (SweepParameter parameter : parameters) {
+                header.append(',').append(parameter.getKey());
+            }
+            out.println(header);
+
+            for (Iteration iteration : history) {
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                        "%d,%.4f,%.4f,%.4f,%d,%d,%d,%d,%.3f,%.2f",
+                        iteration.number, iteration.bestScore, iteration.eliteScore,
+                        iteration.overallBest.getScore(), iteration.candidates, iteration.terminatedEarly,
+                        iteration.ticks, iteration.tickBudget, iteration.getSeconds(),
+                        iteration.getCandidatesPerSecond()));
+                for (SweepParameter parameter : parameters) {
+                    line.append(String.format(Locale.ROOT, ",%.4f", iteration.overallBest.getValues().get(parameter)));
+                }
+                out.println(line);
+            }
+        }
+    }
+
+    public List<Iteration> getHistory() {
+        return List.copyOf(history);
+    }
+
+    public OptimizerSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Tóm tắt một vòng tối ưu.
+     */
+    public static final class Iteration {
+        private final int number;
+        private final double bestScore;
+        private final double eliteScore;
+        private final CandidateResult overallBest;
+        private final int candidates;
+        private final int terminatedEarly;
+        private final long ticks;
+        private final long tickBudget;
+        private final long elapsedNanos;
+
+        private Iteration(int number, double bestScore, double eliteScore, CandidateResult overallBest,
+                int candidates, int terminatedEarly, long ticks, long tickBudget, long elapsedNanos) {
+            this.number = number;
+            this.bestScore = bestScore;
+            this.eliteScore = eliteScore;
+            this.overallBest = overallBest;
+            this.candidates = candidates;
+            this.terminatedEarly = terminatedEarly;
+            this.ticks = ticks;
+            this.tickBudget = tickBudget;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public double getBestScore() {
+            return bestScore;
+        }
+
+        public double getEliteScore() {
+            return eliteScore;
+        }
+
+        public CandidateResult getOverallBest() {
+            return overallBest;
+        }
+
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public int getTerminatedEarly() {
+            return terminatedEarly;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Số tick nếu mọi ứng viên chạy đủ mọi seed (để đo lượng tick tiết kiệm được).
+         */
+        public long getTickBudget() {
+            return tickBudget;
+        }
+
+        public double getSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        /**
+         * Throughput đánh giá ứng viên của vòng.
+         */
+        public double getCandidatesPerSecond() {
+            return candidates / Math.max(1e-9, getSeconds());
+        }
+    }
+}
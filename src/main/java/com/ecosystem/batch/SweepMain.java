@@ -0,0 +1,58 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.utils.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Entry point chạy parameter sweep headless (không mở giao diện JavaFX).
+ *
+ * Cách dùng: {@code java -cp <classpath> com.ecosystem.batch.SweepMain [sweep.yaml]}
+ * Không truyền tham số thì dùng /config/sweep.yaml trong resources.
+ */
+public class SweepMain {
+
+    public static void main(String[] args) {
+        SweepSpec spec = args.length > 0
+                ? ConfigLoader.loadSweepSpec(Paths.get(args[0]))
+                : ConfigLoader.loadSweepSpec();
+        if (spec == null) {
+            System.exit(1);
+        }
+
+        int runCount = spec.expand().size();
+        System.out.println("===========================================");
+        System.out.println("   Parameter sweep");
+        System.out.println("===========================================");
+        System.out.printf("Scenarios: %s | tham so: %d | seeds: %d | tong: %d lan chay%n",
+                spec.getScenarios(), spec.getParameters().size(), spec.getSeeds().length, runCount);
+
+        long start = System.nanoTime();
+        List<SweepResult> results;
+        try {
+            results = new SweepRunner(spec).run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Sweep bị ngắt.");
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        SweepSummary summary = new SweepSummary(spec, results);
+        System.out.println();
+        System.out.print(summary.formatTable());
+        System.out.printf("%nHoan tat %d lan chay trong %.1f s (%.1f lan chay/s)%n",
+                results.size(), seconds, results.size() / seconds);
+
+        if (spec.getOutputFile() != null) {
+            try {
+                summary.writeCsv(Paths.get(spec.getOutputFile()));
+                System.out.println("Da ghi bang tong hop: " + spec.getOutputFile());
+            } catch (IOException e) {
+                System.err.println("Lỗi khi ghi kết quả sweep: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemConfig;
+
+import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Các tham số EcosystemConfig có thể quét trong parameter sweep hoặc tối ưu.
+ * Khóa trùng với tên trong ecosystem.yaml.
+ */
+public enum SweepParameter {
+
+    PRODUCER_PHOTOSYNTHESIS("producer_photosynthesis", false, EcosystemConfig::getProducerPhotosynthesis,
+            (c, v) -> EcosystemConfig.builder(c).producerEnergy(
+                    c.getProducerInitialEnergy(), c.getProducerMaxEnergy(), v)),
+    HERBIVORE_HUNGER_RATE("herbivore_hunger_rate", false, EcosystemConfig::getHerbivoreHungerRate,
+            (c, v) -> EcosystemConfig.builder(c).herbivoreEnergy(c.getHerbivoreInitialEnergy(), v)),
+    CARNIVORE_HUNGER_RATE("carnivore_hunger_rate", false, EcosystemConfig::getCarnivoreHungerRate,
+            (c, v) -> EcosystemConfig.builder(c).carnivoreEnergy(c.getCarnivoreInitialEnergy(), v)),
+    HERBIVORE_VISION("herbivore_vision", true, EcosystemConfig::getHerbivoreVision,
+            (c, v) -> EcosystemConfig.builder(c).herbivoreMovement(v.intValue(), c.getHerbivoreSpeed())),
+    CARNIVORE_VISION("carnivore_vision", true, EcosystemConfig::getCarnivoreVision,
+            (c, v) -> EcosystemConfig.builder(c).carnivoreMovement(v.intValue(), c.getCarnivoreSpeed())),
+    HERBIVORE_SPEED("herbivore_speed", true, EcosystemConfig::getHerbivoreSpeed,
+            (c, v) -> EcosystemConfig.builder(c).herbivoreMovement(c.getHerbivoreVision(), v.intValue())),
+    CARNIVORE_SPEED("carnivore_speed", true, EcosystemConfig::getCarnivoreSpeed,
+            (c, v) -> EcosystemConfig.builder(c).carnivoreMovement(c.getCarnivoreVision(), v.intValue())),
+    PRODUCER_THRESHOLD("producer_threshold", false, EcosystemConfig::getProducerReproductionThreshold,
+            (c, v) -> EcosystemConfig.builder(c).producerReproduction(v, c.getProducerReproductionCost())),
+    PRODUCER_COST("producer_cost", false, EcosystemConfig::getProducerReproductionCost,
+            (c, v) -> EcosystemConfig.builder(c).producerReproduction(c.getProducerReproductionThreshold(), v)),
+    HERBIVORE_THRESHOLD("herbivore_threshold", false, EcosystemConfig::getHerbivoreReproductionThreshold,
+            (c, v) -> EcosystemConfig.builder(c).herbivoreReproduction(v, c.getHerbivoreReproductionCost())),
+    HERBIVORE_COST("herbivore_cost", false, EcosystemConfig::getHerbivoreReproductionCost,
+            (c, v) -> EcosystemConfig.builder(c).herbivoreReproduction(c.getHerbivoreReproductionThreshold(), v)),
+    CARNIVORE_THRESHOLD("carnivore_threshold", false, EcosystemConfig::getCarnivoreReproductionThreshold,
+            (c, v) -> EcosystemConfig.builder(c).carnivoreReproduction(v, c.getCarnivoreReproductionCost())),
+    CARNIVORE_COST("carnivore_cost", false, EcosystemConfig::getCarnivoreReproductionCost,
+            (c, v) -> EcosystemConfig.builder(c).carnivoreReproduction(c.getCarnivoreReproductionThreshold(), v)),
+    PRODUCER_SPAWN_RATE("producer_spawn_rate", false, EcosystemConfig::getProducerSpawnRate,
+            (c, v) -> EcosystemConfig.builder(c).producerSpawnRate(v));
+
+    private final String key;
+    private final boolean integer;
+    private final ToDoubleFunction<EcosystemConfig> getter;
+    private final BiFunction<EcosystemConfig, Double, EcosystemConfig.Builder> setter;
+
+    SweepParameter(String key, boolean integer, ToDoubleFunction<EcosystemConfig> getter,
+            BiFunction<EcosystemConfig, Double, EcosystemConfig.Builder> setter) {
+        this.key = key;
+        this.integer = integer;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Tạo cấu hình mới với tham số này mang giá trị chỉ định.
+     *
+     * @param base  Cấu hình gốc (không bị thay đổi)
+     * @param value Giá trị mới
+     * @return Cấu hình mới
+     */
+    public EcosystemConfig apply(EcosystemConfig base, double value) {
+        return setter.apply(base, value).build();
+    }
+
+    /**
+     * Đọc giá trị hiện tại của tham số trong cấu hình.
+     *
+     * @param config Cấu hình
+     * @return Giá trị tham số
+     */
+    public double read(EcosystemConfig config) {
+        return getter.applyAsDouble(config);
+    }
+
+    /**
+     * Tham số nguyên (tầm nhìn, tốc độ): giá trị thực bị cắt phần thập phân khi apply.
+     */
+    public boolean isInteger() {
+        return integer;
+    }
+
+    /**
+     * Tìm tham số theo khóa YAML.
+     *
+     * @param key Khóa (ví dụ "herbivore_hunger_rate")
+     * @return Tham số tương ứng
+     * @throws IllegalArgumentException nếu khóa không hợp lệ
+     */
+    public static SweepParameter fromKey(String key) {
+        for (SweepParameter parameter : values()) {
+            if (parameter.key.equals(key)) {
+                return parameter;
+            }
+        }
+        throw new IllegalArgumentException("Tham số sweep không hỗ trợ: " + key);
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.utils.SteadyStateDetector;
+
+/**
+ * Kết quả của một lần chạy trong parameter sweep.
+ */
+public final class SweepResult {
+
+    private final SweepRun run;
+    private final int generations;
+    private final int extinctionGeneration;
+    private final int herbivoreExtinctionGeneration;
+    private final int carnivoreExtinctionGeneration;
+    private final double meanProducers;
+    private final double meanHerbivores;
+    private final double meanCarnivores;
+    private final double herbivoreAmplitude;
+    private final double carnivoreAmplitude;
+    private final SteadyStateDetector.Outcome steadyState;
+    private final int cyclePeriod;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor tạo SweepResult.
+     *
+     * @param run                           Lần chạy
+     * @param generations                   Số thế hệ đã chạy
+     * @param extinctionGeneration          Thế hệ động vật tuyệt chủng (-1 nếu còn sống)
+     * @param herbivoreExtinctionGeneration Thế hệ Herbivore tuyệt chủng (-1 nếu còn)
+     * @param carnivoreExtinctionGeneration Thế hệ Carnivore tuyệt chủng (-1 nếu còn)
+     * @param meanProducers                 Số Producer trung bình
+     * @param meanHerbivores                Số Herbivore trung bình
+     * @param meanCarnivores                Số Carnivore trung bình
+     * @param herbivoreAmplitude            Biên độ dao động Herbivore (nửa đỉnh-đỉnh sau burn-in)
+     * @param carnivoreAmplitude            Biên độ dao động Carnivore (nửa đỉnh-đỉnh sau burn-in)
+     * @param steadyState                   Trạng thái ổn định khiến lần chạy dừng sớm (NONE nếu không)
+     * @param cyclePeriod                   Chu kỳ dao động khi steadyState là CYCLE
+     * @param elapsedNanos                  Thời gian chạy
+     */
+    public SweepResult(SweepRun run, int generations, int extinctionGeneration,
+            int herbivoreExtinctionGeneration, int carnivoreExtinctionGeneration,
+            double meanProducers, double meanHerbivores, double meanCarnivores,
+            double herbivoreAmplitude, double carnivoreAmplitude,
+            SteadyStateDetector.Outcome steadyState, int cyclePeriod, long elapsedNanos) {
+        this.run = run;
+        this.generations = generations;
+        this.extinctionGeneration = extinctionGeneration;
+        this.herbivoreExtinctionGeneration = herbivoreExtinctionGeneration;
+        this.carnivoreExtinctionGeneration = carnivoreExtinctionGeneration;
+        this.meanProducers = meanProducers;
+        this.meanHerbivores = meanHerbivores;
+        this.meanCarnivores = meanCarnivores;
+        this.herbivoreAmplitude = herbivoreAmplitude;
+        this.carnivoreAmplitude = carnivoreAmplitude;
+        this.steadyState = steadyState;
+        this.cyclePeriod = cyclePeriod;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isExtinct() {
+        return extinctionGeneration >= 0;
+    }
+
+    // === Getters ===
+
+    public SweepRun getRun() {
+        return run;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public int getExtinctionGeneration() {
+        return extinctionGeneration;
+    }
+
+    public int getHerbivoreExtinctionGeneration() {
+        return herbivoreExtinctionGeneration;
+    }
+
+    public int getCarnivoreExtinctionGeneration() {
+        return carnivoreExtinctionGeneration;
+    }
+
+    public double getMeanProducers() {
+        return meanProducers;
+    }
+
+    public double getMeanHerbivores() {
+        return meanHerbivores;
+    }
+
+    public double getMeanCarnivores() {
+        return meanCarnivores;
+    }
+
+    public double getHerbivoreAmplitude() {
+        return herbivoreAmplitude;
+    }
+
+    public double getCarnivoreAmplitude() {
+        return carnivoreAmplitude;
+    }
+
+    public SteadyStateDetector.Outcome getSteadyState() {
+        return steadyState;
+    }
+
+    public int getCyclePeriod() {
+        return cyclePeriod;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemConfig;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Một lần chạy trong parameter sweep: scenario, tổ hợp tham số và seed.
+ */
+public final class SweepRun {
+
+    private final String scenario;
+    private final Map<SweepParameter, Double> values;
+    private final EcosystemConfig config;
+    private final long seed;
+
+    public SweepRun(String scenario, Map<SweepParameter, Double> values, EcosystemConfig config, long seed) {
+        this.scenario = scenario;
+        this.values = Collections.unmodifiableMap(values);
+        this.config = config;
+        this.seed = seed;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public Map<SweepParameter, Double> getValues() {
+        return values;
+    }
+
+    public EcosystemConfig getConfig() {
+        return config;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
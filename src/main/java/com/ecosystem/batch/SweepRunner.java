@@ -0,0 +1,179 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.utils.SteadyStateDetector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chạy parameter sweep headless (không cần JavaFX) trên ForkJoinPool.
+ *
+ * Mỗi lần chạy là một task độc lập với Ecosystem và Random riêng (seed từ
+ * spec), nên các lần chạy không chia sẻ trạng thái và kết quả chạy lại được.
+ * Work-stealing giữ các core bận khi thời gian chạy chênh lệch lớn (lần
+ * chạy tuyệt chủng sớm kết thúc nhanh hơn nhiều).
+ */
+public class SweepRunner {
+
+    private final SweepSpec spec;
+
+    /**
+     * Constructor tạo SweepRunner.
+     *
+     * @param spec Mô tả sweep
+     */
+    public SweepRunner(SweepSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Chạy toàn bộ sweep và chờ hoàn tất.
+     *
+     * @return Kết quả theo đúng thứ tự của SweepSpec.expand()
+     * @throws InterruptedException nếu bị ngắt khi đang chờ
+     */
+    public List<SweepResult> run() throws InterruptedException {
+        List<SweepRun> runs = spec.expand();
+        int parallelism = spec.getParallelism() > 0
+                ? spec.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        warnIfEarlyStopUnreachable(runs);
+
+        AtomicInteger completed = new AtomicInteger();
+        int reportEvery = Math.max(1, runs.size() / 10);
+
+        List<Callable<SweepResult>> tasks = new ArrayList<>(runs.size());
+        for (SweepRun run : runs) {
+            tasks.add(() -> {
+                SweepResult result = runOne(run, spec.getGenerations(), spec.getBurnInGenerations());
+                int done = completed.incrementAndGet();
+                if (done % reportEvery == 0 || done == runs.size()) {
+                    System.out.printf("Sweep: %d/%d lan chay (%d%%)%n",
+                            done, runs.size(), done * 100 / runs.size());
+                }
+                return result;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SweepResult> results = new ArrayList<>(runs.size());
+            for (Future<SweepResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Lần chạy sweep bị lỗi: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Cảnh báo khi cửa sổ early_stop cộng burn-in không nhỏ hơn số thế hệ:
+     * detector không bao giờ đầy nên mọi lần chạy đều chạy hết số thế hệ.
+     */
+    private void warnIfEarlyStopUnreachable(List<SweepRun> runs) {
+        for (SweepRun run : runs) {
+            EcosystemConfig config = run.getConfig();
+            if (spec.getBurnInGenerations() + config.getSteadyStateWindow() >= spec.getGenerations()) {
+                System.err.printf("Cảnh báo: early_stop.window (%d) + burn_in_generations (%d) >= generations (%d),"
+                        + " các lần chạy sweep sẽ không dừng sớm%n",
+                        config.getSteadyStateWindow(), spec.getBurnInGenerations(), spec.getGenerations());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Chạy một lần mô phỏng tới khi động vật tuyệt chủng, quần thể ổn định
+     * (cân bằng hoặc chu kỳ giới hạn, theo window và ngưỡng của simulation.early_stop)
+     * hoặc đủ số thế hệ.
+     * Detector chỉ nhận các thế hệ sau burn-in, nên lần chạy không dừng sớm
+     * trước burn-in và giai đoạn chuyển tiếp ban đầu không được coi là ổn định.
+     *
+     * @param run               Lần chạy
+     * @param maxGenerations    Số thế hệ tối đa
+     * @param burnInGenerations Số thế hệ đầu bỏ qua khi đo biên độ dao động
+     * @return Kết quả lần chạy
+     */
+    public static SweepResult runOne(SweepRun run, int maxGenerations, int burnInGenerations) {
+        long start = System.nanoTime();
+        Ecosystem ecosystem = new Ecosystem(run.getConfig());
+        ecosystem.initialize();
+        SteadyStateDetector steadyState = SteadyStateDetector.forBatch(run.getConfig());
+        SteadyStateDetector.Outcome outcome = SteadyStateDetector.Outcome.NONE;
+
+        long sumProducers = 0;
+        long sumHerbivores = 0;
+        long sumCarnivores = 0;
+        int herbivoreMin = Integer.MAX_VALUE;
+        int herbivoreMax = Integer.MIN_VALUE;
+        int carnivoreMin = Integer.MAX_VALUE;
+        int carnivoreMax = Integer.MIN_VALUE;
+        int herbivoreExtinction = -1;
+        int carnivoreExtinction = -1;
+        int extinction = -1;
+
+        int generation = 0;
+        while (generation < maxGenerations) {
+            ecosystem.update();
+            generation = ecosystem.getGeneration();
+
+            EcosystemStats stats = ecosystem.getStatistics();
+            int herbivores = stats.getHerbivoreCount();
+            int carnivores = stats.getCarnivoreCount();
+            sumProducers += stats.getProducerCount();
+            sumHerbivores += herbivores;
+            sumCarnivores += carnivores;
+
+            if (generation > burnInGenerations) {
+                herbivoreMin = Math.min(herbivoreMin, herbivores);
+                herbivoreMax = Math.max(herbivoreMax, herbivores);
+                carnivoreMin = Math.min(carnivoreMin, carnivores);
+                carnivoreMax = Math.max(carnivoreMax, carnivores);
+            }
+            if (herbivores == 0 && herbivoreExtinction < 0) {
+                herbivoreExtinction = generation;
+            }
+            if (carnivores == 0 && carnivoreExtinction < 0) {
+                carnivoreExtinction = generation;
+            }
+
+            // Cùng điều kiện kết thúc với SimulationEngine
+            if (herbivores == 0 && carnivores == 0) {
+                extinction = generation;
+                break;
+            }
+            // Kết quả đã xác định: các thế hệ còn lại không thay đổi thống kê đáng kể
+            if (generation > burnInGenerations
+                    && steadyState.add(stats) != SteadyStateDetector.Outcome.NONE) {
+                outcome = steadyState.getOutcome();
+                break;
+            }
+        }
+
+        int ticks = Math.max(1, generation);
+        return new SweepResult(run, generation, extinction, herbivoreExtinction, carnivoreExtinction,
+                (double) sumProducers / ticks,
+                (double) sumHerbivores / ticks,
+                (double) sumCarnivores / ticks,
+                herbivoreMax >= herbivoreMin ? (herbivoreMax - herbivoreMin) / 2.0 : 0,
+                carnivoreMax >= carnivoreMin ? (carnivoreMax - carnivoreMin) / 2.0 : 0,
+                outcome, steadyState.getPeriod(),
+                System.nanoTime() - start);
+    }
+
+    public SweepSpec getSpec() {
+        return spec;
+    }
+}
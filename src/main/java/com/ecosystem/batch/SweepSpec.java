@@ -0,0 +1,114 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.utils.ConfigLoader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mô tả một parameter sweep: các scenario, các seed và dải giá trị của từng
+ * tham số. Mỗi tổ hợp (scenario × giá trị tham số × seed) là một lần chạy.
+ */
+public class SweepSpec {
+
+    private final List<String> scenarios;
+    private final long[] seeds;
+    private final Map<SweepParameter, double[]> parameters;
+    private final int generations;
+    private final int burnInGenerations;
+    private final int parallelism;
+    private final String outputFile;
+
+    /**
+     * Constructor tạo SweepSpec.
+     *
+     * @param scenarios         Tên các scenario (trong ecosystem.yaml)
+     * @param seeds             Các seed cho mỗi tổ hợp
+     * @param parameters        Dải giá trị theo tham số (giữ thứ tự khai báo)
+     * @param generations       Số thế hệ tối đa mỗi lần chạy
+     * @param burnInGenerations Số thế hệ đầu bỏ qua khi đo biên độ dao động
+     * @param parallelism       Số thread (0 = số CPU)
+     * @param outputFile        File CSV kết quả (null = không ghi)
+     */
+    public SweepSpec(List<String> scenarios, long[] seeds, Map<SweepParameter, double[]> parameters,
+            int generations, int burnInGenerations, int parallelism, String outputFile) {
+        this.scenarios = List.copyOf(scenarios);
+        this.seeds = seeds.clone();
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+        this.generations = generations;
+        this.burnInGenerations = burnInGenerations;
+        this.parallelism = parallelism;
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Liệt kê tất cả các lần chạy của sweep.
+     *
+     * @return Danh sách lần chạy (scenario, tổ hợp tham số, seed)
+     */
+    public List<SweepRun> expand() {
+        List<Map<SweepParameter, Double>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (Map.Entry<SweepParameter, double[]> entry : parameters.entrySet()) {
+            List<Map<SweepParameter, Double>> next = new ArrayList<>();
+            for (Map<SweepParameter, Double> partial : combinations) {
+                for (double value : entry.getValue()) {
+                    Map<SweepParameter, Double> combination = new LinkedHashMap<>(partial);
+                    combination.put(entry.getKey(), value);
+                    next.add(combination);
+                }
+            }
+            combinations = next;
+        }
+
+        List<SweepRun> runs = new ArrayList<>();
+        for (String scenario : scenarios) {
+            EcosystemConfig scenarioConfig = ConfigLoader.loadScenario(scenario);
+            for (Map<SweepParameter, Double> combination : combinations) {
+                EcosystemConfig config = scenarioConfig;
+                for (Map.Entry<SweepParameter, Double> entry : combination.entrySet()) {
+                    config = entry.getKey().apply(config, entry.getValue());
+                }
+                for (long seed : seeds) {
+                    runs.add(new SweepRun(scenario, combination,
+                            EcosystemConfig.builder(config).seed(seed).build(), seed));
+                }
+            }
+        }
+        return runs;
+    }
+
+    // === Getters ===
+
+    public List<String> getScenarios() {
+        return scenarios;
+    }
+
+    public long[] getSeeds() {
+        return seeds.clone();
+    }
+
+    public Map<SweepParameter, double[]> getParameters() {
+        return parameters;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public int getBurnInGenerations() {
+        return burnInGenerations;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecosystem.batch;
+
+import com.ecosystem.utils.SteadyStateDetector;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bảng tổng hợp kết quả sweep: gộp các seed của cùng một tổ hợp
+ * (scenario + giá trị tham số) thành một dòng.
+ */
+public class SweepSummary {
+
+    private final List<SweepParameter> parameters;
+    private final List<Row> rows;
+
+    /**
+     * Tổng hợp kết quả theo tổ hợp, giữ thứ tự xuất hiện.
+     *
+     * @param spec    Mô tả sweep (để lấy danh sách cột tham số)
+     * @param results Kết quả các lần chạy
+     */
+    public SweepSummary(SweepSpec spec, List<SweepResult> results) {
+        this.parameters = new ArrayList<>(spec.getParameters().keySet());
+
+        Map<String, Row> grouped = new LinkedHashMap<>();
+        for (SweepResult result : results) {
+            SweepRun run = result.getRun();
+            String key = run.getScenario() + run.getValues();
+            grouped.computeIfAbsent(key, k -> new Row(run)).add(result);
+        }
+        this.rows = new ArrayList<>(grouped.values());
+    }
+
+    /**
+     * Định dạng bảng tổng hợp để in ra console.
+     *
+     * @return Bảng dạng text, mỗi tổ hợp một dòng
+     */
+    public String formatTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-16s", "scenario"));
+        for (SweepParameter parameter : parameters) {
+            sb.append(String.format(" %12s", shorten(parameter.getKey())));
+        }
+        sb.append(String.format(" %5s %8s %9s %7s %7s %8s %8s %8s %8s %8s%n",
+                "runs", "extinct", "ext.gen", "equil", "cycle", "mean P", "mean H", "mean C", "amp H", "amp C"));
+
+        for (Row row : rows) {
+            sb.append(String.format(Locale.ROOT, "%-16s", row.run.getScenario()));
+            for (SweepParameter parameter : parameters) {
+                sb.append(String.format(Locale.ROOT, " %12.3f", row.run.getValues().get(parameter)));
+            }
+            sb.append(String.format(Locale.ROOT, " %5d %7.0f%% %9.1f %6.0f%% %6.0f%% %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    row.runs, row.getExtinctFraction() * 100, row.getMeanExtinctionGeneration(),
+                    100.0 * row.equilibriumRuns / row.runs, 100.0 * row.cycleRuns / row.runs,
+                    row.sumProducers / row.runs, row.sumHerbivores / row.runs, row.sumCarnivores / row.runs,
+                    row.sumHerbivoreAmplitude / row.runs, row.sumCarnivoreAmplitude / row.runs));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Ghi bảng tổng hợp ra file CSV.
+     *
+     * @param file File CSV (thư mục cha được tạo nếu chưa có)
+     * @throws IOException nếu ghi file lỗi
+     */
+    public void writeCsv(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder("scenario");
+            for (SweepParameter parameter : parameters) {
+                header.append(',').append(parameter.getKey());
+            }
+            header.append(",runs,extinct_fraction,mean_extinction_generation,")
+                    .append("equilibrium_fraction,cycle_fraction,mean_generations,")
+                    .append("mean_producers,mean_herbivores,mean_carnivores,")
+                    .append("herbivore_amplitude,carnivore_amplitude");
+            out.println(header);
+
+            for (Row row : rows) {
+                StringBuilder line = new StringBuilder(row.run.getScenario());
+                for (SweepParameter parameter : parameters) {
+                    line.append(',').append(row.run.getValues().get(parameter));
+                }
+                line.append(String.format(Locale.ROOT, ",%d,%.4f,%.2f,%.4f,%.4f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        row.runs, row.getExtinctFraction(), row.getMeanExtinctionGeneration(),
+                        (double) row.equilibriumRuns / row.runs, (double) row.cycleRuns / row.runs,
+                        row.sumGenerations / row.runs,
+                        row.sumProducers / row.runs, row.sumHerbivores / row.runs, row.sumCarnivores / row.runs,
+                        row.sumHerbivoreAmplitude / row.runs, row.sumCarnivoreAmplitude / row.runs));
+                out.println(line);
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    private static String shorten(String key) {
+        return key.length() <= 12 ? key : key.substring(0, 12);
+    }
+
+    /**
+     * Một dòng tổng hợp (cộng dồn qua các seed).
+     */
+    private static final class Row {
+        private final SweepRun run;
+        private int runs;
+        private int extinctRuns;
+        private int equilibriumRuns;
+        private int cycleRuns;
+        private double sumExtinctionGeneration;
+        private double sumGenerations;
+        private double sumProducers;
+        private double sumHerbivores;
+        private double sumCarnivores;
+        private double sumHerbivoreAmplitude;
+        private double sumCarnivoreAmplitude;
+
+        private Row(SweepRun run) {
+            this.run = run;
+        }
+
+        private void add(SweepResult result) {
+            runs++;
+            if (result.isExtinct()) {
+                extinctRuns++;
+                sumExtinctionGeneration += result.getExtinctionGeneration();
+            }
+            if (result.getSteadyState() == SteadyStateDetector.Outcome.EQUILIBRIUM) {
+                equilibriumRuns++;
+            } else if (result.getSteadyState() == SteadyStateDetector.Outcome.CYCLE) {
+                cycleRuns++;
+            }
+            sumGenerations += result.getGenerations();
+            sumProducers += result.getMeanProducers();
+            sumHerbivores += result.getMeanHerbivores();
+            sumCarnivores += result.getMeanCarnivores();
+            sumHerbivoreAmplitude += result.getHerbivoreAmplitude();
+            sumCarnivoreAmplitude += result.getCarnivoreAmplitude();
+        }
+
+        private double getExtinctFraction() {
+            return (double) extinctRuns / runs;
+        }
+
+        /**
+         * Thế hệ tuyệt chủng trung bình của các lần chạy bị tuyệt chủng (-1 nếu không có).
+         */
+        private double getMeanExtinctionGeneration() {
+            return extinctRuns == 0 ? -1 : sumExtinctionGeneration / extinctRuns;
+        }
+    }
+}
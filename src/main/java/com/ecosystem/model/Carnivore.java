@@ -1,5 +1,6 @@
 package com.ecosystem.model;
 
+import com.ecosystem.monitoring.FoodSearchEvent;
 import javafx.scene.paint.Color;
 
 import java.util.List;
@@ -62,6 +63,23 @@ public class Carnivore extends Consumer {
         this.huntSuccessRate = 0.8;
     }
 
+    /**
+     * Constructor sao chép (dùng khi fork hệ sinh thái).
+     * 
+     * @param source Carnivore gốc
+     * @param config Cấu hình của nhánh fork
+     */
+    private Carnivore(Carnivore source, EcosystemConfig config) {
+        super(source,
+                config.getCarnivoreHungerRate(),
+                config.getCarnivoreVision(),
+                config.getCarnivoreSpeed(),
+                config);
+        this.reproductionThreshold = config.getCarnivoreReproductionThreshold();
+        this.reproductionCost = config.getCarnivoreReproductionCost();
+        this.huntSuccessRate = source.huntSuccessRate;
+    }
+
     /**
      * Cập nhật trạng thái Carnivore mỗi tick.
      * - Mất năng lượng do hunger (nhanh hơn Herbivore)
@@ -108,7 +126,7 @@ public class Carnivore extends Consumer {
             if (offspring != null) {
                 List<Cell> emptyNeighbors = ecosystem.getEmptyNeighbors(x, y);
                 if (!emptyNeighbors.isEmpty()) {
-                    Cell targetCell = emptyNeighbors.get(RANDOM.nextInt(emptyNeighbors.size()));
+                    Cell targetCell = emptyNeighbors.get(ecosystem.getRandom().nextInt(emptyNeighbors.size()));
                     offspring.setPosition(targetCell.getX(), targetCell.getY());
                     ecosystem.addOrganism(offspring);
                 }
@@ -130,15 +148,17 @@ public class Carnivore extends Consumer {
         }
 
         // Kiểm tra tỷ lệ thành công
-        if (RANDOM.nextDouble() <= huntSuccessRate) {
+        if (ecosystem.getRandom().nextDouble() <= huntSuccessRate) {
             // Săn thành công
             eat(prey);
+            ecosystem.getEventRecorder().onHunt(this, prey, true);
             ecosystem.removeOrganism(prey);
             return true;
         }
 
         // Săn thất bại - vẫn mất một ít năng lượng
         reduceEnergy(hungerRate * 0.5);
+        ecosystem.getEventRecorder().onHunt(this, prey, false);
         return false;
     }
 
@@ -183,6 +203,8 @@ public class Carnivore extends Consumer {
         Herbivore nearestPrey = null;
         int minDistance = Integer.MAX_VALUE;
 
+        FoodSearchEvent event = new FoodSearchEvent();
+        event.begin();
         List<Herbivore> herbivores = ecosystem.getHerbivores();
 
         for (Herbivore herbivore : herbivores) {
@@ -196,6 +218,12 @@ public class Carnivore extends Consumer {
             }
         }
 
+        if (event.shouldCommit()) {
+            event.searcher = "Carnivore";
+            event.candidates = herbivores.size();
+            event.found = nearestPrey != null;
+            event.commit();
+        }
         return nearestPrey;
     }
 
@@ -253,6 +281,11 @@ public class Carnivore extends Consumer {
         return new Carnivore(x, y, reproductionCost / 2, config);
     }
 
+    @Override
+    Organism copyFor(EcosystemConfig config) {
+        return new Carnivore(this, config);
+    }
+
     // === Getters ===
 
     public double getHuntSuccessRate() {
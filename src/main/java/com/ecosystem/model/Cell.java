@@ -12,6 +12,9 @@ public class Cell {
     private final int y;
     private Organism occupant;
 
+    // Theo dõi thay đổi cho rewind (null nếu không dùng)
+    private DirtyCellTracker tracker;
+
     /**
      * Constructor tạo ô trống.
      * 
@@ -19,9 +22,21 @@ public class Cell {
      * @param y Tọa độ y của ô
      */
     public Cell(int x, int y) {
+        this(x, y, null);
+    }
+
+    /**
+     * Constructor tạo ô trống có theo dõi thay đổi.
+     * 
+     * @param x       Tọa độ x của ô
+     * @param y       Tọa độ y của ô
+     * @param tracker Bộ theo dõi ô thay đổi của Ecosystem
+     */
+    Cell(int x, int y, DirtyCellTracker tracker) {
         this.x = x;
         this.y = y;
         this.occupant = null;
+        this.tracker = tracker;
     }
 
     /**
@@ -41,6 +56,7 @@ public class Cell {
      */
     public boolean setOccupant(Organism organism) {
         if (isEmpty() || organism == null) {
+            markDirty();
             this.occupant = organism;
             if (organism != null) {
                 organism.setPosition(x, y);
@@ -58,6 +74,7 @@ public class Cell {
     public Organism getOccupant() {
         // Dọn dẹp sinh vật đã chết
         if (occupant != null && !occupant.isAlive()) {
+            markDirty();
             occupant = null;
         }
         return occupant;
@@ -67,9 +84,47 @@ public class Cell {
      * Xóa sinh vật khỏi ô.
      */
     public void clear() {
+        markDirty();
         this.occupant = null;
     }
 
+    /**
+     * Ghi nhận ô sắp thay đổi (nếu đang theo dõi).
+     */
+    private void markDirty() {
+        if (tracker != null) {
+            tracker.mark(this, occupant);
+        }
+    }
+
+    /**
+     * Đọc sinh vật trong ô mà không dọn sinh vật đã chết.
+     * 
+     * @return Sinh vật đang được ô tham chiếu
+     */
+    Organism peekOccupant() {
+        return occupant;
+    }
+
+    /**
+     * Gán trực tiếp sinh vật cho ô (khi khôi phục trạng thái), không ghi nhận
+     * thay đổi và không đổi vị trí sinh vật.
+     * 
+     * @param organism Sinh vật chiếm ô, hoặc null
+     */
+    void restoreOccupant(Organism organism) {
+        this.occupant = organism;
+    }
+
+    /**
+     * Đổi tracker khi tile chứa ô được chuyển sang hệ sinh thái khác (fork).
+     * 
+     * @param tracker Tracker mới
+     */
+    void setTracker(DirtyCellTracker tracker) {
+        this.tracker = tracker;
+    }
+
     /**
      * Kiểm tra xem ô có chứa Producer không.
      * 
@@ -4,7 +4,6 @@ import com.ecosystem.interfaces.Movable;
 import javafx.scene.paint.Color;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * Abstract class đại diện cho sinh vật tiêu thụ (Consumer) trong hệ sinh thái.
@@ -16,8 +15,6 @@ import java.util.Random;
  */
 public abstract class Consumer extends Organism implements Movable {
 
-    protected static final Random RANDOM = new Random();
-
     // Tốc độ mất năng lượng mỗi tick
     protected final double hungerRate;
 
@@ -52,6 +49,24 @@ public abstract class Consumer extends Organism implements Movable {
         this.config = config;
     }
 
+    /**
+     * Constructor sao chép cho Consumer (dùng khi fork hệ sinh thái).
+     * 
+     * @param source      Sinh vật gốc
+     * @param hungerRate  Tốc độ mất năng lượng
+     * @param visionRange Tầm nhìn
+     * @param speed       Tốc độ di chuyển
+     * @param config      Cấu hình của nhánh fork
+     */
+    protected Consumer(Consumer source, double hungerRate, int visionRange, int speed,
+            EcosystemConfig config) {
+        super(source);
+        this.hungerRate = hungerRate;
+        this.visionRange = visionRange;
+        this.speed = speed;
+        this.config = config;
+    }
+
     /**
      * Tìm thức ăn trong tầm nhìn.
      * Herbivore tìm Producer, Carnivore tìm Herbivore.
@@ -104,14 +119,15 @@ public abstract class Consumer extends Organism implements Movable {
         if (newX >= 0 && newX < ecosystem.getWidth() &&
                 newY >= 0 && newY < ecosystem.getHeight()) {
 
-            Cell currentCell = ecosystem.getCell(x, y);
-            Cell targetCell = ecosystem.getCell(newX, newY);
+            Cell currentCell = ecosystem.getWritableCell(x, y);
+            Cell targetCell = ecosystem.getWritableCell(newX, newY);
 
             // Chỉ di chuyển nếu ô đích trống hoặc có thức ăn
             if (targetCell.isEmpty() || canEatOccupant(targetCell)) {
                 currentCell.clear();
                 setPosition(newX, newY);
-                targetCell.setOccupant(this);
+                boolean attached = targetCell.setOccupant(this);
+                ecosystem.getEventRecorder().onMove(this, attached);
                 return true;
             }
         }
@@ -133,7 +149,7 @@ public abstract class Consumer extends Organism implements Movable {
         List<Integer> indices = new java.util.ArrayList<>();
         for (int i = 0; i < 8; i++)
             indices.add(i);
-        java.util.Collections.shuffle(indices);
+        java.util.Collections.shuffle(indices, ecosystem.getRandom());
 
         for (int idx : indices) {
             int newX = x + dx[idx];
@@ -142,12 +158,13 @@ public abstract class Consumer extends Organism implements Movable {
             if (newX >= 0 && newX < ecosystem.getWidth() &&
                     newY >= 0 && newY < ecosystem.getHeight()) {
 
-                Cell targetCell = ecosystem.getCell(newX, newY);
+                Cell targetCell = ecosystem.getWritableCell(newX, newY);
                 if (targetCell.isEmpty()) {
-                    Cell currentCell = ecosystem.getCell(x, y);
+                    Cell currentCell = ecosystem.getWritableCell(x, y);
                     currentCell.clear();
                     setPosition(newX, newY);
                     targetCell.setOccupant(this);
+                    ecosystem.getEventRecorder().onMove(this, true);
                     return true;
                 }
             }
@@ -0,0 +1,93 @@
+package com.ecosystem.model;
+
+import java.util.Arrays;
+
+/**
+ * Theo dõi các ô bị thay đổi trong một tick.
+ *
+ * Mỗi ô chỉ được ghi nhận một lần (lần thay đổi đầu tiên) cùng với sinh vật
+ * chiếm ô trước khi thay đổi, nên chi phí tỷ lệ với số ô thay đổi chứ không
+ * phải kích thước grid. Bitmap đánh dấu (một bit mỗi ô) chỉ được cấp phát
+ * ở lần ghi nhận đầu tiên, nên tạo tracker (mỗi lần fork) không tốn O(số ô).
+ */
+final class DirtyCellTracker {
+
+    private final int width;
+    private final int height;
+    private long[] marked;
+
+    private boolean enabled;
+    private int count;
+    private int[] cellIndices = new int[64];
+    private Organism[] previousOccupants = new Organism[64];
+
+    DirtyCellTracker(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Ghi nhận ô sắp thay đổi (chỉ lần đầu trong tick).
+     *
+     * @param cell     Ô sắp thay đổi
+     * @param previous Sinh vật đang chiếm ô trước khi thay đổi
+     */
+    void mark(Cell cell, Organism previous) {
+        if (!enabled) {
+            return;
+        }
+        if (marked == null) {
+            marked = new long[(width * height + 63) >>> 6];
+        }
+        int index = cell.getX() * height + cell.getY();
+        long bit = 1L << index;
+        if ((marked[index >>> 6] & bit) != 0) {
+            return;
+        }
+        marked[index >>> 6] |= bit;
+
+        if (count == cellIndices.length) {
+            cellIndices = Arrays.copyOf(cellIndices, count * 2);
+            previousOccupants = Arrays.copyOf(previousOccupants, count * 2);
+        }
+        cellIndices[count] = index;
+        previousOccupants[count] = previous;
+        count++;
+    }
+
+    /**
+     * Xóa các ô đã ghi nhận (chỉ duyệt các ô đã đánh dấu).
+     */
+    void reset() {
+        for (int i = 0; i < count; i++) {
+            marked[cellIndices[i] >>> 6] = 0;
+            previousOccupants[i] = null;
+        }
+        count = 0;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        reset();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int[] copyCellIndices() {
+        return Arrays.copyOf(cellIndices, count);
+    }
+
+    Organism[] copyPreviousOccupants() {
+        return Arrays.copyOf(previousOccupants, count);
+    }
+
+    int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecosystem.model;
+
+/**
+ * Histogram bất biến của năng lượng hoặc tuổi một loài tại một thế hệ.
+ *
+ * Các bin cùng độ rộng bắt đầu từ 0; bin cuối chứa mọi giá trị từ
+ * getBinStart(last) trở lên. Quantile và trung bình được nội suy từ bin nên
+ * sai số tối đa bằng độ rộng một bin, chi phí O(số bin) thay vì O(số sinh vật).
+ */
+public final class DistributionHistogram {
+
+    private final double binWidth;
+    private final int[] counts;
+    private final int total;
+
+    /**
+     * Constructor tạo histogram (sao chép mảng đếm).
+     *
+     * @param binWidth Độ rộng mỗi bin
+     * @param counts   Số sinh vật trong từng bin
+     */
+    DistributionHistogram(double binWidth, int[] counts) {
+        this.binWidth = binWidth;
+        this.counts = counts.clone();
+        int sum = 0;
+        for (int c : counts) {
+            sum += c;
+        }
+        this.total = sum;
+    }
+
+    public int getBinCount() {
+        return counts.length;
+    }
+
+    public int getCount(int bin) {
+        return counts[bin];
+    }
+
+    /**
+     * Cận dưới của bin.
+     */
+    public double getBinStart(int bin) {
+        return bin * binWidth;
+    }
+
+    public double getBinWidth() {
+        return binWidth;
+    }
+
+    /**
+     * Tổng số sinh vật còn sống được đếm.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Ước lượng quantile bằng nội suy tuyến tính trong bin chứa nó.
+     *
+     * @param q Quantile (0..1)
+     * @return Giá trị ước lượng, NaN nếu histogram rỗng
+     */
+    public double getQuantile(double q) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double target = Math.max(0, Math.min(1, q)) * total;
+        int before = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && before + counts[i] >= target) {
+                return getBinStart(i) + (target - before) / counts[i] * binWidth;
+            }
+            before += counts[i];
+        }
+        return getBinStart(counts.length - 1);
+    }
+
+    /**
+     * Trung bình ước lượng theo điểm giữa các bin.
+     *
+     * @return Trung bình, NaN nếu histogram rỗng
+     */
+    public double getMean() {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[i] * (getBinStart(i) + binWidth / 2);
+        }
+        return sum / total;
+    }
+}
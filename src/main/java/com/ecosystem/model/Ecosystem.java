@@ -1,8 +1,12 @@
 package com.ecosystem.model;
 
+import com.ecosystem.monitoring.EmptyCellScanEvent;
+import com.ecosystem.monitoring.TickEvent;
+import com.ecosystem.utils.AllocationMeter;
+
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -15,10 +19,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class Ecosystem {
 
-    private final Random random = new Random();
+    // Nguồn ngẫu nhiên riêng (seed từ cấu hình để chạy lại được, an toàn khi
+    // nhiều hệ sinh thái chạy song song)
+    private final Random random;
 
-    // Grid chứa các ô
-    private final Cell[][] grid;
+    // Grid chứa các ô, lưu theo tile để fork chia sẻ copy-on-write
+    private final GridTile[] tiles;
+    private final int tilesY;
     private final int width;
     private final int height;
 
@@ -33,6 +40,34 @@ public class Ecosystem {
     // Số thế hệ (tick)
     private int generation;
 
+    // Ghi nhận sự kiện (mặc định không làm gì)
+    private EventRecorder eventRecorder = EventRecorder.NONE;
+
+    // Đo thời gian từng pha của tick (null = tắt)
+    private volatile TickProfiler profiler;
+
+    // Tổng số sinh vật sinh ra / chết đi kể từ initialize, và trong tick gần nhất
+    private long totalBirths;
+    private long totalDeaths;
+    private int lastTickBirths;
+    private int lastTickDeaths;
+
+    // Ghi delta từng tick cho rewind (theo dõi các ô thay đổi)
+    private final DirtyCellTracker dirtyCells;
+    private TickDelta lastDelta;
+
+    // Đang dùng chung tile/sinh vật với nhánh fork, cần tách trước khi ghi
+    private boolean sharedState;
+
+    // Sinh vật dùng chung được tạo theo cấu hình khác (nhánh fork đổi tham số)
+    private boolean foreignOrganisms;
+
+    // Tăng mỗi lần fork: delta ghi trước đó tham chiếu sinh vật cũ
+    private int forkEpoch;
+
+    // Histogram năng lượng/tuổi theo loài (chỉ số OrganismType), null nếu tắt
+    private final SpeciesDistribution[] distributions;
+
     /**
      * Constructor tạo hệ sinh thái mới.
      * 
@@ -43,19 +78,102 @@ public class Ecosystem {
         this.width = config.getGridWidth();
         this.height = config.getGridHeight();
         this.generation = 0;
+        this.random = createRandom(config);
 
         // Khởi tạo grid
-        this.grid = new Cell[width][height];
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                grid[x][y] = new Cell(x, y);
-            }
+        this.dirtyCells = new DirtyCellTracker(width, height);
+        int tilesX = (width + GridTile.TILE_MASK) >> GridTile.TILE_SHIFT;
+        this.tilesY = (height + GridTile.TILE_MASK) >> GridTile.TILE_SHIFT;
+        this.tiles = new GridTile[tilesX * tilesY];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = newTile(i);
         }
 
         // Khởi tạo danh sách sinh vật (thread-safe)
         this.producers = new CopyOnWriteArrayList<>();
         this.herbivores = new CopyOnWriteArrayList<>();
         this.carnivores = new CopyOnWriteArrayList<>();
+        this.distributions = createDistributions(config);
+    }
+
+    /**
+     * Constructor tạo nhánh fork dùng chung tile và danh sách sinh vật với
+     * hệ sinh thái gốc. Chi phí tỷ lệ với số tile (cộng số bin histogram),
+     * không phải số ô hay số sinh vật.
+     * 
+     * @param config Cấu hình của nhánh
+     * @param source Hệ sinh thái gốc (đang dừng tại ranh giới tick)
+     */
+    private Ecosystem(EcosystemConfig config, Ecosystem source) {
+        this.config = config;
+        this.width = source.width;
+        this.height = source.height;
+        this.generation = source.generation;
+        this.random = createRandom(config);
+        this.dirtyCells = new DirtyCellTracker(width, height);
+
+        this.tilesY = source.tilesY;
+        this.tiles = source.tiles.clone();
+        for (GridTile tile : tiles) {
+            tile.retain();
+        }
+
+        // CopyOnWriteArrayList sao chép từ list cùng loại dùng chung mảng bên trong
+        this.producers = new CopyOnWriteArrayList<>(source.producers);
+        this.herbivores = new CopyOnWriteArrayList<>(source.herbivores);
+        this.carnivores = new CopyOnWriteArrayList<>(source.carnivores);
+
+        this.sharedState = true;
+        this.foreignOrganisms = config != source.config || source.foreignOrganisms;
+        this.totalBirths = source.totalBirths;
+        this.totalDeaths = source.totalDeaths;
+
+        // Sinh vật dùng chung vẫn gắn với histogram của hệ gốc; nhánh chỉ sao
+        // chép số đếm và gắn sinh vật của mình khi tách (replaceMembers)
+        this.distributions = forkDistributions(config, source);
+    }
+
+    /**
+     * Histogram của nhánh fork: sao chép số đếm của hệ gốc trong O(số bin)
+     * nếu cùng cách chia bin, nếu không thì đếm lại từ danh sách sinh vật.
+     * Không đổi histogram mà sinh vật dùng chung đang gắn.
+     */
+    private static SpeciesDistribution[] forkDistributions(EcosystemConfig config, Ecosystem source) {
+        SpeciesDistribution[] distributions = createDistributions(config);
+        if (distributions == null) {
+            return null;
+        }
+        List<List<? extends Organism>> lists = List.of(source.producers, source.herbivores, source.carnivores);
+        for (int i = 0; i < distributions.length; i++) {
+            if (source.distributions != null && distributions[i].hasSameBins(source.distributions[i])) {
+                distributions[i].copyFrom(source.distributions[i]);
+                continue;
+            }
+            for (Organism o : lists.get(i)) {
+                if (o.isAlive()) {
+                    distributions[i].add(o.getEnergy(), o.getAge());
+                }
+            }
+        }
+        return distributions;
+    }
+
+    private static SpeciesDistribution[] createDistributions(EcosystemConfig config) {
+        if (!config.isDistributionEnabled()) {
+            return null;
+        }
+        int bins = config.getDistributionBins();
+        int ageBinWidth = config.getAgeBinWidth();
+        // Consumer sinh sản khi đạt ngưỡng nên năng lượng hiếm khi vượt xa ngưỡng
+        return new SpeciesDistribution[] {
+                new SpeciesDistribution(bins, config.getProducerMaxEnergy(), ageBinWidth),
+                new SpeciesDistribution(bins, config.getHerbivoreReproductionThreshold() * 1.5, ageBinWidth),
+                new SpeciesDistribution(bins, config.getCarnivoreReproductionThreshold() * 1.5, ageBinWidth)
+        };
+    }
+
+    private static Random createRandom(EcosystemConfig config) {
+        return config.getRandomSeed() != 0 ? new Random(config.getRandomSeed()) : new Random();
     }
 
     /**
@@ -110,7 +228,7 @@ public class Ecosystem {
      * @param y    Vị trí y
      * @return Sinh vật mới
      */
-    private Organism createOrganism(OrganismType type, int x, int y) {
+    public Organism createOrganism(OrganismType type, int x, int y) {
         return switch (type) {
             case PRODUCER -> new Producer(x, y, config);
             case HERBIVORE -> new Herbivore(x, y, config);
@@ -127,6 +245,7 @@ public class Ecosystem {
     public boolean addOrganism(Organism organism) {
         if (organism == null)
             return false;
+        ensureExclusive();
 
         int x = organism.getX();
         int y = organism.getY();
@@ -136,7 +255,7 @@ public class Ecosystem {
             return false;
         }
 
-        Cell cell = grid[x][y];
+        Cell cell = getWritableCell(x, y);
 
         // Kiểm tra ô trống
         if (!cell.isEmpty()) {
@@ -147,6 +266,38 @@ public class Ecosystem {
         cell.setOccupant(organism);
 
         // Thêm vào danh sách tương ứng
+        addToList(organism);
+
+        totalBirths++;
+        eventRecorder.onBirth(organism);
+        return true;
+    }
+
+    /**
+     * Đặt sinh vật vào hệ sinh thái khi khôi phục trạng thái (snapshot, replay).
+     * Khác addOrganism: luôn thêm vào danh sách, kể cả sinh vật không chiếm ô
+     * (đứng chồng lên ô chứa thức ăn sau khi di chuyển). Không ghi sự kiện.
+     * 
+     * @param organism Sinh vật cần đặt
+     * @param attached true nếu sinh vật chiếm ô tại vị trí của nó
+     */
+    public void placeOrganism(Organism organism, boolean attached) {
+        ensureExclusive();
+        if (attached) {
+            Cell cell = getWritableCell(organism.getX(), organism.getY());
+            cell.clear();
+            cell.setOccupant(organism);
+        }
+        addToList(organism);
+    }
+
+    /**
+     * Thêm sinh vật vào danh sách theo loại.
+     * 
+     * @param organism Sinh vật cần thêm
+     */
+    private void addToList(Organism organism) {
+        track(organism);
         if (organism instanceof Producer p) {
             producers.add(p);
         } else if (organism instanceof Herbivore h) {
@@ -154,8 +305,6 @@ public class Ecosystem {
         } else if (organism instanceof Carnivore c) {
             carnivores.add(c);
         }
-
-        return true;
     }
 
     /**
@@ -166,18 +315,20 @@ public class Ecosystem {
     public void removeOrganism(Organism organism) {
         if (organism == null)
             return;
+        ensureExclusive();
 
         int x = organism.getX();
         int y = organism.getY();
 
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            Cell cell = grid[x][y];
+            Cell cell = getWritableCell(x, y);
             if (cell.getOccupant() == organism) {
                 cell.clear();
             }
         }
 
         // Loại bỏ khỏi danh sách
+        untrack(organism);
         if (organism instanceof Producer p) {
             producers.remove(p);
         } else if (organism instanceof Herbivore h) {
@@ -185,35 +336,149 @@ public class Ecosystem {
         } else if (organism instanceof Carnivore c) {
             carnivores.remove(c);
         }
+
+        totalDeaths++;
+        eventRecorder.onDeath(organism);
+    }
+
+    /**
+     * Di chuyển sinh vật tới vị trí mới (dùng khi replay).
+     * Lặp lại đúng thao tác của Consumer khi di chuyển: dọn ô cũ, đổi vị trí,
+     * chiếm ô mới nếu lần di chuyển gốc chiếm được ô.
+     * 
+     * @param organism Sinh vật cần di chuyển
+     * @param newX     Vị trí x mới
+     * @param newY     Vị trí y mới
+     * @param attached true nếu sinh vật chiếm ô mới
+     */
+    public void relocateOrganism(Organism organism, int newX, int newY, boolean attached) {
+        getWritableCell(organism.getX(), organism.getY()).clear();
+        organism.setPosition(newX, newY);
+        if (attached) {
+            Cell target = getWritableCell(newX, newY);
+            target.clear();
+            target.setOccupant(organism);
+        }
     }
 
     /**
      * Cập nhật trạng thái hệ sinh thái (1 tick).
      */
     public void update() {
+        // Tách khỏi nhánh fork trước khi sửa sinh vật
+        ensureExclusive();
+
+        // Chụp trạng thái sinh vật trước tick nếu đang ghi delta
+        TickDelta delta = null;
+        if (dirtyCells.isEnabled()) {
+            dirtyCells.reset();
+            delta = new TickDelta(currentMembers(), generation, height, forkEpoch);
+        }
+
         generation++;
+        eventRecorder.onTickStart(generation);
+
+        TickEvent tickEvent = new TickEvent();
+        tickEvent.begin();
+        long birthsBefore = totalBirths;
+        long deathsBefore = totalDeaths;
+
+        TickProfiler profiler = this.profiler;
+        long mark = profiler != null ? profiler.mark() : 0;
 
         // Spawn Producer mới (quá trình tự nhiên)
         if (random.nextDouble() < config.getProducerSpawnRate()) {
             spawnRandomOrganism(OrganismType.PRODUCER);
         }
+        if (profiler != null) {
+            mark = profiler.lap(TickProfiler.Phase.SPAWN, mark);
+        }
 
         // Tạo danh sách shuffle để cập nhật ngẫu nhiên
         List<Organism> allOrganisms = new ArrayList<>();
         allOrganisms.addAll(producers);
         allOrganisms.addAll(herbivores);
         allOrganisms.addAll(carnivores);
-        Collections.shuffle(allOrganisms);
+        Collections.shuffle(allOrganisms, random);
 
         // Cập nhật từng sinh vật
-        for (Organism organism : allOrganisms) {
-            if (organism.isAlive()) {
-                organism.update(this);
+        if (profiler == null) {
+            for (Organism organism : allOrganisms) {
+                if (organism.isAlive()) {
+                    organism.update(this);
+                }
             }
+        } else {
+            mark = profiler.lap(TickProfiler.Phase.SHUFFLE, mark);
+            mark = updateProfiled(allOrganisms, profiler, mark);
         }
 
         // Loại bỏ sinh vật đã chết
         cleanupDeadOrganisms();
+        if (profiler != null) {
+            profiler.lap(TickProfiler.Phase.CLEANUP, mark);
+        }
+
+        lastTickBirths = (int) (totalBirths - birthsBefore);
+        lastTickDeaths = (int) (totalDeaths - deathsBefore);
+        if (tickEvent.shouldCommit()) {
+            tickEvent.generation = generation;
+            tickEvent.producers = producers.size();
+            tickEvent.herbivores = herbivores.size();
+            tickEvent.carnivores = carnivores.size();
+            tickEvent.births = lastTickBirths;
+            tickEvent.deaths = lastTickDeaths;
+            tickEvent.commit();
+        }
+
+        if (delta != null) {
+            delta.finish(dirtyCells);
+            dirtyCells.reset();
+            lastDelta = delta;
+        }
+    }
+
+    /**
+     * Cập nhật sinh vật và cộng dồn thời gian, số byte cấp phát theo loài (một
+     * lần đọc timer và bộ đếm cấp phát mỗi sinh vật, mốc kết thúc của sinh vật
+     * này là mốc bắt đầu của sinh vật sau).
+     * 
+     * @return Mốc thời gian kết thúc
+     */
+    private long updateProfiled(List<Organism> organisms, TickProfiler profiler, long start) {
+        long producerNanos = 0;
+        long herbivoreNanos = 0;
+        long carnivoreNanos = 0;
+        long producerBytes = 0;
+        long herbivoreBytes = 0;
+        long carnivoreBytes = 0;
+        long last = start;
+        long lastAllocated = AllocationMeter.currentThreadAllocatedBytes();
+        for (Organism organism : organisms) {
+            if (!organism.isAlive()) {
+                continue;
+            }
+            organism.update(this);
+            long now = System.nanoTime();
+            long allocated = AllocationMeter.currentThreadAllocatedBytes();
+            if (organism instanceof Producer) {
+                producerNanos += now - last;
+                producerBytes += allocated - lastAllocated;
+            } else if (organism instanceof Herbivore) {
+                herbivoreNanos += now - last;
+                herbivoreBytes += allocated - lastAllocated;
+            } else {
+                carnivoreNanos += now - last;
+                carnivoreBytes += allocated - lastAllocated;
+            }
+            last = now;
+            lastAllocated = allocated;
+        }
+        profiler.record(TickProfiler.Phase.PRODUCERS, producerNanos, producerBytes);
+        profiler.record(TickProfiler.Phase.HERBIVORES, herbivoreNanos, herbivoreBytes);
+        profiler.record(TickProfiler.Phase.CARNIVORES, carnivoreNanos, carnivoreBytes);
+        profiler.markAllocation(lastAllocated);
+        return last;
     }
 
     /**
@@ -229,10 +494,12 @@ public class Ecosystem {
         // Loại bỏ Producer chết - dọn cell trước, rồi remove khỏi list
         for (Producer p : producers) {
             if (!p.isAlive()) {
-                Cell cell = grid[p.getX()][p.getY()];
+                Cell cell = getWritableCell(p.getX(), p.getY());
                 if (cell.getOccupant() == p) {
                     cell.clear();
                 }
+                totalDeaths++;
+                eventRecorder.onDeath(p);
             }
         }
         producers.removeIf(p -> !p.isAlive());
@@ -240,10 +507,12 @@ public class Ecosystem {
         // Loại bỏ Herbivore chết
         for (Herbivore h : herbivores) {
             if (!h.isAlive()) {
-                Cell cell = grid[h.getX()][h.getY()];
+                Cell cell = getWritableCell(h.getX(), h.getY());
                 if (cell.getOccupant() == h) {
                     cell.clear();
                 }
+                totalDeaths++;
+                eventRecorder.onDeath(h);
             }
         }
         herbivores.removeIf(h -> !h.isAlive());
@@ -251,10 +520,12 @@ public class Ecosystem {
         // Loại bỏ Carnivore chết
         for (Carnivore c : carnivores) {
             if (!c.isAlive()) {
-                Cell cell = grid[c.getX()][c.getY()];
+                Cell cell = getWritableCell(c.getX(), c.getY());
                 if (cell.getOccupant() == c) {
                     cell.clear();
                 }
+                totalDeaths++;
+                eventRecorder.onDeath(c);
             }
         }
         carnivores.removeIf(c -> !c.isAlive());
@@ -266,14 +537,22 @@ public class Ecosystem {
      * @return Danh sách các ô trống
      */
     public List<Cell> getEmptyCells() {
+        EmptyCellScanEvent event = new EmptyCellScanEvent();
+        event.begin();
         List<Cell> emptyCells = new ArrayList<>();
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                if (grid[x][y].isEmpty()) {
-                    emptyCells.add(grid[x][y]);
+                Cell cell = cellAt(x, y);
+                if (cell.isEmpty()) {
+                    emptyCells.add(cell);
                 }
             }
         }
+        if (event.shouldCommit()) {
+            event.cellsScanned = width * height;
+            event.emptyCells = emptyCells.size();
+            event.commit();
+        }
         return emptyCells;
     }
 
@@ -296,8 +575,9 @@ public class Ecosystem {
                 int ny = centerY + dy;
 
                 if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
-                    if (grid[nx][ny].isEmpty()) {
-                        neighbors.add(grid[nx][ny]);
+                    Cell cell = cellAt(nx, ny);
+                    if (cell.isEmpty()) {
+                        neighbors.add(cell);
                     }
                 }
             }
@@ -352,34 +632,497 @@ public class Ecosystem {
                 avgCarnivoreEnergy);
     }
 
+    /**
+     * Lấy thống kê hệ sinh thái, có thể kèm histogram năng lượng/tuổi.
+     * 
+     * @param includeDistributions true để kèm histogram của từng loài
+     * @return Đối tượng EcosystemStats
+     */
+    public EcosystemStats getStatistics(boolean includeDistributions) {
+        EcosystemStats stats = getStatistics();
+        return includeDistributions ? withDistributions(stats) : stats;
+    }
+
+    /**
+     * Gắn histogram năng lượng/tuổi hiện tại vào thống kê đã có. Histogram
+     * được cập nhật dần trong tick nên chi phí chỉ là O(số bin), không duyệt
+     * quần thể. Gọi tại ranh giới tick.
+     * 
+     * @param stats Thống kê của thế hệ hiện tại
+     * @return Thống kê kèm histogram, hoặc chính stats nếu tắt histogram
+     */
+    public EcosystemStats withDistributions(EcosystemStats stats) {
+        if (distributions == null) {
+            return stats;
+        }
+        DistributionHistogram[] energy = new DistributionHistogram[distributions.length];
+        DistributionHistogram[] age = new DistributionHistogram[distributions.length];
+        for (int i = 0; i < distributions.length; i++) {
+            energy[i] = distributions[i].energySnapshot();
+            age[i] = distributions[i].ageSnapshot();
+        }
+        return stats.withDistributions(energy, age);
+    }
+
+    /**
+     * Histogram năng lượng hiện tại của một loài (O(số bin)).
+     * 
+     * @param type Loài
+     * @return Histogram, hoặc null nếu tắt histogram (simulation.distribution)
+     */
+    public DistributionHistogram getEnergyDistribution(OrganismType type) {
+        return distributions != null ? distributions[type.ordinal()].energySnapshot() : null;
+    }
+
+    /**
+     * Histogram tuổi hiện tại của một loài (O(số bin)).
+     * 
+     * @param type Loài
+     * @return Histogram, hoặc null nếu tắt histogram (simulation.distribution)
+     */
+    public DistributionHistogram getAgeDistribution(OrganismType type) {
+        return distributions != null ? distributions[type.ordinal()].ageSnapshot() : null;
+    }
+
+    /**
+     * Chụp snapshot trạng thái hiện tại (gọi tại ranh giới tick).
+     * Chỉ sao chép các giá trị primitive nên thời gian chụp tỷ lệ tuyến tính
+     * với số sinh vật và không cấp phát object cho từng sinh vật.
+     * 
+     * @return Snapshot bất biến của hệ sinh thái
+     */
+    public EcosystemSnapshot snapshot() {
+        int capacity = producers.size() + herbivores.size() + carnivores.size();
+        byte[] types = new byte[capacity];
+        int[] ids = new int[capacity];
+        int[] xs = new int[capacity];
+        int[] ys = new int[capacity];
+        double[] energies = new double[capacity];
+        int[] ages = new int[capacity];
+
+        int count = 0;
+        for (List<? extends Organism> list : List.of(producers, herbivores, carnivores)) {
+            for (Organism o : list) {
+                if (count == capacity || !o.isAlive()) {
+                    continue;
+                }
+                boolean attached = cellAt(o.getX(), o.getY()).peekOccupant() == o;
+                types[count] = (byte) (typeOf(o).ordinal() | (attached ? 0 : EcosystemSnapshot.DETACHED_FLAG));
+                ids[count] = o.getId();
+                xs[count] = o.getX();
+                ys[count] = o.getY();
+                energies[count] = o.getEnergy();
+                ages[count] = o.getAge();
+                count++;
+            }
+        }
+
+        return new EcosystemSnapshot(generation, width, height, count,
+                types, ids, xs, ys, energies, ages);
+    }
+
+    /**
+     * Khôi phục hệ sinh thái từ snapshot.
+     * Sinh vật được tạo lại theo cấu hình hiện tại của hệ sinh thái này.
+     * 
+     * @param snapshot Snapshot cần khôi phục
+     * @return Các sinh vật đã tạo lại, theo đúng thứ tự trong snapshot
+     * @throws IllegalArgumentException nếu kích thước grid không khớp
+     */
+    public List<Organism> restore(EcosystemSnapshot snapshot) {
+        if (snapshot.getWidth() != width || snapshot.getHeight() != height) {
+            throw new IllegalArgumentException(String.format(
+                    "Kích thước grid không khớp: snapshot %dx%d, ecosystem %dx%d",
+                    snapshot.getWidth(), snapshot.getHeight(), width, height));
+        }
+
+        clear();
+        List<Organism> restored = new ArrayList<>(snapshot.getCount());
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            Organism organism = createOrganism(snapshot.getType(i), snapshot.getX(i), snapshot.getY(i));
+            organism.setEnergy(snapshot.getEnergy(i));
+            organism.setAge(snapshot.getAge(i));
+            placeOrganism(organism, snapshot.isAttached(i));
+            restored.add(organism);
+        }
+        generation = snapshot.getGeneration();
+        return restored;
+    }
+
+    /**
+     * Bật/tắt ghi delta từng tick (dùng cho rewind).
+     * 
+     * @param enabled true để ghi delta sau mỗi update()
+     */
+    public void setDeltaRecording(boolean enabled) {
+        dirtyCells.setEnabled(enabled);
+        lastDelta = null;
+    }
+
+    public boolean isDeltaRecording() {
+        return dirtyCells.isEnabled();
+    }
+
+    /**
+     * Lấy delta của tick vừa chạy (chỉ trả về một lần).
+     * 
+     * @return TickDelta, hoặc null nếu không ghi delta
+     */
+    public TickDelta takeLastDelta() {
+        TickDelta delta = lastDelta;
+        lastDelta = null;
+        return delta;
+    }
+
+    /**
+     * Lùi hệ sinh thái về trạng thái trước tick của delta.
+     * 
+     * @param delta Delta của tick gần nhất chưa được lùi
+     */
+    public void revert(TickDelta delta) {
+        if (delta.isReverted()) {
+            throw new IllegalStateException("Delta đã được lùi");
+        }
+        checkEpoch(delta);
+        delta.apply(this);
+    }
+
+    /**
+     * Tiến lại trạng thái sau tick của delta đã lùi.
+     * 
+     * @param delta Delta đã được lùi gần nhất
+     */
+    public void reapply(TickDelta delta) {
+        if (!delta.isReverted()) {
+            throw new IllegalStateException("Delta chưa được lùi");
+        }
+        checkEpoch(delta);
+        delta.apply(this);
+    }
+
+    private void checkEpoch(TickDelta delta) {
+        if (delta.getForkEpoch() != forkEpoch) {
+            throw new IllegalStateException("Delta được ghi trước khi fork hệ sinh thái");
+        }
+    }
+
+    /**
+     * Tạo nhánh fork độc lập với cùng cấu hình.
+     * 
+     * @return Nhánh fork
+     * @see #fork(EcosystemConfig)
+     */
+    public Ecosystem fork() {
+        return fork(config);
+    }
+
+    /**
+     * Tạo nhánh fork độc lập để chạy thử với cấu hình khác (what-if).
+     * 
+     * Nhánh dùng chung tile của grid và mảng danh sách sinh vật với hệ sinh
+     * thái này, nên chi phí fork tỷ lệ với số tile. Mỗi bên sao chép riêng
+     * các tile chứa sinh vật của mình ở lần ghi đầu tiên (update, thêm/bớt
+     * sinh vật); tile trống chỉ được sao chép khi có sinh vật đi vào. Các
+     * nhánh sau đó có thể chạy song song trên các thread khác nhau.
+     * 
+     * Chỉ gọi tại ranh giới tick, khi hệ sinh thái không được update.
+     * Delta rewind ghi trước khi fork không còn dùng được.
+     * 
+     * @param branchConfig Cấu hình của nhánh (phải cùng kích thước grid)
+     * @return Nhánh fork
+     * @throws IllegalArgumentException nếu kích thước grid không khớp
+     */
+    public Ecosystem fork(EcosystemConfig branchConfig) {
+        if (branchConfig.getGridWidth() != width || branchConfig.getGridHeight() != height) {
+            throw new IllegalArgumentException(String.format(
+                    "Kích thước grid không khớp: nhánh %dx%d, ecosystem %dx%d",
+                    branchConfig.getGridWidth(), branchConfig.getGridHeight(), width, height));
+        }
+
+        Ecosystem branch = new Ecosystem(branchConfig, this);
+        sharedState = true;
+        forkEpoch++;
+        lastDelta = null;
+        return branch;
+    }
+
+    /**
+     * Tách khỏi các nhánh fork nếu còn dùng chung trạng thái.
+     */
+    private void ensureExclusive() {
+        if (sharedState) {
+            detachShared();
+        }
+    }
+
+    /**
+     * Tách khỏi các nhánh fork trước lần ghi đầu tiên: sao chép (hoặc nhận
+     * lại khi các nhánh khác đã sao chép đi) các tile chứa sinh vật của hệ
+     * sinh thái này và trỏ danh sách sinh vật sang bản sao. Tile trống vẫn
+     * được dùng chung cho tới khi bị ghi.
+     */
+    private void detachShared() {
+        sharedState = false;
+        Organism[] members = currentMembers();
+        IdentityHashMap<Organism, Organism> copies = new IdentityHashMap<>();
+        boolean[] handled = new boolean[tiles.length];
+        for (Organism o : members) {
+            int tileIndex = tileIndex(o.getX(), o.getY());
+            if (!handled[tileIndex]) {
+                handled[tileIndex] = true;
+                ownTile(tileIndex, copies, foreignOrganisms);
+            }
+        }
+
+        Organism[] remapped = new Organism[members.length];
+        for (int i = 0; i < members.length; i++) {
+            Organism o = members[i];
+            Organism copy = copies.get(o);
+            if (copy == null) {
+                // Tile nhận lại giữ nguyên sinh vật; sinh vật không chiếm ô
+                // không thuộc tile nào nên luôn được sao chép
+                copy = cellAt(o.getX(), o.getY()).peekOccupant() == o ? o : o.copyFor(config);
+            }
+            remapped[i] = copy;
+        }
+        replaceMembers(remapped);
+        foreignOrganisms = false;
+    }
+
+    /**
+     * Đảm bảo tile thuộc riêng hệ sinh thái này.
+     * 
+     * @param tileIndex Chỉ số tile
+     * @param copies    Ghi lại cặp (sinh vật gốc, bản sao) khi sao chép
+     * @param forceCopy Sao chép kể cả khi không còn nhánh nào dùng chung
+     * @return Tile thuộc riêng hệ sinh thái này
+     */
+    private GridTile ownTile(int tileIndex, IdentityHashMap<Organism, Organism> copies, boolean forceCopy) {
+        GridTile tile = tiles[tileIndex];
+        if (!tile.isShared() && !forceCopy) {
+            tile.adopt(dirtyCells);
+            return tile;
+        }
+
+        // Sao chép xong mới nhả tile để nhánh còn lại không sửa khi đang đọc
+        GridTile copy = tile.copyFor(dirtyCells, config, copies);
+        tiles[tileIndex] = copy;
+        tile.release();
+        return copy;
+    }
+
+    private GridTile newTile(int tileIndex) {
+        int originX = (tileIndex / tilesY) << GridTile.TILE_SHIFT;
+        int originY = (tileIndex % tilesY) << GridTile.TILE_SHIFT;
+        return new GridTile(originX, originY, width, height, dirtyCells);
+    }
+
+    private int tileIndex(int x, int y) {
+        return (x >> GridTile.TILE_SHIFT) * tilesY + (y >> GridTile.TILE_SHIFT);
+    }
+
+    /**
+     * Đọc ô (không sao chép tile dùng chung).
+     */
+    private Cell cellAt(int x, int y) {
+        return tiles[tileIndex(x, y)].cells[GridTile.index(x, y)];
+    }
+
+    /**
+     * Lấy ô để thay đổi sinh vật chiếm ô. Tile đang dùng chung với nhánh
+     * fork được sao chép trước khi trả về.
+     * 
+     * @param x Tọa độ x
+     * @param y Tọa độ y
+     * @return Ô thuộc riêng hệ sinh thái này, hoặc null nếu ngoài grid
+     */
+    Cell getWritableCell(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return null;
+        }
+        ensureExclusive();
+        int tileIndex = tileIndex(x, y);
+        GridTile tile = tiles[tileIndex];
+        if (!tile.isOwnedBy(dirtyCells)) {
+            tile = ownTile(tileIndex, new IdentityHashMap<>(), false);
+        }
+        return tile.cells[GridTile.index(x, y)];
+    }
+
+    int getForkEpoch() {
+        return forkEpoch;
+    }
+
+    /**
+     * Lấy tất cả sinh vật trong các danh sách (Producer, Herbivore, Carnivore).
+     * 
+     * @return Mảng sinh vật theo thứ tự danh sách
+     */
+    private Organism[] currentMembers() {
+        Organism[] members = new Organism[producers.size() + herbivores.size() + carnivores.size()];
+        int i = 0;
+        for (Organism o : producers) {
+            members[i++] = o;
+        }
+        for (Organism o : herbivores) {
+            members[i++] = o;
+        }
+        for (Organism o : carnivores) {
+            members[i++] = o;
+        }
+        return members;
+    }
+
+    /**
+     * Thay nội dung các danh sách sinh vật.
+     * 
+     * @param members Sinh vật mới (theo thứ tự Producer, Herbivore, Carnivore)
+     * @return Sinh vật trong các danh sách trước khi thay
+     */
+    Organism[] replaceMembers(Organism[] members) {
+        Organism[] previous = currentMembers();
+
+        List<Producer> newProducers = new ArrayList<>();
+        List<Herbivore> newHerbivores = new ArrayList<>();
+        List<Carnivore> newCarnivores = new ArrayList<>();
+        for (Organism o : members) {
+            if (o instanceof Producer p) {
+                newProducers.add(p);
+            } else if (o instanceof Herbivore h) {
+                newHerbivores.add(h);
+            } else if (o instanceof Carnivore c) {
+                newCarnivores.add(c);
+            }
+        }
+
+        producers.clear();
+        producers.addAll(newProducers);
+        herbivores.clear();
+        herbivores.addAll(newHerbivores);
+        carnivores.clear();
+        carnivores.addAll(newCarnivores);
+        rebindDistributions(previous);
+        return previous;
+    }
+
+    /**
+     * Bắt đầu đếm sinh vật vào histogram của loài.
+     */
+    private void track(Organism organism) {
+        if (distributions == null) {
+            return;
+        }
+        SpeciesDistribution distribution = distributions[typeOf(organism).ordinal()];
+        organism.distribution = distribution;
+        if (organism.isAlive()) {
+            distribution.add(organism.getEnergy(), organism.getAge());
+        }
+    }
+
+    /**
+     * Ngừng đếm sinh vật (bị loại khi còn sống, ví dụ khi replay).
+     */
+    private void untrack(Organism organism) {
+        if (distributions == null || organism.distribution != distributions[typeOf(organism).ordinal()]) {
+            return;
+        }
+        if (organism.isAlive()) {
+            organism.distribution.remove(organism.getEnergy(), organism.getAge());
+        }
+        organism.distribution = null;
+    }
+
+    /**
+     * Đếm lại histogram từ danh sách hiện tại sau khi thay cả tập sinh vật
+     * (fork, tách khỏi nhánh, rewind). Chi phí O(số sinh vật), chỉ xảy ra ở
+     * các thao tác đó chứ không phải mỗi tick.
+     *
+     * @param previous Các sinh vật trước khi thay, ngừng đếm nếu còn gắn với hệ này
+     */
+    private void rebindDistributions(Organism[] previous) {
+        if (distributions == null) {
+            return;
+        }
+        for (Organism o : previous) {
+            if (o.distribution == distributions[typeOf(o).ordinal()]) {
+                o.distribution = null;
+            }
+        }
+        for (SpeciesDistribution distribution : distributions) {
+            distribution.clear();
+        }
+        for (List<? extends Organism> list : List.of(producers, herbivores, carnivores)) {
+            for (Organism o : list) {
+                track(o);
+            }
+        }
+    }
+
+    /**
+     * Xác định loại của một sinh vật.
+     * 
+     * @param organism Sinh vật
+     * @return Loại sinh vật tương ứng
+     */
+    public static OrganismType typeOf(Organism organism) {
+        if (organism instanceof Producer) {
+            return OrganismType.PRODUCER;
+        }
+        return organism instanceof Herbivore ? OrganismType.HERBIVORE : OrganismType.CARNIVORE;
+    }
+
     /**
      * Xóa tất cả sinh vật khỏi hệ sinh thái.
      */
     public void clear() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                grid[x][y].clear();
+        Organism[] removed = distributions != null ? currentMembers() : null;
+        for (int i = 0; i < tiles.length; i++) {
+            GridTile tile = tiles[i];
+            if (tile.isOwnedBy(dirtyCells)) {
+                for (Cell cell : tile.cells) {
+                    if (cell != null) {
+                        cell.clear();
+                    }
+                }
+            } else {
+                // Tile dùng chung hoặc nhận từ nhánh khác -> thay bằng tile trống mới
+                tiles[i] = newTile(i);
+                tile.release();
             }
         }
         producers.clear();
         herbivores.clear();
         carnivores.clear();
+        if (removed != null) {
+            // Sinh vật bị xóa không còn được đếm
+            rebindDistributions(removed);
+        }
         generation = 0;
+        totalBirths = 0;
+        totalDeaths = 0;
+        lastTickBirths = 0;
+        lastTickDeaths = 0;
+        sharedState = false;
+        foreignOrganisms = false;
     }
 
     // === Getters ===
 
+    /**
+     * Lấy ô để đọc. Không thay đổi ô qua tham chiếu này: sau khi fork, ô có
+     * thể đang được dùng chung với nhánh khác.
+     * 
+     * @param x Tọa độ x
+     * @param y Tọa độ y
+     * @return Ô tại vị trí, hoặc null nếu ngoài grid
+     */
     public Cell getCell(int x, int y) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            return grid[x][y];
+            return cellAt(x, y);
         }
         return null;
     }
 
-    public Cell[][] getGrid() {
-        return grid;
-    }
-
     public int getWidth() {
         return width;
     }
@@ -404,10 +1147,81 @@ public class Ecosystem {
         return generation;
     }
 
+    /**
+     * Đặt số thế hệ (dùng khi khôi phục trạng thái hoặc replay).
+     * 
+     * @param generation Thế hệ mới
+     */
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * Tổng số sinh vật được thêm vào grid kể từ initialize (kể cả quần thể ban đầu).
+     *
+     * @return Số lần sinh
+     */
+    public long getTotalBirths() {
+        return totalBirths;
+    }
+
+    /**
+     * Tổng số sinh vật bị loại bỏ kể từ initialize.
+     *
+     * @return Số lần chết
+     */
+    public long getTotalDeaths() {
+        return totalDeaths;
+    }
+
+    public int getLastTickBirths() {
+        return lastTickBirths;
+    }
+
+    public int getLastTickDeaths() {
+        return lastTickDeaths;
+    }
+
     public EcosystemConfig getConfig() {
         return config;
     }
 
+    /**
+     * Nguồn ngẫu nhiên của hệ sinh thái, dùng cho mọi quyết định ngẫu nhiên
+     * của sinh vật trong tick.
+     * 
+     * @return Random của hệ sinh thái
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    public EventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Bật/tắt đo thời gian từng pha của tick.
+     * 
+     * @param profiler Profiler nhận số liệu, null để tắt
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Đặt recorder ghi nhận sự kiện.
+     * 
+     * @param eventRecorder Recorder mới, null để tắt ghi nhận
+     */
+    public void setEventRecorder(EventRecorder eventRecorder) {
+        this.eventRecorder = eventRecorder != null ? eventRecorder : EventRecorder.NONE;
+    }
+
     /**
      * Enum định nghĩa các loại sinh vật.
      */
@@ -6,7 +6,7 @@ package com.ecosystem.model;
  * 
  * Áp dụng Encapsulation: gom nhóm các tham số liên quan.
  */
-public class EcosystemConfig {
+public class EcosystemConfig implements Cloneable {
 
     // === Grid Configuration ===
     private int gridWidth = 50;
@@ -40,6 +40,71 @@ public class EcosystemConfig {
     // === Simulation Configuration ===
     private int tickIntervalMs = 200;
     private int maxGenerations = 10000;
+    private long randomSeed = 0; // 0 = ngẫu nhiên mỗi lần chạy
+    private boolean profilingEnabled = false;
+    private double allocationBudgetKbPerTick = 0; // 0 = không kiểm tra
+
+    // === Autosave Configuration ===
+    private int autosaveEveryGenerations = 0; // 0 = tắt
+    private int autosaveIntervalSeconds = 0; // 0 = tắt
+    private String autosaveDirectory = "autosave";
+    private int autosaveKeepFiles = 3;
+    private double autosaveStallBudgetMs = 2.0;
+
+    // === Event Log (Replay) Configuration ===
+    private boolean eventLogEnabled = false;
+    private String eventLogFile = "replay/run.eclog";
+    private int eventLogKeyframeInterval = 100;
+
+    // === Rewind Configuration ===
+    private int rewindGenerations = 200; // 0 = tắt
+    private int rewindMemoryMb = 64;
+
+    // === Ensemble Configuration ===
+    private int ensembleSize = 100;
+    private int ensembleGenerations = 500;
+    private int ensembleParallelism = 0; // 0 = số core
+
+    // === Metrics Endpoint Configuration ===
+    private boolean metricsEnabled = false;
+    private String metricsHost = "127.0.0.1";
+    private int metricsPort = 9464;
+
+    // === Pacing Configuration ===
+    private String lateTickPolicy = "catch_up"; // catch_up | skip
+    private int maxCatchUpMs = 250;
+
+    // === Early Stop Configuration ===
+    // Chỉ áp dụng cho engine (MainApp, HostMain); sweep và optimizer luôn dùng detector
+    private boolean earlyStopEnabled = false;
+    private int steadyStateWindow = 250;
+    private int steadyStateCheckInterval = 50;
+    private double equilibriumCv = 0.01;
+    private double cycleCorrelation = 0.9;
+
+    // === Oscillation Analysis Configuration ===
+    private boolean oscillationEnabled = true;
+    private int oscillationWindow = 512;
+    private int oscillationUpdateInterval = 10;
+
+    // === Distribution Configuration ===
+    private boolean distributionEnabled = true;
+    private int distributionBins = 20;
+    private int ageBinWidth = 10;
+
+    // === Pipeline Configuration ===
+    private boolean pipelineEnabled = true;
+    private int pipelineDepth = 4;
+
+    // === Degradation Configuration ===
+    private boolean degradationEnabled = true;
+    private int degradationBudgetMs = 0; // 0 = chu kỳ tick mục tiêu (tối thiểu một frame)
+    private int degradationRecoverTicks = 30;
+    private int degradationNotifyInterval = 10;
+
+    // === Listener Dispatch Configuration ===
+    private String listenerOverflowPolicy = "conflate"; // block | drop_oldest | conflate
+    private int listenerQueueCapacity = 64;
 
     // === Initial Population ===
     private int initialProducers = 100;
@@ -56,14 +121,42 @@ public class EcosystemConfig {
     // === Builder Pattern cho việc tạo config ===
 
     public static Builder builder() {
-        return new Builder();
+        return new Builder(new EcosystemConfig());
+    }
+
+    /**
+     * Tạo builder bắt đầu từ bản sao của một cấu hình có sẵn
+     * (dùng khi thay đổi vài tham số, ví dụ parameter sweep).
+     * 
+     * @param base Cấu hình gốc (không bị thay đổi)
+     * @return Builder chứa bản sao của cấu hình gốc
+     */
+    public static Builder builder(EcosystemConfig base) {
+        return new Builder(base.copy());
+    }
+
+    /**
+     * Tạo bản sao độc lập của cấu hình.
+     * 
+     * @return Bản sao
+     */
+    public EcosystemConfig copy() {
+        try {
+            return (EcosystemConfig) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
      * Builder class để tạo EcosystemConfig theo từng bước.
      */
     public static class Builder {
-        private final EcosystemConfig config = new EcosystemConfig();
+        private final EcosystemConfig config;
+
+        private Builder(EcosystemConfig config) {
+            this.config = config;
+        }
 
         public Builder gridSize(int width, int height) {
             config.gridWidth = width;
@@ -136,6 +229,111 @@ public class EcosystemConfig {
             return this;
         }
 
+        public Builder seed(long seed) {
+            config.randomSeed = seed;
+            return this;
+        }
+
+        public Builder profiling(boolean enabled) {
+            config.profilingEnabled = enabled;
+            return this;
+        }
+
+        public Builder allocationBudget(double kbPerTick) {
+            config.allocationBudgetKbPerTick = kbPerTick;
+            return this;
+        }
+
+        public Builder autosave(int everyGenerations, int intervalSeconds, String directory) {
+            config.autosaveEveryGenerations = everyGenerations;
+            config.autosaveIntervalSeconds = intervalSeconds;
+            config.autosaveDirectory = directory;
+            return this;
+        }
+
+        public Builder autosaveRetention(int keepFiles, double stallBudgetMs) {
+            config.autosaveKeepFiles = keepFiles;
+            config.autosaveStallBudgetMs = stallBudgetMs;
+            return this;
+        }
+
+        public Builder eventLog(boolean enabled, String file, int keyframeInterval) {
+            config.eventLogEnabled = enabled;
+            config.eventLogFile = file;
+            config.eventLogKeyframeInterval = keyframeInterval;
+            return this;
+        }
+
+        public Builder rewind(int generations, int memoryMb) {
+            config.rewindGenerations = generations;
+            config.rewindMemoryMb = memoryMb;
+            return this;
+        }
+
+        public Builder ensemble(int size, int generations, int parallelism) {
+            config.ensembleSize = size;
+            config.ensembleGenerations = generations;
+            config.ensembleParallelism = parallelism;
+            return this;
+        }
+
+        public Builder metrics(boolean enabled, String host, int port) {
+            config.metricsEnabled = enabled;
+            config.metricsHost = host;
+            config.metricsPort = port;
+            return this;
+        }
+
+        public Builder pacing(String lateTickPolicy, int maxCatchUpMs) {
+            config.lateTickPolicy = lateTickPolicy;
+            config.maxCatchUpMs = maxCatchUpMs;
+            return this;
+        }
+
+        public Builder earlyStop(boolean enabled, int window, int checkInterval,
+                double equilibriumCv, double cycleCorrelation) {
+            config.earlyStopEnabled = enabled;
+            config.steadyStateWindow = window;
+            config.steadyStateCheckInterval = checkInterval;
+            config.equilibriumCv = equilibriumCv;
+            config.cycleCorrelation = cycleCorrelation;
+            return this;
+        }
+
+        public Builder oscillation(boolean enabled, int window, int updateInterval) {
+            config.oscillationEnabled = enabled;
+            config.oscillationWindow = window;
+            config.oscillationUpdateInterval = updateInterval;
+            return this;
+        }
+
+        public Builder distribution(boolean enabled, int bins, int ageBinWidth) {
+            config.distributionEnabled = enabled;
+            config.distributionBins = bins;
+            config.ageBinWidth = ageBinWidth;
+            return this;
+        }
+
+        public Builder pipeline(boolean enabled, int depth) {
+            config.pipelineEnabled = enabled;
+            config.pipelineDepth = depth;
+            return this;
+        }
+
+        public Builder degradation(boolean enabled, int tickBudgetMs, int recoverTicks, int notifyInterval) {
+            config.degradationEnabled = enabled;
+            config.degradationBudgetMs = tickBudgetMs;
+            config.degradationRecoverTicks = recoverTicks;
+            config.degradationNotifyInterval = notifyInterval;
+            return this;
+        }
+
+        public Builder listenerQueue(String overflowPolicy, int capacity) {
+            config.listenerOverflowPolicy = overflowPolicy;
+            config.listenerQueueCapacity = capacity;
+            return this;
+        }
+
         public Builder initialPopulation(int producers, int herbivores, int carnivores) {
             config.initialProducers = producers;
             config.initialHerbivores = herbivores;
@@ -242,6 +440,175 @@ public class EcosystemConfig {
         return maxGenerations;
     }
 
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    public double getAllocationBudgetKbPerTick() {
+        return allocationBudgetKbPerTick;
+    }
+
+    public int getAutosaveEveryGenerations() {
+        return autosaveEveryGenerations;
+    }
+
+    public int getAutosaveIntervalSeconds() {
+        return autosaveIntervalSeconds;
+    }
+
+    public String getAutosaveDirectory() {
+        return autosaveDirectory;
+    }
+
+    public int getAutosaveKeepFiles() {
+        return autosaveKeepFiles;
+    }
+
+    public double getAutosaveStallBudgetMs() {
+        return autosaveStallBudgetMs;
+    }
+
+    /**
+     * Kiểm tra autosave có được bật không.
+     * 
+     * @return true nếu autosave theo thế hệ hoặc theo thời gian được bật
+     */
+    public boolean isAutosaveEnabled() {
+        return autosaveEveryGenerations > 0 || autosaveIntervalSeconds > 0;
+    }
+
+    public boolean isEventLogEnabled() {
+        return eventLogEnabled;
+    }
+
+    public String getEventLogFile() {
+        return eventLogFile;
+    }
+
+    public int getEventLogKeyframeInterval() {
+        return eventLogKeyframeInterval;
+    }
+
+    public int getRewindGenerations() {
+        return rewindGenerations;
+    }
+
+    public int getRewindMemoryMb() {
+        return rewindMemoryMb;
+    }
+
+    public int getEnsembleSize() {
+        return ensembleSize;
+    }
+
+    public int getEnsembleGenerations() {
+        return ensembleGenerations;
+    }
+
+    public int getEnsembleParallelism() {
+        return ensembleParallelism;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public String getMetricsHost() {
+        return metricsHost;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public String getLateTickPolicy() {
+        return lateTickPolicy;
+    }
+
+    public int getMaxCatchUpMs() {
+        return maxCatchUpMs;
+    }
+
+    public boolean isEarlyStopEnabled() {
+        return earlyStopEnabled;
+    }
+
+    public int getSteadyStateWindow() {
+        return steadyStateWindow;
+    }
+
+    public int getSteadyStateCheckInterval() {
+        return steadyStateCheckInterval;
+    }
+
+    public double getEquilibriumCv() {
+        return equilibriumCv;
+    }
+
+    public double getCycleCorrelation() {
+        return cycleCorrelation;
+    }
+
+    public boolean isOscillationEnabled() {
+        return oscillationEnabled;
+    }
+
+    public int getOscillationWindow() {
+        return oscillationWindow;
+    }
+
+    public int getOscillationUpdateInterval() {
+        return oscillationUpdateInterval;
+    }
+
+    public boolean isDistributionEnabled() {
+        return distributionEnabled;
+    }
+
+    public int getDistributionBins() {
+        return distributionBins;
+    }
+
+    public int getAgeBinWidth() {
+        return ageBinWidth;
+    }
+
+    public boolean isPipelineEnabled() {
+        return pipelineEnabled;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public boolean isDegradationEnabled() {
+        return degradationEnabled;
+    }
+
+    public int getDegradationBudgetMs() {
+        return degradationBudgetMs;
+    }
+
+    public int getDegradationRecoverTicks() {
+        return degradationRecoverTicks;
+    }
+
+    public int getDegradationNotifyInterval() {
+        return degradationNotifyInterval;
+    }
+
+    public String getListenerOverflowPolicy() {
+        return listenerOverflowPolicy;
+    }
+
+    public int getListenerQueueCapacity() {
+        return listenerQueueCapacity;
+    }
+
     public int getInitialProducers() {
         return initialProducers;
     }
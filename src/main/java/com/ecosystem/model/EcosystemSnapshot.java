@@ -0,0 +1,120 @@
+package com.ecosystem.model;
+
+/**
+ * Snapshot bất biến của hệ sinh thái tại ranh giới một tick.
+ *
+ * Trạng thái được lưu dưới dạng các mảng primitive (không giữ tham chiếu tới
+ * Organism/Cell), nên việc chụp chỉ là một lần sao chép tuyến tính theo số
+ * sinh vật và snapshot có thể được serialize an toàn trên thread khác trong
+ * khi simulation tiếp tục chạy.
+ */
+public final class EcosystemSnapshot {
+
+    /**
+     * Bit đánh dấu sinh vật không chiếm ô tại vị trí của nó
+     * (đứng chồng lên ô chứa thức ăn sau khi di chuyển).
+     */
+    public static final int DETACHED_FLAG = 0x40;
+
+    private final int generation;
+    private final int width;
+    private final int height;
+
+    // Dữ liệu theo từng sinh vật (cùng chỉ số)
+    private final int count;
+    private final byte[] types;
+    private final int[] ids;
+    private final int[] xs;
+    private final int[] ys;
+    private final double[] energies;
+    private final int[] ages;
+
+    /**
+     * Constructor tạo snapshot từ các mảng đã được sao chép sẵn.
+     * Các mảng được giữ nguyên (không copy lại), caller không được sửa sau đó.
+     *
+     * @param generation Thế hệ tại thời điểm chụp
+     * @param width      Chiều rộng grid
+     * @param height     Chiều cao grid
+     * @param count      Số sinh vật hợp lệ trong các mảng
+     * @param types      Loại sinh vật (ordinal của OrganismType, có thể kèm DETACHED_FLAG)
+     * @param ids        ID sinh vật
+     * @param xs         Vị trí x
+     * @param ys         Vị trí y
+     * @param energies   Năng lượng
+     * @param ages       Tuổi
+     */
+    public EcosystemSnapshot(int generation, int width, int height, int count,
+            byte[] types, int[] ids, int[] xs, int[] ys,
+            double[] energies, int[] ages) {
+        this.generation = generation;
+        this.width = width;
+        this.height = height;
+        this.count = count;
+        this.types = types;
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.energies = energies;
+        this.ages = ages;
+    }
+
+    /**
+     * Ước lượng kích thước dữ liệu thô của snapshot (byte).
+     *
+     * @return Số byte của các mảng primitive
+     */
+    public long estimateSizeBytes() {
+        return (long) count * (1 + 4 + 4 + 4 + 8 + 4);
+    }
+
+    // === Getters ===
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Ecosystem.OrganismType getType(int index) {
+        return Ecosystem.OrganismType.values()[types[index] & ~DETACHED_FLAG];
+    }
+
+    public boolean isAttached(int index) {
+        return (types[index] & DETACHED_FLAG) == 0;
+    }
+
+    public byte getTypeOrdinal(int index) {
+        return types[index];
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    public double getEnergy(int index) {
+        return energies[index];
+    }
+
+    public int getAge(int index) {
+        return ages[index];
+    }
+}
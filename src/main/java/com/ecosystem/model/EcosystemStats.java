@@ -15,6 +15,10 @@ public class EcosystemStats {
     private final double averageHerbivoreEnergy;
     private final double averageCarnivoreEnergy;
 
+    // Histogram năng lượng/tuổi theo loài (chỉ số OrganismType), null nếu không kèm
+    private final DistributionHistogram[] energyDistributions;
+    private final DistributionHistogram[] ageDistributions;
+
     /**
      * Constructor tạo snapshot thống kê.
      * 
@@ -39,6 +43,29 @@ public class EcosystemStats {
         this.averageProducerEnergy = avgProducerEnergy;
         this.averageHerbivoreEnergy = avgHerbivoreEnergy;
         this.averageCarnivoreEnergy = avgCarnivoreEnergy;
+        this.energyDistributions = null;
+        this.ageDistributions = null;
+    }
+
+    private EcosystemStats(EcosystemStats source, DistributionHistogram[] energyDistributions,
+            DistributionHistogram[] ageDistributions) {
+        this.generation = source.generation;
+        this.producerCount = source.producerCount;
+        this.herbivoreCount = source.herbivoreCount;
+        this.carnivoreCount = source.carnivoreCount;
+        this.totalEnergy = source.totalEnergy;
+        this.averageProducerEnergy = source.averageProducerEnergy;
+        this.averageHerbivoreEnergy = source.averageHerbivoreEnergy;
+        this.averageCarnivoreEnergy = source.averageCarnivoreEnergy;
+        this.energyDistributions = energyDistributions;
+        this.ageDistributions = ageDistributions;
+    }
+
+    /**
+     * Tạo bản sao kèm histogram năng lượng/tuổi (Ecosystem.withDistributions).
+     */
+    EcosystemStats withDistributions(DistributionHistogram[] energy, DistributionHistogram[] age) {
+        return new EcosystemStats(this, energy, age);
     }
 
     /**
@@ -110,6 +137,33 @@ public class EcosystemStats {
         return averageCarnivoreEnergy;
     }
 
+    /**
+     * Thống kê có kèm histogram không (Ecosystem.getStatistics(true)).
+     */
+    public boolean hasDistributions() {
+        return energyDistributions != null;
+    }
+
+    /**
+     * Histogram năng lượng của các sinh vật còn sống thuộc một loài.
+     *
+     * @param type Loài
+     * @return Histogram, hoặc null nếu thống kê không kèm histogram
+     */
+    public DistributionHistogram getEnergyDistribution(Ecosystem.OrganismType type) {
+        return energyDistributions != null ? energyDistributions[type.ordinal()] : null;
+    }
+
+    /**
+     * Histogram tuổi (số thế hệ đã sống) của các sinh vật còn sống thuộc một loài.
+     *
+     * @param type Loài
+     * @return Histogram, hoặc null nếu thống kê không kèm histogram
+     */
+    public DistributionHistogram getAgeDistribution(Ecosystem.OrganismType type) {
+        return ageDistributions != null ? ageDistributions[type.ordinal()] : null;
+    }
+
     @Override
     public String toString() {
         return String.format(
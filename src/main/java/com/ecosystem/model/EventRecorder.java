@@ -0,0 +1,87 @@
+package com.ecosystem.model;
+
+/**
+ * Interface ghi nhận các sự kiện cấu trúc xảy ra trong một tick
+ * (sinh, chết, di chuyển, ăn, săn mồi).
+ *
+ * Ecosystem và các Organism gọi recorder tại đúng chỗ sự kiện xảy ra,
+ * cho phép ghi log để replay mà không phải chạy lại logic simulation.
+ */
+public interface EventRecorder {
+
+    /**
+     * Recorder mặc định không làm gì.
+     */
+    EventRecorder NONE = new EventRecorder() {
+        @Override
+        public void onTickStart(int generation) {
+        }
+
+        @Override
+        public void onBirth(Organism organism) {
+        }
+
+        @Override
+        public void onDeath(Organism organism) {
+        }
+
+        @Override
+        public void onMove(Organism organism, boolean attached) {
+        }
+
+        @Override
+        public void onEat(Organism eater, Organism food) {
+        }
+
+        @Override
+        public void onHunt(Organism hunter, Organism prey, boolean success) {
+        }
+    };
+
+    /**
+     * Bắt đầu một tick mới.
+     *
+     * @param generation Thế hệ của tick
+     */
+    void onTickStart(int generation);
+
+    /**
+     * Sinh vật mới được thêm vào grid (spawn hoặc sinh sản).
+     *
+     * @param organism Sinh vật mới
+     */
+    void onBirth(Organism organism);
+
+    /**
+     * Sinh vật bị loại khỏi hệ sinh thái (bị ăn hoặc chết đói).
+     *
+     * @param organism Sinh vật bị loại bỏ
+     */
+    void onDeath(Organism organism);
+
+    /**
+     * Sinh vật di chuyển sang vị trí mới (vị trí hiện tại của organism).
+     *
+     * @param organism Sinh vật vừa di chuyển
+     * @param attached true nếu sinh vật chiếm được ô mới (false khi đứng
+     *                 chồng lên ô đang có thức ăn)
+     */
+    void onMove(Organism organism, boolean attached);
+
+    /**
+     * Sinh vật ăn một sinh vật khác.
+     *
+     * @param eater Sinh vật ăn
+     * @param food  Sinh vật bị ăn
+     */
+    void onEat(Organism eater, Organism food);
+
+    /**
+     * Kết quả một lần săn mồi.
+     *
+     * @param hunter  Kẻ săn
+     * @param prey    Con mồi
+     * @param success true nếu săn thành công
+     */
+    void onHunt(Organism hunter, Organism prey, boolean success);
+}
@@ -0,0 +1,117 @@
+package com.ecosystem.model;
+
+import java.util.IdentityHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Một khối ô vuông TILE_SIZE x TILE_SIZE của grid.
+ *
+ * Tile là đơn vị chia sẻ copy-on-write giữa các nhánh fork: fork chỉ tăng
+ * số chủ sở hữu của tile, nhánh nào ghi vào tile đang chia sẻ sẽ sao chép
+ * riêng tile đó (kèm sinh vật bên trong) trước khi ghi.
+ */
+final class GridTile {
+
+    static final int TILE_SHIFT = 4;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+    static final int TILE_MASK = TILE_SIZE - 1;
+
+    // Ô theo thứ tự (x cục bộ, y cục bộ); ô ngoài biên grid là null
+    final Cell[] cells;
+
+    // Số hệ sinh thái đang dùng chung tile
+    private final AtomicInteger owners = new AtomicInteger(1);
+
+    // Tracker của các ô (của hệ sinh thái đã tạo/nhận tile)
+    private DirtyCellTracker tracker;
+
+    /**
+     * Tạo tile gồm các ô trống.
+     *
+     * @param originX Tọa độ x của ô góc
+     * @param originY Tọa độ y của ô góc
+     * @param width   Chiều rộng grid
+     * @param height  Chiều cao grid
+     * @param tracker Tracker của hệ sinh thái sở hữu
+     */
+    GridTile(int originX, int originY, int width, int height, DirtyCellTracker tracker) {
+        this.cells = new Cell[TILE_SIZE * TILE_SIZE];
+        this.tracker = tracker;
+        for (int dx = 0; dx < TILE_SIZE && originX + dx < width; dx++) {
+            for (int dy = 0; dy < TILE_SIZE && originY + dy < height; dy++) {
+                cells[index(dx, dy)] = new Cell(originX + dx, originY + dy, tracker);
+            }
+        }
+    }
+
+    private GridTile(Cell[] cells, DirtyCellTracker tracker) {
+        this.cells = cells;
+        this.tracker = tracker;
+    }
+
+    static int index(int x, int y) {
+        return ((x & TILE_MASK) << TILE_SHIFT) | (y & TILE_MASK);
+    }
+
+    /**
+     * Sao chép tile cho một hệ sinh thái: tạo ô mới và bản sao các sinh vật
+     * còn sống theo cấu hình của hệ sinh thái đó.
+     *
+     * @param tracker Tracker của hệ sinh thái nhận bản sao
+     * @param config  Cấu hình cho các sinh vật sao chép
+     * @param copies  Ghi lại cặp (sinh vật gốc, bản sao)
+     * @return Tile mới thuộc riêng hệ sinh thái nhận
+     */
+    GridTile copyFor(DirtyCellTracker tracker, EcosystemConfig config,
+            IdentityHashMap<Organism, Organism> copies) {
+        Cell[] copied = new Cell[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            Cell source = cells[i];
+            if (source == null) {
+                continue;
+            }
+            Cell cell = new Cell(source.getX(), source.getY(), tracker);
+            Organism occupant = source.peekOccupant();
+            if (occupant != null && occupant.isAlive()) {
+                Organism copy = occupant.copyFor(config);
+                copies.put(occupant, copy);
+                cell.restoreOccupant(copy);
+            }
+            copied[i] = cell;
+        }
+        return new GridTile(copied, tracker);
+    }
+
+    /**
+     * Nhận tile làm của riêng khi các nhánh khác đã sao chép đi.
+     *
+     * @param tracker Tracker của hệ sinh thái nhận tile
+     */
+    void adopt(DirtyCellTracker tracker) {
+        if (this.tracker == tracker) {
+            return;
+        }
+        this.tracker = tracker;
+        for (Cell cell : cells) {
+            if (cell != null) {
+                cell.setTracker(tracker);
+            }
+        }
+    }
+
+    boolean isShared() {
+        return owners.get() > 1;
+    }
+
+    boolean isOwnedBy(DirtyCellTracker tracker) {
+        return this.tracker == tracker && !isShared();
+    }
+
+    void retain() {
+        owners.incrementAndGet();
+    }
+
+    void release() {
+        owners.decrementAndGet();
+    }
+}
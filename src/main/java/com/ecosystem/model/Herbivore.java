@@ -1,5 +1,6 @@
 package com.ecosystem.model;
 
+import com.ecosystem.monitoring.FoodSearchEvent;
 import javafx.scene.paint.Color;
 
 import java.util.List;
@@ -57,6 +58,22 @@ public class Herbivore extends Consumer {
         this.reproductionCost = config.getHerbivoreReproductionCost();
     }
 
+    /**
+     * Constructor sao chép (dùng khi fork hệ sinh thái).
+     * 
+     * @param source Herbivore gốc
+     * @param config Cấu hình của nhánh fork
+     */
+    private Herbivore(Herbivore source, EcosystemConfig config) {
+        super(source,
+                config.getHerbivoreHungerRate(),
+                config.getHerbivoreVision(),
+                config.getHerbivoreSpeed(),
+                config);
+        this.reproductionThreshold = config.getHerbivoreReproductionThreshold();
+        this.reproductionCost = config.getHerbivoreReproductionCost();
+    }
+
     /**
      * Cập nhật trạng thái Herbivore mỗi tick.
      * - Mất năng lượng do hunger
@@ -85,6 +102,7 @@ public class Herbivore extends Consumer {
             if (distance <= 1) {
                 // Ở ngay cạnh thức ăn -> ăn
                 eat(food);
+                ecosystem.getEventRecorder().onEat(this, food);
                 ecosystem.removeOrganism(food);
             } else {
                 // Di chuyển về phía thức ăn
@@ -104,7 +122,7 @@ public class Herbivore extends Consumer {
             if (offspring != null) {
                 List<Cell> emptyNeighbors = ecosystem.getEmptyNeighbors(x, y);
                 if (!emptyNeighbors.isEmpty()) {
-                    Cell targetCell = emptyNeighbors.get(RANDOM.nextInt(emptyNeighbors.size()));
+                    Cell targetCell = emptyNeighbors.get(ecosystem.getRandom().nextInt(emptyNeighbors.size()));
                     offspring.setPosition(targetCell.getX(), targetCell.getY());
                     ecosystem.addOrganism(offspring);
                 }
@@ -142,6 +160,8 @@ public class Herbivore extends Consumer {
         Producer nearestFood = null;
         int minDistance = Integer.MAX_VALUE;
 
+        FoodSearchEvent event = new FoodSearchEvent();
+        event.begin();
         List<Producer> producers = ecosystem.getProducers();
 
         for (Producer producer : producers) {
@@ -155,6 +175,12 @@ public class Herbivore extends Consumer {
             }
         }
 
+        if (event.shouldCommit()) {
+            event.searcher = "Herbivore";
+            event.candidates = producers.size();
+            event.found = nearestFood != null;
+            event.commit();
+        }
         return nearestFood;
     }
 
@@ -211,4 +237,9 @@ public class Herbivore extends Consumer {
         // Tạo Herbivore con với năng lượng = chi phí sinh sản / 2
         return new Herbivore(x, y, reproductionCost / 2, config);
     }
+
+    @Override
+    Organism copyFor(EcosystemConfig config) {
+        return new Herbivore(this, config);
+    }
 }
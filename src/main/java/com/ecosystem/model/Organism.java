@@ -28,6 +28,10 @@ public abstract class Organism implements Consumable, Reproducible {
     protected boolean alive;
     protected int age;
 
+    // Histogram năng lượng/tuổi của loài đang đếm sinh vật này (null = không theo dõi).
+    // Ecosystem gán khi sinh vật vào danh sách; chỉ sinh vật còn sống được đếm.
+    SpeciesDistribution distribution;
+
     // Cấu hình sinh sản
     protected double reproductionThreshold;
     protected double reproductionCost;
@@ -50,6 +54,22 @@ public abstract class Organism implements Consumable, Reproducible {
         this.age = 0;
     }
 
+    /**
+     * Constructor sao chép trạng thái (dùng khi fork hệ sinh thái).
+     * Giữ nguyên ID; các thông số theo cấu hình do subclass gán lại.
+     * 
+     * @param source Sinh vật gốc
+     */
+    protected Organism(Organism source) {
+        this.id = source.id;
+        this.name = source.name;
+        this.energy = source.energy;
+        this.x = source.x;
+        this.y = source.y;
+        this.alive = source.alive;
+        this.age = source.age;
+    }
+
     // === Abstract Methods (Behavioral Polymorphism) ===
 
     /**
@@ -80,6 +100,14 @@ public abstract class Organism implements Consumable, Reproducible {
      */
     public abstract String getSymbol();
 
+    /**
+     * Tạo bản sao độc lập của sinh vật với cấu hình của nhánh fork.
+     * 
+     * @param config Cấu hình của hệ sinh thái nhận bản sao
+     * @return Bản sao cùng ID, năng lượng, tuổi và vị trí
+     */
+    abstract Organism copyFor(EcosystemConfig config);
+
     // === Consumable Interface Implementation ===
 
     @Override
@@ -91,8 +119,7 @@ public abstract class Organism implements Consumable, Reproducible {
     @Override
     public void beConsumed() {
         // Khi bị ăn, sinh vật chết
-        this.alive = false;
-        this.energy = 0;
+        die();
     }
 
     @Override
@@ -123,6 +150,9 @@ public abstract class Organism implements Consumable, Reproducible {
      * Xử lý khi sinh vật chết.
      */
     public void die() {
+        if (alive && distribution != null) {
+            distribution.remove(energy, age);
+        }
         this.alive = false;
         this.energy = 0;
     }
@@ -132,6 +162,9 @@ public abstract class Organism implements Consumable, Reproducible {
      */
     public void incrementAge() {
         this.age++;
+        if (alive && distribution != null) {
+            distribution.moveAge(age - 1, age);
+        }
     }
 
     /**
@@ -140,7 +173,7 @@ public abstract class Organism implements Consumable, Reproducible {
      * @param amount Lượng năng lượng thêm vào
      */
     public void addEnergy(double amount) {
-        this.energy += amount;
+        setEnergy(energy + amount);
     }
 
     /**
@@ -149,7 +182,7 @@ public abstract class Organism implements Consumable, Reproducible {
      * @param amount Lượng năng lượng mất đi
      */
     public void reduceEnergy(double amount) {
-        this.energy -= amount;
+        setEnergy(energy - amount);
         if (this.energy <= 0) {
             die();
         }
@@ -181,6 +214,9 @@ public abstract class Organism implements Consumable, Reproducible {
     }
 
     public void setEnergy(double energy) {
+        if (alive && distribution != null) {
+            distribution.moveEnergy(this.energy, energy);
+        }
         this.energy = energy;
     }
 
@@ -200,6 +236,18 @@ public abstract class Organism implements Consumable, Reproducible {
         return age;
     }
 
+    /**
+     * Đặt tuổi sinh vật (dùng khi khôi phục từ snapshot).
+     * 
+     * @param age Tuổi mới
+     */
+    void setAge(int age) {
+        if (alive && distribution != null) {
+            distribution.moveAge(this.age, age);
+        }
+        this.age = age;
+    }
+
     @Override
     public String toString() {
         return String.format("%s[id=%d, energy=%.1f, pos=(%d,%d), alive=%s]",
@@ -3,7 +3,6 @@ package com.ecosystem.model;
 import javafx.scene.paint.Color;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * Class đại diện cho sinh vật sản xuất (thực vật) trong hệ sinh thái.
@@ -18,8 +17,6 @@ import java.util.Random;
  */
 public class Producer extends Organism {
 
-    private static final Random RANDOM = new Random();
-
     // Tốc độ quang hợp (năng lượng/tick)
     private final double photosynthesisRate;
 
@@ -57,13 +54,27 @@ public class Producer extends Organism {
         this.reproductionCost = config.getProducerReproductionCost();
     }
 
+    /**
+     * Constructor sao chép (dùng khi fork hệ sinh thái).
+     * 
+     * @param source Producer gốc
+     * @param config Cấu hình của nhánh fork
+     */
+    private Producer(Producer source, EcosystemConfig config) {
+        super(source);
+        this.photosynthesisRate = config.getProducerPhotosynthesis();
+        this.maxEnergy = config.getProducerMaxEnergy();
+        this.reproductionThreshold = config.getProducerReproductionThreshold();
+        this.reproductionCost = config.getProducerReproductionCost();
+    }
+
     /**
      * Thực hiện quang hợp để tăng năng lượng.
      * Năng lượng không vượt quá giới hạn maxEnergy.
      */
     public void photosynthesize() {
         if (alive) {
-            energy = Math.min(energy + photosynthesisRate, maxEnergy);
+            setEnergy(Math.min(energy + photosynthesisRate, maxEnergy));
         }
     }
 
@@ -92,7 +103,7 @@ public class Producer extends Organism {
                 // Tìm ô trống lân cận để đặt con
                 List<Cell> emptyNeighbors = ecosystem.getEmptyNeighbors(x, y);
                 if (!emptyNeighbors.isEmpty()) {
-                    Cell targetCell = emptyNeighbors.get(RANDOM.nextInt(emptyNeighbors.size()));
+                    Cell targetCell = emptyNeighbors.get(ecosystem.getRandom().nextInt(emptyNeighbors.size()));
                     offspring.setPosition(targetCell.getX(), targetCell.getY());
                     ecosystem.addOrganism(offspring);
                 }
@@ -147,6 +158,11 @@ public class Producer extends Organism {
                         .build());
     }
 
+    @Override
+    Organism copyFor(EcosystemConfig config) {
+        return new Producer(this, config);
+    }
+
     // === Getters ===
 
     public double getPhotosynthesisRate() {
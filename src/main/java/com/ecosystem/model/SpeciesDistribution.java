@@ -0,0 +1,103 @@
+package com.ecosystem.model;
+
+import java.util.Arrays;
+
+/**
+ * Histogram năng lượng và tuổi của các sinh vật còn sống thuộc một loài,
+ * cập nhật dần khi sinh vật được thêm/loại bỏ, đổi năng lượng hoặc tăng
+ * tuổi (Organism gọi các hàm move*), nên không cần duyệt quần thể để lấy
+ * phân bố. Mỗi thay đổi chỉ là tính lại chỉ số bin và hai phép cộng/trừ.
+ *
+ * Chỉ thread đang update hệ sinh thái ghi; đọc (snapshot) tại ranh giới tick.
+ */
+final class SpeciesDistribution {
+
+    private final double energyBinWidth;
+    private final int ageBinWidth;
+    private final int[] energy;
+    private final int[] age;
+
+    /**
+     * Constructor tạo SpeciesDistribution.
+     *
+     * @param bins        Số bin của mỗi histogram
+     * @param energyRange Cận trên của bin năng lượng (giá trị lớn hơn dồn vào bin cuối)
+     * @param ageBinWidth Số thế hệ mỗi bin tuổi
+     */
+    SpeciesDistribution(int bins, double energyRange, int ageBinWidth) {
+        int count = Math.max(2, bins);
+        this.energyBinWidth = Math.max(1e-9, energyRange) / count;
+        this.ageBinWidth = Math.max(1, ageBinWidth);
+        this.energy = new int[count];
+        this.age = new int[count];
+    }
+
+    private int energyBin(double value) {
+        // NaN và giá trị âm (ngay trước khi chết) vào bin đầu
+        if (!(value > 0)) {
+            return 0;
+        }
+        return (int) Math.min(energy.length - 1, value / energyBinWidth);
+    }
+
+    private int ageBin(int value) {
+        return Math.min(age.length - 1, Math.max(0, value) / ageBinWidth);
+    }
+
+    void add(double energyValue, int ageValue) {
+        energy[energyBin(energyValue)]++;
+        age[ageBin(ageValue)]++;
+    }
+
+    void remove(double energyValue, int ageValue) {
+        energy[energyBin(energyValue)]--;
+        age[ageBin(ageValue)]--;
+    }
+
+    void moveEnergy(double from, double to) {
+        int a = energyBin(from);
+        int b = energyBin(to);
+        if (a != b) {
+            energy[a]--;
+            energy[b]++;
+        }
+    }
+
+    void moveAge(int from, int to) {
+        int a = ageBin(from);
+        int b = ageBin(to);
+        if (a != b) {
+            age[a]--;
+            age[b]++;
+        }
+    }
+
+    /**
+     * Cùng cách chia bin với histogram khác (cùng cấu hình histogram).
+     */
+    boolean hasSameBins(SpeciesDistribution other) {
+        return energyBinWidth == other.energyBinWidth && ageBinWidth == other.ageBinWidth
+                && energy.length == other.energy.length;
+    }
+
+    /**
+     * Sao chép số đếm của histogram cùng cách chia bin, O(số bin).
+     */
+    void copyFrom(SpeciesDistribution other) {
+        System.arraycopy(other.energy, 0, energy, 0, energy.length);
+        System.arraycopy(other.age, 0, age, 0, age.length);
+    }
+
+    void clear() {
+        Arrays.fill(energy, 0);
+        Arrays.fill(age, 0);
+    }
+
+    DistributionHistogram energySnapshot() {
+        return new DistributionHistogram(energyBinWidth, energy);
+    }
+
+    DistributionHistogram ageSnapshot() {
+        return new DistributionHistogram(ageBinWidth, age);
+    }
+}
@@ -0,0 +1,149 @@
+package com.ecosystem.model;
+
+/**
+ * Delta đảo ngược được của một tick.
+ *
+ * Lưu "ảnh còn lại" của những gì tick đã thay đổi: thuộc tính các sinh vật
+ * tồn tại trước tick, các ô bị thay đổi (ghi nhận tăng dần qua
+ * DirtyCellTracker), danh sách sinh vật và số thế hệ. Mỗi lần apply() hoán
+ * đổi ảnh này với trạng thái hiện tại, nên cùng một delta dùng được cho cả
+ * lùi (undo) lẫn tiến lại (redo).
+ */
+public final class TickDelta {
+
+    // Sinh vật tồn tại trước tick và ảnh thuộc tính còn lại của chúng
+    private final Organism[] members;
+    private final double[] energies;
+    private final int[] ages;
+    private final int[] xs;
+    private final int[] ys;
+    private final boolean[] alive;
+
+    // Danh sách sinh vật của ảnh còn lại
+    private Organism[] listImage;
+
+    // Các ô thay đổi trong tick và sinh vật chiếm ô của ảnh còn lại
+    private int[] cellIndices;
+    private Organism[] occupants;
+
+    private final int cellHeight;
+    private final int forkEpoch;
+    private int otherGeneration;
+    private boolean reverted;
+
+    /**
+     * Chụp thuộc tính các sinh vật trước khi tick bắt đầu.
+     *
+     * @param members    Các sinh vật trong danh sách trước tick
+     * @param generation Thế hệ trước tick
+     * @param cellHeight Chiều cao grid (để giải mã chỉ số ô)
+     * @param forkEpoch  Số lần fork của hệ sinh thái khi ghi delta
+     */
+    TickDelta(Organism[] members, int generation, int cellHeight, int forkEpoch) {
+        this.members = members;
+        this.listImage = members;
+        this.otherGeneration = generation;
+        this.cellHeight = cellHeight;
+        this.forkEpoch = forkEpoch;
+
+        int n = members.length;
+        this.energies = new double[n];
+        this.ages = new int[n];
+        this.xs = new int[n];
+        this.ys = new int[n];
+        this.alive = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Organism o = members[i];
+            energies[i] = o.energy;
+            ages[i] = o.age;
+            xs[i] = o.x;
+            ys[i] = o.y;
+            alive[i] = o.alive;
+        }
+    }
+
+    /**
+     * Hoàn tất delta sau tick: lấy các ô đã thay đổi từ tracker.
+     *
+     * @param tracker Bộ theo dõi ô thay đổi của tick vừa chạy
+     */
+    void finish(DirtyCellTracker tracker) {
+        this.cellIndices = tracker.copyCellIndices();
+        this.occupants = tracker.copyPreviousOccupants();
+    }
+
+    /**
+     * Hoán đổi ảnh lưu trong delta với trạng thái hiện tại của hệ sinh thái.
+     * Gọi lần đầu để lùi về trước tick, gọi lần nữa để tiến lại sau tick.
+     *
+     * @param ecosystem Hệ sinh thái đang ở trạng thái còn lại của delta
+     */
+    void apply(Ecosystem ecosystem) {
+        for (int i = 0; i < members.length; i++) {
+            Organism o = members[i];
+
+            double energy = o.energy;
+            o.energy = energies[i];
+            energies[i] = energy;
+
+            int age = o.age;
+            o.age = ages[i];
+            ages[i] = age;
+
+            int x = o.x;
+            o.x = xs[i];
+            xs[i] = x;
+
+            int y = o.y;
+            o.y = ys[i];
+            ys[i] = y;
+
+            boolean wasAlive = o.alive;
+            o.alive = alive[i];
+            alive[i] = wasAlive;
+        }
+
+        for (int i = 0; i < cellIndices.length; i++) {
+            Cell cell = ecosystem.getWritableCell(cellIndices[i] / cellHeight, cellIndices[i] % cellHeight);
+            Organism current = cell.peekOccupant();
+            cell.restoreOccupant(occupants[i]);
+            occupants[i] = current;
+        }
+
+        listImage = ecosystem.replaceMembers(listImage);
+
+        int generation = ecosystem.getGeneration();
+        ecosystem.setGeneration(otherGeneration);
+        otherGeneration = generation;
+
+        reverted = !reverted;
+    }
+
+    /**
+     * Ước lượng bộ nhớ của delta (byte).
+     *
+     * @return Số byte ước lượng
+     */
+    public long estimateSizeBytes() {
+        long perMember = 8 + 8 + 4 + 4 + 4 + 1 + 8;
+        long perCell = 4 + 8;
+        return 64 + members.length * perMember + (long) cellIndices.length * perCell;
+    }
+
+    /**
+     * Kiểm tra delta đang ở trạng thái đã lùi (ecosystem ở trước tick).
+     *
+     * @return true nếu đã undo
+     */
+    public boolean isReverted() {
+        return reverted;
+    }
+
+    int getForkEpoch() {
+        return forkEpoch;
+    }
+
+    public int getChangedCellCount() {
+        return cellIndices.length;
+    }
+}
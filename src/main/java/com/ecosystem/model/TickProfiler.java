@@ -0,0 +1,163 @@
+package com.ecosystem.model;
+
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Đo thời gian từng pha của một tick bằng timer nanosecond, mỗi pha một
+ * LatencyHistogram (p50/p99/max), kèm số byte thread mô phỏng cấp phát
+ * trong từng pha (AllocationMeter).
+ *
+ * Ecosystem.update() ghi các pha mô phỏng, SimulationEngine ghi pha thống
+ * kê, notify listener và tổng thời gian tick. Chỉ thread đang chạy tick ghi.
+ */
+public class TickProfiler {
+
+    /**
+     * Các pha của một tick.
+     */
+    public enum Phase {
+        SPAWN("Spawn Producer"),
+        SHUFFLE("Shuffle thứ tự"),
+        PRODUCERS("Update Producer"),
+        HERBIVORES("Update Herbivore"),
+        CARNIVORES("Update Carnivore"),
+        CLEANUP("Dọn sinh vật chết"),
+        STATISTICS("Thống kê"),
+        NOTIFY("Notify listener"),
+        TICK("Tổng tick");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    private final long[] allocatedBytes = new long[Phase.values().length];
+
+    // Số byte đã cấp phát tại mốc bắt đầu pha hiện tại (chỉ thread ghi)
+    private long allocationMark;
+
+    /**
+     * Constructor tạo profiler với histogram rỗng cho mọi pha.
+     */
+    public TickProfiler() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Ghi thời gian của một pha.
+     *
+     * @param phase Pha
+     * @param nanos Thời gian (ns)
+     */
+    public void record(Phase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    /**
+     * Ghi thời gian và số byte cấp phát của một pha đo bên ngoài.
+     *
+     * @param phase Pha
+     * @param nanos Thời gian (ns)
+     * @param bytes Số byte cấp phát
+     */
+    public void record(Phase phase, long nanos, long bytes) {
+        histograms.get(phase).record(nanos);
+        allocatedBytes[phase.ordinal()] += bytes;
+    }
+
+    /**
+     * Đặt mốc bắt đầu cho pha kế tiếp (thời gian và cấp phát).
+     *
+     * @return Mốc thời gian hiện tại (System.nanoTime())
+     */
+    public long mark() {
+        allocationMark = AllocationMeter.currentThreadAllocatedBytes();
+        return System.nanoTime();
+    }
+
+    /**
+     * Đặt mốc cấp phát khi đã tự đọc bộ đếm (tránh đọc lại).
+     *
+     * @param allocated Bộ đếm cấp phát của thread hiện tại
+     */
+    void markAllocation(long allocated) {
+        allocationMark = allocated;
+    }
+
+    /**
+     * Ghi thời gian từ mốc start tới hiện tại và số byte cấp phát kể từ mốc
+     * trước, rồi trả về mốc hiện tại (dùng làm mốc bắt đầu của pha tiếp theo).
+     *
+     * @param phase Pha vừa kết thúc
+     * @param start Mốc bắt đầu (System.nanoTime())
+     * @return Mốc kết thúc
+     */
+    public long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        histograms.get(phase).record(now - start);
+        long allocated = AllocationMeter.currentThreadAllocatedBytes();
+        allocatedBytes[phase.ordinal()] += allocated - allocationMark;
+        allocationMark = allocated;
+        return now;
+    }
+
+    /**
+     * Số byte cấp phát trung bình của một pha mỗi tick.
+     *
+     * @param phase Pha
+     * @return Byte/tick, 0 nếu chưa có mẫu
+     */
+    public double getAllocatedBytesPerTick(Phase phase) {
+        long count = histograms.get(phase).getCount();
+        return count == 0 ? 0 : (double) allocatedBytes[phase.ordinal()] / count;
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Xóa số liệu của mọi pha.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        Arrays.fill(allocatedBytes, 0);
+    }
+
+    /**
+     * Định dạng bảng p50/p99/max (micro giây) và KB cấp phát mỗi tick của
+     * các pha để hiển thị.
+     *
+     * @return Bảng dạng text, mỗi pha một dòng
+     */
+    public String formatSummary() {
+        StringBuilder sb = new StringBuilder(String.format("%-18s %9s %9s %9s %9s%n",
+                "Pha (µs)", "p50", "p99", "max", "KB/tick"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms.get(phase);
+            sb.append(String.format(Locale.ROOT, "%-18s %9.1f %9.1f %9.1f %9.1f%n", phase.getLabel(),
+                    histogram.getPercentile(50) / 1e3,
+                    histogram.getPercentile(99) / 1e3,
+                    histogram.getMax() / 1e3,
+                    getAllocatedBytesPerTick(phase) / 1024));
+        }
+        return sb.toString();
+    }
+}
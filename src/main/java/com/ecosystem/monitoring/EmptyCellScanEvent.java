@@ -0,0 +1,28 @@
+package com.ecosystem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Sự kiện JFR cho Ecosystem.getEmptyCells(): quét toàn bộ grid, chi phí tỷ
+ * lệ với diện tích. Chỉ ghi các lần quét vượt threshold (mặc định 100 µs).
+ */
+@Name("com.ecosystem.EmptyCellScan")
+@Label("Empty Cell Scan")
+@Category({ "Ecosystem", "Search" })
+@Description("Quét toàn bộ grid tìm ô trống")
+@Threshold("100 us")
+@StackTrace(false)
+public class EmptyCellScanEvent extends Event {
+
+    @Label("Cells Scanned")
+    public int cellsScanned;
+
+    @Label("Empty Cells")
+    public int emptyCells;
+}
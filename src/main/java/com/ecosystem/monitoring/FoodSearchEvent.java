@@ -0,0 +1,36 @@
+package com.ecosystem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sự kiện JFR cho Consumer.findFood(): duyệt toàn bộ danh sách con mồi.
+ *
+ * Được gọi cho mỗi Consumer mỗi tick nên tắt mặc định; bật khi cần qua
+ * setting, ví dụ {@code +com.ecosystem.FoodSearch#enabled=true} hoặc kèm
+ * threshold {@code +com.ecosystem.FoodSearch#threshold=50us}.
+ */
+@Name("com.ecosystem.FoodSearch")
+@Label("Food Search")
+@Category({ "Ecosystem", "Search" })
+@Description("Một lần duyệt toàn bộ danh sách con mồi để tìm thức ăn gần nhất")
+@Enabled(false)
+@StackTrace(false)
+public class FoodSearchEvent extends Event {
+
+    @Label("Searcher")
+    @Description("Loại sinh vật tìm thức ăn")
+    public String searcher;
+
+    @Label("Candidates")
+    @Description("Số sinh vật trong danh sách được duyệt")
+    public int candidates;
+
+    @Label("Found")
+    public boolean found;
+}
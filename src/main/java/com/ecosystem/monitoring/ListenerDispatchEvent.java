@@ -0,0 +1,28 @@
+package com.ecosystem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Sự kiện JFR cho một lần gọi SimulationListener. Chỉ ghi các lần gọi vượt
+ * threshold (mặc định 1 ms) để tìm listener làm chậm tick.
+ */
+@Name("com.ecosystem.ListenerDispatch")
+@Label("Listener Dispatch")
+@Category({ "Ecosystem", "Simulation" })
+@Description("Một lần gọi callback của SimulationListener")
+@Threshold("1 ms")
+@StackTrace(false)
+public class ListenerDispatchEvent extends Event {
+
+    @Label("Listener")
+    public Class<?> listener;
+
+    @Label("Callback")
+    public String callback;
+}
@@ -0,0 +1,420 @@
+package com.ecosystem.monitoring;
+
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.simulation.AutosaveService;
+import com.ecosystem.simulation.ListenerQueue;
+import com.ecosystem.simulation.SimulationEngine;
+import com.ecosystem.simulation.SimulationMetrics;
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.OscillationSummary;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * Endpoint HTTP nhúng (com.sun.net.httpserver) xuất metrics của các
+ * SimulationEngine theo định dạng text của Prometheus tại {@code GET /metrics}.
+ *
+ * Mỗi engine được đăng ký với một tên, xuất thành label {@code engine}. Số
+ * liệu đọc từ SimulationMetrics (không khóa) nên scrape không bao giờ chặn
+ * tick loop; request được xử lý trên một daemon thread riêng.
+ */
+public class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, SimulationEngine> engines = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor tạo server (chưa lắng nghe cho tới khi gọi start()).
+     *
+     * @param host Địa chỉ lắng nghe (ví dụ 127.0.0.1)
+     * @param port Cổng, 0 để chọn cổng trống bất kỳ
+     * @throws IOException nếu không bind được địa chỉ
+     */
+    public MetricsServer(String host, int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "MetricsServer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+    }
+
+    /**
+     * Bắt đầu lắng nghe.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Dừng server và thread xử lý request.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Đăng ký engine (thay engine cũ cùng tên).
+     *
+     * @param name   Giá trị label engine
+     * @param engine Engine cần xuất metrics
+     */
+    public void register(String name, SimulationEngine engine) {
+        engines.put(name, engine);
+    }
+
+    /**
+     * Hủy đăng ký engine.
+     *
+     * @param name Tên đã đăng ký
+     */
+    public void unregister(String name) {
+        engines.remove(name);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = format().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Tạo nội dung trả về cho một lần scrape.
+     *
+     * @return Metrics theo định dạng text của Prometheus
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(4096);
+
+        header(sb, "ecosystem_generation", "gauge", "Current generation");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_generation", name, null, s.getGeneration()));
+
+        header(sb, "ecosystem_population", "gauge", "Living organisms by species");
+        forEachEngine((name, m, s) -> {
+            sample(sb, "ecosystem_population", name, "species=\"producer\"", s.getProducerCount());
+            sample(sb, "ecosystem_population", name, "species=\"herbivore\"", s.getHerbivoreCount());
+            sample(sb, "ecosystem_population", name, "species=\"carnivore\"", s.getCarnivoreCount());
+        });
+
+        header(sb, "ecosystem_energy_total", "gauge", "Total energy of all living organisms");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_energy_total", name, null, s.getTotalEnergy()));
+
+        header(sb, "ecosystem_energy_average", "gauge", "Average energy per organism by species");
+        forEachEngine((name, m, s) -> {
+            sample(sb, "ecosystem_energy_average", name, "species=\"producer\"", s.getAverageProducerEnergy());
+            sample(sb, "ecosystem_energy_average", name, "species=\"herbivore\"", s.getAverageHerbivoreEnergy());
+            sample(sb, "ecosystem_energy_average", name, "species=\"carnivore\"", s.getAverageCarnivoreEnergy());
+        });
+
+        header(sb, "ecosystem_ticks_total", "counter", "Ticks executed");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_ticks_total", name, null, m.getTicks()));
+
+        header(sb, "ecosystem_ticks_per_second", "gauge", "Tick throughput over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_ticks_per_second", name, null, m.getTicksPerSecond()));
+
+        header(sb, "ecosystem_target_ticks_per_second", "gauge", "Target tick rate of the game loop (+Inf when unlimited)");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_target_ticks_per_second", name, null,
+                m.getTargetTicksPerSecond()));
+
+        header(sb, "ecosystem_tick_lateness_seconds", "gauge",
+                "Average delay of tick start behind its fixed-rate deadline over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_tick_lateness_seconds", name, null,
+                m.getAverageLatenessNanos() / 1e9));
+
+        header(sb, "ecosystem_tick_lateness_max_seconds", "gauge",
+                "Maximum delay of tick start behind its deadline over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_tick_lateness_max_seconds", name, null,
+                m.getMaxLatenessNanos() / 1e9));
+
+        header(sb, "ecosystem_ticks_skipped_total", "counter", "Ticks dropped by the late tick policy");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_ticks_skipped_total", name, null, m.getSkippedTicks()));
+
+        header(sb, "ecosystem_pipeline_stall_seconds_total", "counter",
+                "Time the simulation thread waited for the publish stage to catch up");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_pipeline_stall_seconds_total", name, null,
+                m.getPipelineStallNanos() / 1e9));
+
+        header(sb, "ecosystem_degraded", "gauge", "1 while the engine sheds optional work because ticks exceed their budget");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_degraded", name, null, m.isDegraded() ? 1 : 0));
+
+        header(sb, "ecosystem_degradations_total", "counter", "Times the engine entered degradation mode");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_degradations_total", name, null, m.getDegradations()));
+
+        header(sb, "ecosystem_degraded_ticks_total", "counter",
+                "Ticks run in degradation mode (no stats history, throttled listener updates)");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_degraded_ticks_total", name, null, m.getDegradedTicks()));
+
+        // Scheduler dùng chung: chỉ xuất cho engine chạy trên SimulationScheduler
+        header(sb, "ecosystem_scheduler_priority", "gauge", "Fair-share weight of the engine on the shared scheduler (1..10)");
+        forEachScheduled((name, e) -> sample(sb, "ecosystem_scheduler_priority", name, null, e.getPriority()));
+
+        header(sb, "ecosystem_scheduler_ticks_per_second", "gauge",
+                "Ticks run by shared scheduler workers over the last second");
+        forEachScheduled((name, e) -> sample(sb, "ecosystem_scheduler_ticks_per_second", name, null,
+                e.getSchedulingMetrics().getTicksPerSecond()));
+
+        header(sb, "ecosystem_scheduler_queue_delay_seconds", "gauge",
+                "Average wait from tick deadline until a scheduler worker started the tick");
+        forEachScheduled((name, e) -> sample(sb, "ecosystem_scheduler_queue_delay_seconds", name, null,
+                e.getSchedulingMetrics().getAverageQueueDelayMs() / 1e3));
+
+        header(sb, "ecosystem_scheduler_queue_delay_max_seconds", "gauge",
+                "Maximum wait from tick deadline until a scheduler worker started the tick");
+        forEachScheduled((name, e) -> sample(sb, "ecosystem_scheduler_queue_delay_max_seconds", name, null,
+                e.getSchedulingMetrics().getMaxQueueDelayMs() / 1e3));
+
+        header(sb, "ecosystem_scheduler_tick_seconds", "gauge", "Average time slice used per tick on the shared scheduler");
+        forEachScheduled((name, e) -> sample(sb, "ecosystem_scheduler_tick_seconds", name, null,
+                e.getSchedulingMetrics().getAverageTickMs() / 1e3));
+
+        // Phân tích dao động: chỉ xuất khi engine đã đủ một cửa sổ thế hệ
+        header(sb, "ecosystem_oscillation_period_generations", "gauge",
+                "Dominant predator-prey cycle period over the sliding analysis window");
+        forEachEngine((name, m, s) -> {
+            OscillationSummary o = m.getOscillation();
+            if (o != null) {
+                sample(sb, "ecosystem_oscillation_period_generations", name, null, o.getPeriod());
+            }
+        });
+
+        header(sb, "ecosystem_oscillation_amplitude", "gauge", "Population amplitude at the dominant period by species");
+        forEachEngine((name, m, s) -> {
+            OscillationSummary o = m.getOscillation();
+            if (o != null) {
+                sample(sb, "ecosystem_oscillation_amplitude", name, "species=\"herbivore\"", o.getHerbivoreAmplitude());
+                sample(sb, "ecosystem_oscillation_amplitude", name, "species=\"carnivore\"", o.getCarnivoreAmplitude());
+            }
+        });
+
+        header(sb, "ecosystem_oscillation_phase_lag_generations", "gauge",
+                "Generations by which the carnivore cycle trails the herbivore cycle");
+        forEachEngine((name, m, s) -> {
+            OscillationSummary o = m.getOscillation();
+            if (o != null) {
+                sample(sb, "ecosystem_oscillation_phase_lag_generations", name, null, o.getPhaseLag());
+            }
+        });
+
+        header(sb, "ecosystem_oscillation_spectral_concentration", "gauge",
+                "Share of non-DC spectral power around the dominant period by species (1 = pure cycle)");
+        forEachEngine((name, m, s) -> {
+            OscillationSummary o = m.getOscillation();
+            if (o != null) {
+                sample(sb, "ecosystem_oscillation_spectral_concentration", name, "species=\"herbivore\"",
+                        o.getHerbivoreConcentration());
+                sample(sb, "ecosystem_oscillation_spectral_concentration", name, "species=\"carnivore\"",
+                        o.getCarnivoreConcentration());
+            }
+        });
+
+        header(sb, "ecosystem_tick_duration_seconds", "summary",
+                "Tick duration including publishing to listener queues, quantiles over the last 10 s window");
+        forEachEngine((name, m, s) -> {
+            for (double q : QUANTILES) {
+                sample(sb, "ecosystem_tick_duration_seconds", name, "quantile=\"" + q + "\"",
+                        m.getTickLatencyPercentile(q * 100) / 1e9);
+            }
+            sample(sb, "ecosystem_tick_duration_seconds_sum", name, null, m.getTotalTickNanos() / 1e9);
+            sample(sb, "ecosystem_tick_duration_seconds_count", name, null, m.getTicks());
+        });
+
+        header(sb, "ecosystem_births_total", "counter", "Organisms added to the grid by spawning or reproduction");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_births_total", name, null, m.getBirths()));
+
+        header(sb, "ecosystem_deaths_total", "counter", "Organisms removed by predation or starvation");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_deaths_total", name, null, m.getDeaths()));
+
+        header(sb, "ecosystem_births_per_second", "gauge", "Births over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_births_per_second", name, null, m.getBirthsPerSecond()));
+
+        header(sb, "ecosystem_deaths_per_second", "gauge", "Deaths over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_deaths_per_second", name, null, m.getDeathsPerSecond()));
+
+        header(sb, "ecosystem_allocated_bytes_total", "counter", "Bytes allocated by the simulation thread during ticks");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_allocated_bytes_total", name, null, m.getAllocatedBytes()));
+
+        header(sb, "ecosystem_tick_allocated_bytes", "gauge", "Average bytes allocated per tick over the last second");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_tick_allocated_bytes", name, null, m.getAllocatedBytesPerTick()));
+
+        header(sb, "ecosystem_allocation_budget_violations_total", "counter",
+                "One-second windows whose average allocation per tick exceeded the configured budget");
+        forEachEngine((name, m, s) -> sample(sb, "ecosystem_allocation_budget_violations_total", name, null,
+                m.getAllocationBudgetViolations()));
+
+        // Autosave: chỉ xuất cho engine bật autosave
+        header(sb, "ecosystem_autosave_stall_seconds", "gauge", "Time the tick was stalled to snapshot the ecosystem for autosave");
+        forEachAutosave((name, a) -> {
+            sample(sb, "ecosystem_autosave_stall_seconds", name, "stat=\"last\"", a.getLastStallNanos() / 1e9);
+            sample(sb, "ecosystem_autosave_stall_seconds", name, "stat=\"max\"", a.getMaxStallNanos() / 1e9);
+        });
+
+        header(sb, "ecosystem_autosave_stall_budget_seconds", "gauge", "Configured autosave stall budget per snapshot");
+        forEachAutosave((name, a) -> sample(sb, "ecosystem_autosave_stall_budget_seconds", name, null,
+                a.getStallBudgetNanos() / 1e9));
+
+        header(sb, "ecosystem_autosave_over_budget_total", "counter", "Autosave snapshots that stalled the tick longer than the budget");
+        forEachAutosave((name, a) -> sample(sb, "ecosystem_autosave_over_budget_total", name, null, a.getBudgetOverruns()));
+
+        header(sb, "ecosystem_autosave_snapshots_total", "counter", "Autosave snapshots taken");
+        forEachAutosave((name, a) -> sample(sb, "ecosystem_autosave_snapshots_total", name, null, a.getSnapshotsTaken()));
+
+        header(sb, "ecosystem_listener_pending_events", "gauge", "Events waiting in a listener queue");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_pending_events", name, listenerLabel(q),
+                q.getPending()));
+
+        header(sb, "ecosystem_listener_delivered_total", "counter", "Events handled by a listener");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_delivered_total", name, listenerLabel(q),
+                q.getDelivered()));
+
+        header(sb, "ecosystem_listener_dropped_total", "counter", "Events dropped because a listener queue was full");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_dropped_total", name, listenerLabel(q),
+                q.getDropped()));
+
+        header(sb, "ecosystem_listener_conflated_total", "counter", "Updates merged into a pending update");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_conflated_total", name, listenerLabel(q),
+                q.getConflated()));
+
+        header(sb, "ecosystem_listener_blocked_seconds_total", "counter",
+                "Time the simulation waited on a full listener queue");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_blocked_seconds_total", name, listenerLabel(q),
+                q.getBlockedNanos() / 1e9));
+
+        header(sb, "ecosystem_listener_lag_seconds", "gauge", "Time from publish to handling of the latest event");
+        forEachListener((name, q) -> sample(sb, "ecosystem_listener_lag_seconds", name, listenerLabel(q),
+                q.getLastDeliveryLatencyNanos() / 1e9));
+
+        header(sb, "jvm_gc_collections_total", "counter", "Garbage collections of all collectors");
+        sb.append("jvm_gc_collections_total ").append(AllocationMeter.gcCount()).append('\n');
+        header(sb, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection");
+        sb.append("jvm_gc_collection_seconds_total ").append(AllocationMeter.gcMillis() / 1e3).append('\n');
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(sb, "jvm_memory_heap_bytes", "gauge", "JVM heap usage");
+        sb.append("jvm_memory_heap_bytes{area=\"used\"} ").append(heap.getUsed()).append('\n');
+        sb.append("jvm_memory_heap_bytes{area=\"committed\"} ").append(heap.getCommitted()).append('\n');
+        sb.append("jvm_memory_heap_bytes{area=\"max\"} ").append(heap.getMax()).append('\n');
+
+        return sb.toString();
+    }
+
+    /**
+     * Hàm ghi sample cho một engine.
+     */
+    private interface EngineSampler {
+        void sample(String name, SimulationMetrics metrics, EcosystemStats stats);
+    }
+
+    /**
+     * Gọi sampler cho mỗi engine đã có thống kê (đã initialize).
+     */
+    private void forEachEngine(EngineSampler sampler) {
+        for (Map.Entry<String, SimulationEngine> entry : engines.entrySet()) {
+            SimulationMetrics metrics = entry.getValue().getMetrics();
+            EcosystemStats stats = metrics.getLastStats();
+            if (stats != null) {
+                sampler.sample(entry.getKey(), metrics, stats);
+            }
+        }
+    }
+
+    /**
+     * Gọi sampler cho mỗi engine chạy trên scheduler dùng chung.
+     */
+    private void forEachScheduled(BiConsumer<String, SimulationEngine> sampler) {
+        for (Map.Entry<String, SimulationEngine> entry : engines.entrySet()) {
+            if (entry.getValue().getScheduler() != null) {
+                sampler.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Gọi sampler cho mỗi engine đang bật autosave.
+     */
+    private void forEachAutosave(BiConsumer<String, AutosaveService> sampler) {
+        for (Map.Entry<String, SimulationEngine> entry : engines.entrySet()) {
+            AutosaveService autosave = entry.getValue().getAutosaveService();
+            if (autosave != null) {
+                sampler.accept(entry.getKey(), autosave);
+            }
+        }
+    }
+
+    /**
+     * Gọi sampler cho mỗi hàng đợi listener của mỗi engine.
+     */
+    private void forEachListener(BiConsumer<String, ListenerQueue> sampler) {
+        for (Map.Entry<String, SimulationEngine> entry : engines.entrySet()) {
+            for (ListenerQueue queue : entry.getValue().getListenerQueues()) {
+                sampler.accept(entry.getKey(), queue);
+            }
+        }
+    }
+
+    private static String listenerLabel(ListenerQueue queue) {
+        return "listener=\"" + escape(queue.getName()) + "\",policy=\""
+                + queue.getPolicy().name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String engine, String labels, double value) {
+        sb.append(name).append("{engine=\"").append(escape(engine)).append('"');
+        if (labels != null) {
+            sb.append(',').append(labels);
+        }
+        sb.append("} ");
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            sb.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecosystem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sự kiện JFR cho mỗi tick của Ecosystem.update(): thời lượng tick, quần thể
+ * sau tick và số sinh vật sinh ra / chết đi trong tick.
+ *
+ * Bật mặc định, không threshold: một sự kiện mỗi tick, đủ rẻ để ghi cùng GC
+ * và allocation khi attach vào một lần chạy đang chạy.
+ */
+@Name("com.ecosystem.Tick")
+@Label("Ecosystem Tick")
+@Category({ "Ecosystem", "Simulation" })
+@Description("Một tick mô phỏng: thời lượng, quần thể, số sinh và số chết")
+@StackTrace(false)
+public class TickEvent extends Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Producers")
+    public int producers;
+
+    @Label("Herbivores")
+    public int herbivores;
+
+    @Label("Carnivores")
+    public int carnivores;
+
+    @Label("Births")
+    @Description("Số sinh vật được thêm vào grid trong tick (spawn và sinh sản)")
+    public int births;
+
+    @Label("Deaths")
+    @Description("Số sinh vật bị loại khỏi hệ sinh thái trong tick (bị ăn và chết đói)")
+    public int deaths;
+}
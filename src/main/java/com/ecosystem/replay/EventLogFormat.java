@@ -0,0 +1,28 @@
+package com.ecosystem.replay;
+
+/**
+ * Hằng số định dạng file event log nhị phân.
+ *
+ * File gồm header (magic, version, keyframe interval) rồi tới chuỗi record.
+ * Mỗi record bắt đầu bằng 1 byte loại; số nguyên dùng varint (LEB128),
+ * năng lượng dùng float 4 byte.
+ */
+final class EventLogFormat {
+
+    static final int MAGIC = 0x45434C47; // "ECLG"
+    static final int VERSION = 1;
+
+    // Loại record
+    static final byte TICK = 1; // [gen]
+    static final byte KEYFRAME = 2; // [gen][length][snapshot GZIP]
+    static final byte BIRTH = 3; // [type][id][x][y][energy]
+    static final byte DEATH = 4; // [id]
+    static final byte MOVE = 5; // [id][x][y][energy]
+    static final byte EAT = 6; // [eaterId][foodId][energy]
+    static final byte HUNT_SUCCESS = 7; // [hunterId][preyId][energy]
+    static final byte HUNT_FAIL = 8; // [hunterId][preyId][energy]
+    static final byte MOVE_DETACHED = 9; // [id][x][y][energy], không chiếm ô mới
+
+    private EventLogFormat() {
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecosystem.replay;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EventRecorder;
+import com.ecosystem.model.Organism;
+import com.ecosystem.utils.SnapshotIO;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Ghi event log nhị phân append-only cho một lần chạy simulation.
+ *
+ * Mỗi tick ghi một record TICK rồi tới các sự kiện cấu trúc (sinh, chết,
+ * di chuyển, ăn, săn). Cứ mỗi keyframeInterval thế hệ ghi thêm một keyframe
+ * (EcosystemSnapshot nén) để replay có thể seek nhanh.
+ */
+public class EventLogWriter implements EventRecorder, Closeable {
+
+    private final Path file;
+    private final int keyframeInterval;
+    private final DataOutputStream out;
+
+    private long eventCount;
+    private int keyframeCount;
+
+    /**
+     * Constructor mở file log mới (ghi đè nếu đã tồn tại).
+     *
+     * @param file             File log
+     * @param keyframeInterval Số thế hệ giữa hai keyframe
+     * @throws IOException nếu không mở được file
+     */
+    public EventLogWriter(Path file, int keyframeInterval) throws IOException {
+        this.file = file;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+
+        out.writeInt(EventLogFormat.MAGIC);
+        out.writeInt(EventLogFormat.VERSION);
+        out.writeInt(this.keyframeInterval);
+    }
+
+    /**
+     * Ghi keyframe cho trạng thái hiện tại của hệ sinh thái.
+     *
+     * @param ecosystem Hệ sinh thái tại ranh giới tick
+     */
+    public void writeKeyframe(Ecosystem ecosystem) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            SnapshotIO.write(ecosystem.snapshot(), buffer);
+
+            out.writeByte(EventLogFormat.KEYFRAME);
+            writeVarInt(ecosystem.getGeneration());
+            writeVarInt(buffer.size());
+            buffer.writeTo(out);
+            keyframeCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Được gọi sau khi tick hoàn tất: ghi keyframe nếu đến hạn.
+     *
+     * @param ecosystem Hệ sinh thái vừa cập nhật
+     */
+    public void onTickEnd(Ecosystem ecosystem) {
+        if (ecosystem.getGeneration() % keyframeInterval == 0) {
+            writeKeyframe(ecosystem);
+        }
+    }
+
+    // === EventRecorder Implementation ===
+
+    @Override
+    public void onTickStart(int generation) {
+        try {
+            out.writeByte(EventLogFormat.TICK);
+            writeVarInt(generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onBirth(Organism organism) {
+        try {
+            out.writeByte(EventLogFormat.BIRTH);
+            out.writeByte(Ecosystem.typeOf(organism).ordinal());
+            writeVarInt(organism.getId());
+            writeVarInt(organism.getX());
+            writeVarInt(organism.getY());
+            out.writeFloat((float) organism.getEnergy());
+            eventCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onDeath(Organism organism) {
+        try {
+            out.writeByte(EventLogFormat.DEATH);
+            writeVarInt(organism.getId());
+            eventCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onMove(Organism organism, boolean attached) {
+        try {
+            out.writeByte(attached ? EventLogFormat.MOVE : EventLogFormat.MOVE_DETACHED);
+            writeVarInt(organism.getId());
+            writeVarInt(organism.getX());
+            writeVarInt(organism.getY());
+            out.writeFloat((float) organism.getEnergy());
+            eventCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onEat(Organism eater, Organism food) {
+        writeInteraction(EventLogFormat.EAT, eater, food);
+    }
+
+    @Override
+    public void onHunt(Organism hunter, Organism prey, boolean success) {
+        writeInteraction(success ? EventLogFormat.HUNT_SUCCESS : EventLogFormat.HUNT_FAIL, hunter, prey);
+    }
+
+    private void writeInteraction(byte type, Organism actor, Organism target) {
+        try {
+            out.writeByte(type);
+            writeVarInt(actor.getId());
+            writeVarInt(target.getId());
+            out.writeFloat((float) actor.getEnergy());
+            eventCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // === Helpers ===
+
+    private void writeVarInt(int value) throws IOException {
+        writeVarInt(out, value);
+    }
+
+    /**
+     * Ghi số nguyên không âm dạng varint (7 bit mỗi byte).
+     */
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Đẩy dữ liệu đang buffer xuống file.
+     */
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // === Getters ===
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+}
@@ -0,0 +1,329 @@
+package com.ecosystem.replay;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemSnapshot;
+import com.ecosystem.model.Organism;
+import com.ecosystem.utils.SnapshotIO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine replay đọc event log và tái tạo trạng thái tại thế hệ bất kỳ.
+ *
+ * Seek tới keyframe gần nhất (≤ thế hệ đích) rồi áp dụng các sự kiện delta,
+ * không chạy lại logic simulation. Trạng thái được dựng trên một Ecosystem
+ * riêng nên có thể đưa thẳng cho GridView để render.
+ *
+ * Lưu ý: vị trí và sự có mặt của sinh vật là chính xác; năng lượng chỉ chính
+ * xác tại keyframe, giữa hai keyframe được cập nhật từ các sự kiện có mang
+ * năng lượng (sinh, di chuyển, ăn, săn).
+ */
+public class ReplayEngine {
+
+    private final ByteBuffer log;
+    private final Ecosystem ecosystem;
+    private final int keyframeInterval;
+
+    // Index keyframe: thế hệ -> offset của record KEYFRAME
+    private int[] keyframeGenerations = new int[16];
+    private int[] keyframeOffsets = new int[16];
+    private int keyframeCount;
+    private int lastGeneration;
+
+    // Trạng thái replay hiện tại
+    private final Map<Integer, Organism> organismsById = new HashMap<>();
+    private int currentGeneration = -1;
+    private int position;
+
+    /**
+     * Constructor mở event log và xây dựng index keyframe.
+     *
+     * @param file   File event log
+     * @param config Cấu hình dùng để tạo sinh vật khi replay (màu sắc, ngưỡng)
+     * @throws IOException nếu đọc thất bại hoặc sai định dạng
+     */
+    public ReplayEngine(Path file, EcosystemConfig config) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.log = mapped;
+        }
+
+        if (log.remaining() < 12 || log.getInt() != EventLogFormat.MAGIC) {
+            throw new IOException("File không phải event log hệ sinh thái");
+        }
+        int version = log.getInt();
+        if (version != EventLogFormat.VERSION) {
+            throw new IOException("Không hỗ trợ event log version " + version);
+        }
+        this.keyframeInterval = log.getInt();
+        this.ecosystem = new Ecosystem(config);
+
+        buildIndex(log.position());
+        if (keyframeCount == 0) {
+            throw new IOException("Event log không có keyframe nào");
+        }
+    }
+
+    /**
+     * Quét toàn bộ log một lần để ghi nhận vị trí các keyframe.
+     */
+    private void buildIndex(int start) {
+        position = start;
+        while (position < log.limit()) {
+            int recordStart = position;
+            try {
+                byte type = log.get(position++);
+                switch (type) {
+                    case EventLogFormat.TICK -> lastGeneration = readVarInt();
+                    case EventLogFormat.KEYFRAME -> {
+                        int generation = readVarInt();
+                        int length = readVarInt();
+                        if (position + length > log.limit()) {
+                            throw new IndexOutOfBoundsException();
+                        }
+                        addKeyframe(generation, recordStart);
+                        lastGeneration = generation;
+                        position += length;
+                    }
+                    default -> skipEvent(type);
+                }
+            } catch (IndexOutOfBoundsException e) {
+                // Record cuối bị cắt (log đang được ghi dở) -> bỏ qua phần đuôi
+                log.limit(recordStart);
+                break;
+            }
+        }
+    }
+
+    private void addKeyframe(int generation, int offset) {
+        // Keyframe lùi về thế hệ cũ = điểm rẽ nhánh sau khi rewind:
+        // nhánh mới thay thế các keyframe từ thế hệ đó trở đi
+        while (keyframeCount > 0 && keyframeGenerations[keyframeCount - 1] >= generation) {
+            keyframeCount--;
+        }
+        if (keyframeCount == keyframeGenerations.length) {
+            keyframeGenerations = Arrays.copyOf(keyframeGenerations, keyframeCount * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeGenerations[keyframeCount] = generation;
+        keyframeOffsets[keyframeCount] = offset;
+        keyframeCount++;
+    }
+
+    /**
+     * Tái tạo trạng thái tại thế hệ đích.
+     * Nếu đích nằm phía trước trạng thái hiện tại và gần hơn keyframe kế tiếp
+     * thì tiếp tục áp dụng delta từ vị trí hiện tại thay vì seek lại.
+     *
+     * @param targetGeneration Thế hệ cần tái tạo
+     * @return Ecosystem ở trạng thái thế hệ đích (đã clamp vào khoảng hợp lệ)
+     */
+    public Ecosystem seek(int targetGeneration) {
+        int target = Math.max(keyframeGenerations[0], Math.min(targetGeneration, lastGeneration));
+
+        int keyframe = findKeyframe(target);
+        boolean canContinue = currentGeneration >= 0 && currentGeneration <= target
+                && currentGeneration >= keyframeGenerations[keyframe];
+        if (!canContinue) {
+            loadKeyframe(keyframe);
+        }
+
+        applyUntil(target);
+        return ecosystem;
+    }
+
+    /**
+     * Tìm keyframe cuối cùng có thế hệ ≤ target (binary search).
+     */
+    private int findKeyframe(int target) {
+        int index = Arrays.binarySearch(keyframeGenerations, 0, keyframeCount, target);
+        if (index >= 0) {
+            return index;
+        }
+        return Math.max(0, -index - 2);
+    }
+
+    /**
+     * Khôi phục trạng thái từ keyframe và đặt vị trí đọc ngay sau nó.
+     */
+    private void loadKeyframe(int keyframe) {
+        position = keyframeOffsets[keyframe] + 1;
+        readVarInt(); // generation
+        int length = readVarInt();
+
+        byte[] bytes = new byte[length];
+        log.get(position, bytes);
+        position += length;
+
+        try {
+            EcosystemSnapshot snapshot = SnapshotIO.read(new ByteArrayInputStream(bytes));
+            List<Organism> restored = ecosystem.restore(snapshot);
+
+            organismsById.clear();
+            for (int i = 0; i < restored.size(); i++) {
+                organismsById.put(snapshot.getId(i), restored.get(i));
+            }
+            currentGeneration = snapshot.getGeneration();
+        } catch (IOException e) {
+            throw new IllegalStateException("Keyframe hỏng tại offset " + keyframeOffsets[keyframe], e);
+        }
+    }
+
+    /**
+     * Áp dụng các record delta cho tới hết thế hệ target.
+     */
+    private void applyUntil(int target) {
+        while (position < log.limit()) {
+            byte type = log.get(position);
+            if (type == EventLogFormat.TICK) {
+                int saved = position;
+                position++;
+                int generation = readVarInt();
+                if (generation > target) {
+                    position = saved;
+                    break;
+                }
+                currentGeneration = generation;
+                ecosystem.setGeneration(generation);
+                continue;
+            }
+
+            position++;
+            if (type == EventLogFormat.KEYFRAME) {
+                readVarInt();
+                position += readVarInt();
+            } else {
+                applyEvent(type);
+            }
+        }
+    }
+
+    /**
+     * Áp dụng một sự kiện lên Ecosystem replay.
+     */
+    private void applyEvent(byte type) {
+        switch (type) {
+            case EventLogFormat.BIRTH -> {
+                Ecosystem.OrganismType organismType = Ecosystem.OrganismType.values()[log.get(position++)];
+                int id = readVarInt();
+                int x = readVarInt();
+                int y = readVarInt();
+                float energy = readFloat();
+
+                Organism organism = ecosystem.createOrganism(organismType, x, y);
+                organism.setEnergy(energy);
+                ecosystem.placeOrganism(organism, true);
+                organismsById.put(id, organism);
+            }
+            case EventLogFormat.DEATH -> {
+                Organism organism = organismsById.remove(readVarInt());
+                if (organism != null) {
+                    organism.die();
+                    ecosystem.removeOrganism(organism);
+                }
+            }
+            case EventLogFormat.MOVE, EventLogFormat.MOVE_DETACHED -> {
+                Organism organism = organismsById.get(readVarInt());
+                int x = readVarInt();
+                int y = readVarInt();
+                float energy = readFloat();
+                if (organism != null) {
+                    ecosystem.relocateOrganism(organism, x, y, type == EventLogFormat.MOVE);
+                    organism.setEnergy(energy);
+                }
+            }
+            case EventLogFormat.EAT, EventLogFormat.HUNT_SUCCESS, EventLogFormat.HUNT_FAIL -> {
+                Organism actor = organismsById.get(readVarInt());
+                readVarInt(); // target: việc loại bỏ được ghi bằng record DEATH riêng
+                float energy = readFloat();
+                if (actor != null) {
+                    actor.setEnergy(energy);
+                }
+            }
+            default -> throw new IllegalStateException("Record không hợp lệ: " + type + " tại offset " + (position - 1));
+        }
+    }
+
+    /**
+     * Bỏ qua payload của một record sự kiện (dùng khi build index).
+     */
+    private void skipEvent(byte type) {
+        switch (type) {
+            case EventLogFormat.BIRTH -> {
+                position++;
+                readVarInt();
+                readVarInt();
+                readVarInt();
+                position += Float.BYTES;
+            }
+            case EventLogFormat.DEATH -> readVarInt();
+            case EventLogFormat.MOVE, EventLogFormat.MOVE_DETACHED -> {
+                readVarInt();
+                readVarInt();
+                readVarInt();
+                position += Float.BYTES;
+            }
+            case EventLogFormat.EAT, EventLogFormat.HUNT_SUCCESS, EventLogFormat.HUNT_FAIL -> {
+                readVarInt();
+                readVarInt();
+                position += Float.BYTES;
+            }
+            default -> throw new IllegalStateException("Record không hợp lệ: " + type + " tại offset " + (position - 1));
+        }
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = log.get(position++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private float readFloat() {
+        float value = log.getFloat(position);
+        position += Float.BYTES;
+        return value;
+    }
+
+    // === Getters ===
+
+    public Ecosystem getEcosystem() {
+        return ecosystem;
+    }
+
+    public int getCurrentGeneration() {
+        return currentGeneration;
+    }
+
+    public int getFirstGeneration() {
+        return keyframeGenerations[0];
+    }
+
+    public int getLastGeneration() {
+        return lastGeneration;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+}
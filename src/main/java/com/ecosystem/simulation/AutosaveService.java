@@ -0,0 +1,239 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemSnapshot;
+import com.ecosystem.utils.SnapshotIO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dịch vụ autosave chạy nền.
+ *
+ * Tại ranh giới tick, simulation thread chỉ chụp EcosystemSnapshot (sao chép
+ * mảng primitive), còn việc nén và ghi file được đẩy sang một writer thread
+ * riêng. Thời gian dừng tick do chụp snapshot được đo và so với ngân sách
+ * cấu hình trong YAML.
+ */
+public class AutosaveService {
+
+    private static final String FILE_PREFIX = "autosave-gen";
+    private static final String FILE_SUFFIX = ".eco.gz";
+
+    private final Path directory;
+    private final int everyGenerations;
+    private final long intervalNanos;
+    private final int keepFiles;
+    private final long stallBudgetNanos;
+
+    // Writer thread (một thread, daemon)
+    private final ExecutorService writer;
+    private final AtomicBoolean writeInFlight = new AtomicBoolean(false);
+    private final Deque<Path> savedFiles = new ArrayDeque<>();
+
+    private long lastSaveNanos;
+
+    // Metrics (đọc được từ thread khác)
+    private final AtomicLong snapshotsTaken = new AtomicLong();
+    private final AtomicLong snapshotsSkipped = new AtomicLong();
+    private final AtomicLong writesCompleted = new AtomicLong();
+    private final AtomicLong writesFailed = new AtomicLong();
+    private final AtomicLong budgetOverruns = new AtomicLong();
+    private final AtomicLong totalStallNanos = new AtomicLong();
+    private volatile long lastStallNanos;
+    private volatile long maxStallNanos;
+    private volatile long lastWriteNanos;
+    private volatile long lastFileBytes;
+    private volatile Path lastFile;
+
+    /**
+     * Constructor tạo AutosaveService từ cấu hình.
+     *
+     * @param config Cấu hình hệ sinh thái (phần autosave)
+     */
+    public AutosaveService(EcosystemConfig config) {
+        this.directory = Paths.get(config.getAutosaveDirectory());
+        this.everyGenerations = config.getAutosaveEveryGenerations();
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(config.getAutosaveIntervalSeconds());
+        this.keepFiles = Math.max(1, config.getAutosaveKeepFiles());
+        this.stallBudgetNanos = (long) (config.getAutosaveStallBudgetMs() * 1_000_000);
+        this.lastSaveNanos = System.nanoTime();
+
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "AutosaveWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Được gọi từ simulation thread sau mỗi tick.
+     * Nếu đến hạn autosave: chụp snapshot và gửi sang writer thread.
+     *
+     * @param ecosystem Hệ sinh thái vừa hoàn tất tick
+     */
+    public void onTick(Ecosystem ecosystem) {
+        long now = System.nanoTime();
+        if (!isDue(ecosystem.getGeneration(), now)) {
+            return;
+        }
+        lastSaveNanos = now;
+
+        // Lần ghi trước chưa xong -> bỏ qua để không dồn snapshot trong bộ nhớ
+        if (!writeInFlight.compareAndSet(false, true)) {
+            snapshotsSkipped.incrementAndGet();
+            return;
+        }
+
+        long start = System.nanoTime();
+        EcosystemSnapshot snapshot = ecosystem.snapshot();
+        recordStall(System.nanoTime() - start);
+
+        writer.execute(() -> writeSnapshot(snapshot));
+    }
+
+    /**
+     * Kiểm tra đã đến hạn autosave chưa.
+     */
+    private boolean isDue(int generation, long now) {
+        if (everyGenerations > 0 && generation > 0 && generation % everyGenerations == 0) {
+            return true;
+        }
+        return intervalNanos > 0 && now - lastSaveNanos >= intervalNanos;
+    }
+
+    /**
+     * Ghi nhận thời gian dừng tick.
+     */
+    private void recordStall(long stallNanos) {
+        snapshotsTaken.incrementAndGet();
+        totalStallNanos.addAndGet(stallNanos);
+        lastStallNanos = stallNanos;
+        if (stallNanos > maxStallNanos) {
+            maxStallNanos = stallNanos;
+        }
+        if (stallNanos > stallBudgetNanos) {
+            budgetOverruns.incrementAndGet();
+        }
+    }
+
+    /**
+     * Nén và ghi snapshot (chạy trên writer thread).
+     */
+    private void writeSnapshot(EcosystemSnapshot snapshot) {
+        long start = System.nanoTime();
+        Path file = directory.resolve(String.format("%s%08d%s",
+                FILE_PREFIX, snapshot.getGeneration(), FILE_SUFFIX));
+        try {
+            lastFileBytes = SnapshotIO.write(snapshot, file);
+            lastFile = file;
+            writesCompleted.incrementAndGet();
+            rotate(file);
+        } catch (IOException e) {
+            writesFailed.incrementAndGet();
+            System.err.println("Lỗi khi autosave: " + e.getMessage());
+        } finally {
+            lastWriteNanos = System.nanoTime() - start;
+            writeInFlight.set(false);
+        }
+    }
+
+    /**
+     * Giữ lại tối đa keepFiles file autosave gần nhất.
+     */
+    private void rotate(Path newest) {
+        savedFiles.remove(newest);
+        savedFiles.addLast(newest);
+        while (savedFiles.size() > keepFiles) {
+            Path oldest = savedFiles.removeFirst();
+            try {
+                Files.deleteIfExists(oldest);
+            } catch (IOException e) {
+                System.err.println("Không xóa được autosave cũ: " + oldest);
+            }
+        }
+    }
+
+    /**
+     * Dừng writer thread, chờ lần ghi đang chạy hoàn tất.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // === Metrics ===
+
+    public long getSnapshotsTaken() {
+        return snapshotsTaken.get();
+    }
+
+    public long getSnapshotsSkipped() {
+        return snapshotsSkipped.get();
+    }
+
+    public long getWritesCompleted() {
+        return writesCompleted.get();
+    }
+
+    public long getWritesFailed() {
+        return writesFailed.get();
+    }
+
+    public long getLastStallNanos() {
+        return lastStallNanos;
+    }
+
+    public long getMaxStallNanos() {
+        return maxStallNanos;
+    }
+
+    public long getAverageStallNanos() {
+        long taken = snapshotsTaken.get();
+        return taken == 0 ? 0 : totalStallNanos.get() / taken;
+    }
+
+    public long getStallBudgetNanos() {
+        return stallBudgetNanos;
+    }
+
+    public long getBudgetOverruns() {
+        return budgetOverruns.get();
+    }
+
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    public long getLastFileBytes() {
+        return lastFileBytes;
+    }
+
+    public Path getLastFile() {
+        return lastFile;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Autosave | taken: %d | skipped: %d | written: %d | stall last/avg/max: %.3f/%.3f/%.3f ms (budget %.3f ms, overruns: %d)",
+                getSnapshotsTaken(), getSnapshotsSkipped(), getWritesCompleted(),
+                lastStallNanos / 1e6, getAverageStallNanos() / 1e6, maxStallNanos / 1e6,
+                stallBudgetNanos / 1e6, getBudgetOverruns());
+    }
+}
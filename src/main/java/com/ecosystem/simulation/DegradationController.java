@@ -0,0 +1,114 @@
+package com.ecosystem.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chế độ giảm tải của SimulationEngine khi tick vượt ngân sách thời gian
+ * (bùng nổ quần thể).
+ *
+ * Khi phần bắt buộc của tick (ecosystem.update) chạy lâu hơn ngân sách,
+ * engine bỏ các việc không bắt buộc ngay trong tick đó: không ghi lịch sử
+ * thống kê, chỉ notify listener mỗi notifyInterval tick và đánh dấu ảnh chụp
+ * để UI vẽ chi tiết thấp. Engine thoát chế độ giảm tải sau recoverTicks tick
+ * liên tiếp nằm trong ngân sách. Trạng thái tick chỉ dùng trên thread đang
+ * chạy tick (trong loopLock hoặc tickLock).
+ */
+class DegradationController {
+
+    static final int DEFAULT_RECOVER_TICKS = 30;
+    static final int DEFAULT_NOTIFY_INTERVAL = 10;
+
+    private volatile boolean enabled = true;
+    private volatile long budgetNanos;
+    private volatile int recoverTicks = DEFAULT_RECOVER_TICKS;
+    private volatile int notifyInterval = DEFAULT_NOTIFY_INTERVAL;
+
+    private volatile boolean degraded;
+    private volatile long lastOverrunNanos;
+    private int calmTicks;
+    private int ticksSinceNotify;
+
+    /**
+     * Đặt cấu hình (gọi từ thread bất kỳ).
+     *
+     * @param enabled        Bật chế độ giảm tải
+     * @param budgetMs       Ngân sách mỗi tick (ms), 0 = theo chu kỳ tick mục tiêu
+     * @param recoverTicks   Số tick liên tiếp trong ngân sách để thoát giảm tải
+     * @param notifyInterval Notify listener mỗi bao nhiêu tick khi giảm tải
+     */
+    void configure(boolean enabled, int budgetMs, int recoverTicks, int notifyInterval) {
+        this.enabled = enabled;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMs));
+        this.recoverTicks = Math.max(1, recoverTicks);
+        this.notifyInterval = Math.max(1, notifyInterval);
+        if (!enabled) {
+            degraded = false;
+        }
+    }
+
+    /**
+     * Ghi nhận thời gian phần bắt buộc của tick và cập nhật trạng thái.
+     *
+     * @param workNanos      Thời gian ecosystem.update
+     * @param defaultBudget  Ngân sách khi không cấu hình (theo tốc độ mục tiêu)
+     * @return Chuyển trạng thái: 1 vừa vào giảm tải, -1 vừa thoát, 0 không đổi
+     */
+    int onTickWork(long workNanos, long defaultBudget) {
+        if (!enabled) {
+            return 0;
+        }
+        long budget = budgetNanos > 0 ? budgetNanos : defaultBudget;
+        if (workNanos > budget) {
+            lastOverrunNanos = workNanos;
+            calmTicks = 0;
+            if (!degraded) {
+                degraded = true;
+                ticksSinceNotify = 0;
+                return 1;
+            }
+        } else if (degraded && ++calmTicks >= recoverTicks) {
+            degraded = false;
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Tick hiện tại có được notify listener không (chỉ giảm tần suất khi
+     * đang giảm tải).
+     */
+    boolean shouldNotify() {
+        if (!degraded) {
+            return true;
+        }
+        if (++ticksSinceNotify >= notifyInterval) {
+            ticksSinceNotify = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Thoát giảm tải ngay (khởi tạo lại, lùi thời gian).
+     */
+    void reset() {
+        degraded = false;
+        calmTicks = 0;
+        ticksSinceNotify = 0;
+    }
+
+    boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Thời gian của tick vượt ngân sách gần nhất.
+     */
+    long getLastOverrunNanos() {
+        return lastOverrunNanos;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+}
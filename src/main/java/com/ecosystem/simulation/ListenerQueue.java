@@ -0,0 +1,425 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.monitoring.ListenerDispatchEvent;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hàng đợi sự kiện của một SimulationListener: engine publish vào ring buffer
+ * cấp phát sẵn, listener nhận sự kiện trên thread riêng theo tốc độ của nó.
+ * Nhờ vậy thời gian tick không phụ thuộc vào chi phí của listener.
+ *
+ * Khi buffer đầy, hành vi theo OverflowPolicy. Sự kiện trạng thái
+ * (onStateChanged, onSimulationEnded) không bị gộp và chỉ bị bỏ khi buffer
+ * không còn update nào. Số liệu lag đọc không cần khóa (MetricsServer).
+ */
+public class ListenerQueue implements Runnable {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Hành vi khi buffer của listener đầy.
+     */
+    public enum OverflowPolicy {
+        /** Engine chờ tới khi listener lấy bớt sự kiện (tick bị chậm theo listener) */
+        BLOCK,
+        /** Bỏ update cũ nhất đang chờ */
+        DROP_OLDEST,
+        /** Gộp các update liên tiếp chưa gửi, listener chỉ nhận update mới nhất */
+        CONFLATE;
+
+        /**
+         * Đọc policy từ tên trong YAML (block, drop_oldest, drop-oldest, conflate).
+         *
+         * @param name Tên policy
+         * @return OverflowPolicy
+         * @throws IllegalArgumentException nếu tên không hợp lệ
+         */
+        public static OverflowPolicy fromName(String name) {
+            if (name != null) {
+                String key = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+                for (OverflowPolicy policy : values()) {
+                    if (policy.name().equals(key)) {
+                        return policy;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Overflow policy không hợp lệ: " + name);
+        }
+    }
+
+    private enum Type {
+        UPDATE, STATE_CHANGED, ENDED
+    }
+
+    /**
+     * Một ô của ring buffer, dùng lại cho mọi sự kiện (không cấp phát khi publish).
+     */
+    private static final class Slot {
+        Type type;
+        EcosystemStats stats;
+        SimulationState state;
+        String reason;
+        long publishedNanos;
+
+        void clear() {
+            type = null;
+            stats = null;
+            state = null;
+            reason = null;
+        }
+    }
+
+    private final SimulationListener listener;
+    private final String name;
+    private final Thread thread;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private Slot[] slots;
+    private int head;
+    private int size;
+    private volatile OverflowPolicy policy;
+    private volatile boolean closed;
+
+    // Listener thêm bằng addListener(listener): theo cấu hình mặc định của engine
+    private final boolean followsDefaults;
+
+    // Số liệu (ghi dưới khóa hoặc trên thread listener, đọc không khóa)
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private volatile int pending;
+    private volatile int capacity;
+    private volatile long lastDeliveryLatencyNanos;
+    private volatile long maxDeliveryLatencyNanos;
+
+    /**
+     * Constructor tạo hàng đợi và khởi động thread của listener.
+     *
+     * @param listener        Listener nhận sự kiện
+     * @param policy          Hành vi khi buffer đầy
+     * @param capacity        Số sự kiện tối đa chờ trong buffer
+     * @param followsDefaults true nếu policy/capacity theo cấu hình mặc định của engine
+     */
+    ListenerQueue(SimulationListener listener, OverflowPolicy policy, int capacity, boolean followsDefaults) {
+        this.listener = listener;
+        this.policy = policy;
+        this.followsDefaults = followsDefaults;
+        this.slots = newSlots(Math.max(1, capacity));
+        this.capacity = slots.length;
+
+        Class<?> type = listener.getClass();
+        this.name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        this.thread = new Thread(this, "Listener-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static Slot[] newSlots(int capacity) {
+        Slot[] slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        return slots;
+    }
+
+    void publishUpdate(EcosystemStats stats) {
+        publish(Type.UPDATE, stats, null, null);
+    }
+
+    void publishStateChanged(SimulationState state) {
+        publish(Type.STATE_CHANGED, null, state, null);
+    }
+
+    void publishEnded(String reason, EcosystemStats stats) {
+        publish(Type.ENDED, stats, null, reason);
+    }
+
+    private void publish(Type type, EcosystemStats stats, SimulationState state, String reason) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            published.incrementAndGet();
+
+            OverflowPolicy current = policy;
+            if (type == Type.UPDATE && current == OverflowPolicy.CONFLATE && size > 0) {
+                Slot last = slots[(head + size - 1) % slots.length];
+                if (last.type == Type.UPDATE) {
+                    // Giữ thời điểm publish cũ để latency phản ánh sự kiện chờ lâu nhất
+                    last.stats = stats;
+                    conflated.incrementAndGet();
+                    return;
+                }
+            }
+
+            if (size == slots.length) {
+                // Listener tự gọi engine (ví dụ pause() trong onUpdate) không được tự chặn mình
+                if (current == OverflowPolicy.BLOCK && Thread.currentThread() != thread) {
+                    awaitSpace();
+                    if (closed) {
+                        return;
+                    }
+                }
+                if (size == slots.length) {
+                    dropOldest();
+                }
+            }
+
+            Slot slot = slots[(head + size) % slots.length];
+            slot.type = type;
+            slot.stats = stats;
+            slot.state = state;
+            slot.reason = reason;
+            slot.publishedNanos = now;
+            size++;
+            pending = size;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Chờ tới khi buffer còn chỗ (policy BLOCK). Bị interrupt (engine stop)
+     * thì thôi chờ và để publish bỏ sự kiện cũ nhất.
+     */
+    private void awaitSpace() {
+        long start = System.nanoTime();
+        try {
+            while (size == slots.length && !closed) {
+                notFull.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Bỏ update cũ nhất đang chờ (giữ thứ tự các sự kiện còn lại). Nếu buffer
+     * chỉ còn sự kiện trạng thái thì bỏ sự kiện cũ nhất.
+     */
+    private void dropOldest() {
+        int n = slots.length;
+        int victim = 0;
+        for (int i = 0; i < size; i++) {
+            if (slots[(head + i) % n].type == Type.UPDATE) {
+                victim = i;
+                break;
+            }
+        }
+
+        // Dời các sự kiện cũ hơn victim lên một ô, ô của victim thành ô trống ở đầu
+        Slot removed = slots[(head + victim) % n];
+        for (int i = victim; i > 0; i--) {
+            slots[(head + i) % n] = slots[(head + i - 1) % n];
+        }
+        removed.clear();
+        slots[head] = removed;
+        head = (head + 1) % n;
+        size--;
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Vòng lặp của thread listener: lấy sự kiện cũ nhất và gọi callback.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            Type type;
+            EcosystemStats stats;
+            SimulationState state;
+            String reason;
+            long publishedNanos;
+
+            lock.lock();
+            try {
+                while (size == 0 && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                Slot slot = slots[head];
+                type = slot.type;
+                stats = slot.stats;
+                state = slot.state;
+                reason = slot.reason;
+                publishedNanos = slot.publishedNanos;
+                slot.clear();
+                head = (head + 1) % slots.length;
+                size--;
+                pending = size;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            long latency = System.nanoTime() - publishedNanos;
+            lastDeliveryLatencyNanos = latency;
+            if (latency > maxDeliveryLatencyNanos) {
+                maxDeliveryLatencyNanos = latency;
+            }
+
+            try {
+                dispatch(type, stats, state, reason);
+            } catch (RuntimeException e) {
+                System.err.println("Lỗi trong listener " + name + ": " + e);
+            }
+            delivered.incrementAndGet();
+        }
+    }
+
+    private void dispatch(Type type, EcosystemStats stats, SimulationState state, String reason) {
+        ListenerDispatchEvent event = new ListenerDispatchEvent();
+        event.begin();
+        String callback;
+        switch (type) {
+            case UPDATE -> {
+                listener.onUpdate(stats);
+                callback = "onUpdate";
+            }
+            case STATE_CHANGED -> {
+                listener.onStateChanged(state);
+                callback = "onStateChanged";
+            }
+            default -> {
+                listener.onSimulationEnded(reason, stats);
+                callback = "onSimulationEnded";
+            }
+        }
+        if (event.shouldCommit()) {
+            event.listener = listener.getClass();
+            event.callback = callback;
+            event.commit();
+        }
+    }
+
+    /**
+     * Đổi policy và dung lượng buffer. Sự kiện đang chờ được giữ lại (bỏ các
+     * sự kiện cũ nhất nếu dung lượng mới nhỏ hơn).
+     *
+     * @param policy   Policy mới
+     * @param capacity Dung lượng mới
+     */
+    void configure(OverflowPolicy policy, int capacity) {
+        lock.lock();
+        try {
+            this.policy = policy;
+            int newCapacity = Math.max(1, capacity);
+            if (newCapacity != slots.length) {
+                while (size > newCapacity) {
+                    dropOldest();
+                }
+                Slot[] resized = new Slot[newCapacity];
+                for (int i = 0; i < newCapacity; i++) {
+                    resized[i] = i < size ? slots[(head + i) % slots.length] : new Slot();
+                }
+                slots = resized;
+                head = 0;
+                pending = size;
+                this.capacity = newCapacity;
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dừng thread listener, bỏ các sự kiện còn chờ và giải phóng engine đang chờ (BLOCK).
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean followsDefaults() {
+        return followsDefaults;
+    }
+
+    public SimulationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Tên hiển thị (tên class của listener), dùng làm label metrics.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Số sự kiện đang chờ listener xử lý (lag tính theo sự kiện).
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Số sự kiện bị bỏ vì buffer đầy (DROP_OLDEST, CONFLATE, hoặc BLOCK bị interrupt).
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Số update được gộp vào update chưa gửi trước đó (CONFLATE).
+     */
+    public long getConflated() {
+        return conflated.get();
+    }
+
+    /**
+     * Tổng thời gian engine phải chờ vì buffer đầy (BLOCK).
+     */
+    public long getBlockedNanos() {
+        return blockedNanos.get();
+    }
+
+    /**
+     * Thời gian từ lúc publish tới lúc listener bắt đầu xử lý sự kiện gần nhất.
+     */
+    public long getLastDeliveryLatencyNanos() {
+        return lastDeliveryLatencyNanos;
+    }
+
+    public long getMaxDeliveryLatencyNanos() {
+        return maxDeliveryLatencyNanos;
+    }
+}
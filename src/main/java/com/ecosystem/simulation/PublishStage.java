@@ -0,0 +1,283 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemStats;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stage thứ hai của pipeline tick: phần công việc sau ecosystem.update chỉ
+ * cần thống kê bất biến (EcosystemStats) được chạy trên thread riêng, trong
+ * khi thread simulation đã chạy thế hệ kế tiếp.
+ *
+ * Thread simulation chụp thống kê của thế hệ N rồi đẩy vào ring buffer cấp
+ * phát sẵn; stage thực hiện ghi lịch sử, tổng hợp metrics và publish tới
+ * listener theo đúng thứ tự thế hệ. Buffer đầy thì thread simulation chờ
+ * (thời gian chờ được ghi vào SimulationMetrics), nên lịch sử không mất thế
+ * hệ nào. Khi pipeline tắt, công việc chạy ngay trên thread gọi.
+ *
+ * Thread stage được khởi động khi có tick đầu tiên và dừng ở close() (khi
+ * engine dừng), nên engine không còn chạy không giữ thread nào.
+ */
+class PublishStage implements Runnable {
+
+    static final int DEFAULT_DEPTH = 4;
+
+    /**
+     * Công việc của stage cho một thế hệ, dùng lại cho mọi tick.
+     */
+    static final class Tick {
+        EcosystemStats stats;
+        int births;
+        int deaths;
+        long tickNanos;
+        long allocated;
+        long latenessNanos;
+        long skipped;
+        boolean paced;
+        boolean history;
+        boolean recordTick;
+        boolean restartWindow;
+        boolean notify;
+
+        void clear() {
+            stats = null;
+            paced = false;
+            history = false;
+            recordTick = false;
+            restartWindow = false;
+            notify = false;
+        }
+    }
+
+    private final SimulationEngine engine;
+    private final SimulationMetrics metrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private Tick[] ring;
+    private int head;
+    private int size;
+    private boolean busy;
+    private volatile boolean enabled = true;
+    private Thread thread;
+
+    // Chỉ thread đang chạy tick (producer)
+    private final Tick inline = new Tick();
+
+    /**
+     * Constructor tạo stage (thread được khởi động khi có tick đầu tiên).
+     *
+     * @param engine  Engine nhận công việc của stage
+     * @param metrics Metrics ghi thời gian chờ của thread simulation
+     */
+    PublishStage(SimulationEngine engine, SimulationMetrics metrics) {
+        this.engine = engine;
+        this.metrics = metrics;
+        this.ring = newRing(DEFAULT_DEPTH);
+    }
+
+    private static Tick[] newRing(int depth) {
+        Tick[] ring = new Tick[depth];
+        for (int i = 0; i < depth; i++) {
+            ring[i] = new Tick();
+        }
+        return ring;
+    }
+
+    /**
+     * Bật/tắt pipeline và đổi độ sâu. Chờ stage xử lý hết công việc cũ.
+     *
+     * @param enabled false để chạy công việc ngay trên thread simulation
+     * @param depth   Số thế hệ tối đa chờ stage
+     */
+    void configure(boolean enabled, int depth) {
+        drain();
+        lock.lock();
+        try {
+            this.enabled = enabled;
+            int newDepth = Math.max(1, depth);
+            if (newDepth != ring.length) {
+                ring = newRing(newDepth);
+                head = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lấy ô để điền công việc của tick. Gọi trên thread simulation, sau đó
+     * phải gọi submit(). Chờ nếu stage đang chậm hơn depth thế hệ.
+     */
+    Tick claim() {
+        if (!enabled) {
+            inline.clear();
+            return inline;
+        }
+        lock.lock();
+        try {
+            if (size == ring.length) {
+                long start = System.nanoTime();
+                while (size == ring.length) {
+                    notFull.awaitUninterruptibly();
+                }
+                metrics.recordPipelineStall(System.nanoTime() - start);
+            }
+            Tick tick = ring[(head + size) % ring.length];
+            tick.clear();
+            return tick;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Đưa ô đã điền cho stage (hoặc chạy ngay nếu pipeline tắt).
+     */
+    void submit(Tick tick) {
+        if (tick == inline) {
+            engine.completeTick(tick);
+            return;
+        }
+        lock.lock();
+        try {
+            size++;
+            if (thread == null) {
+                startThread();
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Khởi động thread stage mới. Gọi khi giữ lock.
+     */
+    private void startThread() {
+        thread = new Thread(this, "Simulation-Publish");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Đưa một update chỉ cần notify listener (turbo, kết thúc tua nhanh),
+     * giữ thứ tự với các thế hệ đang chờ.
+     */
+    void submitNotify(EcosystemStats stats) {
+        Tick tick = claim();
+        tick.stats = stats;
+        tick.notify = true;
+        submit(tick);
+    }
+
+    /**
+     * Chờ stage xử lý hết các thế hệ đang chờ (trước khi đổi trạng thái,
+     * khởi tạo lại, lùi thời gian). Gọi từ chính thread stage thì bỏ qua.
+     */
+    void drain() {
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (size > 0 || busy) {
+                idle.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Xử lý hết công việc đang chờ rồi dừng thread stage (khi engine dừng).
+     * Tick được đưa vào sau đó khởi động thread mới. Gọi từ chính thread
+     * stage thì bỏ qua.
+     */
+    void close() {
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        drain();
+        lock.lock();
+        try {
+            if (size == 0 && thread != null) {
+                thread = null;
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        Thread self = Thread.currentThread();
+        while (true) {
+            Tick tick;
+            lock.lock();
+            try {
+                while (size == 0 && thread == self) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                // close() đã thay thread này (thread mới nhận công việc còn lại nếu có)
+                if (thread != self) {
+                    return;
+                }
+                tick = ring[head];
+                busy = true;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean fatal = true;
+            try {
+                engine.completeTick(tick);
+                fatal = false;
+            } catch (RuntimeException e) {
+                fatal = false;
+                System.err.println("Lỗi trong pipeline publish: " + e);
+            } finally {
+                lock.lock();
+                try {
+                    tick.clear();
+                    head = (head + 1) % ring.length;
+                    size--;
+                    busy = false;
+                    notFull.signal();
+                    if (size == 0) {
+                        idle.signalAll();
+                    }
+                    // Error làm thread này dừng: thread mới xử lý các thế hệ còn chờ
+                    if (fatal && thread == self) {
+                        thread = null;
+                        if (size > 0) {
+                            startThread();
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Số thế hệ đang chờ stage.
+     */
+    int getPending() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+}
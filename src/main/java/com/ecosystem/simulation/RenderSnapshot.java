@@ -0,0 +1,144 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.Cell;
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemStats;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ảnh chụp để UI vẽ một frame: sinh vật trên từng ô, thống kê mới nhất và
+ * các thống kê từ lần chụp trước (để chart không mất điểm khi simulation
+ * chạy nhanh hơn tốc độ khung hình).
+ *
+ * Engine chỉ chụp khi UI đã lấy ảnh trước đó (SimulationEngine.pollRenderSnapshot),
+ * nên chi phí chụp bị giới hạn bởi tốc độ khung hình chứ không phải tick/s.
+ * Màu từng ô được tính ngay lúc chụp (trong tickLock) và lưu dạng ARGB, không
+ * giữ tham chiếu tới Organism: thread UI đọc ảnh trong khi simulation tiếp
+ * tục tick nên mọi ô của một frame luôn thuộc cùng một thế hệ. Ảnh chụp khi
+ * engine đang giảm tải được đánh dấu để UI vẽ chi tiết thấp.
+ */
+public final class RenderSnapshot {
+
+    private final int generation;
+    private final int width;
+    private final int height;
+    /** Màu ARGB của sinh vật trên ô (index x * height + y), 0 nếu ô trống. */
+    private final int[] colors;
+    private final EcosystemStats stats;
+    private final List<EcosystemStats> newStats;
+    private final boolean degraded;
+
+    private RenderSnapshot(int generation, int width, int height, int[] colors,
+            EcosystemStats stats, List<EcosystemStats> newStats, boolean degraded) {
+        this.generation = generation;
+        this.width = width;
+        this.height = height;
+        this.colors = colors;
+        this.stats = stats;
+        this.newStats = newStats;
+        this.degraded = degraded;
+    }
+
+    /**
+     * Chụp grid hiện tại. Phải gọi khi không có tick đang chạy (trong tickLock).
+     *
+     * @param ecosystem Hệ sinh thái
+     * @param stats     Thống kê của thế hệ hiện tại (được gắn thêm histogram)
+     * @param newStats  Thống kê từ lần chụp trước (theo thứ tự thế hệ)
+     * @param degraded  Engine đang giảm tải
+     * @return Ảnh chụp
+     */
+    static RenderSnapshot capture(Ecosystem ecosystem, EcosystemStats stats, List<EcosystemStats> newStats,
+            boolean degraded) {
+        int width = ecosystem.getWidth();
+        int height = ecosystem.getHeight();
+        int[] colors = new int[width * height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Cell cell = ecosystem.getCell(x, y);
+                if (!cell.isEmpty()) {
+                    colors[x * height + y] = toArgb(cell.getOccupant().getColor());
+                }
+            }
+        }
+        // Histogram năng lượng/tuổi cho UI (O(số bin), đã cập nhật dần trong tick)
+        return new RenderSnapshot(ecosystem.getGeneration(), width, height, colors,
+                ecosystem.withDistributions(stats), List.copyOf(newStats), degraded);
+    }
+
+    /**
+     * Tạo ảnh chụp thay thế ảnh UI chưa lấy, giữ lại thống kê của ảnh cũ.
+     *
+     * @param previous Ảnh chưa được lấy
+     * @param limit    Số thống kê tối đa giữ lại
+     * @return Ảnh mới với thống kê của cả hai ảnh
+     */
+    RenderSnapshot mergeAfter(RenderSnapshot previous, int limit) {
+        List<EcosystemStats> merged = new ArrayList<>(previous.newStats.size() + newStats.size());
+        merged.addAll(previous.newStats);
+        merged.addAll(newStats);
+        if (merged.size() > limit) {
+            merged = merged.subList(merged.size() - limit, merged.size());
+        }
+        return new RenderSnapshot(generation, width, height, colors, stats, List.copyOf(merged), degraded);
+    }
+
+    /**
+     * Đóng gói màu thành ARGB; alpha luôn khác 0 nên 0 dành cho ô trống.
+     */
+    static int toArgb(Color color) {
+        int r = (int) Math.round(color.getRed() * 255);
+        int g = (int) Math.round(color.getGreen() * 255);
+        int b = (int) Math.round(color.getBlue() * 255);
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Màu sinh vật trên ô (x, y) tại thế hệ được chụp.
+     *
+     * @return Màu, hoặc null nếu ô trống
+     */
+    public Color getColor(int x, int y) {
+        int argb = colors[x * height + y];
+        if (argb == 0) {
+            return null;
+        }
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+    }
+
+    /**
+     * Thống kê của thế hệ, kèm histogram năng lượng/tuổi nếu bật simulation.distribution.
+     */
+    public EcosystemStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Thống kê các thế hệ từ ảnh chụp trước (không gồm các thế hệ đã lấy).
+     */
+    public List<EcosystemStats> getNewStats() {
+        return newStats;
+    }
+
+    /**
+     * Ảnh được chụp khi engine đang giảm tải (UI nên vẽ chi tiết thấp).
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
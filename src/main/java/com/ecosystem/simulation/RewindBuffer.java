@@ -0,0 +1,160 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.TickDelta;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bộ đệm rewind giữ delta của K thế hệ gần nhất, giới hạn theo bộ nhớ.
+ *
+ * Mỗi tick đẩy một TickDelta vào stack undo. Lùi một bước hoán đổi delta
+ * trên cùng và chuyển nó sang stack redo, nên có thể tua tới/lui tức thì
+ * trong khoảng đã ghi mà không chạy lại simulation. Khi simulation chạy
+ * tiếp từ một trạng thái đã lùi, stack redo bị bỏ (rẽ nhánh mới).
+ */
+public class RewindBuffer {
+
+    private final int maxGenerations;
+    private final long maxBytes;
+
+    private final Deque<TickDelta> undo = new ArrayDeque<>();
+    private final Deque<TickDelta> redo = new ArrayDeque<>();
+    private long usedBytes;
+
+    /**
+     * Constructor tạo bộ đệm rewind.
+     *
+     * @param maxGenerations Số thế hệ tối đa có thể lùi
+     * @param maxBytes       Bộ nhớ tối đa cho các delta (byte)
+     */
+    public RewindBuffer(int maxGenerations, long maxBytes) {
+        this.maxGenerations = Math.max(1, maxGenerations);
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * Ghi delta của tick vừa chạy.
+     *
+     * @param delta Delta mới (null thì bỏ qua)
+     */
+    public void push(TickDelta delta) {
+        if (delta == null) {
+            return;
+        }
+
+        // Chạy tiếp từ trạng thái đã lùi -> lịch sử redo không còn hợp lệ
+        for (TickDelta discarded : redo) {
+            usedBytes -= discarded.estimateSizeBytes();
+        }
+        redo.clear();
+
+        undo.addLast(delta);
+        usedBytes += delta.estimateSizeBytes();
+
+        while (undo.size() > maxGenerations || (usedBytes > maxBytes && undo.size() > 1)) {
+            usedBytes -= undo.removeFirst().estimateSizeBytes();
+        }
+    }
+
+    /**
+     * Lùi một thế hệ.
+     *
+     * @param ecosystem Hệ sinh thái cần lùi
+     * @return true nếu lùi được
+     */
+    public boolean stepBack(Ecosystem ecosystem) {
+        TickDelta delta = undo.pollLast();
+        if (delta == null) {
+            return false;
+        }
+        usedBytes -= delta.estimateSizeBytes();
+        ecosystem.revert(delta);
+        usedBytes += delta.estimateSizeBytes();
+        redo.addLast(delta);
+        return true;
+    }
+
+    /**
+     * Tiến lại một thế hệ đã lùi.
+     *
+     * @param ecosystem Hệ sinh thái cần tiến lại
+     * @return true nếu tiến được
+     */
+    public boolean stepForward(Ecosystem ecosystem) {
+        TickDelta delta = redo.pollLast();
+        if (delta == null) {
+            return false;
+        }
+        ecosystem.reapply(delta);
+        undo.addLast(delta);
+        return true;
+    }
+
+    /**
+     * Tua tới thế hệ đích trong khoảng đã ghi.
+     *
+     * @param ecosystem        Hệ sinh thái
+     * @param targetGeneration Thế hệ đích
+     */
+    public void seek(Ecosystem ecosystem, int targetGeneration) {
+        while (ecosystem.getGeneration() > targetGeneration && stepBack(ecosystem)) {
+            // lùi dần
+        }
+        while (ecosystem.getGeneration() < targetGeneration && stepForward(ecosystem)) {
+            // tiến dần
+        }
+    }
+
+    /**
+     * Xóa toàn bộ lịch sử.
+     */
+    public void clear() {
+        undo.clear();
+        redo.clear();
+        usedBytes = 0;
+    }
+
+    // === Getters ===
+
+    public boolean canStepBack() {
+        return !undo.isEmpty();
+    }
+
+    public boolean canStepForward() {
+        return !redo.isEmpty();
+    }
+
+    /**
+     * Thế hệ cũ nhất có thể lùi tới.
+     *
+     * @param currentGeneration Thế hệ hiện tại
+     * @return Thế hệ cũ nhất
+     */
+    public int getOldestGeneration(int currentGeneration) {
+        return currentGeneration - undo.size();
+    }
+
+    /**
+     * Thế hệ mới nhất có thể tiến tới.
+     *
+     * @param currentGeneration Thế hệ hiện tại
+     * @return Thế hệ mới nhất
+     */
+    public int getNewestGeneration(int currentGeneration) {
+        return currentGeneration + redo.size();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecosystem.simulation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics của một engine chạy trên SimulationScheduler.
+ *
+ * Chỉ worker đang chạy tick của engine ghi vào (mỗi lúc một worker), các
+ * thread khác đọc được mà không cần khóa.
+ */
+public class SchedulingMetrics {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong totalQueueDelayNanos = new AtomicLong();
+    private final AtomicLong totalTickNanos = new AtomicLong();
+    private volatile long lastQueueDelayNanos;
+    private volatile long maxQueueDelayNanos;
+    private volatile double ticksPerSecond;
+    private volatile double targetTicksPerSecond;
+
+    // Cửa sổ đo throughput (chỉ worker ghi)
+    private long windowStartNanos = System.nanoTime();
+    private long windowTicks;
+
+    /**
+     * Ghi nhận một tick đã chạy.
+     *
+     * @param queueDelayNanos Thời gian từ lúc tick đến hạn tới lúc worker bắt đầu chạy
+     * @param tickNanos       Thời gian chạy tick
+     * @param targetTps       Tốc độ mục tiêu của engine (tick/s)
+     */
+    void recordTick(long queueDelayNanos, long tickNanos, double targetTps) {
+        ticks.incrementAndGet();
+        totalQueueDelayNanos.addAndGet(queueDelayNanos);
+        totalTickNanos.addAndGet(tickNanos);
+        lastQueueDelayNanos = queueDelayNanos;
+        if (queueDelayNanos > maxQueueDelayNanos) {
+            maxQueueDelayNanos = queueDelayNanos;
+        }
+        targetTicksPerSecond = targetTps;
+
+        windowTicks++;
+        long now = System.nanoTime();
+        long elapsed = now - windowStartNanos;
+        if (elapsed >= WINDOW_NANOS) {
+            ticksPerSecond = windowTicks * 1e9 / elapsed;
+            windowStartNanos = now;
+            windowTicks = 0;
+        }
+    }
+
+    /**
+     * Bắt đầu lại cửa sổ throughput (khi engine được lên lịch lại sau pause).
+     */
+    void restartWindow() {
+        windowStartNanos = System.nanoTime();
+        windowTicks = 0;
+    }
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    /**
+     * Throughput đo trong cửa sổ 1 giây gần nhất.
+     *
+     * @return Số tick/giây
+     */
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public double getTargetTicksPerSecond() {
+        return targetTicksPerSecond;
+    }
+
+    public double getLastQueueDelayMs() {
+        return lastQueueDelayNanos / 1e6;
+    }
+
+    public double getMaxQueueDelayMs() {
+        return maxQueueDelayNanos / 1e6;
+    }
+
+    public double getAverageQueueDelayMs() {
+        long count = ticks.get();
+        return count == 0 ? 0 : totalQueueDelayNanos.get() / 1e6 / count;
+    }
+
+    public double getAverageTickMs() {
+        long count = ticks.get();
+        return count == 0 ? 0 : totalTickNanos.get() / 1e6 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SchedulingMetrics[ticks=%d, %.1f/%.1f tick/s, queue avg=%.2fms max=%.2fms, tick avg=%.2fms]",
+                getTicks(), ticksPerSecond, targetTicksPerSecond,
+                getAverageQueueDelayMs(), getMaxQueueDelayMs(), getAverageTickMs());
+    }
+}
@@ -3,14 +3,30 @@ package com.ecosystem.simulation;
 import com.ecosystem.model.Ecosystem;
 import com.ecosystem.model.EcosystemConfig;
 import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.model.TickProfiler;
+import com.ecosystem.replay.EventLogWriter;
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.OscillationAnalyzer;
+import com.ecosystem.utils.SteadyStateDetector;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
 
 /**
  * Engine điều khiển simulation.
- * Chạy game loop trên thread riêng, sử dụng Observer pattern để notify UI.
+ * Chạy game loop trên thread riêng (hoặc trên SimulationScheduler dùng chung
+ * khi host nhiều simulation), sử dụng Observer pattern để notify UI.
+ * Mỗi listener nhận sự kiện bất đồng bộ qua ListenerQueue riêng.
  */
 public class SimulationEngine implements Runnable {
 
@@ -19,29 +35,111 @@ public class SimulationEngine implements Runnable {
     private EcosystemConfig config;
 
     // Trạng thái
-    private SimulationState state;
+    private volatile SimulationState state;
     private final AtomicBoolean running;
 
     // Threading
     private Thread simulationThread;
-    private int tickIntervalMs;
 
-    // Observers
-    private final List<SimulationListener> listeners;
+    // Tốc độ mục tiêu (tick/s), vô hạn = chạy nhanh nhất có thể
+    private volatile double targetTicksPerSecond;
+    public static final double MIN_TICKS_PER_SECOND = 0.5;
+    public static final double UNLIMITED_TICKS_PER_SECOND = Double.POSITIVE_INFINITY;
+
+    // Turbo: chu kỳ tick ngắn hơn một frame -> chạy nhiều tick mỗi lượt, không sleep giữa các tick
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    // Deadline fixed-rate của game loop; loop park khi chờ và được unpark khi đổi trạng thái/tốc độ
+    private final TickPacer pacer = new TickPacer();
+    private volatile boolean pacingReset = true;
+
+    // Giảm tải khi tick vượt ngân sách thời gian (bùng nổ quần thể)
+    private final DegradationController degradation = new DegradationController();
+
+    // Stage thứ hai: lịch sử, metrics và notify của thế hệ N chạy song song với tick N+1.
+    // Chỉ đưa công việc vào stage khi giữ loopLock (một producer).
+    private final PublishStage publishStage;
+
+    // Dừng sớm khi cân bằng hoặc dao động tuần hoàn (null nếu tắt), chỉ thread chạy tick
+    private SteadyStateDetector steadyState;
+    // Phân tích dao động trực tuyến (null nếu tắt), chỉ thread chạy completeTick
+    private OscillationAnalyzer oscillation;
+    private long pendingLatenessNanos;
+    private long pendingSkippedTicks;
+    private boolean pendingPaced;
+    // start() yêu cầu bắt đầu lại cửa sổ throughput; tick kế tiếp mang yêu cầu qua
+    // PublishStage để chỉ thread ghi metrics thực hiện
+    private final AtomicBoolean windowRestartPending = new AtomicBoolean();
+
+    // Scheduler dùng chung (null = chạy trên thread riêng)
+    private final SimulationScheduler scheduler;
+    private volatile int priority = SimulationScheduler.DEFAULT_PRIORITY;
+    private final SchedulingMetrics schedulingMetrics = new SchedulingMetrics();
+
+    // Metrics luôn bật, đọc không cần khóa (MetricsServer)
+    private final SimulationMetrics metrics = new SimulationMetrics();
+
+    // Đo thời gian từng pha của tick
+    private final TickProfiler profiler = new TickProfiler();
+    private volatile boolean profilingEnabled;
+
+    // Observers: mỗi listener một ring buffer và thread riêng
+    private final List<ListenerQueue> listeners;
+    private volatile ListenerQueue.OverflowPolicy listenerPolicy = ListenerQueue.OverflowPolicy.CONFLATE;
+    private volatile int listenerCapacity = ListenerQueue.DEFAULT_CAPACITY;
 
     // Lịch sử thống kê (để vẽ biểu đồ)
     private final List<EcosystemStats> statsHistory;
     private static final int MAX_HISTORY_SIZE = 500;
 
+    // Ảnh chụp cho UI (latest-wins): chỉ chụp khi UI đã lấy ảnh trước đó
+    private final AtomicReference<RenderSnapshot> renderSnapshot = new AtomicReference<>();
+    private volatile boolean renderSnapshotRequested = true;
+    private final ArrayDeque<EcosystemStats> renderStats = new ArrayDeque<>();
+    private static final int MAX_RENDER_STATS = MAX_HISTORY_SIZE;
+
+    // Autosave chạy nền (null nếu tắt)
+    private volatile AutosaveService autosaveService;
+
+    // Event log cho replay (null nếu tắt)
+    private EventLogWriter eventLogWriter;
+
+    // Bộ đệm lùi thế hệ (null nếu tắt)
+    private RewindBuffer rewindBuffer;
+
+    // Đã lùi lại: event log cần keyframe mới trước tick kế tiếp (rẽ nhánh)
+    private boolean eventLogBranchPending;
+
+    // Khóa tick: step() từ UI thread và game loop không chạy chồng nhau
+    private final Object tickLock = new Object();
+
+    // Fast-forward giữ loopLock suốt quá trình; game loop và scheduler nhường lượt
+    private final ReentrantLock loopLock = new ReentrantLock();
+    private volatile boolean fastForwarding;
+    private volatile boolean fastForwardCancelled;
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+
     /**
-     * Constructor tạo SimulationEngine.
+     * Constructor tạo SimulationEngine chạy trên thread riêng.
      */
     public SimulationEngine() {
+        this(null);
+    }
+
+    /**
+     * Constructor tạo SimulationEngine chạy trên scheduler dùng chung.
+     * 
+     * @param scheduler Scheduler dùng chung, hoặc null để chạy trên thread riêng
+     */
+    public SimulationEngine(SimulationScheduler scheduler) {
+        this.scheduler = scheduler;
         this.running = new AtomicBoolean(false);
         this.state = SimulationState.STOPPED;
-        this.listeners = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
         this.statsHistory = new ArrayList<>();
-        this.tickIntervalMs = 200;
+        this.publishStage = new PublishStage(this, metrics);
+        this.targetTicksPerSecond = 5;
+        metrics.setTargetTicksPerSecond(targetTicksPerSecond);
     }
 
     /**
@@ -50,18 +148,153 @@ public class SimulationEngine implements Runnable {
      * @param config Cấu hình hệ sinh thái
      */
     public void initialize(EcosystemConfig config) {
+        cancelFastForward();
+        loopLock.lock();
+        try {
+            doInitialize(config);
+        } finally {
+            loopLock.unlock();
+        }
+    }
+
+    private void doInitialize(EcosystemConfig config) {
         this.config = config;
         this.ecosystem = new Ecosystem(config);
-        this.tickIntervalMs = config.getTickIntervalMs();
+        setTickIntervalMs(config.getTickIntervalMs());
         ecosystem.initialize();
-        statsHistory.clear();
+        // Công việc còn chờ của lần chạy trước phải xong trước khi xóa lịch sử
+        publishStage.configure(isPipelined(config), config.getPipelineDepth());
+        clearHistory();
+        // Giữ profiling nếu đã bật từ UI
+        profiler.reset();
+        setProfilingEnabled(profilingEnabled || config.isProfilingEnabled());
+        metrics.setAllocationBudget(config.getAllocationBudgetKbPerTick() * 1024);
+        configureListeners(config);
+        configurePacing(config);
+        steadyState = SteadyStateDetector.forConfig(config);
+        oscillation = OscillationAnalyzer.forConfig(config);
+        metrics.setOscillation(null);
+        degradation.configure(config.isDegradationEnabled(), config.getDegradationBudgetMs(),
+                config.getDegradationRecoverTicks(), config.getDegradationNotifyInterval());
+        degradation.reset();
+        metrics.setDegraded(false);
+
+        if (autosaveService != null) {
+            autosaveService.shutdown();
+        }
+        autosaveService = config.isAutosaveEnabled() ? new AutosaveService(config) : null;
+
+        openEventLog(config);
+        setupRewind();
 
         // Cập nhật thống kê ban đầu
         EcosystemStats initialStats = ecosystem.getStatistics();
-        statsHistory.add(initialStats);
+        appendHistory(initialStats);
+        metrics.recordState(initialStats);
+        synchronized (tickLock) {
+            renderStats.clear();
+            renderSnapshot.set(null);
+            renderSnapshotRequested = true;
+            offerRenderSnapshot(initialStats);
+        }
         notifyUpdate(initialStats);
     }
 
+    /**
+     * Tạo bộ đệm rewind theo cấu hình (null nếu tắt).
+     */
+    private void setupRewind() {
+        if (config.getRewindGenerations() > 0) {
+            rewindBuffer = new RewindBuffer(config.getRewindGenerations(),
+                    config.getRewindMemoryMb() * 1024L * 1024L);
+            ecosystem.setDeltaRecording(true);
+        } else {
+            rewindBuffer = null;
+        }
+    }
+
+    /**
+     * Tạo engine mới chạy nhánh fork (what-if) của hệ sinh thái hiện tại.
+     * 
+     * Nhánh dùng chung dữ liệu chưa thay đổi với hệ sinh thái gốc
+     * (copy-on-write), có lịch sử thống kê tới thời điểm fork và chạy độc lập
+     * trên thread riêng. Nhánh không mở event log hay autosave để không ghi
+     * đè file của engine gốc. Bộ đệm rewind của engine gốc bị xóa.
+     * 
+     * @param branchConfig Cấu hình của nhánh (cùng kích thước grid)
+     * @return Engine của nhánh, ở trạng thái STOPPED
+     * @throws IllegalStateException nếu simulation chưa khởi tạo hoặc đang chạy
+     */
+    public SimulationEngine fork(EcosystemConfig branchConfig) {
+        if (ecosystem == null || state == SimulationState.RUNNING || fastForwarding) {
+            throw new IllegalStateException("Chỉ fork được khi simulation đã khởi tạo và đang dừng");
+        }
+
+        SimulationEngine branch = new SimulationEngine(scheduler);
+        branch.priority = priority;
+        publishStage.drain();
+        synchronized (tickLock) {
+            branch.ecosystem = ecosystem.fork(branchConfig);
+            if (rewindBuffer != null) {
+                rewindBuffer.clear();
+            }
+            branch.statsHistory.addAll(getStatsHistory());
+        }
+        branch.config = branchConfig;
+        branch.setTickIntervalMs(branchConfig.getTickIntervalMs());
+        branch.configurePacing(branchConfig);
+        branch.steadyState = SteadyStateDetector.forConfig(branchConfig);
+        branch.oscillation = OscillationAnalyzer.forConfig(branchConfig);
+        if (branch.oscillation != null) {
+            // Nhánh tiếp tục phân tích từ lịch sử đã chép
+            for (EcosystemStats stats : branch.getStatsHistory()) {
+                branch.oscillation.add(stats);
+            }
+            branch.metrics.setOscillation(branch.oscillation.getSummary());
+        }
+        branch.degradation.configure(branchConfig.isDegradationEnabled(), branchConfig.getDegradationBudgetMs(),
+                branchConfig.getDegradationRecoverTicks(), branchConfig.getDegradationNotifyInterval());
+        branch.publishStage.configure(branch.isPipelined(branchConfig), branchConfig.getPipelineDepth());
+        branch.setupRewind();
+        branch.setProfilingEnabled(profilingEnabled);
+        branch.metrics.recordState(branch.ecosystem.getStatistics());
+        branch.metrics.setAllocationBudget(branchConfig.getAllocationBudgetKbPerTick() * 1024);
+        return branch;
+    }
+
+    /**
+     * Mở event log mới (đóng log cũ nếu có) và ghi keyframe ban đầu.
+     * 
+     * @param config Cấu hình hệ sinh thái
+     */
+    private void openEventLog(EcosystemConfig config) {
+        closeEventLog();
+        if (!config.isEventLogEnabled()) {
+            return;
+        }
+
+        try {
+            eventLogWriter = new EventLogWriter(Paths.get(config.getEventLogFile()),
+                    config.getEventLogKeyframeInterval());
+            eventLogWriter.writeKeyframe(ecosystem);
+            ecosystem.setEventRecorder(eventLogWriter);
+        } catch (IOException e) {
+            System.err.println("Không mở được event log: " + e.getMessage());
+            eventLogWriter = null;
+        }
+    }
+
+    private void closeEventLog() {
+        if (eventLogWriter != null) {
+            try {
+                eventLogWriter.close();
+            } catch (IOException e) {
+                System.err.println("Lỗi khi đóng event log: " + e.getMessage());
+            }
+            eventLogWriter = null;
+        }
+    }
+
     /**
      * Bắt đầu simulation.
      */
@@ -79,6 +312,15 @@ public class SimulationEngine implements Runnable {
         state = SimulationState.RUNNING;
         notifyStateChanged(state);
 
+        startThread();
+    }
+
+    private void startThread() {
+        windowRestartPending.set(true);
+        if (scheduler != null) {
+            scheduler.schedule(this);
+            return;
+        }
         simulationThread = new Thread(this, "SimulationThread");
         simulationThread.setDaemon(true);
         simulationThread.start();
@@ -90,6 +332,7 @@ public class SimulationEngine implements Runnable {
     public void pause() {
         if (state == SimulationState.RUNNING) {
             state = SimulationState.PAUSED;
+            wakeLoop();
             notifyStateChanged(state);
         }
     }
@@ -101,6 +344,17 @@ public class SimulationEngine implements Runnable {
         if (state == SimulationState.PAUSED) {
             state = SimulationState.RUNNING;
             notifyStateChanged(state);
+
+            // Thread đã kết thúc (lùi lại sau khi FINISHED) -> chạy thread mới
+            if (scheduler != null) {
+                running.set(true);
+                startThread();
+            } else if (simulationThread == null || !simulationThread.isAlive()) {
+                running.set(true);
+                startThread();
+            } else {
+                wakeLoop();
+            }
         }
     }
 
@@ -108,11 +362,17 @@ public class SimulationEngine implements Runnable {
      * Dừng simulation hoàn toàn.
      */
     public void stop() {
+        cancelFastForward();
         running.set(false);
         state = SimulationState.STOPPED;
         notifyStateChanged(state);
 
-        if (simulationThread != null) {
+        if (scheduler != null) {
+            scheduler.cancel(this);
+            // Chờ tick đang chạy trên worker (nếu có) đưa xong công việc vào stage
+            loopLock.lock();
+            loopLock.unlock();
+        } else if (simulationThread != null) {
             simulationThread.interrupt();
             try {
                 simulationThread.join(1000);
@@ -120,6 +380,16 @@ public class SimulationEngine implements Runnable {
                 Thread.currentThread().interrupt();
             }
         }
+        // Metrics và listener nhận đủ các thế hệ đã chạy trước khi stop() trả về
+        publishStage.close();
+    }
+
+    /**
+     * Engine trên scheduler dùng chung chạy công việc sau tick ngay trên
+     * worker, để số thread cố định theo pool thay vì thêm một thread mỗi engine.
+     */
+    private boolean isPipelined(EcosystemConfig config) {
+        return config.isPipelineEnabled() && scheduler == null;
     }
 
     /**
@@ -136,75 +406,522 @@ public class SimulationEngine implements Runnable {
      * Thực hiện một bước simulation (manual step).
      */
     public void step() {
-        if (ecosystem != null && state != SimulationState.RUNNING) {
-            performTick();
+        if (ecosystem != null && state != SimulationState.RUNNING && !fastForwarding) {
+            // Chạy ngay trên thread gọi; loopLock chờ game loop kết thúc tick đang dở khi vừa pause
+            loopLock.lock();
+            try {
+                // Đang ở trạng thái đã lùi -> tiến lại từ bộ đệm thay vì chạy tick mới
+                if (rewindBuffer != null && rewindBuffer.canStepForward()) {
+                    EcosystemStats stats;
+                    synchronized (tickLock) {
+                        rewindBuffer.stepForward(ecosystem);
+                        stats = ecosystem.getStatistics();
+                        offerRenderSnapshot(stats);
+                    }
+                    publishStage.drain();
+                    appendHistory(stats);
+                    metrics.recordState(stats);
+                    notifyUpdate(stats);
+                } else {
+                    performTick(true);
+                }
+            } finally {
+                loopLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lùi một thế hệ (chỉ khi simulation không chạy).
+     * Không gửi onUpdate; UI đọc lại trạng thái và lịch sử sau khi lùi.
+     * 
+     * @return true nếu lùi được
+     */
+    public boolean stepBack() {
+        return rewindTo(ecosystem != null ? ecosystem.getGeneration() - 1 : 0);
+    }
+
+    /**
+     * Tua tới thế hệ đích trong khoảng của bộ đệm rewind.
+     * Simulation đã FINISHED sẽ chuyển sang PAUSED để có thể chạy tiếp.
+     * 
+     * @param targetGeneration Thế hệ đích
+     * @return true nếu trạng thái thay đổi
+     */
+    public boolean rewindTo(int targetGeneration) {
+        if (ecosystem == null || rewindBuffer == null || state == SimulationState.RUNNING || fastForwarding) {
+            return false;
+        }
+
+        int before;
+        publishStage.drain();
+        synchronized (tickLock) {
+            before = ecosystem.getGeneration();
+            while (ecosystem.getGeneration() > targetGeneration && rewindBuffer.stepBack(ecosystem)) {
+                trimHistory(ecosystem.getGeneration());
+            }
+            while (ecosystem.getGeneration() < targetGeneration && rewindBuffer.stepForward(ecosystem)) {
+                appendHistory(ecosystem.getStatistics());
+            }
+            // UI dựng lại chart từ lịch sử sau khi lùi
+            renderStats.clear();
+            renderSnapshot.set(null);
+            if (steadyState != null) {
+                steadyState.reset();
+            }
+            if (oscillation != null) {
+                oscillation.reset();
+                metrics.setOscillation(null);
+            }
+        }
+        degradation.reset();
+        metrics.setDegraded(false);
+
+        if (ecosystem.getGeneration() == before) {
+            return false;
+        }
+        metrics.recordState(ecosystem.getStatistics());
+        eventLogBranchPending = true;
+        if (state == SimulationState.FINISHED) {
+            state = SimulationState.PAUSED;
+            notifyStateChanged(state);
         }
+        return true;
     }
 
     /**
-     * Game loop chính.
+     * Game loop chính: fixed-rate theo tick/s mục tiêu (TickPacer).
+     * 
+     * Chạy mọi tick đã đến hạn rồi park tới deadline kế tiếp; deadline không
+     * cộng thời gian chạy tick nên tốc độ không drift. Ở turbo mode (chu kỳ
+     * ngắn hơn một frame, hoặc không giới hạn) một lượt chạy nhiều tick liên
+     * tiếp trong tối đa một frame và chỉ notify listener với thống kê của tick
+     * cuối lượt; lịch sử thống kê và ảnh chụp cho UI vẫn ghi nhận mọi tick.
+     * Khi pause hoặc fast-forward, loop park không hẹn giờ và được unpark
+     * ngay khi resume/stop/đổi tốc độ.
      */
     @Override
     public void run() {
-        while (running.get()) {
+        while (running.get() && !Thread.currentThread().isInterrupted()) {
+            if (state != SimulationState.RUNNING || fastForwarding) {
+                LockSupport.park(this);
+                // Tiếp tục sau pause/fast-forward thì không dồn tick bù
+                pacingReset = true;
+                continue;
+            }
+            if (pacingReset) {
+                pacingReset = false;
+                pacer.reset(System.nanoTime());
+            }
+
+            long periodNanos = getTickPeriodNanos();
+            boolean turbo = periodNanos < FRAME_NANOS;
+            EcosystemStats unnotified = null;
+            loopLock.lock();
             try {
-                if (state == SimulationState.RUNNING) {
-                    performTick();
+                long now = System.nanoTime();
+                long batchEnd = now + FRAME_NANOS;
+                while (pacer.remaining(now) <= 0 && running.get() && state == SimulationState.RUNNING
+                        && !fastForwarding) {
+                    pacer.beginTick(now, periodNanos);
+                    pendingLatenessNanos = pacer.getLastLateness();
+                    pendingSkippedTicks = pacer.getLastSkipped();
+                    pendingPaced = true;
+                    EcosystemStats stats = performTick(!turbo);
+                    unnotified = turbo ? stats : null;
 
-                    // Kiểm tra điều kiện kết thúc
-                    if (checkEndCondition()) {
+                    String reason = endReason(stats);
+                    if (reason != null) {
+                        if (unnotified != null) {
+                            publishStage.submitNotify(unnotified);
+                        }
+                        finishSimulation(reason);
+                        return;
+                    }
+
+                    now = System.nanoTime();
+                    if (now >= batchEnd) {
                         break;
                     }
                 }
+                if (unnotified != null) {
+                    publishStage.submitNotify(unnotified);
+                }
+            } finally {
+                loopLock.unlock();
+            }
 
-                Thread.sleep(tickIntervalMs);
+            long waitNanos = pacer.remaining(System.nanoTime());
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        }
+    }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+    /**
+     * Đánh thức game loop đang park (đổi trạng thái, đổi tốc độ, hết fast-forward).
+     */
+    private void wakeLoop() {
+        Thread thread = simulationThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Một lát thời gian trên SimulationScheduler: chạy một tick nếu đang RUNNING.
+     * 
+     * @return true nếu engine cần được lên lịch tick tiếp
+     */
+    boolean runScheduledTick() {
+        if (!running.get() || state != SimulationState.RUNNING) {
+            return false;
+        }
+        // Đang fast-forward: bỏ lát này, không chặn worker của scheduler
+        if (fastForwarding || !loopLock.tryLock()) {
+            return true;
+        }
+        try {
+            String reason = endReason(performTick(true));
+            if (reason != null) {
+                finishSimulation(reason);
+                return false;
             }
+            return true;
+        } finally {
+            loopLock.unlock();
+        }
+    }
+
+    /**
+     * Chạy nhanh tới thế hệ đích với tốc độ tối đa rồi trở lại chế độ bình
+     * thường (đang RUNNING thì tiếp tục chạy theo tốc độ mục tiêu).
+     * 
+     * Trong lúc fast-forward listener không nhận update từng tick và UI không
+     * được chụp ảnh; lịch sử thống kê, metrics, event log và rewind vẫn ghi
+     * nhận mọi tick. Listener nhận một update khi kết thúc. Blocking: gọi từ
+     * thread nền, hủy bằng cancelFastForward() (hoặc stop()).
+     * 
+     * @param targetGeneration Thế hệ đích
+     * @param onProgress       Nhận thế hệ hiện tại khoảng 10 lần/giây và khi
+     *                         kết thúc (trên thread gọi fastForward), có thể null
+     * @return true nếu đạt thế hệ đích, false nếu bị hủy hoặc simulation kết thúc trước
+     * @throws IllegalStateException nếu simulation chưa khởi tạo, đã kết thúc
+     *                               hoặc đang fast-forward
+     */
+    public boolean fastForward(int targetGeneration, IntConsumer onProgress) {
+        if (ecosystem == null || state == SimulationState.FINISHED || fastForwarding) {
+            throw new IllegalStateException("Không thể fast-forward khi simulation chưa khởi tạo, đã kết thúc"
+                    + " hoặc đang fast-forward");
+        }
+
+        fastForwardCancelled = false;
+        fastForwarding = true;
+        loopLock.lock();
+        EcosystemStats stats = null;
+        String reason = null;
+        try {
+            long lastProgress = System.nanoTime();
+            while (ecosystem.getGeneration() < targetGeneration && !fastForwardCancelled) {
+                stats = performTick(false);
+                reason = endReason(stats);
+                if (reason != null) {
+                    break;
+                }
+
+                long now = System.nanoTime();
+                if (onProgress != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    onProgress.accept(stats.getGeneration());
+                }
+            }
+            if (stats != null) {
+                publishStage.submitNotify(stats);
+            }
+        } finally {
+            fastForwarding = false;
+            loopLock.unlock();
+            wakeLoop();
+        }
+
+        // Lịch sử và metrics (getLastStats) đầy đủ khi fastForward trả về
+        publishStage.drain();
+        if (onProgress != null) {
+            onProgress.accept(ecosystem.getGeneration());
+        }
+        if (reason != null) {
+            finishSimulation(reason);
+            return false;
+        }
+        return ecosystem.getGeneration() >= targetGeneration;
+    }
+
+    /**
+     * Hủy fast-forward đang chạy (fastForward() trả về sau tick hiện tại).
+     */
+    public void cancelFastForward() {
+        if (fastForwarding) {
+            fastForwardCancelled = true;
         }
     }
 
+    /**
+     * Engine có đang ở chế độ giảm tải không (tick vượt ngân sách thời gian).
+     */
+    public boolean isDegraded() {
+        return degradation.isDegraded();
+    }
+
+    public boolean isFastForwarding() {
+        return fastForwarding;
+    }
+
     /**
      * Thực hiện một tick của simulation.
+     * 
+     * @param notify false để bỏ qua notify listener (turbo mode notify một lần mỗi lượt)
+     * @return Thống kê sau tick
+     */
+    private EcosystemStats performTick(boolean notify) {
+        boolean profiling = profilingEnabled;
+        long tickStart = System.nanoTime();
+        long allocatedStart = AllocationMeter.currentThreadAllocatedBytes();
+        EcosystemStats stats;
+        int births;
+        int deaths;
+        int degradationChange;
+        boolean degraded;
+        synchronized (tickLock) {
+            if (eventLogBranchPending && eventLogWriter != null) {
+                eventLogWriter.writeKeyframe(ecosystem);
+            }
+            eventLogBranchPending = false;
+
+            long updateStart = System.nanoTime();
+            ecosystem.update();
+            degradationChange = degradation.onTickWork(System.nanoTime() - updateStart,
+                    Math.max(getTickPeriodNanos(), FRAME_NANOS));
+            degraded = degradation.isDegraded();
+            births = ecosystem.getLastTickBirths();
+            deaths = ecosystem.getLastTickDeaths();
+
+            // Autosave tại ranh giới tick (chỉ chụp snapshot, ghi file ở background)
+            if (autosaveService != null) {
+                autosaveService.onTick(ecosystem);
+            }
+
+            if (eventLogWriter != null) {
+                eventLogWriter.onTickEnd(ecosystem);
+            }
+
+            if (rewindBuffer != null) {
+                rewindBuffer.push(ecosystem.takeLastDelta());
+            }
+
+            long statsStart = profiling ? profiler.mark() : 0;
+            stats = ecosystem.getStatistics();
+            if (profiling) {
+                profiler.lap(TickProfiler.Phase.STATISTICS, statsStart);
+            }
+
+            // Giảm tải: bỏ thống kê của tick này khỏi chart, ảnh chụp vẽ chi tiết thấp
+            offerRenderSnapshot(stats, !degraded);
+        }
+        if (degradationChange != 0) {
+            reportDegradation(degradationChange > 0, stats.getGeneration());
+        }
+
+        if (degraded) {
+            metrics.recordDegradedTick();
+        }
+        if (steadyState != null) {
+            steadyState.add(stats);
+        }
+
+        // Giao lịch sử (bỏ qua khi giảm tải), metrics và notify (giảm tần suất khi
+        // giảm tải) cho stage thứ hai; thread này chạy tiếp thế hệ kế tiếp
+        long publishStart = profiling ? profiler.mark() : 0;
+        PublishStage.Tick tick = publishStage.claim();
+        tick.stats = stats;
+        tick.births = births;
+        tick.deaths = deaths;
+        tick.history = !degraded;
+        tick.notify = notify && degradation.shouldNotify();
+        tick.recordTick = true;
+        tick.restartWindow = windowRestartPending.getAndSet(false);
+        if (pendingPaced) {
+            tick.paced = true;
+            tick.latenessNanos = pendingLatenessNanos;
+            tick.skipped = pendingSkippedTicks;
+            pendingPaced = false;
+        }
+        long end = profiling ? profiler.lap(TickProfiler.Phase.NOTIFY, publishStart) : System.nanoTime();
+        long allocated = AllocationMeter.currentThreadAllocatedBytes() - allocatedStart;
+        if (profiling) {
+            profiler.record(TickProfiler.Phase.TICK, end - tickStart, allocated);
+        }
+        tick.tickNanos = end - tickStart;
+        tick.allocated = allocated;
+        publishStage.submit(tick);
+        return stats;
+    }
+
+    /**
+     * Công việc sau tick chỉ cần thống kê đã chụp: chạy trên thread của
+     * PublishStage (hoặc ngay trên thread tick khi pipeline tắt), theo thứ tự thế hệ.
+     */
+    void completeTick(PublishStage.Tick tick) {
+        if (tick.restartWindow) {
+            metrics.restartWindow();
+        }
+        if (tick.history) {
+            appendHistory(tick.stats);
+        }
+        if (tick.paced) {
+            metrics.recordPacing(tick.latenessNanos, tick.skipped);
+        }
+        if (tick.recordTick) {
+            metrics.recordTick(tick.stats, tick.births, tick.deaths, tick.tickNanos, tick.allocated);
+            if (oscillation != null && oscillation.add(tick.stats)) {
+                metrics.setOscillation(oscillation.getSummary());
+            }
+        }
+        if (tick.notify) {
+            notifyUpdate(tick.stats);
+        }
+    }
+
+    /**
+     * In thông báo và ghi metrics khi vào/thoát chế độ giảm tải.
      */
-    private void performTick() {
-        ecosystem.update();
+    private void reportDegradation(boolean entered, int generation) {
+        metrics.setDegraded(entered);
+        if (entered) {
+            System.err.printf("Tick thế hệ %d mất %.1f ms, vượt ngân sách: chuyển sang chế độ giảm tải%n",
+                    generation, degradation.getLastOverrunNanos() / 1e6);
+        } else {
+            System.err.printf("Hết chế độ giảm tải ở thế hệ %d%n", generation);
+        }
+    }
 
-        EcosystemStats stats = ecosystem.getStatistics();
+    private void offerRenderSnapshot(EcosystemStats stats) {
+        offerRenderSnapshot(stats, true);
+    }
 
-        // Lưu vào lịch sử
-        statsHistory.add(stats);
-        if (statsHistory.size() > MAX_HISTORY_SIZE) {
-            statsHistory.remove(0);
+    /**
+     * Ghi nhận thống kê cho UI và chụp RenderSnapshot nếu UI đã lấy ảnh trước.
+     * Gọi trong tickLock.
+     *
+     * @param stats       Thống kê của thế hệ hiện tại
+     * @param recordStats false để không đưa thống kê vào chart (giảm tải)
+     */
+    private void offerRenderSnapshot(EcosystemStats stats, boolean recordStats) {
+        if (recordStats) {
+            renderStats.addLast(stats);
+            if (renderStats.size() > MAX_RENDER_STATS) {
+                renderStats.removeFirst();
+            }
+        }
+        if (!renderSnapshotRequested || fastForwarding) {
+            return;
         }
+        renderSnapshotRequested = false;
+        publishRenderSnapshot(stats);
+    }
 
-        // Notify observers
-        notifyUpdate(stats);
+    private void publishRenderSnapshot(EcosystemStats stats) {
+        RenderSnapshot snapshot = RenderSnapshot.capture(ecosystem, stats, new ArrayList<>(renderStats),
+                degradation.isDegraded());
+        renderStats.clear();
+        // Ảnh cũ chưa được lấy: gộp thống kê để chart không mất điểm
+        RenderSnapshot previous;
+        RenderSnapshot merged;
+        do {
+            previous = renderSnapshot.get();
+            merged = previous == null ? snapshot : snapshot.mergeAfter(previous, MAX_RENDER_STATS);
+        } while (!renderSnapshot.compareAndSet(previous, merged));
     }
 
     /**
-     * Kiểm tra điều kiện kết thúc simulation.
+     * Lấy ảnh chụp mới nhất cho UI và yêu cầu chụp ảnh tiếp theo ở tick kế tiếp.
+     * Gọi mỗi frame (AnimationTimer): simulation chạy nhanh bao nhiêu thì UI
+     * vẫn chỉ vẽ một lần mỗi frame.
      * 
-     * @return true nếu simulation nên kết thúc
+     * @return Ảnh chụp chưa lấy, hoặc null nếu chưa có tick mới
+     */
+    public RenderSnapshot pollRenderSnapshot() {
+        RenderSnapshot snapshot = renderSnapshot.getAndSet(null);
+        renderSnapshotRequested = true;
+        if (snapshot == null && state != SimulationState.RUNNING && ecosystem != null && !fastForwarding) {
+            // Không còn tick nào để chụp (pause, finish): chụp các thế hệ còn chờ ngay
+            synchronized (tickLock) {
+                if (!renderStats.isEmpty()) {
+                    renderSnapshotRequested = false;
+                    publishRenderSnapshot(renderStats.peekLast());
+                    snapshot = renderSnapshot.getAndSet(null);
+                    renderSnapshotRequested = true;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void appendHistory(EcosystemStats stats) {
+        synchronized (statsHistory) {
+            statsHistory.add(stats);
+            if (statsHistory.size() > MAX_HISTORY_SIZE) {
+                statsHistory.remove(0);
+            }
+        }
+    }
+
+    private void clearHistory() {
+        synchronized (statsHistory) {
+            statsHistory.clear();
+        }
+    }
+
+    /**
+     * Bỏ các mục lịch sử mới hơn thế hệ chỉ định (sau khi lùi).
      */
-    private boolean checkEndCondition() {
-        EcosystemStats stats = ecosystem.getStatistics();
+    private void trimHistory(int generation) {
+        synchronized (statsHistory) {
+            while (!statsHistory.isEmpty()
+                    && statsHistory.get(statsHistory.size() - 1).getGeneration() > generation) {
+                statsHistory.remove(statsHistory.size() - 1);
+            }
+        }
+    }
 
+    /**
+     * Lý do kết thúc simulation theo thống kê hiện tại.
+     * 
+     * @param stats Thống kê sau tick
+     * @return Lý do, hoặc null nếu simulation chưa kết thúc
+     */
+    private String endReason(EcosystemStats stats) {
         // Kết thúc nếu không còn Herbivore và Carnivore
         if (stats.getHerbivoreCount() == 0 && stats.getCarnivoreCount() == 0) {
-            finishSimulation("Tất cả động vật đã chết. Chỉ còn thực vật.");
-            return true;
+            return "Tất cả động vật đã chết. Chỉ còn thực vật.";
+        }
+
+        // Kết thúc sớm nếu kết quả đã xác định
+        if (steadyState != null) {
+            SteadyStateDetector.Outcome outcome = steadyState.getOutcome();
+            if (outcome == SteadyStateDetector.Outcome.EQUILIBRIUM) {
+                return "Quần thể đã cân bằng (" + steadyState.getWindow() + " thế hệ gần như không đổi)";
+            }
+            if (outcome == SteadyStateDetector.Outcome.CYCLE) {
+                return "Quần thể dao động tuần hoàn với chu kỳ " + steadyState.getPeriod() + " thế hệ";
+            }
         }
 
         // Kết thúc nếu đạt max generations
         if (config != null && stats.getGeneration() >= config.getMaxGenerations()) {
-            finishSimulation("Đạt số thế hệ tối đa: " + config.getMaxGenerations());
-            return true;
+            return "Đạt số thế hệ tối đa: " + config.getMaxGenerations();
         }
 
-        return false;
+        return null;
     }
 
     /**
@@ -214,56 +931,123 @@ public class SimulationEngine implements Runnable {
      */
     private void finishSimulation(String reason) {
         running.set(false);
+        // Listener nhận update cuối cùng trước sự kiện kết thúc
+        publishStage.close();
         state = SimulationState.FINISHED;
+        flushEventLog();
         notifyStateChanged(state);
 
         EcosystemStats finalStats = ecosystem.getStatistics();
-        for (SimulationListener listener : listeners) {
-            listener.onSimulationEnded(reason, finalStats);
+        for (ListenerQueue queue : listeners) {
+            queue.publishEnded(reason, finalStats);
         }
     }
 
     // === Observer Pattern Methods ===
 
     /**
-     * Thêm listener.
+     * Thêm listener với policy và dung lượng buffer mặc định của engine
+     * (simulation.listeners trong cấu hình, áp dụng lại mỗi lần initialize).
      * 
      * @param listener Listener cần thêm
      */
     public void addListener(SimulationListener listener) {
-        if (listener != null && !listeners.contains(listener)) {
-            listeners.add(listener);
+        addListener(listener, null, 0);
+    }
+
+    /**
+     * Thêm listener với policy và dung lượng buffer riêng.
+     * Listener nhận sự kiện trên thread riêng, theo đúng thứ tự publish.
+     * 
+     * @param listener Listener cần thêm
+     * @param policy   Hành vi khi buffer đầy, null để theo cấu hình của engine
+     * @param capacity Dung lượng buffer (bỏ qua khi policy null)
+     */
+    public synchronized void addListener(SimulationListener listener, ListenerQueue.OverflowPolicy policy,
+            int capacity) {
+        if (listener == null || findQueue(listener) != null) {
+            return;
         }
+        listeners.add(policy == null
+                ? new ListenerQueue(listener, listenerPolicy, listenerCapacity, true)
+                : new ListenerQueue(listener, policy, capacity, false));
     }
 
     /**
-     * Xóa listener.
+     * Xóa listener. Các sự kiện listener chưa xử lý bị bỏ.
      * 
      * @param listener Listener cần xóa
      */
-    public void removeListener(SimulationListener listener) {
-        listeners.remove(listener);
+    public synchronized void removeListener(SimulationListener listener) {
+        ListenerQueue queue = findQueue(listener);
+        if (queue != null) {
+            listeners.remove(queue);
+            queue.close();
+        }
+    }
+
+    private ListenerQueue findQueue(SimulationListener listener) {
+        for (ListenerQueue queue : listeners) {
+            if (queue.getListener() == listener) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Áp dụng policy trễ hạn của game loop từ cấu hình (simulation.pacing).
+     */
+    private void configurePacing(EcosystemConfig config) {
+        TickPacer.LatePolicy policy;
+        try {
+            policy = TickPacer.LatePolicy.fromName(config.getLateTickPolicy());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", dùng catch_up");
+            policy = TickPacer.LatePolicy.CATCH_UP;
+        }
+        pacer.configure(policy, config.getMaxCatchUpMs() * 1_000_000L);
+    }
+
+    /**
+     * Áp dụng policy và dung lượng buffer mặc định từ cấu hình cho các
+     * listener thêm bằng addListener(listener).
+     */
+    private void configureListeners(EcosystemConfig config) {
+        try {
+            listenerPolicy = ListenerQueue.OverflowPolicy.fromName(config.getListenerOverflowPolicy());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", dùng conflate");
+            listenerPolicy = ListenerQueue.OverflowPolicy.CONFLATE;
+        }
+        listenerCapacity = Math.max(1, config.getListenerQueueCapacity());
+        for (ListenerQueue queue : listeners) {
+            if (queue.followsDefaults()) {
+                queue.configure(listenerPolicy, listenerCapacity);
+            }
+        }
     }
 
     /**
-     * Notify tất cả listeners về update.
+     * Publish update tới hàng đợi của mọi listener (không chờ listener xử lý,
+     * trừ khi buffer đầy với policy BLOCK).
      * 
      * @param stats Thống kê mới
      */
     private void notifyUpdate(EcosystemStats stats) {
-        for (SimulationListener listener : listeners) {
-            listener.onUpdate(stats);
+        for (ListenerQueue queue : listeners) {
+            queue.publishUpdate(stats);
         }
     }
 
     /**
-     * Notify tất cả listeners về thay đổi trạng thái.
+     * Publish thay đổi trạng thái tới hàng đợi của mọi listener.
      * 
      * @param newState Trạng thái mới
      */
     private void notifyStateChanged(SimulationState newState) {
-        for (SimulationListener listener : listeners) {
-            listener.onStateChanged(newState);
+        for (ListenerQueue queue : listeners) {
+            queue.publishStateChanged(newState);
         }
     }
 
@@ -277,38 +1061,193 @@ public class SimulationEngine implements Runnable {
         return state;
     }
 
+    /**
+     * Thời gian giữa các tick theo tốc độ mục tiêu (làm tròn ms, 0 nếu không giới hạn).
+     */
     public int getTickIntervalMs() {
-        return tickIntervalMs;
+        return (int) Math.round(getTickPeriodNanos() / 1e6);
     }
 
     /**
-     * Điều chỉnh tốc độ simulation.
+     * Điều chỉnh tốc độ simulation theo thời gian giữa các tick
+     * (simulation.tick_interval_ms trong cấu hình).
      * 
-     * @param intervalMs Thời gian giữa các tick (ms)
+     * @param intervalMs Thời gian giữa các tick (ms), tối đa 2000
      */
     public void setTickIntervalMs(int intervalMs) {
-        this.tickIntervalMs = Math.max(50, Math.min(intervalMs, 2000));
+        setTargetTicksPerSecond(intervalMs <= 0 ? UNLIMITED_TICKS_PER_SECOND : 1000.0 / Math.min(intervalMs, 2000));
+    }
+
+    /**
+     * Đặt tốc độ mục tiêu. Trên khoảng một tick mỗi frame (~60 tick/s) engine
+     * chạy turbo mode: nhiều tick mỗi lượt, không sleep giữa các tick.
+     * 
+     * @param ticksPerSecond Số tick mỗi giây (tối thiểu 0.5), UNLIMITED_TICKS_PER_SECOND để chạy nhanh nhất
+     */
+    public void setTargetTicksPerSecond(double ticksPerSecond) {
+        if (Double.isNaN(ticksPerSecond)) {
+            return;
+        }
+        this.targetTicksPerSecond = Math.max(MIN_TICKS_PER_SECOND, ticksPerSecond);
+        metrics.setTargetTicksPerSecond(targetTicksPerSecond);
+        // Tốc độ mới áp dụng ngay, không chờ hết chu kỳ cũ
+        pacingReset = true;
+        wakeLoop();
+    }
+
+    public double getTargetTicksPerSecond() {
+        return targetTicksPerSecond;
+    }
+
+    /**
+     * Chu kỳ tick mục tiêu.
+     * 
+     * @return Nano giây giữa hai tick, 0 nếu không giới hạn
+     */
+    public long getTickPeriodNanos() {
+        double tps = targetTicksPerSecond;
+        return Double.isInfinite(tps) ? 0 : (long) (1e9 / tps);
+    }
+
+    /**
+     * Engine đang chạy nhiều tick mỗi frame.
+     */
+    public boolean isTurbo() {
+        return getTickPeriodNanos() < FRAME_NANOS;
     }
 
     /**
      * Tăng tốc độ simulation.
      */
     public void speedUp() {
-        setTickIntervalMs(tickIntervalMs / 2);
+        setTargetTicksPerSecond(targetTicksPerSecond * 2);
     }
 
     /**
      * Giảm tốc độ simulation.
      */
     public void slowDown() {
-        setTickIntervalMs(tickIntervalMs * 2);
+        double tps = targetTicksPerSecond;
+        setTargetTicksPerSecond(Double.isInfinite(tps) ? 1e4 : tps / 2);
+    }
+
+    /**
+     * Priority trên scheduler dùng chung (1..10, mặc định 5). Khi quá tải,
+     * engine priority cao được nhiều lát thời gian hơn theo tỷ lệ trọng số.
+     * 
+     * @param priority Priority mới
+     */
+    public void setPriority(int priority) {
+        this.priority = Math.max(1, Math.min(priority, 10));
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Lấy scheduler dùng chung.
+     * 
+     * @return SimulationScheduler, hoặc null nếu engine chạy trên thread riêng
+     */
+    public SimulationScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Lấy metrics throughput và độ trễ hàng đợi (chỉ có số liệu khi chạy trên scheduler).
+     * 
+     * @return SchedulingMetrics
+     */
+    public SchedulingMetrics getSchedulingMetrics() {
+        return schedulingMetrics;
+    }
+
+    /**
+     * Lấy metrics quần thể, throughput và độ trễ tick (luôn bật, đọc không cần khóa).
+     * 
+     * @return SimulationMetrics
+     */
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Lấy hàng đợi của các listener (lag, số sự kiện bị bỏ/gộp).
+     * 
+     * @return Danh sách chỉ đọc
+     */
+    public List<ListenerQueue> getListenerQueues() {
+        return List.copyOf(listeners);
     }
 
     public List<EcosystemStats> getStatsHistory() {
-        return new ArrayList<>(statsHistory);
+        synchronized (statsHistory) {
+            return new ArrayList<>(statsHistory);
+        }
     }
 
     public EcosystemConfig getConfig() {
         return config;
     }
+
+    /**
+     * Đẩy event log xuống file để replay có thể đọc.
+     * An toàn khi gọi từ UI thread (không chạy chồng với tick).
+     * 
+     * @return File event log, hoặc null nếu event log tắt
+     */
+    public Path flushEventLog() {
+        synchronized (tickLock) {
+            if (eventLogWriter == null) {
+                return null;
+            }
+            eventLogWriter.flush();
+            return eventLogWriter.getFile();
+        }
+    }
+
+    /**
+     * Bật/tắt đo thời gian từng pha của tick.
+     * 
+     * @param enabled true để bật
+     */
+    public void setProfilingEnabled(boolean enabled) {
+        this.profilingEnabled = enabled;
+        if (ecosystem != null) {
+            ecosystem.setProfiler(enabled ? profiler : null);
+        }
+    }
+
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    /**
+     * Lấy profiler của engine (p50/p99/max theo pha).
+     * Chỉ có số liệu mới khi profiling được bật.
+     * 
+     * @return TickProfiler
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Lấy bộ đệm rewind.
+     * 
+     * @return RewindBuffer, hoặc null nếu rewind tắt
+     */
+    public RewindBuffer getRewindBuffer() {
+        return rewindBuffer;
+    }
+
+    /**
+     * Lấy dịch vụ autosave (metrics về thời gian dừng tick).
+     * 
+     * @return AutosaveService, hoặc null nếu autosave tắt
+     */
+    public AutosaveService getAutosaveService() {
+        return autosaveService;
+    }
 }
@@ -0,0 +1,436 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.LatencyHistogram;
+import com.ecosystem.utils.OscillationSummary;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics luôn bật của một SimulationEngine: quần thể, năng lượng, throughput,
+ * độ trễ tick, số sinh/chết, số byte cấp phát mỗi tick và GC.
+ *
+ * Số liệu theo tick (recordTick, recordPacing, restartWindow) chỉ được ghi
+ * trong SimulationEngine.completeTick, tức trên thread của PublishStage (hoặc
+ * thread chạy tick khi tắt pipeline), mỗi lúc một thread. Thread chạy tick
+ * chỉ ghi các counter atomic/volatile (thời gian chờ pipeline, giảm tải,
+ * trạng thái). Các thread khác (ví dụ MetricsServer khi bị scrape) đọc được
+ * mà không cần khóa nên không bao giờ chặn tick loop.
+ *
+ * Percentile độ trễ tính trên cửa sổ 10 giây đầy đủ gần nhất: ba histogram
+ * xoay vòng (đang ghi, đã công bố, dự phòng) nên histogram mà thread đọc
+ * đang dùng không bị xóa trước ít nhất một cửa sổ. Trong 10 giây đầu chưa
+ * có cửa sổ đầy đủ thì đọc từ histogram đang ghi.
+ *
+ * Khi đặt ngân sách cấp phát, mỗi cửa sổ 1 giây có trung bình byte/tick vượt
+ * ngân sách được đếm là một lần vi phạm và cảnh báo trên System.err (một lần
+ * cho mỗi đợt vượt) để phát hiện code mới cấp phát nhiều hơn.
+ */
+public class SimulationMetrics {
+
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long LATENCY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong births = new AtomicLong();
+    private final AtomicLong deaths = new AtomicLong();
+    private final AtomicLong totalTickNanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong allocationBudgetViolations = new AtomicLong();
+    private volatile long lastTickAllocatedBytes;
+    private volatile EcosystemStats lastStats;
+
+    // Throughput trong cửa sổ 1 giây gần nhất
+    private volatile long lastTickNanos;
+    private volatile double ticksPerSecond;
+    private volatile double birthsPerSecond;
+    private volatile double deathsPerSecond;
+    private volatile double allocatedBytesPerTick;
+    private volatile double gcTimeFraction;
+    private volatile boolean overAllocationBudget;
+
+    // Cửa sổ đo throughput (chỉ thread ghi)
+    private long rateWindowStart = System.nanoTime();
+    private long windowTicks;
+    private long windowBirths;
+    private long windowDeaths;
+    private long windowAllocated;
+    private long windowGcMillis = AllocationMeter.gcMillis();
+
+    // Pacing của game loop: độ trễ so với deadline và số tick bị bỏ (LatePolicy)
+    private final AtomicLong skippedTicks = new AtomicLong();
+    private volatile long lastLatenessNanos;
+    private volatile double averageLatenessNanos;
+    private volatile long maxLatenessNanos;
+    private volatile double targetTicksPerSecond;
+    private long windowLatenessSum;
+    private long windowLatenessMax;
+    private long windowPacedTicks;
+
+    // Pipeline tick: thời gian thread simulation chờ vì stage publish chưa theo kịp
+    private final AtomicLong pipelineStallNanos = new AtomicLong();
+
+    // Chế độ giảm tải: trạng thái hiện tại, số lần vào và số tick đã bỏ việc không bắt buộc
+    private volatile boolean degraded;
+    private final AtomicLong degradations = new AtomicLong();
+    private final AtomicLong degradedTicks = new AtomicLong();
+
+    // Phân tích dao động vật săn - con mồi gần nhất (null nếu chưa đủ cửa sổ hoặc tắt)
+    private volatile OscillationSummary oscillation;
+
+    // Ngân sách cấp phát trung bình mỗi tick (0 = không kiểm tra)
+    private volatile double allocationBudgetBytes;
+
+    // Histogram độ trễ xoay vòng (chỉ thread ghi đổi tham chiếu)
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram published = new LatencyHistogram();
+    private LatencyHistogram spare = new LatencyHistogram();
+    private long latencyWindowStart = System.nanoTime();
+
+    /**
+     * Ghi nhận một tick đã chạy.
+     *
+     * @param stats     Thống kê sau tick
+     * @param births    Số sinh vật sinh ra trong tick
+     * @param deaths    Số sinh vật chết trong tick
+     * @param tickNanos Thời gian chạy tick
+     * @param allocated Số byte thread chạy tick đã cấp phát trong tick
+     */
+    void recordTick(EcosystemStats stats, int births, int deaths, long tickNanos, long allocated) {
+        lastStats = stats;
+        ticks.incrementAndGet();
+        this.births.addAndGet(births);
+        this.deaths.addAndGet(deaths);
+        totalTickNanos.addAndGet(tickNanos);
+        allocatedBytes.addAndGet(allocated);
+        lastTickAllocatedBytes = allocated;
+        current.record(tickNanos);
+
+        windowTicks++;
+        windowBirths += births;
+        windowDeaths += deaths;
+        windowAllocated += allocated;
+        long now = System.nanoTime();
+        lastTickNanos = now;
+        long elapsed = now - rateWindowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            ticksPerSecond = windowTicks * 1e9 / elapsed;
+            birthsPerSecond = windowBirths * 1e9 / elapsed;
+            deathsPerSecond = windowDeaths * 1e9 / elapsed;
+            allocatedBytesPerTick = (double) windowAllocated / windowTicks;
+            long gcMillis = AllocationMeter.gcMillis();
+            gcTimeFraction = Math.min(1, (gcMillis - windowGcMillis) * 1e6 / elapsed);
+            windowGcMillis = gcMillis;
+            checkAllocationBudget(stats.getGeneration());
+            averageLatenessNanos = windowPacedTicks > 0 ? (double) windowLatenessSum / windowPacedTicks : 0;
+            maxLatenessNanos = windowLatenessMax;
+            windowLatenessSum = 0;
+            windowLatenessMax = 0;
+            windowPacedTicks = 0;
+            rateWindowStart = now;
+            windowTicks = 0;
+            windowBirths = 0;
+            windowDeaths = 0;
+            windowAllocated = 0;
+        }
+
+        if (now - latencyWindowStart >= LATENCY_WINDOW_NANOS) {
+            LatencyHistogram recycled = spare;
+            spare = published;
+            published = current;
+            recycled.reset();
+            current = recycled;
+            latencyWindowStart = now;
+        }
+    }
+
+    /**
+     * Ghi nhận độ trễ của tick so với deadline fixed-rate (game loop trên
+     * thread riêng, gọi trước recordTick).
+     *
+     * @param latenessNanos Thời gian tick bắt đầu muộn hơn deadline
+     * @param skipped       Số tick bị bỏ theo LatePolicy
+     */
+    void recordPacing(long latenessNanos, long skipped) {
+        lastLatenessNanos = latenessNanos;
+        if (skipped > 0) {
+            skippedTicks.addAndGet(skipped);
+        }
+        windowLatenessSum += latenessNanos;
+        windowLatenessMax = Math.max(windowLatenessMax, latenessNanos);
+        windowPacedTicks++;
+    }
+
+    void recordPipelineStall(long nanos) {
+        pipelineStallNanos.addAndGet(nanos);
+    }
+
+    void setDegraded(boolean degraded) {
+        if (degraded && !this.degraded) {
+            degradations.incrementAndGet();
+        }
+        this.degraded = degraded;
+    }
+
+    void recordDegradedTick() {
+        degradedTicks.incrementAndGet();
+    }
+
+    void setOscillation(OscillationSummary oscillation) {
+        this.oscillation = oscillation;
+    }
+
+    void setTargetTicksPerSecond(double ticksPerSecond) {
+        targetTicksPerSecond = ticksPerSecond;
+    }
+
+    private void checkAllocationBudget(int generation) {
+        double budget = allocationBudgetBytes;
+        boolean over = budget > 0 && allocatedBytesPerTick > budget;
+        if (over) {
+            allocationBudgetViolations.incrementAndGet();
+            if (!overAllocationBudget) {
+                System.err.printf("Cảnh báo: cấp phát trung bình %.1f KB/tick vượt ngân sách %.1f KB/tick (thế hệ %d)%n",
+                        allocatedBytesPerTick / 1024, budget / 1024, generation);
+            }
+        }
+        overAllocationBudget = over;
+    }
+
+    /**
+     * Đặt ngân sách cấp phát trung bình mỗi tick.
+     *
+     * @param bytesPerTick Số byte/tick, 0 để tắt kiểm tra
+     */
+    void setAllocationBudget(double bytesPerTick) {
+        allocationBudgetBytes = bytesPerTick;
+        overAllocationBudget = false;
+    }
+
+    /**
+     * Cập nhật trạng thái quần thể mà không tính là tick (initialize, step tới
+     * từ bộ đệm rewind, lùi thế hệ).
+     *
+     * @param stats Thống kê hiện tại
+     */
+    void recordState(EcosystemStats stats) {
+        lastStats = stats;
+    }
+
+    /**
+     * Bắt đầu lại cửa sổ throughput (khi simulation chạy lại sau khi dừng), để
+     * thời gian dừng không kéo tick/s xuống. Gọi trên thread ghi metrics: engine
+     * đưa yêu cầu qua PublishStage cùng tick đầu tiên sau start().
+     */
+    void restartWindow() {
+        rateWindowStart = System.nanoTime();
+        windowTicks = 0;
+        windowBirths = 0;
+        windowDeaths = 0;
+        windowAllocated = 0;
+        windowGcMillis = AllocationMeter.gcMillis();
+        windowLatenessSum = 0;
+        windowLatenessMax = 0;
+        windowPacedTicks = 0;
+    }
+
+    /**
+     * Thống kê gần nhất.
+     *
+     * @return EcosystemStats, hoặc null nếu simulation chưa khởi tạo
+     */
+    public EcosystemStats getLastStats() {
+        return lastStats;
+    }
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    public long getBirths() {
+        return births.get();
+    }
+
+    public long getDeaths() {
+        return deaths.get();
+    }
+
+    /**
+     * Throughput đo trong cửa sổ 1 giây gần nhất, 0 khi không có tick nào
+     * trong hơn 2 giây (đang dừng hoặc đã kết thúc).
+     *
+     * @return Số tick/giây
+     */
+    public double getTicksPerSecond() {
+        return isIdle() ? 0 : ticksPerSecond;
+    }
+
+    public double getBirthsPerSecond() {
+        return isIdle() ? 0 : birthsPerSecond;
+    }
+
+    public double getDeathsPerSecond() {
+        return isIdle() ? 0 : deathsPerSecond;
+    }
+
+    private boolean isIdle() {
+        return System.nanoTime() - lastTickNanos > 2 * RATE_WINDOW_NANOS;
+    }
+
+    /**
+     * Tốc độ mục tiêu của engine.
+     *
+     * @return tick/s, vô hạn nếu không giới hạn
+     */
+    public double getTargetTicksPerSecond() {
+        return targetTicksPerSecond;
+    }
+
+    /**
+     * Độ trễ trung bình của tick so với deadline trong cửa sổ 1 giây gần nhất.
+     *
+     * @return Nano giây, 0 khi không có tick nào trong hơn 2 giây
+     */
+    public double getAverageLatenessNanos() {
+        return isIdle() ? 0 : averageLatenessNanos;
+    }
+
+    /**
+     * Độ trễ lớn nhất so với deadline trong cửa sổ 1 giây gần nhất.
+     *
+     * @return Nano giây, 0 khi không có tick nào trong hơn 2 giây
+     */
+    public long getMaxLatenessNanos() {
+        return isIdle() ? 0 : maxLatenessNanos;
+    }
+
+    public long getLastLatenessNanos() {
+        return lastLatenessNanos;
+    }
+
+    /**
+     * Tổng số tick bị bỏ vì trễ hạn (LatePolicy SKIP hoặc vượt giới hạn chạy bù).
+     */
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Tổng thời gian thread simulation chờ stage publish (pipeline đầy).
+     */
+    public long getPipelineStallNanos() {
+        return pipelineStallNanos.get();
+    }
+
+    /**
+     * Số lần engine chuyển sang chế độ giảm tải.
+     */
+    public long getDegradations() {
+        return degradations.get();
+    }
+
+    /**
+     * Số tick chạy ở chế độ giảm tải (không ghi lịch sử, giảm notify).
+     */
+    public long getDegradedTicks() {
+        return degradedTicks.get();
+    }
+
+    /**
+     * Chu kỳ, biên độ, độ trễ pha và độ tập trung phổ của cửa sổ thế hệ gần nhất.
+     *
+     * @return Tóm tắt, hoặc null nếu chưa đủ một cửa sổ hoặc tắt phân tích
+     */
+    public OscillationSummary getOscillation() {
+        return oscillation;
+    }
+
+    public long getTotalTickNanos() {
+        return totalTickNanos.get();
+    }
+
+    /**
+     * Tổng số byte cấp phát trong các tick (0 nếu JVM không đo được).
+     *
+     * @return Số byte
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    public long getLastTickAllocatedBytes() {
+        return lastTickAllocatedBytes;
+    }
+
+    /**
+     * Số byte cấp phát trung bình mỗi tick trong cửa sổ 1 giây gần nhất.
+     *
+     * @return Byte/tick
+     */
+    public double getAllocatedBytesPerTick() {
+        return allocatedBytesPerTick;
+    }
+
+    /**
+     * Tỷ lệ thời gian GC (toàn JVM) trong cửa sổ 1 giây gần nhất.
+     *
+     * @return 0..1, 0 khi không có tick nào trong hơn 2 giây
+     */
+    public double getGcTimeFraction() {
+        return isIdle() ? 0 : gcTimeFraction;
+    }
+
+    public double getAllocationBudgetBytes() {
+        return allocationBudgetBytes;
+    }
+
+    /**
+     * Cửa sổ 1 giây gần nhất có vượt ngân sách cấp phát không.
+     *
+     * @return true nếu vượt
+     */
+    public boolean isOverAllocationBudget() {
+        return overAllocationBudget;
+    }
+
+    public long getAllocationBudgetViolations() {
+        return allocationBudgetViolations.get();
+    }
+
+    /**
+     * Percentile độ trễ tick trong cửa sổ 10 giây đầy đủ gần nhất.
+     *
+     * @param percentile Percentile 0..100
+     * @return Độ trễ (ns), 0 nếu chưa có tick nào
+     */
+    public long getTickLatencyPercentile(double percentile) {
+        return latencyWindow().getPercentile(percentile);
+    }
+
+    /**
+     * Độ trễ tick lớn nhất trong cửa sổ 10 giây đầy đủ gần nhất.
+     *
+     * @return Độ trễ (ns)
+     */
+    public long getTickLatencyMax() {
+        return latencyWindow().getMax();
+    }
+
+    private LatencyHistogram latencyWindow() {
+        LatencyHistogram window = published;
+        return window.getCount() > 0 ? window : current;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationMetrics[ticks=%d, %.1f tick/s, births=%d, deaths=%d, p99=%.2fms, %.1f KB/tick]",
+                getTicks(), getTicksPerSecond(), getBirths(), getDeaths(), getTickLatencyPercentile(99) / 1e6,
+                allocatedBytesPerTick / 1024);
+    }
+}
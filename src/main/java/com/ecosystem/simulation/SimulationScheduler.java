@@ -0,0 +1,272 @@
+package com.ecosystem.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scheduler dùng chung cho nhiều SimulationEngine trên một pool worker cố định.
+ *
+ * Thay vì mỗi engine một thread ngủ giữa các tick, mỗi engine là một mục
+ * trong hàng đợi: một tick là một lát thời gian (time slice). Engine chờ
+ * trong hàng đợi theo thời điểm đến hạn (tick interval của engine); khi đã
+ * đến hạn, worker chọn engine có virtual runtime nhỏ nhất (thời gian CPU đã
+ * dùng chia cho trọng số priority), nên khi quá tải các engine chậm lại
+ * công bằng theo priority thay vì engine nào tick nặng thì chiếm hết worker.
+ *
+ * Mỗi engine chỉ chạy trên tối đa một worker tại một thời điểm.
+ */
+public class SimulationScheduler {
+
+    /** Priority mặc định (trọng số 5 trên thang 1..10). */
+    public static final int DEFAULT_PRIORITY = 5;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+
+    // Chờ đến hạn (theo dueNanos) và đã đến hạn (theo vruntime)
+    private final PriorityQueue<Entry> waiting =
+            new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.dueNanos));
+    private final PriorityQueue<Entry> ready =
+            new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.vruntime));
+    private final Map<SimulationEngine, Entry> entries = new IdentityHashMap<>();
+
+    private final List<Thread> workers;
+    private long minVruntime;
+    private boolean shutdown;
+
+    /**
+     * Constructor tạo scheduler với số worker bằng số core.
+     */
+    public SimulationScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor tạo scheduler.
+     *
+     * @param workerCount Số worker thread
+     */
+    public SimulationScheduler(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Số worker phải > 0: " + workerCount);
+        }
+        workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workerLoop, "SimulationWorker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Lên lịch engine (tick đầu tiên chạy ngay). Gọi lại khi engine đã có
+     * trong scheduler thì không có tác dụng.
+     *
+     * @param engine Engine ở trạng thái RUNNING
+     */
+    void schedule(SimulationEngine engine) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("Scheduler đã shutdown");
+            }
+            Entry entry = entries.get(engine);
+            if (entry != null) {
+                // Đang chạy tick và vừa bị hủy -> giữ lại
+                entry.cancelled = false;
+                return;
+            }
+            entry = new Entry(engine);
+            // Không cho engine mới/vừa resume "nợ" ít vruntime hơn các engine đang chạy
+            entry.vruntime = minVruntime;
+            entry.dueNanos = System.nanoTime();
+            engine.getSchedulingMetrics().restartWindow();
+            entries.put(engine, entry);
+            waiting.add(entry);
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gỡ engine khỏi scheduler. Tick đang chạy (nếu có) vẫn chạy xong.
+     *
+     * @param engine Engine cần gỡ
+     */
+    void cancel(SimulationEngine engine) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(engine);
+            if (entry == null) {
+                return;
+            }
+            if (entry.inFlight) {
+                entry.cancelled = true;
+            } else {
+                waiting.remove(entry);
+                ready.remove(entry);
+                entries.remove(engine);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vòng lặp của worker: lấy engine đến hạn, chạy một tick, xếp lại hàng đợi.
+     */
+    private void workerLoop() {
+        while (true) {
+            Entry entry;
+            try {
+                entry = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == null) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            long queueDelay = Math.max(0, start - entry.dueNanos);
+            boolean keep;
+            try {
+                keep = entry.engine.runScheduledTick();
+            } catch (RuntimeException e) {
+                System.err.println("Lỗi khi chạy tick trên scheduler: " + e);
+                keep = false;
+            }
+            long end = System.nanoTime();
+            long periodNanos = entry.engine.getTickPeriodNanos();
+            entry.engine.getSchedulingMetrics().recordTick(queueDelay, end - start,
+                    entry.engine.getTargetTicksPerSecond());
+
+            requeue(entry, keep, end - start, periodNanos, end);
+        }
+    }
+
+    /**
+     * Chờ tới khi có engine đến hạn.
+     *
+     * @return Engine cần chạy, hoặc null nếu scheduler đã shutdown
+     */
+    private Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!shutdown) {
+                long now = System.nanoTime();
+                while (!waiting.isEmpty() && waiting.peek().dueNanos <= now) {
+                    ready.add(waiting.poll());
+                }
+                Entry entry = ready.poll();
+                if (entry != null) {
+                    entry.inFlight = true;
+                    minVruntime = Math.max(minVruntime, entry.vruntime);
+                    return entry;
+                }
+                if (waiting.isEmpty()) {
+                    workAvailable.await();
+                } else {
+                    workAvailable.awaitNanos(waiting.peek().dueNanos - now);
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Xếp engine lại hàng đợi sau tick, hoặc gỡ nếu engine không còn RUNNING.
+     */
+    private void requeue(Entry entry, boolean keep, long tickNanos, long intervalNanos, long now) {
+        lock.lock();
+        try {
+            entry.inFlight = false;
+            if (!keep || entry.cancelled || shutdown
+                    || entry.engine.getState() != SimulationState.RUNNING) {
+                entries.remove(entry.engine);
+                return;
+            }
+
+            entry.vruntime += tickNanos * DEFAULT_PRIORITY / entry.engine.getPriority();
+
+            // Fixed-rate theo tick interval; trễ quá một interval thì không dồn tick bù
+            entry.dueNanos += intervalNanos;
+            if (entry.dueNanos < now - intervalNanos) {
+                entry.dueNanos = now;
+            }
+            waiting.add(entry);
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dừng tất cả worker. Các engine còn trong scheduler không được tick tiếp.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            waiting.clear();
+            ready.clear();
+            entries.clear();
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Số engine đang được lên lịch (kể cả engine đang chạy tick).
+     */
+    public int getScheduledCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Số engine đã đến hạn nhưng đang chờ worker rảnh.
+     */
+    public int getReadyCount() {
+        lock.lock();
+        try {
+            return ready.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * Một engine trong hàng đợi. Các field được bảo vệ bởi lock của scheduler.
+     */
+    private static final class Entry {
+        private final SimulationEngine engine;
+        private long dueNanos;
+        private long vruntime;
+        private boolean inFlight;
+        private boolean cancelled;
+
+        private Entry(SimulationEngine engine) {
+            this.engine = engine;
+        }
+    }
+}
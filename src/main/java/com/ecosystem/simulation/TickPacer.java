@@ -0,0 +1,127 @@
+package com.ecosystem.simulation;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pacer fixed-rate cho game loop của SimulationEngine.
+ *
+ * Deadline của tick kế tiếp luôn là deadline trước cộng chu kỳ (không cộng
+ * thời gian chạy tick), nên tốc độ thực tế không drift theo tải. Khi tick
+ * bắt đầu trễ hơn một chu kỳ, LatePolicy quyết định chạy bù các tick đã lỡ
+ * hay bỏ qua chúng. Trạng thái deadline chỉ dùng trên thread của game loop.
+ */
+class TickPacer {
+
+    /**
+     * Hành vi khi tick bị trễ hạn quá một chu kỳ.
+     */
+    enum LatePolicy {
+        /** Chạy bù liên tiếp các tick đã lỡ (tối đa maxCatchUp), giữ tổng số tick theo thời gian thực */
+        CATCH_UP,
+        /** Bỏ các deadline đã lỡ, giữ nhịp đều thay vì chạy dồn */
+        SKIP;
+
+        /**
+         * Đọc policy từ tên trong YAML (catch_up, catch-up, skip).
+         *
+         * @throws IllegalArgumentException nếu tên không hợp lệ
+         */
+        static LatePolicy fromName(String name) {
+            if (name != null) {
+                String key = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+                for (LatePolicy policy : values()) {
+                    if (policy.name().equals(key)) {
+                        return policy;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Late policy không hợp lệ: " + name);
+        }
+    }
+
+    static final long DEFAULT_MAX_CATCH_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private volatile LatePolicy policy = LatePolicy.CATCH_UP;
+    private volatile long maxCatchUpNanos = DEFAULT_MAX_CATCH_UP_NANOS;
+
+    // Chỉ thread game loop
+    private long deadline;
+    private long lastLateness;
+    private long lastSkipped;
+
+    /**
+     * Đặt policy trễ hạn (gọi từ thread bất kỳ).
+     *
+     * @param policy          Policy
+     * @param maxCatchUpNanos Backlog tối đa được chạy bù (CATCH_UP)
+     */
+    void configure(LatePolicy policy, long maxCatchUpNanos) {
+        this.policy = policy;
+        this.maxCatchUpNanos = Math.max(0, maxCatchUpNanos);
+    }
+
+    /**
+     * Đặt deadline của tick kế tiếp là bây giờ (bắt đầu chạy, tiếp tục sau
+     * pause, đổi tốc độ).
+     */
+    void reset(long now) {
+        deadline = now;
+    }
+
+    /**
+     * Thời gian còn lại tới deadline.
+     *
+     * @return Nano giây, <= 0 nếu tick đã đến hạn
+     */
+    long remaining(long now) {
+        return deadline - now;
+    }
+
+    /**
+     * Bắt đầu tick đã đến hạn: ghi nhận độ trễ, áp dụng LatePolicy và tính
+     * deadline kế tiếp. Độ trễ và số tick bị bỏ đọc qua getLastLateness()
+     * và getLastSkipped().
+     *
+     * @param now         Thời điểm bắt đầu tick
+     * @param periodNanos Chu kỳ mục tiêu, 0 nếu không giới hạn
+     */
+    void beginTick(long now, long periodNanos) {
+        long lateness = Math.max(0, now - deadline);
+        long skipped = 0;
+        if (periodNanos <= 0) {
+            // Không giới hạn: không có lịch để bám theo
+            deadline = now;
+            lateness = 0;
+        } else if (lateness >= periodNanos) {
+            long missed = lateness / periodNanos;
+            if (policy == LatePolicy.SKIP) {
+                skipped = missed;
+            } else if (lateness > maxCatchUpNanos) {
+                // Chỉ chạy bù phần backlog trong giới hạn
+                skipped = (lateness - maxCatchUpNanos) / periodNanos + 1;
+            }
+            // Bỏ qua theo bội số chu kỳ để vẫn bám lưới thời gian ban đầu
+            deadline += skipped * periodNanos;
+        }
+        deadline += periodNanos;
+        lastLateness = lateness;
+        lastSkipped = skipped;
+    }
+
+    long getLastLateness() {
+        return lastLateness;
+    }
+
+    long getLastSkipped() {
+        return lastSkipped;
+    }
+
+    LatePolicy getPolicy() {
+        return policy;
+    }
+
+    long getMaxCatchUpNanos() {
+        return maxCatchUpNanos;
+    }
+}
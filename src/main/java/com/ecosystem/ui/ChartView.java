@@ -1,10 +1,12 @@
 package com.ecosystem.ui;
 
+import com.ecosystem.batch.EnsembleBands;
 import com.ecosystem.model.EcosystemStats;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +20,13 @@ public class ChartView {
     private final XYChart.Series<Number, Number> herbivoreSeries;
     private final XYChart.Series<Number, Number> carnivoreSeries;
 
+    // Series cho chế độ ensemble (mean + dải P5–P95 của mỗi loài)
+    private final List<XYChart.Series<Number, Number>> bandSeries = new ArrayList<>();
+    private boolean showingBands;
+
     private static final int MAX_DATA_POINTS = 100;
+    private static final int MAX_BAND_POINTS = 250;
+    private static final String LIVE_TITLE = "Dân số theo thời gian";
 
     /**
      * Constructor tạo chart.
@@ -35,7 +43,7 @@ public class ChartView {
 
         // Tạo chart
         chart = new LineChart<>(xAxis, yAxis);
-        chart.setTitle("Dân số theo thời gian");
+        chart.setTitle(LIVE_TITLE);
         chart.setCreateSymbols(false); // Không vẽ điểm, chỉ vẽ đường
         chart.setAnimated(false); // Tắt animation để cập nhật mượt hơn
 
@@ -67,22 +75,41 @@ public class ChartView {
      * @param stats Thống kê mới nhất
      */
     public void update(EcosystemStats stats) {
-        int generation = stats.getGeneration();
-
-        // Thêm điểm mới
-        producerSeries.getData().add(
-                new XYChart.Data<>(generation, stats.getProducerCount()));
-        herbivoreSeries.getData().add(
-                new XYChart.Data<>(generation, stats.getHerbivoreCount()));
-        carnivoreSeries.getData().add(
-                new XYChart.Data<>(generation, stats.getCarnivoreCount()));
-
-        // Giới hạn số điểm để tránh lag
-        if (producerSeries.getData().size() > MAX_DATA_POINTS) {
-            producerSeries.getData().remove(0);
-            herbivoreSeries.getData().remove(0);
-            carnivoreSeries.getData().remove(0);
+        append(List.of(stats));
+    }
+
+    /**
+     * Thêm nhiều điểm một lần (các thế hệ giữa hai frame khi simulation chạy
+     * nhanh hơn tốc độ khung hình).
+     * 
+     * @param statsList Thống kê theo thứ tự thế hệ
+     */
+    public void append(List<EcosystemStats> statsList) {
+        if (statsList.isEmpty()) {
+            return;
         }
+        int from = Math.max(0, statsList.size() - MAX_DATA_POINTS);
+        List<XYChart.Data<Number, Number>> producers = new ArrayList<>(statsList.size() - from);
+        List<XYChart.Data<Number, Number>> herbivores = new ArrayList<>(statsList.size() - from);
+        List<XYChart.Data<Number, Number>> carnivores = new ArrayList<>(statsList.size() - from);
+        for (int i = from; i < statsList.size(); i++) {
+            EcosystemStats stats = statsList.get(i);
+            int generation = stats.getGeneration();
+            producers.add(new XYChart.Data<>(generation, stats.getProducerCount()));
+            herbivores.add(new XYChart.Data<>(generation, stats.getHerbivoreCount()));
+            carnivores.add(new XYChart.Data<>(generation, stats.getCarnivoreCount()));
+        }
+
+        // Giới hạn số điểm để tránh lag (bỏ điểm cũ trước để chart chỉ layout một lần)
+        int excess = producerSeries.getData().size() + producers.size() - MAX_DATA_POINTS;
+        if (excess > 0) {
+            producerSeries.getData().remove(0, excess);
+            herbivoreSeries.getData().remove(0, excess);
+            carnivoreSeries.getData().remove(0, excess);
+        }
+        producerSeries.getData().addAll(producers);
+        herbivoreSeries.getData().addAll(herbivores);
+        carnivoreSeries.getData().addAll(carnivores);
     }
 
     /**
@@ -117,6 +144,70 @@ public class ChartView {
         carnivoreSeries.getData().clear();
     }
 
+    /**
+     * Chuyển chart sang hiển thị dải tin cậy của một ensemble.
+     *
+     * Mỗi loài có một đường mean và một đường bao P5–P95 (đi xuôi theo P5 rồi
+     * ngược lại theo P95). Dữ liệu live vẫn được giữ và hiện lại khi gọi
+     * showLive().
+     *
+     * @param bands Dải tin cậy từ EnsembleRunner
+     */
+    public void showBands(EnsembleBands bands) {
+        bandSeries.clear();
+        int count = bands.getGenerations();
+        int stride = Math.max(1, (count + MAX_BAND_POINTS - 1) / MAX_BAND_POINTS);
+
+        EnsembleBands.Band[] species = { bands.getProducers(), bands.getHerbivores(), bands.getCarnivores() };
+        String[] names = { "Producer 🌿", "Herbivore 🐰", "Carnivore 🦁" };
+
+        // Series 0..2 = mean (cùng màu với chế độ live)
+        for (int s = 0; s < species.length; s++) {
+            XYChart.Series<Number, Number> mean = new XYChart.Series<>();
+            mean.setName(names[s] + " mean");
+            for (int i = 0; i < count; i += stride) {
+                mean.getData().add(new XYChart.Data<>(i + 1, species[s].getMean(i)));
+            }
+            bandSeries.add(mean);
+        }
+
+        // Series 3..5 = đường bao P5–P95 (nét đứt, xem chart-colors.css)
+        for (int s = 0; s < species.length; s++) {
+            XYChart.Series<Number, Number> envelope = new XYChart.Series<>();
+            envelope.setName(names[s] + " P5–P95");
+            for (int i = 0; i < count; i += stride) {
+                envelope.getData().add(new XYChart.Data<>(i + 1, species[s].getP05(i)));
+            }
+            for (int i = (count - 1) / stride * stride; i >= 0; i -= stride) {
+                envelope.getData().add(new XYChart.Data<>(i + 1, species[s].getP95(i)));
+            }
+            bandSeries.add(envelope);
+        }
+
+        chart.setAxisSortingPolicy(LineChart.SortingPolicy.NONE);
+        chart.getData().setAll(bandSeries);
+        chart.setTitle("Ensemble " + bands.getMembers() + " lần chạy (mean, P5–P95)");
+        showingBands = true;
+    }
+
+    /**
+     * Quay lại hiển thị dân số live (sau showBands).
+     */
+    public void showLive() {
+        if (!showingBands) {
+            return;
+        }
+        chart.getData().setAll(List.of(producerSeries, herbivoreSeries, carnivoreSeries));
+        chart.setAxisSortingPolicy(LineChart.SortingPolicy.X_AXIS);
+        chart.setTitle(LIVE_TITLE);
+        bandSeries.clear();
+        showingBands = false;
+    }
+
+    public boolean isShowingBands() {
+        return showingBands;
+    }
+
     /**
      * Lấy LineChart component.
      * 
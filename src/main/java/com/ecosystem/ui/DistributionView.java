@@ -0,0 +1,143 @@
+package com.ecosystem.ui;
+
+import com.ecosystem.model.DistributionHistogram;
+import com.ecosystem.model.Ecosystem.OrganismType;
+import com.ecosystem.model.EcosystemStats;
+import javafx.geometry.Pos;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+
+/**
+ * Component hiển thị phân bố năng lượng hoặc tuổi của từng loài tại thế hệ
+ * hiện tại (histogram do Ecosystem cập nhật dần, kèm trong RenderSnapshot).
+ * Mỗi loài là một đường số lượng theo điểm giữa bin, kèm P50/P90 ước lượng.
+ */
+public class DistributionView {
+
+    private static final String[] SPECIES_ICONS = { "🌿", "🐰", "🦁" };
+
+    private final VBox root;
+    private final LineChart<Number, Number> chart;
+    private final NumberAxis xAxis;
+    private final List<XYChart.Series<Number, Number>> series;
+    private final Label quantileLabel;
+    private final ToggleButton ageToggle;
+
+    /**
+     * Constructor tạo view.
+     */
+    public DistributionView() {
+        xAxis = new NumberAxis();
+        xAxis.setLabel("Năng lượng");
+        xAxis.setAutoRanging(true);
+
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel("Số lượng");
+        yAxis.setAutoRanging(true);
+
+        chart = new LineChart<>(xAxis, yAxis);
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        chart.setLegendVisible(false);
+
+        XYChart.Series<Number, Number> producerSeries = new XYChart.Series<>();
+        producerSeries.setName("Producer 🌿");
+        XYChart.Series<Number, Number> herbivoreSeries = new XYChart.Series<>();
+        herbivoreSeries.setName("Herbivore 🐰");
+        XYChart.Series<Number, Number> carnivoreSeries = new XYChart.Series<>();
+        carnivoreSeries.setName("Carnivore 🦁");
+        series = List.of(producerSeries, herbivoreSeries, carnivoreSeries);
+        chart.getData().addAll(series);
+
+        chart.setStyle("-fx-background-color: #1a1a2e;");
+        chart.lookup(".chart-plot-background").setStyle("-fx-background-color: #16213e;");
+        // Series 0..2 dùng cùng màu với biểu đồ dân số
+        chart.getStylesheets().add(getClass().getResource("/chart-colors.css").toExternalForm());
+
+        Label title = new Label("Phân bố");
+        title.setTextFill(Color.WHITE);
+        ageToggle = new ToggleButton("Năng lượng");
+        ageToggle.setOnAction(e -> {
+            ageToggle.setText(ageToggle.isSelected() ? "Tuổi" : "Năng lượng");
+            xAxis.setLabel(ageToggle.isSelected() ? "Tuổi (thế hệ)" : "Năng lượng");
+            clear();
+        });
+        HBox header = new HBox(10, title, ageToggle);
+        header.setAlignment(Pos.CENTER_LEFT);
+
+        quantileLabel = new Label();
+        quantileLabel.setTextFill(Color.WHITE);
+
+        root = new VBox(5, header, chart, quantileLabel);
+    }
+
+    /**
+     * Vẽ histogram của thế hệ hiện tại. Bỏ qua nếu thống kê không kèm histogram.
+     *
+     * @param stats Thống kê từ RenderSnapshot
+     */
+    public void update(EcosystemStats stats) {
+        if (stats == null || !stats.hasDistributions()) {
+            return;
+        }
+        boolean age = ageToggle.isSelected();
+        StringBuilder quantiles = new StringBuilder("P50/P90:");
+        for (OrganismType type : OrganismType.values()) {
+            DistributionHistogram histogram = age
+                    ? stats.getAgeDistribution(type)
+                    : stats.getEnergyDistribution(type);
+            updateSeries(series.get(type.ordinal()), histogram);
+            quantiles.append(String.format("  %s %s/%s", SPECIES_ICONS[type.ordinal()],
+                    formatQuantile(histogram.getQuantile(0.5)), formatQuantile(histogram.getQuantile(0.9))));
+        }
+        quantileLabel.setText(quantiles.toString());
+    }
+
+    /**
+     * Cập nhật điểm của series tại chỗ (số bin không đổi giữa các frame).
+     */
+    private static void updateSeries(XYChart.Series<Number, Number> target, DistributionHistogram histogram) {
+        List<XYChart.Data<Number, Number>> data = target.getData();
+        if (data.size() != histogram.getBinCount()) {
+            data.clear();
+            for (int i = 0; i < histogram.getBinCount(); i++) {
+                data.add(new XYChart.Data<>(0, 0));
+            }
+        }
+        for (int i = 0; i < histogram.getBinCount(); i++) {
+            XYChart.Data<Number, Number> point = data.get(i);
+            point.setXValue(histogram.getBinStart(i) + histogram.getBinWidth() / 2);
+            point.setYValue(histogram.getCount(i));
+        }
+    }
+
+    private static String formatQuantile(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.0f", value);
+    }
+
+    /**
+     * Xóa dữ liệu đang hiển thị.
+     */
+    public void clear() {
+        for (XYChart.Series<Number, Number> s : series) {
+            s.getData().clear();
+        }
+        quantileLabel.setText("");
+    }
+
+    public VBox getRoot() {
+        return root;
+    }
+
+    public LineChart<Number, Number> getChart() {
+        return chart;
+    }
+}
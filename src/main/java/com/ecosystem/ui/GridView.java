@@ -2,7 +2,7 @@ package com.ecosystem.ui;
 
 import com.ecosystem.model.Cell;
 import com.ecosystem.model.Ecosystem;
-import com.ecosystem.model.Organism;
+import com.ecosystem.simulation.RenderSnapshot;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -45,9 +45,10 @@ public class GridView extends Canvas {
         if (ecosystem == null)
             return;
 
-        int gridWidth = ecosystem.getWidth();
-        int gridHeight = ecosystem.getHeight();
+        calculateCellSize(ecosystem.getWidth(), ecosystem.getHeight());
+    }
 
+    private void calculateCellSize(int gridWidth, int gridHeight) {
         int cellWidth = (int) (getWidth() / gridWidth);
         int cellHeight = (int) (getHeight() / gridHeight);
 
@@ -55,7 +56,9 @@ public class GridView extends Canvas {
     }
 
     /**
-     * Render toàn bộ grid.
+     * Render toàn bộ grid từ ecosystem hiện tại.
+     * Chỉ gọi khi simulation không chạy (replay, rewind); khi đang chạy dùng
+     * render(RenderSnapshot).
      */
     public void render() {
         GraphicsContext gc = getGraphicsContext2D();
@@ -82,14 +85,53 @@ public class GridView extends Canvas {
         }
 
         // Vẽ các sinh vật
-        Cell[][] grid = ecosystem.getGrid();
         for (int x = 0; x < gridWidth; x++) {
             for (int y = 0; y < gridHeight; y++) {
-                Cell cell = grid[x][y];
-                Organism occupant = cell.getOccupant();
+                Cell cell = ecosystem.getCell(x, y);
+
+                // isEmpty() chỉ đọc ô (không dọn sinh vật chết trên ô dùng chung)
+                if (!cell.isEmpty()) {
+                    drawOrganism(gc, cell.getOccupant().getColor(), offsetX + x * cellSize, offsetY + y * cellSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Render grid từ ảnh chụp engine publish (an toàn khi simulation đang chạy).
+     * 
+     * @param snapshot Ảnh chụp mới nhất
+     */
+    public void render(RenderSnapshot snapshot) {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.setFill(Color.web("#1a1a2e"));
+        gc.fillRect(0, 0, getWidth(), getHeight());
+
+        int gridWidth = snapshot.getWidth();
+        int gridHeight = snapshot.getHeight();
+        if (ecosystem == null || ecosystem.getWidth() != gridWidth || ecosystem.getHeight() != gridHeight) {
+            calculateCellSize(gridWidth, gridHeight);
+        }
+
+        double offsetX = (getWidth() - gridWidth * cellSize) / 2;
+        double offsetY = (getHeight() - gridHeight * cellSize) / 2;
+        // Engine đang giảm tải: vẽ chi tiết thấp (không kẻ grid, ô vuông không viền)
+        boolean lowDetail = snapshot.isDegraded();
+        if (showGrid && !lowDetail) {
+            drawGridLines(gc, offsetX, offsetY, gridWidth, gridHeight);
+        }
 
-                if (occupant != null && occupant.isAlive()) {
-                    drawOrganism(gc, occupant, offsetX + x * cellSize, offsetY + y * cellSize);
+        for (int x = 0; x < gridWidth; x++) {
+            for (int y = 0; y < gridHeight; y++) {
+                Color color = snapshot.getColor(x, y);
+                if (color == null) {
+                    continue;
+                }
+                if (lowDetail) {
+                    gc.setFill(color);
+                    gc.fillRect(offsetX + x * cellSize, offsetY + y * cellSize, cellSize, cellSize);
+                } else {
+                    drawOrganism(gc, color, offsetX + x * cellSize, offsetY + y * cellSize);
                 }
             }
         }
@@ -127,11 +169,9 @@ public class GridView extends Canvas {
     }
 
     /**
-     * Vẽ một sinh vật.
+     * Vẽ một sinh vật với màu cho trước.
      */
-    private void drawOrganism(GraphicsContext gc, Organism organism, double x, double y) {
-        Color color = organism.getColor();
-
+    private void drawOrganism(GraphicsContext gc, Color color, double x, double y) {
         // Vẽ hình tròn đại diện cho sinh vật
         double padding = cellSize * 0.1;
         double size = cellSize - padding * 2;
@@ -147,6 +187,10 @@ public class GridView extends Canvas {
 
     // === Getters và Setters ===
 
+    public Ecosystem getEcosystem() {
+        return ecosystem;
+    }
+
     public int getCellSize() {
         return cellSize;
     }
@@ -1,11 +1,21 @@
 package com.ecosystem.ui;
 
+import com.ecosystem.batch.EnsembleBands;
+import com.ecosystem.batch.EnsembleRunner;
+import com.ecosystem.model.Ecosystem;
 import com.ecosystem.model.EcosystemConfig;
 import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.monitoring.MetricsServer;
+import com.ecosystem.replay.ReplayEngine;
+import com.ecosystem.simulation.RenderSnapshot;
+import com.ecosystem.simulation.RewindBuffer;
 import com.ecosystem.simulation.SimulationEngine;
 import com.ecosystem.simulation.SimulationListener;
+import com.ecosystem.simulation.SimulationMetrics;
 import com.ecosystem.simulation.SimulationState;
 import com.ecosystem.utils.ConfigLoader;
+import com.ecosystem.utils.OscillationSummary;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -17,6 +27,10 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Main JavaFX Application cho Ecosystem Simulation.
@@ -35,12 +49,47 @@ public class MainApp extends Application implements SimulationListener {
     private SimulationEngine engine;
     private GridView gridView;
     private ChartView chartView;
+    private DistributionView distributionView;
 
     // UI components
     private Label statsLabel;
     private Label stateLabel;
     private Button playPauseButton;
     private Slider speedSlider;
+    private Label speedLabel;
+
+    // Chu kỳ, biên độ, độ trễ pha vật săn - con mồi (dưới chart)
+    private Label oscillationLabel;
+
+    // Thanh tốc độ theo log10(tick/s): 0 = 1 tick/s, 4 = không giới hạn
+    private static final double SPEED_SLIDER_MAX = 4;
+
+    // Lịch sử: replay từ event log, hoặc bộ đệm rewind khi không có log
+    private Slider historySlider;
+    private ReplayEngine replayEngine;
+    private boolean replayMode;
+    private boolean updatingHistorySlider;
+
+    // Ensemble chạy ở background, kết quả hiển thị trên chart
+    private Button ensembleButton;
+    private EnsembleRunner ensembleRunner;
+
+    // Tua nhanh tới thế hệ đích ở background
+    private Button fastForwardButton;
+    private ProgressBar fastForwardProgress;
+    private static final int DEFAULT_FAST_FORWARD_GENERATIONS = 1000;
+
+    // Overlay hiển thị thời gian từng pha của tick
+    private Label profilerOverlay;
+    private ToggleButton profilerButton;
+    private long lastOverlayUpdateNanos;
+    private static final long OVERLAY_REFRESH_NANOS = 250_000_000L;
+
+    // Endpoint Prometheus (null nếu tắt trong cấu hình)
+    private MetricsServer metricsServer;
+
+    // Vẽ lại mỗi frame từ ảnh chụp mới nhất của engine (không vẽ theo từng tick)
+    private AnimationTimer renderTimer;
 
     @Override
     public void start(Stage primaryStage) {
@@ -60,9 +109,21 @@ public class MainApp extends Application implements SimulationListener {
         primaryStage.setMinHeight(700);
         primaryStage.show();
 
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                renderFrame();
+            }
+        };
+        renderTimer.start();
+
         // Xử lý đóng cửa sổ
         primaryStage.setOnCloseRequest(event -> {
+            renderTimer.stop();
             engine.stop();
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
             Platform.exit();
         });
     }
@@ -142,7 +203,18 @@ public class MainApp extends Application implements SimulationListener {
 
         // Center: Grid view
         gridView = new GridView(700, 450);
-        VBox centerBox = new VBox(gridView);
+
+        profilerOverlay = new Label();
+        profilerOverlay.setFont(Font.font("Monospaced", 11));
+        profilerOverlay.setTextFill(Color.WHITE);
+        profilerOverlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-padding: 6;");
+        profilerOverlay.setMouseTransparent(true);
+        profilerOverlay.setVisible(false);
+        StackPane gridStack = new StackPane(gridView, profilerOverlay);
+        StackPane.setAlignment(profilerOverlay, Pos.TOP_LEFT);
+        gridStack.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+
+        VBox centerBox = new VBox(gridStack);
         centerBox.setAlignment(Pos.CENTER);
         centerBox.setPadding(new Insets(10));
         root.setCenter(centerBox);
@@ -156,6 +228,17 @@ public class MainApp extends Application implements SimulationListener {
         rightPane.setPadding(new Insets(10));
         rightPane.getChildren().add(chartView.getChart());
         rightPane.getChildren().add(createLegend());
+
+        distributionView = new DistributionView();
+        distributionView.getChart().setPrefWidth(350);
+        distributionView.getChart().setPrefHeight(180);
+        rightPane.getChildren().add(distributionView.getRoot());
+
+        oscillationLabel = new Label();
+        oscillationLabel.setTextFill(Color.WHITE);
+        oscillationLabel.setWrapText(true);
+        oscillationLabel.setMaxWidth(350);
+        rightPane.getChildren().add(oscillationLabel);
         root.setRight(rightPane);
 
         // Bottom: Controls
@@ -183,6 +266,10 @@ public class MainApp extends Application implements SimulationListener {
         statsLabel.setFont(Font.font("Arial", 14));
         statsLabel.setTextFill(Color.WHITE);
 
+        fastForwardProgress = new ProgressBar(0);
+        fastForwardProgress.setPrefWidth(200);
+        fastForwardProgress.setVisible(false);
+
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
@@ -190,7 +277,7 @@ public class MainApp extends Application implements SimulationListener {
         backBtn.setStyle(getSecondaryButtonStyle());
         backBtn.setOnAction(e -> backToMenu());
 
-        topBar.getChildren().addAll(stateLabel, statsLabel, spacer, backBtn);
+        topBar.getChildren().addAll(stateLabel, statsLabel, fastForwardProgress, spacer, backBtn);
 
         return topBar;
     }
@@ -208,35 +295,102 @@ public class MainApp extends Application implements SimulationListener {
         playPauseButton.setStyle(getPrimaryButtonStyle());
         playPauseButton.setOnAction(e -> togglePlayPause());
 
+        fastForwardButton = new Button("⏩ Tua nhanh");
+        fastForwardButton.setStyle(getSecondaryButtonStyle());
+        fastForwardButton.setOnAction(e -> toggleFastForward());
+
+        ensembleButton = new Button("📊 Ensemble");
+        ensembleButton.setStyle(getSecondaryButtonStyle());
+        ensembleButton.setOnAction(e -> toggleEnsemble());
+
+        profilerButton = new ToggleButton("⏱ Profiler");
+        profilerButton.setStyle(getSecondaryButtonStyle());
+        profilerButton.setOnAction(e -> {
+            boolean enabled = profilerButton.isSelected();
+            engine.setProfilingEnabled(enabled);
+            profilerOverlay.setVisible(enabled);
+            refreshProfilerOverlay(true);
+        });
+
+        Button stepBackButton = new Button("⏮ Lùi");
+        stepBackButton.setStyle(getSecondaryButtonStyle());
+        stepBackButton.setOnAction(e -> {
+            leaveReplay();
+            if (engine.stepBack()) {
+                refreshAfterRewind();
+            }
+            enableHistory();
+        });
+
         Button stepButton = new Button("⏭ Bước");
         stepButton.setStyle(getSecondaryButtonStyle());
-        stepButton.setOnAction(e -> engine.step());
+        stepButton.setOnAction(e -> {
+            leaveReplay();
+            chartView.showLive();
+            engine.step();
+            enableHistory();
+        });
 
         Button resetButton = new Button("🔄 Reset");
         resetButton.setStyle(getSecondaryButtonStyle());
         resetButton.setOnAction(e -> {
+            leaveReplay();
             engine.reset();
             gridView.setEcosystem(engine.getEcosystem());
+            chartView.showLive();
             chartView.clear();
             syncSpeedFromSlider();
         });
 
-        // Speed control
-        Label speedLabel = new Label("Tốc độ:");
+        // Speed control: tick/s mục tiêu theo thang log, nấc cuối = không giới hạn (turbo)
+        speedLabel = new Label();
         speedLabel.setTextFill(Color.WHITE);
+        speedLabel.setMinWidth(150);
 
-        speedSlider = new Slider(200, 1000, 450);
+        speedSlider = new Slider(0, SPEED_SLIDER_MAX, 1);
         speedSlider.setShowTickLabels(true);
         speedSlider.setShowTickMarks(true);
+        speedSlider.setMajorTickUnit(1);
+        speedSlider.setMinorTickCount(0);
         speedSlider.setPrefWidth(150);
-        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
-            // Inverse: slider cao = tick interval thấp = nhanh hơn
-            int tickMs = (int) (550 - newVal.doubleValue());
-            engine.setTickIntervalMs(tickMs);
+        speedSlider.setLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Double value) {
+                if (value >= SPEED_SLIDER_MAX) {
+                    return "max";
+                }
+                double tps = Math.pow(10, value);
+                return tps >= 1000 ? String.format("%.0fk", tps / 1000) : String.format("%.0f", tps);
+            }
+
+            @Override
+            public Double fromString(String text) {
+                return 0.0;
+            }
+        });
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> syncSpeedFromSlider());
+        syncSpeedFromSlider();
+
+        // Thanh lịch sử (chỉ bật khi simulation không chạy)
+        Label historyLabel = new Label("Lịch sử:");
+        historyLabel.setTextFill(Color.WHITE);
+
+        historySlider = new Slider(0, 0, 0);
+        historySlider.setPrefWidth(200);
+        historySlider.setDisable(true);
+        historySlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (updatingHistorySlider || historySlider.isDisabled()) {
+                return;
+            }
+            if (replayMode) {
+                showReplay(newVal.intValue());
+            } else if (engine.rewindTo(newVal.intValue())) {
+                refreshAfterRewind();
+            }
         });
 
-        controls.getChildren().addAll(playPauseButton, stepButton, resetButton,
-                speedLabel, speedSlider);
+        controls.getChildren().addAll(playPauseButton, stepBackButton, stepButton, fastForwardButton, resetButton,
+                ensembleButton, profilerButton, speedLabel, speedSlider, historyLabel, historySlider);
 
         return controls;
     }
@@ -306,16 +460,43 @@ public class MainApp extends Application implements SimulationListener {
     // === Actions ===
 
     private void startSimulation(String scenario) {
+        leaveReplay();
+        cancelEnsemble();
         EcosystemConfig config = ConfigLoader.loadScenario(scenario);
         engine.initialize(config);
+        startMetricsServer(config);
 
         gridView.setEcosystem(engine.getEcosystem());
+        chartView.showLive();
         chartView.clear();
+        profilerButton.setSelected(engine.isProfilingEnabled());
+        profilerOverlay.setVisible(engine.isProfilingEnabled());
+        refreshProfilerOverlay(true);
 
         primaryStage.setScene(simulationScene);
     }
 
+    /**
+     * Mở endpoint metrics lần đầu khi cấu hình bật (giữ nguyên khi đổi scenario).
+     */
+    private void startMetricsServer(EcosystemConfig config) {
+        if (metricsServer != null || !config.isMetricsEnabled()) {
+            return;
+        }
+        try {
+            metricsServer = new MetricsServer(config.getMetricsHost(), config.getMetricsPort());
+            metricsServer.register("main", engine);
+            metricsServer.start();
+            System.out.println("Metrics: http://" + config.getMetricsHost() + ":" + metricsServer.getPort() + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Không mở được endpoint metrics: " + e.getMessage());
+            metricsServer = null;
+        }
+    }
+
     private void togglePlayPause() {
+        leaveReplay();
+        chartView.showLive();
         SimulationState state = engine.getState();
 
         if (state == SimulationState.RUNNING) {
@@ -341,16 +522,276 @@ public class MainApp extends Application implements SimulationListener {
      * Gọi sau khi initialize/reset để đảm bảo speed không bị reset.
      */
     private void syncSpeedFromSlider() {
-        int tickMs = (int) (550 - speedSlider.getValue());
-        engine.setTickIntervalMs(tickMs);
+        double value = speedSlider.getValue();
+        engine.setTargetTicksPerSecond(value >= SPEED_SLIDER_MAX
+                ? SimulationEngine.UNLIMITED_TICKS_PER_SECOND
+                : Math.pow(10, value));
+        updateSpeedLabel();
+    }
+
+    /**
+     * Hiển thị tốc độ mục tiêu, kèm tốc độ thực tế khi đang chạy.
+     */
+    private void updateSpeedLabel() {
+        double target = engine.getTargetTicksPerSecond();
+        String text = Double.isInfinite(target)
+                ? "Tốc độ: tối đa"
+                : String.format("Tốc độ: %.0f tick/s", target);
+        if (engine.getState() == SimulationState.RUNNING) {
+            text += String.format(" (%.0f)", engine.getMetrics().getTicksPerSecond());
+        }
+        if (engine.isDegraded()) {
+            text += " | ⚠ Giảm tải";
+        }
+        speedLabel.setText(text);
     }
 
     private void backToMenu() {
+        leaveReplay();
+        cancelEnsemble();
         engine.stop();
+        chartView.showLive();
         chartView.clear();
         primaryStage.setScene(mainMenuScene);
     }
 
+    /**
+     * Chạy ensemble nhiều seed của scenario hiện tại ở background rồi hiển thị
+     * dải tin cậy trên chart. Bấm lần nữa khi đang chạy để hủy.
+     */
+    private void toggleEnsemble() {
+        if (ensembleRunner != null) {
+            cancelEnsemble();
+            return;
+        }
+        EcosystemConfig config = engine.getConfig();
+        if (config == null) {
+            return;
+        }
+        if (engine.getState() == SimulationState.RUNNING) {
+            engine.pause();
+        }
+
+        EnsembleRunner runner = new EnsembleRunner(config);
+        ensembleRunner = runner;
+        ensembleButton.setText("⏹ Hủy ensemble");
+        statsLabel.setText(String.format("Ensemble: 0/%d lần chạy", runner.getSize()));
+
+        Thread thread = new Thread(() -> {
+            try {
+                EnsembleBands bands = runner.run(done -> Platform.runLater(() -> {
+                    if (ensembleRunner == runner) {
+                        statsLabel.setText(String.format("Ensemble: %d/%d lần chạy", done, runner.getSize()));
+                    }
+                }));
+                Platform.runLater(() -> {
+                    if (ensembleRunner == runner) {
+                        ensembleRunner = null;
+                        ensembleButton.setText("📊 Ensemble");
+                        chartView.showBands(bands);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.err.println("Lỗi khi chạy ensemble: " + e.getMessage());
+                Platform.runLater(() -> {
+                    if (ensembleRunner == runner) {
+                        ensembleRunner = null;
+                        ensembleButton.setText("📊 Ensemble");
+                    }
+                });
+            }
+        }, "ensemble");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Hỏi thế hệ đích rồi tua nhanh ở background (không vẽ từng tick, chỉ
+     * hiện tiến độ). Bấm lần nữa khi đang tua để hủy.
+     */
+    private void toggleFastForward() {
+        if (engine.isFastForwarding()) {
+            engine.cancelFastForward();
+            return;
+        }
+        Ecosystem ecosystem = engine.getEcosystem();
+        if (ecosystem == null || engine.getState() == SimulationState.FINISHED) {
+            return;
+        }
+
+        int start = ecosystem.getGeneration();
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(start + DEFAULT_FAST_FORWARD_GENERATIONS));
+        dialog.setTitle("Tua nhanh");
+        dialog.setHeaderText("Chạy nhanh tới thế hệ (hiện tại: " + start + ")");
+        dialog.setContentText("Thế hệ đích:");
+        int target;
+        try {
+            target = Integer.parseInt(dialog.showAndWait().orElse("").trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (target <= start) {
+            return;
+        }
+
+        leaveReplay();
+        chartView.showLive();
+        fastForwardButton.setText("⏹ Hủy tua");
+        fastForwardProgress.setProgress(0);
+        fastForwardProgress.setVisible(true);
+        statsLabel.setText(String.format("Tua nhanh: %d/%d", start, target));
+
+        Thread thread = new Thread(() -> {
+            try {
+                engine.fastForward(target, generation -> Platform.runLater(() -> {
+                    fastForwardProgress.setProgress((double) (generation - start) / (target - start));
+                    statsLabel.setText(String.format("Tua nhanh: %d/%d", generation, target));
+                }));
+            } catch (IllegalStateException e) {
+                System.err.println("Không thể tua nhanh: " + e.getMessage());
+            }
+            Platform.runLater(() -> {
+                fastForwardButton.setText("⏩ Tua nhanh");
+                fastForwardProgress.setVisible(false);
+                EcosystemStats last = engine.getMetrics().getLastStats();
+                if (last != null) {
+                    statsLabel.setText(formatStats("Thế hệ", last));
+                }
+                if (engine.getState() != SimulationState.RUNNING) {
+                    enableHistory();
+                }
+            });
+        }, "fast-forward");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void cancelEnsemble() {
+        if (ensembleRunner != null) {
+            ensembleRunner.cancel();
+            ensembleRunner = null;
+            ensembleButton.setText("📊 Ensemble");
+        }
+    }
+
+    /**
+     * Bật thanh lịch sử khi simulation dừng: replay nếu có event log,
+     * ngược lại tua trong khoảng của bộ đệm rewind.
+     */
+    private void enableHistory() {
+        Ecosystem ecosystem = engine.getEcosystem();
+        if (ecosystem == null) {
+            return;
+        }
+
+        Path logFile = engine.flushEventLog();
+        RewindBuffer rewindBuffer = engine.getRewindBuffer();
+        int current = ecosystem.getGeneration();
+        int min;
+        int max;
+        if (logFile != null) {
+            // Log đã dài thêm -> mở lại khi cần
+            replayEngine = null;
+            replayMode = true;
+            min = 0;
+            max = current;
+        } else if (rewindBuffer != null) {
+            replayMode = false;
+            min = rewindBuffer.getOldestGeneration(current);
+            max = rewindBuffer.getNewestGeneration(current);
+        } else {
+            return;
+        }
+
+        updatingHistorySlider = true;
+        historySlider.setMin(min);
+        historySlider.setMax(max);
+        historySlider.setValue(current);
+        historySlider.setDisable(max <= min);
+        updatingHistorySlider = false;
+    }
+
+    /**
+     * Cập nhật grid, chart và stats sau khi lùi/tiến trong bộ đệm rewind.
+     */
+    private void refreshAfterRewind() {
+        gridView.render();
+        chartView.updateFromHistory(engine.getStatsHistory());
+        EcosystemStats stats = engine.getEcosystem().getStatistics(true);
+        statsLabel.setText(formatStats("Thế hệ", stats));
+        distributionView.update(stats);
+    }
+
+    /**
+     * Hiển thị trạng thái tại thế hệ chỉ định từ event log.
+     * 
+     * @param generation Thế hệ cần xem
+     */
+    private void showReplay(int generation) {
+        try {
+            if (replayEngine == null) {
+                replayEngine = new ReplayEngine(engine.flushEventLog(), engine.getConfig());
+            }
+            Ecosystem replayed = replayEngine.seek(generation);
+            if (gridView.getEcosystem() != replayed) {
+                gridView.setEcosystem(replayed);
+            } else {
+                gridView.render();
+            }
+            EcosystemStats stats = replayed.getStatistics(true);
+            statsLabel.setText(formatStats("Replay", stats));
+            distributionView.update(stats);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Không thể replay: " + e.getMessage());
+            leaveReplay();
+        }
+    }
+
+    /**
+     * Thoát chế độ replay, quay lại hiển thị ecosystem đang chạy.
+     */
+    private void leaveReplay() {
+        historySlider.setDisable(true);
+        if (replayEngine != null) {
+            replayEngine = null;
+            gridView.setEcosystem(engine.getEcosystem());
+        }
+    }
+
+    /**
+     * Cập nhật overlay profiler (giới hạn vài lần mỗi giây để không tốn thời gian UI).
+     * 
+     * @param force true để cập nhật ngay
+     */
+    private void refreshProfilerOverlay(boolean force) {
+        if (!profilerOverlay.isVisible()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (force || now - lastOverlayUpdateNanos >= OVERLAY_REFRESH_NANOS) {
+            lastOverlayUpdateNanos = now;
+            SimulationMetrics metrics = engine.getMetrics();
+            profilerOverlay.setText(engine.getProfiler().formatSummary()
+                    + String.format("Cấp phát: %.1f KB/tick | GC: %.1f%%%nTrễ nhịp: TB %.2f ms | max %.2f ms | bỏ %d tick",
+                            metrics.getAllocatedBytesPerTick() / 1024, metrics.getGcTimeFraction() * 100,
+                            metrics.getAverageLatenessNanos() / 1e6, metrics.getMaxLatenessNanos() / 1e6,
+                            metrics.getSkippedTicks()));
+        }
+    }
+
+    private String formatStats(String prefix, EcosystemStats stats) {
+        return String.format(
+                "%s: %d | 🌿 %d | 🐰 %d | 🦁 %d | Tổng năng lượng: %.0f",
+                prefix,
+                stats.getGeneration(),
+                stats.getProducerCount(),
+                stats.getHerbivoreCount(),
+                stats.getCarnivoreCount(),
+                stats.getTotalEnergy());
+    }
+
     private void showHelpDialog() {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Hướng dẫn");
@@ -369,8 +810,13 @@ public class MainApp extends Application implements SimulationListener {
                         "🎮 ĐIỀU KHIỂN:\n" +
                         "• Bắt đầu/Tạm dừng: Điều khiển simulation\n" +
                         "• Bước: Chạy từng bước một\n" +
+                        "• Tua nhanh: Chạy nhanh tới thế hệ đích (bấm lần nữa để hủy)\n" +
                         "• Reset: Khởi động lại\n" +
-                        "• Thanh tốc độ: Điều chỉnh nhanh/chậm");
+                        "• Thanh tốc độ: Số tick mỗi giây (thang log), nấc max chạy nhanh nhất có thể\n" +
+                        "• Lùi: Quay lại thế hệ trước khi đang tạm dừng\n" +
+                        "• Lịch sử: Kéo để tua lại/tới các thế hệ đã chạy\n" +
+                        "• Ensemble: Chạy nhiều seed của kịch bản, vẽ mean và dải P5–P95\n" +
+                        "• Profiler: Hiện thời gian và cấp phát từng pha của tick (p50/p99/max, KB/tick)");
         alert.showAndWait();
     }
 
@@ -392,22 +838,49 @@ public class MainApp extends Application implements SimulationListener {
 
     @Override
     public void onUpdate(EcosystemStats stats) {
-        Platform.runLater(() -> {
-            // Cập nhật stats label
-            statsLabel.setText(String.format(
-                    "Thế hệ: %d | 🌿 %d | 🐰 %d | 🦁 %d | Tổng năng lượng: %.0f",
-                    stats.getGeneration(),
-                    stats.getProducerCount(),
-                    stats.getHerbivoreCount(),
-                    stats.getCarnivoreCount(),
-                    stats.getTotalEnergy()));
+        // Không vẽ theo từng tick: renderTimer lấy ảnh chụp mới nhất mỗi frame
+    }
 
-            // Cập nhật grid
-            gridView.render();
+    /**
+     * Vẽ một frame từ ảnh chụp mới nhất (gọi bởi AnimationTimer trên FX thread).
+     * Simulation chạy bao nhiêu tick giữa hai frame thì grid và stats vẫn chỉ
+     * cập nhật một lần; chart nhận đủ các thế hệ đã chạy.
+     */
+    private void renderFrame() {
+        RenderSnapshot snapshot = engine.pollRenderSnapshot();
+        if (snapshot == null || replayEngine != null || primaryStage.getScene() != simulationScene) {
+            return;
+        }
+        statsLabel.setText(formatStats("Thế hệ", snapshot.getStats()));
+        gridView.render(snapshot);
+        chartView.append(snapshot.getNewStats());
+        distributionView.update(snapshot.getStats());
+        updateSpeedLabel();
+        updateOscillationLabel();
+        refreshProfilerOverlay(false);
+    }
 
-            // Cập nhật chart
-            chartView.update(stats);
-        });
+    /**
+     * Hiển thị kết quả phân tích dao động mới nhất của engine.
+     */
+    private void updateOscillationLabel() {
+        oscillationLabel.setVisible(engine.getConfig().isOscillationEnabled());
+        OscillationSummary o = engine.getMetrics().getOscillation();
+        if (o == null) {
+            oscillationLabel.setText("Dao động: chưa đủ dữ liệu");
+            return;
+        }
+        String lag = Double.isNaN(o.getPhaseLag())
+                ? "-"
+                : String.format("%.0f thế hệ", o.getPhaseLag());
+        oscillationLabel.setText(String.format(
+                "Dao động (%d thế hệ gần nhất):%n"
+                        + "Chu kỳ: %.0f thế hệ | 🦁 trễ pha: %s%n"
+                        + "Biên độ: 🐰 ±%.0f, 🦁 ±%.0f%n"
+                        + "Tập trung phổ: 🐰 %.0f%%, 🦁 %.0f%%",
+                o.getWindow(), o.getPeriod(), lag,
+                o.getHerbivoreAmplitude(), o.getCarnivoreAmplitude(),
+                o.getHerbivoreConcentration() * 100, o.getCarnivoreConcentration() * 100));
     }
 
     @Override
@@ -423,6 +896,7 @@ public class MainApp extends Application implements SimulationListener {
                 case PAUSED -> {
                     stateLabel.setTextFill(Color.YELLOW);
                     playPauseButton.setText("▶ Tiếp tục");
+                    enableHistory();
                 }
                 case STOPPED -> {
                     stateLabel.setTextFill(Color.ORANGE);
@@ -431,6 +905,7 @@ public class MainApp extends Application implements SimulationListener {
                 case FINISHED -> {
                     stateLabel.setTextFill(Color.RED);
                     playPauseButton.setText("🔄 Chạy lại");
+                    enableHistory();
                 }
             }
         });
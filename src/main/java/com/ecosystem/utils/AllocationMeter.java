@@ -0,0 +1,87 @@
+package com.ecosystem.utils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Đọc số byte đã cấp phát theo thread (com.sun.management.ThreadMXBean của
+ * HotSpot) và tổng số lần / thời gian GC (GarbageCollectorMXBean).
+ *
+ * Số byte cấp phát là bộ đếm tăng dần của từng thread, đo một đoạn code bằng
+ * hiệu hai lần đọc trên cùng thread. Trên JVM không hỗ trợ, mọi lần đọc trả
+ * về 0 (hiệu luôn bằng 0) và isSupported() trả về false.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean BEAN = createBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private AllocationMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean createBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            return sunBean;
+        }
+        return null;
+    }
+
+    /**
+     * JVM có đo cấp phát theo thread.
+     *
+     * @return true nếu hỗ trợ
+     */
+    public static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    /**
+     * Tổng số byte thread hiện tại đã cấp phát.
+     *
+     * @return Số byte, 0 nếu không hỗ trợ
+     */
+    public static long currentThreadAllocatedBytes() {
+        return BEAN != null ? BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Tổng số byte một thread đã cấp phát.
+     *
+     * @param threadId Id của thread
+     * @return Số byte, 0 nếu không hỗ trợ
+     */
+    public static long threadAllocatedBytes(long threadId) {
+        return BEAN != null ? Math.max(0, BEAN.getThreadAllocatedBytes(threadId)) : 0;
+    }
+
+    /**
+     * Tổng số lần GC của mọi collector kể từ khi JVM khởi động.
+     *
+     * @return Số lần GC
+     */
+    public static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * Tổng thời gian GC của mọi collector kể từ khi JVM khởi động.
+     *
+     * @return Thời gian (ms)
+     */
+    public static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
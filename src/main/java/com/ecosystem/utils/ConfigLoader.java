@@ -1,9 +1,19 @@
 package com.ecosystem.utils;
 
+import com.ecosystem.batch.OptimizerSpec;
+import com.ecosystem.batch.HostingSpec;
+import com.ecosystem.batch.ScalingSpec;
+import com.ecosystem.batch.SweepParameter;
+import com.ecosystem.batch.SweepSpec;
 import com.ecosystem.model.EcosystemConfig;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,6 +23,10 @@ import java.util.Map;
 public class ConfigLoader {
 
     private static final String DEFAULT_CONFIG_PATH = "/config/ecosystem.yaml";
+    private static final String DEFAULT_HOSTING_PATH = "/config/hosting.yaml";
+    private static final String DEFAULT_OPTIMIZE_PATH = "/config/optimize.yaml";
+    private static final String DEFAULT_SCALING_PATH = "/config/scaling.yaml";
+    private static final String DEFAULT_SWEEP_PATH = "/config/sweep.yaml";
 
     /**
      * Load cấu hình từ file YAML mặc định.
@@ -119,6 +133,107 @@ public class ConfigLoader {
             builder.simulation(
                     getInt(simulation, "tick_interval_ms", 200),
                     getInt(simulation, "max_generations", 10000));
+            builder.seed(getLong(simulation, "seed", 0));
+            builder.profiling(getBoolean(simulation, "profiling", false));
+            builder.allocationBudget(getDouble(simulation, "allocation_budget_kb_per_tick", 0));
+
+            Map<String, Object> autosave = (Map<String, Object>) simulation.get("autosave");
+            if (autosave != null) {
+                builder.autosave(
+                        getInt(autosave, "every_generations", 0),
+                        getInt(autosave, "interval_seconds", 0),
+                        getString(autosave, "directory", "autosave"));
+                builder.autosaveRetention(
+                        getInt(autosave, "keep_files", 3),
+                        getDouble(autosave, "stall_budget_ms", 2.0));
+            }
+
+            Map<String, Object> eventLog = (Map<String, Object>) simulation.get("event_log");
+            if (eventLog != null) {
+                builder.eventLog(
+                        getBoolean(eventLog, "enabled", false),
+                        getString(eventLog, "file", "replay/run.eclog"),
+                        getInt(eventLog, "keyframe_interval", 100));
+            }
+
+            Map<String, Object> rewind = (Map<String, Object>) simulation.get("rewind");
+            if (rewind != null) {
+                builder.rewind(
+                        getInt(rewind, "max_generations", 200),
+                        getInt(rewind, "max_memory_mb", 64));
+            }
+
+            Map<String, Object> ensemble = (Map<String, Object>) simulation.get("ensemble");
+            if (ensemble != null) {
+                builder.ensemble(
+                        getInt(ensemble, "size", 100),
+                        getInt(ensemble, "generations", 500),
+                        getInt(ensemble, "parallelism", 0));
+            }
+
+            Map<String, Object> metrics = (Map<String, Object>) simulation.get("metrics");
+            if (metrics != null) {
+                builder.metrics(
+                        getBoolean(metrics, "enabled", false),
+                        getString(metrics, "host", "127.0.0.1"),
+                        getInt(metrics, "port", 9464));
+            }
+
+            Map<String, Object> pacing = (Map<String, Object>) simulation.get("pacing");
+            if (pacing != null) {
+                builder.pacing(
+                        getString(pacing, "late_policy", "catch_up"),
+                        getInt(pacing, "max_catch_up_ms", 250));
+            }
+
+            Map<String, Object> earlyStop = (Map<String, Object>) simulation.get("early_stop");
+            if (earlyStop != null) {
+                builder.earlyStop(
+                        getBoolean(earlyStop, "enabled", false),
+                        getInt(earlyStop, "window", 250),
+                        getInt(earlyStop, "check_interval", 50),
+                        getDouble(earlyStop, "equilibrium_cv", 0.01),
+                        getDouble(earlyStop, "cycle_autocorrelation", 0.9));
+            }
+
+            Map<String, Object> oscillation = (Map<String, Object>) simulation.get("oscillation");
+            if (oscillation != null) {
+                builder.oscillation(
+                        getBoolean(oscillation, "enabled", true),
+                        getInt(oscillation, "window", 512),
+                        getInt(oscillation, "update_interval", 10));
+            }
+
+            Map<String, Object> distribution = (Map<String, Object>) simulation.get("distribution");
+            if (distribution != null) {
+                builder.distribution(
+                        getBoolean(distribution, "enabled", true),
+                        getInt(distribution, "bins", 20),
+                        getInt(distribution, "age_bin_width", 10));
+            }
+
+            Map<String, Object> pipeline = (Map<String, Object>) simulation.get("pipeline");
+            if (pipeline != null) {
+                builder.pipeline(
+                        getBoolean(pipeline, "enabled", true),
+                        getInt(pipeline, "depth", 4));
+            }
+
+            Map<String, Object> degradation = (Map<String, Object>) simulation.get("degradation");
+            if (degradation != null) {
+                builder.degradation(
+                        getBoolean(degradation, "enabled", true),
+                        getInt(degradation, "tick_budget_ms", 0),
+                        getInt(degradation, "recover_ticks", 30),
+                        getInt(degradation, "notify_interval", 10));
+            }
+
+            Map<String, Object> listeners = (Map<String, Object>) simulation.get("listeners");
+            if (listeners != null) {
+                builder.listenerQueue(
+                        getString(listeners, "overflow_policy", "conflate"),
+                        getInt(listeners, "queue_capacity", 64));
+            }
         }
 
         return builder.build();
@@ -162,6 +277,355 @@ public class ConfigLoader {
         }
     }
 
+    /**
+     * Load scenario và phóng to theo hệ số diện tích: cạnh grid nhân với
+     * căn bậc hai của hệ số, số lượng ban đầu nhân với hệ số, nên mật độ
+     * sinh vật giữ nguyên (dùng cho benchmark và đo khả năng mở rộng).
+     * 
+     * @param scenarioName Tên scenario
+     * @param scale        Hệ số diện tích (1 = kích thước gốc)
+     * @return EcosystemConfig đã phóng to
+     */
+    public static EcosystemConfig loadScenario(String scenarioName, double scale) {
+        EcosystemConfig config = loadScenario(scenarioName);
+        if (scale == 1) {
+            return config;
+        }
+        if (scale <= 0) {
+            throw new IllegalArgumentException("Hệ số phóng to phải > 0: " + scale);
+        }
+        double side = Math.sqrt(scale);
+        return EcosystemConfig.builder(config)
+                .gridSize(Math.max(1, (int) Math.round(config.getGridWidth() * side)),
+                        Math.max(1, (int) Math.round(config.getGridHeight() * side)))
+                .initialPopulation(
+                        (int) Math.round(config.getInitialProducers() * scale),
+                        (int) Math.round(config.getInitialHerbivores() * scale),
+                        (int) Math.round(config.getInitialCarnivores() * scale))
+                .build();
+    }
+
+    /**
+     * Load mô tả parameter sweep mặc định trong resources.
+     * 
+     * @return SweepSpec, hoặc null nếu không đọc được
+     */
+    public static SweepSpec loadSweepSpec() {
+        try (InputStream inputStream = ConfigLoader.class.getResourceAsStream(DEFAULT_SWEEP_PATH)) {
+            if (inputStream == null) {
+                System.err.println("Không tìm thấy file sweep: " + DEFAULT_SWEEP_PATH);
+                return null;
+            }
+            return parseSweepSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load sweep: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Load mô tả parameter sweep từ file trên đĩa.
+     * 
+     * @param file File YAML
+     * @return SweepSpec, hoặc null nếu không đọc được
+     */
+    public static SweepSpec loadSweepSpec(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return parseSweepSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load sweep " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse khối "sweep" của file YAML.
+     * Dải giá trị của tham số có thể là một số, danh sách, hoặc
+     * {from, to, step} (bao gồm cả hai đầu).
+     */
+    @SuppressWarnings("unchecked")
+    private static SweepSpec parseSweepSpec(Map<String, Object> data) {
+        Map<String, Object> sweep = (Map<String, Object>) data.get("sweep");
+        if (sweep == null) {
+            throw new IllegalArgumentException("Thiếu khối 'sweep'");
+        }
+
+        List<String> scenarios = new ArrayList<>();
+        Object scenarioValue = sweep.get("scenarios");
+        if (scenarioValue instanceof List<?> list) {
+            for (Object item : list) {
+                scenarios.add(item.toString());
+            }
+        } else if (scenarioValue != null) {
+            scenarios.add(scenarioValue.toString());
+        } else {
+            scenarios.add("balanced");
+        }
+
+        // seeds: số lượng (1..N) hoặc danh sách seed cụ thể
+        long[] seeds;
+        Object seedValue = sweep.get("seeds");
+        if (seedValue instanceof List<?> list) {
+            seeds = new long[list.size()];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = ((Number) list.get(i)).longValue();
+            }
+        } else {
+            int count = seedValue instanceof Number n ? n.intValue() : 1;
+            seeds = new long[count];
+            for (int i = 0; i < count; i++) {
+                seeds[i] = i + 1;
+            }
+        }
+
+        Map<SweepParameter, double[]> parameters = new LinkedHashMap<>();
+        Map<String, Object> parameterData = (Map<String, Object>) sweep.get("parameters");
+        if (parameterData != null) {
+            for (Map.Entry<String, Object> entry : parameterData.entrySet()) {
+                parameters.put(SweepParameter.fromKey(entry.getKey()), parseRange(entry.getValue()));
+            }
+        }
+
+        return new SweepSpec(scenarios, seeds, parameters,
+                getInt(sweep, "generations", 1000),
+                getInt(sweep, "burn_in_generations", 100),
+                getInt(sweep, "parallelism", 0),
+                getString(sweep, "output", null));
+    }
+
+    /**
+     * Load mô tả tối ưu tham số mặc định trong resources.
+     * 
+     * @return OptimizerSpec, hoặc null nếu không đọc được
+     */
+    public static OptimizerSpec loadOptimizerSpec() {
+        try (InputStream inputStream = ConfigLoader.class.getResourceAsStream(DEFAULT_OPTIMIZE_PATH)) {
+            if (inputStream == null) {
+                System.err.println("Không tìm thấy file tối ưu: " + DEFAULT_OPTIMIZE_PATH);
+                return null;
+            }
+            return parseOptimizerSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình tối ưu: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Load mô tả tối ưu tham số từ file trên đĩa.
+     * 
+     * @param file File YAML
+     * @return OptimizerSpec, hoặc null nếu không đọc được
+     */
+    public static OptimizerSpec loadOptimizerSpec(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return parseOptimizerSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình tối ưu " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse khối "optimize" của file YAML.
+     * Khoảng tìm kiếm của tham số là {min, max}.
+     */
+    @SuppressWarnings("unchecked")
+    private static OptimizerSpec parseOptimizerSpec(Map<String, Object> data) {
+        Map<String, Object> optimize = (Map<String, Object>) data.get("optimize");
+        if (optimize == null) {
+            throw new IllegalArgumentException("Thiếu khối 'optimize'");
+        }
+
+        Map<SweepParameter, double[]> bounds = new LinkedHashMap<>();
+        Map<String, Object> parameterData = (Map<String, Object>) optimize.get("parameters");
+        if (parameterData != null) {
+            for (Map.Entry<String, Object> entry : parameterData.entrySet()) {
+                if (!(entry.getValue() instanceof Map<?, ?>)) {
+                    throw new IllegalArgumentException("Khoảng không hợp lệ cho " + entry.getKey()
+                            + " (cần {min, max})");
+                }
+                Map<String, Object> range = (Map<String, Object>) entry.getValue();
+                bounds.put(SweepParameter.fromKey(entry.getKey()), new double[] {
+                        getDouble(range, "min", 0), getDouble(range, "max", 0) });
+            }
+        }
+
+        int populationSize = getInt(optimize, "population_size", 16);
+        return new OptimizerSpec(
+                getString(optimize, "scenario", "balanced"),
+                bounds,
+                populationSize,
+                getInt(optimize, "elite_size", Math.max(1, populationSize / 4)),
+                getInt(optimize, "iterations", 10),
+                getInt(optimize, "seeds", 3),
+                getInt(optimize, "generations", 500),
+                getBoolean(optimize, "early_termination", true),
+                getLong(optimize, "seed", 1),
+                getInt(optimize, "parallelism", 0),
+                getString(optimize, "output", null));
+    }
+
+    /**
+     * Load mô tả đo khả năng mở rộng mặc định trong resources.
+     * 
+     * @return ScalingSpec, hoặc null nếu không đọc được
+     */
+    public static ScalingSpec loadScalingSpec() {
+        try (InputStream inputStream = ConfigLoader.class.getResourceAsStream(DEFAULT_SCALING_PATH)) {
+            if (inputStream == null) {
+                System.err.println("Không tìm thấy file đo mở rộng: " + DEFAULT_SCALING_PATH);
+                return null;
+            }
+            return parseScalingSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình đo mở rộng: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Load mô tả đo khả năng mở rộng từ file trên đĩa.
+     * 
+     * @param file File YAML
+     * @return ScalingSpec, hoặc null nếu không đọc được
+     */
+    public static ScalingSpec loadScalingSpec(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return parseScalingSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình đo mở rộng " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse khối "scaling" của file YAML.
+     * scales, densities và threads nhận cùng dạng dải giá trị như sweep.
+     */
+    @SuppressWarnings("unchecked")
+    private static ScalingSpec parseScalingSpec(Map<String, Object> data) {
+        Map<String, Object> scaling = (Map<String, Object>) data.get("scaling");
+        if (scaling == null) {
+            throw new IllegalArgumentException("Thiếu khối 'scaling'");
+        }
+
+        double[] threadValues = parseRange(scaling.getOrDefault("threads", 1));
+        int[] threads = new int[threadValues.length];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = Math.max(1, (int) threadValues[i]);
+        }
+
+        return new ScalingSpec(
+                getString(scaling, "scenario", "balanced"),
+                parseRange(scaling.getOrDefault("scales", 1)),
+                parseRange(scaling.getOrDefault("densities", 1)),
+                threads,
+                getInt(scaling, "ticks", 200),
+                getInt(scaling, "warmup_ticks", 20),
+                getLong(scaling, "seed", 1),
+                getString(scaling, "output", null));
+    }
+
+    /**
+     * Load mô tả chạy nhiều simulation trên scheduler dùng chung trong resources.
+     * 
+     * @return HostingSpec, hoặc null nếu không đọc được
+     */
+    public static HostingSpec loadHostingSpec() {
+        try (InputStream inputStream = ConfigLoader.class.getResourceAsStream(DEFAULT_HOSTING_PATH)) {
+            if (inputStream == null) {
+                System.err.println("Không tìm thấy file cấu hình hosting: " + DEFAULT_HOSTING_PATH);
+                return null;
+            }
+            return parseHostingSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình hosting: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Load mô tả chạy nhiều simulation từ file trên đĩa.
+     * 
+     * @param file File YAML
+     * @return HostingSpec, hoặc null nếu không đọc được
+     */
+    public static HostingSpec loadHostingSpec(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return parseHostingSpec(new Yaml().load(inputStream));
+        } catch (Exception e) {
+            System.err.println("Lỗi khi load cấu hình hosting " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse khối "hosting" của file YAML.
+     * priorities nhận cùng dạng dải giá trị như sweep.
+     */
+    @SuppressWarnings("unchecked")
+    private static HostingSpec parseHostingSpec(Map<String, Object> data) {
+        Map<String, Object> hosting = (Map<String, Object>) data.get("hosting");
+        if (hosting == null) {
+            throw new IllegalArgumentException("Thiếu khối 'hosting'");
+        }
+
+        double[] priorityValues = parseRange(hosting.getOrDefault("priorities", 5));
+        int[] priorities = new int[priorityValues.length];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = (int) priorityValues[i];
+        }
+
+        int workers = getInt(hosting, "workers", 0);
+        double tps = getDouble(hosting, "target_ticks_per_second", 0);
+
+        Map<String, Object> metrics = (Map<String, Object>) hosting.get("metrics");
+        boolean metricsEnabled = metrics != null && getBoolean(metrics, "enabled", false);
+
+        return new HostingSpec(
+                getString(hosting, "scenario", "balanced"),
+                getInt(hosting, "engines", 1),
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors(),
+                tps > 0 ? tps : Double.POSITIVE_INFINITY,
+                priorities,
+                getInt(hosting, "duration_seconds", 0),
+                getInt(hosting, "report_interval_seconds", 5),
+                getLong(hosting, "seed", 1),
+                metrics != null ? getString(metrics, "host", "127.0.0.1") : "127.0.0.1",
+                metricsEnabled ? getInt(metrics, "port", 9464) : -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double[] parseRange(Object value) {
+        if (value instanceof Number n) {
+            return new double[] { n.doubleValue() };
+        }
+        if (value instanceof List<?> list) {
+            double[] values = new double[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ((Number) list.get(i)).doubleValue();
+            }
+            return values;
+        }
+        if (value instanceof Map<?, ?>) {
+            Map<String, Object> range = (Map<String, Object>) value;
+            double from = getDouble(range, "from", 0);
+            double to = getDouble(range, "to", from);
+            double step = getDouble(range, "step", 1);
+            if (step <= 0 || to < from) {
+                throw new IllegalArgumentException("Dải giá trị không hợp lệ: " + value);
+            }
+            int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = from + i * step;
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Dải giá trị không hợp lệ: " + value);
+    }
+
     // === Helper methods ===
 
     private static int getInt(Map<String, Object> map, String key, int defaultValue) {
@@ -172,6 +636,14 @@ public class ConfigLoader {
         return defaultValue;
     }
 
+    private static long getLong(Map<String, Object> map, String key, long defaultValue) {
+        Object value = map.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return defaultValue;
+    }
+
     private static double getDouble(Map<String, Object> map, String key, double defaultValue) {
         Object value = map.get(key);
         if (value instanceof Number) {
@@ -179,4 +651,20 @@ public class ConfigLoader {
         }
         return defaultValue;
     }
+
+    private static boolean getBoolean(Map<String, Object> map, String key, boolean defaultValue) {
+        Object value = map.get(key);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return defaultValue;
+    }
+
+    private static String getString(Map<String, Object> map, String key, String defaultValue) {
+        Object value = map.get(key);
+        if (value != null) {
+            return value.toString();
+        }
+        return defaultValue;
+    }
 }
@@ -0,0 +1,109 @@
+package com.ecosystem.utils;
+
+import java.util.Arrays;
+
+/**
+ * Histogram độ trễ (nanosecond) chi phí thấp, bộ nhớ cố định.
+ *
+ * Bucket dạng log-linear: giá trị dưới 16 ns có bucket riêng, còn lại mỗi
+ * lũy thừa của 2 chia thành 8 bucket, nên sai số của percentile tối đa
+ * khoảng 12.5%. Ghi chỉ là vài phép dịch bit và tăng một phần tử mảng.
+ *
+ * Chỉ một thread ghi (simulation thread); thread khác đọc được và có thể
+ * thấy số liệu trễ một vài mẫu.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 16;
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - 4) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long sum;
+    private volatile long max;
+    private volatile long count;
+
+    /**
+     * Ghi một mẫu.
+     *
+     * @param nanos Độ trễ (ns), giá trị âm được coi là 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+        // Ghi count sau cùng để thread đọc thấy counts đã cập nhật
+        count = count + 1;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Giá trị lớn nhất thuộc bucket.
+     */
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + 4;
+        int sub = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Percentile ước lượng (cận trên của bucket chứa percentile, không vượt max).
+     *
+     * @param percentile Percentile 0..100
+     * @return Độ trễ (ns), 0 nếu chưa có mẫu
+     */
+    public long getPercentile(double percentile) {
+        long total = count;
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        long total = count;
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Xóa toàn bộ mẫu (gọi từ thread ghi hoặc khi thread ghi đang dừng).
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        sum = 0;
+        max = 0;
+        count = 0;
+    }
+}
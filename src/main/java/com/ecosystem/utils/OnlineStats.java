@@ -0,0 +1,86 @@
+package com.ecosystem.utils;
+
+/**
+ * Thống kê trực tuyến của một chuỗi giá trị: mean/variance theo Welford,
+ * min/max và các quantile 5%, 50%, 95% theo P². Bộ nhớ cố định, không giữ
+ * lại từng mẫu.
+ */
+public class OnlineStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private final P2Quantile p05 = new P2Quantile(0.05);
+    private final P2Quantile p50 = new P2Quantile(0.50);
+    private final P2Quantile p95 = new P2Quantile(0.95);
+
+    /**
+     * Thêm một mẫu.
+     *
+     * @param x Giá trị mẫu
+     */
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+        min = Math.min(min, x);
+        max = Math.max(max, x);
+        p05.add(x);
+        p50.add(x);
+        p95.add(x);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Phương sai mẫu (chia cho n - 1).
+     *
+     * @return Phương sai, 0 nếu có ít hơn 2 mẫu
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Nửa độ rộng khoảng tin cậy 95% của mean (xấp xỉ chuẩn).
+     *
+     * @return 1.96 * stddev / sqrt(n)
+     */
+    public double getConfidenceHalfWidth() {
+        return count < 2 ? 0 : 1.96 * getStdDev() / Math.sqrt(count);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getP05() {
+        return p05.get();
+    }
+
+    public double getMedian() {
+        return p50.get();
+    }
+
+    public double getP95() {
+        return p95.get();
+    }
+}
@@ -0,0 +1,242 @@
+package com.ecosystem.utils;
+
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+
+import java.util.Arrays;
+
+/**
+ * Phân tích dao động vật săn – con mồi trực tuyến: chu kỳ, biên độ, độ lệch
+ * pha giữa Herbivore và Carnivore và độ tập trung phổ, tính dần khi có thế
+ * hệ mới thay vì xử lý CSV sau khi chạy.
+ *
+ * Dùng sliding DFT trên cửa sổ {@code window} thế hệ gần nhất: mỗi thế hệ cập
+ * nhật mọi bin k = 1..window/2 trong O(window/2) (X_k ← (X_k + x_mới − x_cũ)·e^{i2πk/N}),
+ * thay vì FFT lại cả cửa sổ. Sai số làm tròn tích lũy được xóa bằng cách tính
+ * lại DFT trực tiếp mỗi {@code window} thế hệ. Chu kỳ chính là bin có công suất
+ * lớn nhất của Herbivore (nội suy parabol giữa các bin lân cận). Kết quả
+ * được tính lại mỗi {@code updateInterval} thế hệ thành OscillationSummary
+ * bất biến. Chỉ gọi add()/reset() từ một thread.
+ */
+public class OscillationAnalyzer {
+
+    private static final int HERBIVORES = 0;
+    private static final int CARNIVORES = 1;
+    private static final int SERIES = 2;
+
+    private static final double MIN_AMPLITUDE = 0.5;
+
+    private final int window;
+    private final int updateInterval;
+    private final int bins;
+    private final double[] cos;
+    private final double[] sin;
+
+    private final double[][] samples;
+    private final double[][] re;
+    private final double[][] im;
+    private int next;
+    private int size;
+    private int sinceRecompute;
+    private int sinceUpdate;
+    private int lastGeneration;
+    private volatile OscillationSummary summary;
+
+    /**
+     * Constructor tạo OscillationAnalyzer.
+     *
+     * @param window         Số thế hệ của cửa sổ phân tích (chu kỳ đo được từ 2 tới window thế hệ)
+     * @param updateInterval Tính lại kết quả mỗi N thế hệ
+     */
+    public OscillationAnalyzer(int window, int updateInterval) {
+        this.window = Math.max(8, window);
+        this.updateInterval = Math.max(1, updateInterval);
+        this.bins = this.window / 2;
+        this.cos = new double[this.window];
+        this.sin = new double[this.window];
+        for (int j = 0; j < this.window; j++) {
+            double angle = 2 * Math.PI * j / this.window;
+            cos[j] = Math.cos(angle);
+            sin[j] = Math.sin(angle);
+        }
+        this.samples = new double[SERIES][this.window];
+        this.re = new double[SERIES][bins + 1];
+        this.im = new double[SERIES][bins + 1];
+        reset();
+    }
+
+    /**
+     * Tạo analyzer theo cấu hình simulation.oscillation.
+     *
+     * @param config Cấu hình
+     * @return Analyzer, hoặc null nếu tắt phân tích dao động
+     */
+    public static OscillationAnalyzer forConfig(EcosystemConfig config) {
+        if (!config.isOscillationEnabled()) {
+            return null;
+        }
+        return new OscillationAnalyzer(config.getOscillationWindow(), config.getOscillationUpdateInterval());
+    }
+
+    /**
+     * Thêm thống kê của thế hệ mới và tính lại kết quả khi tới lượt.
+     *
+     * @param stats Thống kê của thế hệ
+     * @return true nếu getSummary() vừa có kết quả mới
+     */
+    public boolean add(EcosystemStats stats) {
+        slide(HERBIVORES, stats.getHerbivoreCount());
+        slide(CARNIVORES, stats.getCarnivoreCount());
+        next = (next + 1) % window;
+        if (size < window) {
+            size++;
+        }
+        lastGeneration = stats.getGeneration();
+
+        if (++sinceRecompute >= window) {
+            sinceRecompute = 0;
+            recompute();
+        }
+
+        if (size == window && ++sinceUpdate >= updateInterval) {
+            sinceUpdate = 0;
+            summary = summarize();
+            return true;
+        }
+        return false;
+    }
+
+    private void slide(int series, double value) {
+        double delta = value - samples[series][next];
+        samples[series][next] = value;
+        double[] r = re[series];
+        double[] i = im[series];
+        for (int k = 1; k <= bins; k++) {
+            // Thêm mẫu mới, bỏ mẫu cũ nhất rồi xoay pha một bước
+            int j = k % window;
+            double a = r[k] + delta;
+            double b = i[k];
+            r[k] = a * cos[j] - b * sin[j];
+            i[k] = a * sin[j] + b * cos[j];
+        }
+    }
+
+    /**
+     * Tính lại DFT trực tiếp từ các mẫu, mẫu cũ nhất ở vị trí 0 (cùng quy
+     * ước pha với sliding DFT).
+     */
+    private void recompute() {
+        for (int s = 0; s < SERIES; s++) {
+            for (int k = 1; k <= bins; k++) {
+                double a = 0;
+                double b = 0;
+                for (int m = 0; m < window; m++) {
+                    double x = samples[s][(next + m) % window];
+                    int j = (int) ((long) k * m % window);
+                    a += x * cos[j];
+                    b -= x * sin[j];
+                }
+                re[s][k] = a;
+                im[s][k] = b;
+            }
+        }
+    }
+
+    private OscillationSummary summarize() {
+        int peak = 1;
+        double peakPower = -1;
+        for (int k = 1; k <= bins; k++) {
+            double power = power(HERBIVORES, k);
+            if (power > peakPower) {
+                peakPower = power;
+                peak = k;
+            }
+        }
+        double period = window / interpolatePeak(HERBIVORES, peak);
+
+        double herbivoreAmplitude = 2 * Math.sqrt(power(HERBIVORES, peak)) / window;
+        double carnivoreAmplitude = 2 * Math.sqrt(power(CARNIVORES, peak)) / window;
+
+        // Carnivore chậm pha so với Herbivore: lag = Δφ / 2π · chu kỳ, Δφ trong [0, 2π)
+        double lag = Double.NaN;
+        // Biên độ dưới nửa cá thể (loài tuyệt chủng, quần thể không đổi) thì pha chỉ là sai số làm tròn
+        if (herbivoreAmplitude >= MIN_AMPLITUDE && carnivoreAmplitude >= MIN_AMPLITUDE) {
+            double phaseDiff = Math.atan2(im[HERBIVORES][peak], re[HERBIVORES][peak])
+                    - Math.atan2(im[CARNIVORES][peak], re[CARNIVORES][peak]);
+            phaseDiff = ((phaseDiff % (2 * Math.PI)) + 2 * Math.PI) % (2 * Math.PI);
+            lag = phaseDiff / (2 * Math.PI) * window / peak;
+        }
+
+        return new OscillationSummary(lastGeneration, window, period, herbivoreAmplitude, carnivoreAmplitude,
+                lag, concentration(HERBIVORES, peak), concentration(CARNIVORES, peak));
+    }
+
+    private double power(int series, int k) {
+        return re[series][k] * re[series][k] + im[series][k] * im[series][k];
+    }
+
+    /**
+     * Vị trí đỉnh (theo bin, có phần thập phân) bằng nội suy parabol trên biên độ.
+     */
+    private double interpolatePeak(int series, int k) {
+        if (k <= 1 || k >= bins) {
+            return k;
+        }
+        double left = Math.sqrt(power(series, k - 1));
+        double center = Math.sqrt(power(series, k));
+        double right = Math.sqrt(power(series, k + 1));
+        double denominator = left - 2 * center + right;
+        if (denominator == 0) {
+            return k;
+        }
+        double offset = 0.5 * (left - right) / denominator;
+        return k + Math.max(-0.5, Math.min(0.5, offset));
+    }
+
+    /**
+     * Tỷ lệ công suất (không tính thành phần trung bình) nằm trong bin đỉnh và
+     * hai bin lân cận: gần 1 là dao động gần hình sin, gần 0 là nhiễu.
+     */
+    private double concentration(int series, int peak) {
+        double total = 0;
+        double around = 0;
+        for (int k = 1; k <= bins; k++) {
+            double power = power(series, k);
+            total += power;
+            if (Math.abs(k - peak) <= 1) {
+                around += power;
+            }
+        }
+        return total == 0 ? 0 : around / total;
+    }
+
+    /**
+     * Xóa dữ liệu (khởi tạo lại, sau khi lùi thời gian).
+     */
+    public void reset() {
+        for (int s = 0; s < SERIES; s++) {
+            Arrays.fill(samples[s], 0);
+            Arrays.fill(re[s], 0);
+            Arrays.fill(im[s], 0);
+        }
+        next = 0;
+        size = 0;
+        sinceRecompute = 0;
+        // Có kết quả ngay khi cửa sổ đầy
+        sinceUpdate = updateInterval - 1;
+        summary = null;
+    }
+
+    /**
+     * Kết quả gần nhất (đọc từ thread bất kỳ).
+     *
+     * @return Tóm tắt, hoặc null nếu chưa đủ một cửa sổ
+     */
+    public OscillationSummary getSummary() {
+        return summary;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+}
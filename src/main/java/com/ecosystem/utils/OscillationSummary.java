@@ -0,0 +1,81 @@
+package com.ecosystem.utils;
+
+/**
+ * Kết quả bất biến của OscillationAnalyzer cho một cửa sổ thế hệ, đọc được
+ * từ thread bất kỳ (UI, MetricsServer).
+ */
+public class OscillationSummary {
+
+    private final int generation;
+    private final int window;
+    private final double period;
+    private final double herbivoreAmplitude;
+    private final double carnivoreAmplitude;
+    private final double phaseLag;
+    private final double herbivoreConcentration;
+    private final double carnivoreConcentration;
+
+    /**
+     * Constructor tạo OscillationSummary.
+     *
+     * @param generation             Thế hệ cuối của cửa sổ
+     * @param window                 Số thế hệ của cửa sổ
+     * @param period                 Chu kỳ chính (thế hệ)
+     * @param herbivoreAmplitude     Biên độ Herbivore tại chu kỳ chính
+     * @param carnivoreAmplitude     Biên độ Carnivore tại chu kỳ chính
+     * @param phaseLag               Carnivore chậm hơn Herbivore bao nhiêu thế hệ (NaN nếu không xác định)
+     * @param herbivoreConcentration Tỷ lệ công suất phổ Herbivore quanh chu kỳ chính
+     * @param carnivoreConcentration Tỷ lệ công suất phổ Carnivore quanh chu kỳ chính
+     */
+    public OscillationSummary(int generation, int window, double period,
+            double herbivoreAmplitude, double carnivoreAmplitude, double phaseLag,
+            double herbivoreConcentration, double carnivoreConcentration) {
+        this.generation = generation;
+        this.window = window;
+        this.period = period;
+        this.herbivoreAmplitude = herbivoreAmplitude;
+        this.carnivoreAmplitude = carnivoreAmplitude;
+        this.phaseLag = phaseLag;
+        this.herbivoreConcentration = herbivoreConcentration;
+        this.carnivoreConcentration = carnivoreConcentration;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public double getHerbivoreAmplitude() {
+        return herbivoreAmplitude;
+    }
+
+    public double getCarnivoreAmplitude() {
+        return carnivoreAmplitude;
+    }
+
+    public double getPhaseLag() {
+        return phaseLag;
+    }
+
+    public double getHerbivoreConcentration() {
+        return herbivoreConcentration;
+    }
+
+    public double getCarnivoreConcentration() {
+        return carnivoreConcentration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OscillationSummary[gen=%d, period=%.1f, amp=(%.1f, %.1f), lag=%.1f, conc=(%.2f, %.2f)]",
+                generation, period, herbivoreAmplitude, carnivoreAmplitude, phaseLag,
+                herbivoreConcentration, carnivoreConcentration);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecosystem.utils;
+
+import java.util.Arrays;
+
+/**
+ * Ước lượng quantile trực tuyến bằng thuật toán P² (Jain & Chlamtac).
+ *
+ * Chỉ giữ 5 marker nên bộ nhớ cố định, không phụ thuộc số mẫu. Năm mẫu
+ * đầu tiên được giữ nguyên và trả về quantile chính xác.
+ */
+public class P2Quantile {
+
+    private final double p;
+    private final double[] heights = new double[5];
+    private final int[] positions = new int[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private int count;
+
+    /**
+     * Constructor tạo bộ ước lượng.
+     *
+     * @param p Quantile cần ước lượng (0..1)
+     */
+    public P2Quantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("Quantile phải nằm trong (0, 1): " + p);
+        }
+        this.p = p;
+        this.increments = new double[] { 0, p / 2, p, (1 + p) / 2, 1 };
+    }
+
+    /**
+     * Thêm một mẫu.
+     *
+     * @param x Giá trị mẫu
+     */
+    public void add(double x) {
+        if (count < 5) {
+            heights[count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i;
+                }
+                desired[0] = 0;
+                desired[1] = 2 * p;
+                desired[2] = 4 * p;
+                desired[3] = 2 + 2 * p;
+                desired[4] = 4;
+            }
+            return;
+        }
+
+        // Tìm khoảng chứa mẫu và cập nhật marker ngoài cùng
+        int k;
+        if (x < heights[0]) {
+            heights[0] = x;
+            k = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = x;
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= heights[k + 1]) {
+                k++;
+            }
+        }
+
+        for (int i = k + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+        count++;
+
+        // Điều chỉnh 3 marker giữa
+        for (int i = 1; i <= 3; i++) {
+            double d = desired[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1)
+                    || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                    heights[i] = candidate;
+                } else {
+                    heights[i] = linear(i, step);
+                }
+                positions[i] += step;
+            }
+        }
+    }
+
+    private double parabolic(int i, int d) {
+        double left = positions[i] - positions[i - 1];
+        double right = positions[i + 1] - positions[i];
+        return heights[i] + d / (double) (positions[i + 1] - positions[i - 1])
+                * ((left + d) * (heights[i + 1] - heights[i]) / right
+                        + (right - d) * (heights[i] - heights[i - 1]) / left);
+    }
+
+    private double linear(int i, int d) {
+        return heights[i] + d * (heights[i + d] - heights[i]) / (positions[i + d] - positions[i]);
+    }
+
+    /**
+     * Giá trị quantile ước lượng hiện tại.
+     *
+     * @return Quantile, hoặc NaN nếu chưa có mẫu
+     */
+    public double get() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(p * (count - 1))];
+        }
+        return heights[2];
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
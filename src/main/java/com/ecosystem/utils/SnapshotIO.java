@@ -0,0 +1,139 @@
+package com.ecosystem.utils;
+
+import com.ecosystem.model.EcosystemSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility class để ghi/đọc EcosystemSnapshot ra file nhị phân nén GZIP.
+ *
+ * Định dạng: magic "ECOS", version, header (generation, width, height, count)
+ * rồi lần lượt từng sinh vật (type, id, x, y, energy, age).
+ */
+public class SnapshotIO {
+
+    private static final int MAGIC = 0x45434F53; // "ECOS"
+    private static final int VERSION = 1;
+
+    /**
+     * Ghi snapshot ra file. Ghi vào file tạm rồi đổi tên để file đích
+     * luôn ở trạng thái hoàn chỉnh.
+     *
+     * @param snapshot Snapshot cần ghi
+     * @param file     File đích
+     * @return Kích thước file sau khi nén (byte)
+     * @throws IOException nếu ghi thất bại
+     */
+    public static long write(EcosystemSnapshot snapshot, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            write(snapshot, out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    /**
+     * Ghi snapshot ra stream (nén GZIP). Stream không bị đóng.
+     *
+     * @param snapshot Snapshot cần ghi
+     * @param out      Stream đích
+     * @throws IOException nếu ghi thất bại
+     */
+    public static void write(EcosystemSnapshot snapshot, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(gzip, 1 << 16));
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(snapshot.getGeneration());
+        data.writeInt(snapshot.getWidth());
+        data.writeInt(snapshot.getHeight());
+        data.writeInt(snapshot.getCount());
+
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            data.writeByte(snapshot.getTypeOrdinal(i));
+            data.writeInt(snapshot.getId(i));
+            data.writeInt(snapshot.getX(i));
+            data.writeInt(snapshot.getY(i));
+            data.writeDouble(snapshot.getEnergy(i));
+            data.writeInt(snapshot.getAge(i));
+        }
+
+        data.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Đọc snapshot từ file.
+     *
+     * @param file File nguồn
+     * @return Snapshot đã đọc
+     * @throws IOException nếu đọc thất bại hoặc sai định dạng
+     */
+    public static EcosystemSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Đọc snapshot từ stream (nén GZIP).
+     *
+     * @param in Stream nguồn
+     * @return Snapshot đã đọc
+     * @throws IOException nếu đọc thất bại hoặc sai định dạng
+     */
+    public static EcosystemSnapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(in, 1 << 16), 1 << 16));
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("File không phải snapshot hệ sinh thái");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Không hỗ trợ snapshot version " + version);
+        }
+
+        int generation = data.readInt();
+        int width = data.readInt();
+        int height = data.readInt();
+        int count = data.readInt();
+
+        byte[] types = new byte[count];
+        int[] ids = new int[count];
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        double[] energies = new double[count];
+        int[] ages = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            types[i] = data.readByte();
+            ids[i] = data.readInt();
+            xs[i] = data.readInt();
+            ys[i] = data.readInt();
+            energies[i] = data.readDouble();
+            ages[i] = data.readInt();
+        }
+
+        return new EcosystemSnapshot(generation, width, height, count,
+                types, ids, xs, ys, energies, ages);
+    }
+}
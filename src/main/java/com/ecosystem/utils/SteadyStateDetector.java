@@ -0,0 +1,255 @@
+package com.ecosystem.utils;
+
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+
+/**
+ * Phát hiện hệ sinh thái đã ổn định để dừng lần chạy sớm: trạng thái cân
+ * bằng (quần thể gần như không đổi) hoặc chu kỳ giới hạn (quần thể dao động
+ * lặp lại với chu kỳ cố định).
+ *
+ * Giữ số lượng từng loài của {@code window} thế hệ gần nhất trong ring buffer
+ * và kiểm tra mỗi {@code checkInterval} thế hệ khi buffer đã đầy:
+ * - Cân bằng: hệ số biến thiên (độ lệch chuẩn / trung bình) của mọi loài
+ *   không vượt equilibriumCv.
+ * - Chu kỳ: mọi loài còn dao động có tự tương quan (Pearson giữa chuỗi và
+ *   chính nó dịch k thế hệ) đạt cycleCorrelation tại cùng một chu kỳ k, với
+ *   k trong [MIN_PERIOD, window / 2] để cửa sổ chứa ít nhất hai chu kỳ.
+ * Chi phí kiểm tra O(window²/2), chia đều cho checkInterval thế hệ.
+ */
+public class SteadyStateDetector {
+
+    /**
+     * Kết quả kiểm tra.
+     */
+    public enum Outcome {
+        /** Chưa xác định */
+        NONE,
+        /** Quần thể gần như không đổi */
+        EQUILIBRIUM,
+        /** Quần thể dao động tuần hoàn */
+        CYCLE
+    }
+
+    /** Chu kỳ ngắn nhất được coi là chu kỳ giới hạn (ngắn hơn là nhiễu) */
+    public static final int MIN_PERIOD = 10;
+
+    // Chu kỳ của các loài được coi là trùng nhau nếu lệch không quá 10%
+    private static final double PERIOD_TOLERANCE = 0.1;
+
+    private static final int SPECIES = 3;
+
+    private final int window;
+    private final int checkInterval;
+    private final double equilibriumCv;
+    private final double cycleCorrelation;
+
+    private final double[][] series;
+    private final double[] ordered;
+    private int next;
+    private int size;
+    private int sinceCheck;
+
+    private Outcome outcome = Outcome.NONE;
+    private int period;
+
+    /**
+     * Constructor tạo SteadyStateDetector.
+     *
+     * @param window           Số thế hệ gần nhất được xét
+     * @param checkInterval    Kiểm tra mỗi N thế hệ
+     * @param equilibriumCv    Hệ số biến thiên tối đa của trạng thái cân bằng
+     * @param cycleCorrelation Tự tương quan tối thiểu của chu kỳ giới hạn
+     */
+    public SteadyStateDetector(int window, int checkInterval, double equilibriumCv, double cycleCorrelation) {
+        this.window = Math.max(2 * MIN_PERIOD + 1, window);
+        this.checkInterval = Math.max(1, checkInterval);
+        this.equilibriumCv = equilibriumCv;
+        this.cycleCorrelation = cycleCorrelation;
+        this.series = new double[SPECIES][this.window];
+        this.ordered = new double[this.window];
+        reset();
+    }
+
+    /**
+     * Tạo detector cho engine theo cấu hình simulation.early_stop.
+     *
+     * @param config Cấu hình
+     * @return Detector, hoặc null nếu tắt dừng sớm (mặc định)
+     */
+    public static SteadyStateDetector forConfig(EcosystemConfig config) {
+        if (!config.isEarlyStopEnabled()) {
+            return null;
+        }
+        return forBatch(config);
+    }
+
+    /**
+     * Tạo detector cho lần chạy batch (sweep, optimizer): luôn dừng sớm, chỉ
+     * lấy window và ngưỡng từ simulation.early_stop, bỏ qua enabled.
+     *
+     * @param config Cấu hình
+     * @return Detector
+     */
+    public static SteadyStateDetector forBatch(EcosystemConfig config) {
+        return new SteadyStateDetector(config.getSteadyStateWindow(), config.getSteadyStateCheckInterval(),
+                config.getEquilibriumCv(), config.getCycleCorrelation());
+    }
+
+    /**
+     * Thêm thống kê của thế hệ mới và kiểm tra khi tới lượt.
+     *
+     * @param stats Thống kê của thế hệ
+     * @return Kết quả (giữ nguyên sau khi đã xác định)
+     */
+    public Outcome add(EcosystemStats stats) {
+        if (outcome != Outcome.NONE) {
+            return outcome;
+        }
+        series[0][next] = stats.getProducerCount();
+        series[1][next] = stats.getHerbivoreCount();
+        series[2][next] = stats.getCarnivoreCount();
+        next = (next + 1) % window;
+        if (size < window) {
+            size++;
+        }
+        if (size == window && ++sinceCheck >= checkInterval) {
+            sinceCheck = 0;
+            outcome = check();
+        }
+        return outcome;
+    }
+
+    private Outcome check() {
+        boolean allFlat = true;
+        int commonPeriod = 0;
+        for (double[] values : series) {
+            copyOrdered(values);
+            if (coefficientOfVariation() <= equilibriumCv) {
+                continue;
+            }
+            allFlat = false;
+
+            int speciesPeriod = dominantPeriod();
+            if (speciesPeriod == 0) {
+                return Outcome.NONE;
+            }
+            if (commonPeriod == 0) {
+                commonPeriod = speciesPeriod;
+            } else if (Math.abs(speciesPeriod - commonPeriod) > PERIOD_TOLERANCE * commonPeriod) {
+                return Outcome.NONE;
+            }
+        }
+        if (allFlat) {
+            return Outcome.EQUILIBRIUM;
+        }
+        period = commonPeriod;
+        return Outcome.CYCLE;
+    }
+
+    /**
+     * Chép chuỗi theo thứ tự thời gian (cũ nhất trước) vào ordered.
+     */
+    private void copyOrdered(double[] values) {
+        int tail = window - next;
+        System.arraycopy(values, next, ordered, 0, tail);
+        System.arraycopy(values, 0, ordered, tail, next);
+    }
+
+    private double coefficientOfVariation() {
+        double mean = 0;
+        for (double v : ordered) {
+            mean += v;
+        }
+        mean /= window;
+        if (mean == 0) {
+            return 0;
+        }
+        double sumSq = 0;
+        for (double v : ordered) {
+            sumSq += (v - mean) * (v - mean);
+        }
+        return Math.sqrt(sumSq / window) / mean;
+    }
+
+    /**
+     * Chu kỳ: đỉnh đầu tiên của tự tương quan đạt cycleCorrelation, sau khi tự
+     * tương quan đã xuống dưới 0 (bỏ qua tương quan của các thế hệ liền kề).
+     * Lấy đỉnh đầu tiên để không nhầm bội số của chu kỳ.
+     *
+     * @return Chu kỳ, 0 nếu không có chu kỳ đạt cycleCorrelation
+     */
+    private int dominantPeriod() {
+        boolean decorrelated = false;
+        double best = cycleCorrelation;
+        int bestLag = 0;
+        for (int lag = 1; lag <= window / 2; lag++) {
+            double r = correlation(lag);
+            if (r < 0) {
+                decorrelated = true;
+            } else if (decorrelated && lag >= MIN_PERIOD && r >= best) {
+                best = r;
+                bestLag = lag;
+            } else if (bestLag > 0) {
+                break;
+            }
+        }
+        return bestLag;
+    }
+
+    /**
+     * Hệ số tương quan Pearson giữa ordered[0..n-lag) và ordered[lag..n).
+     */
+    private double correlation(int lag) {
+        int n = window - lag;
+        double sumA = 0;
+        double sumB = 0;
+        for (int i = 0; i < n; i++) {
+            sumA += ordered[i];
+            sumB += ordered[i + lag];
+        }
+        double meanA = sumA / n;
+        double meanB = sumB / n;
+        double cov = 0;
+        double varA = 0;
+        double varB = 0;
+        for (int i = 0; i < n; i++) {
+            double a = ordered[i] - meanA;
+            double b = ordered[i + lag] - meanB;
+            cov += a * b;
+            varA += a * a;
+            varB += b * b;
+        }
+        if (varA == 0 || varB == 0) {
+            return 0;
+        }
+        return cov / Math.sqrt(varA * varB);
+    }
+
+    /**
+     * Xóa dữ liệu (bắt đầu lần chạy mới, sau khi lùi thời gian).
+     */
+    public void reset() {
+        next = 0;
+        size = 0;
+        // Kiểm tra lần đầu ngay khi buffer đầy
+        sinceCheck = checkInterval - 1;
+        outcome = Outcome.NONE;
+        period = 0;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Chu kỳ (số thế hệ) khi kết quả là CYCLE.
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecosystem.model;
+
+import com.ecosystem.model.Ecosystem.OrganismType;
+
+import java.util.List;
+
+/**
+ * Mô tả đầy đủ trạng thái quan sát được của hệ sinh thái (từng ô, thuộc tính
+ * và thứ tự sinh vật, thế hệ, histogram phân bố) để so sánh trong test.
+ */
+final class EcosystemFingerprint {
+
+    private EcosystemFingerprint() {
+    }
+
+    static String of(Ecosystem ecosystem) {
+        return describe(ecosystem, true);
+    }
+
+    /**
+     * Như of() nhưng bỏ id: id lấy từ bộ đếm toàn cục nên hai lần chạy giống
+     * hệt nhau vẫn cấp id khác nhau cho sinh vật mới sinh nếu chạy xen kẽ.
+     */
+    static String withoutIds(Ecosystem ecosystem) {
+        return describe(ecosystem, false);
+    }
+
+    private static String describe(Ecosystem ecosystem, boolean ids) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("gen=").append(ecosystem.getGeneration()).append('\n');
+        for (int x = 0; x < ecosystem.getWidth(); x++) {
+            for (int y = 0; y < ecosystem.getHeight(); y++) {
+                Organism o = ecosystem.getCell(x, y).getOccupant();
+                sb.append(o == null ? "." : describe(o, ids)).append(' ');
+            }
+            sb.append('\n');
+        }
+        for (List<? extends Organism> list : List.of(ecosystem.getProducers(),
+                ecosystem.getHerbivores(), ecosystem.getCarnivores())) {
+            for (Organism o : list) {
+                sb.append(describe(o, ids)).append(' ');
+            }
+            sb.append('\n');
+        }
+        for (OrganismType type : OrganismType.values()) {
+            sb.append(histogram(ecosystem.getEnergyDistribution(type)))
+                    .append(histogram(ecosystem.getAgeDistribution(type))).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String describe(Organism o, boolean ids) {
+        return (ids ? o.getId() + ":" : "") + o.getX() + "," + o.getY() + ":" + o.getEnergy() + ":" + o.getAge()
+                + (o.isAlive() ? "" : ":dead");
+    }
+
+    private static String histogram(DistributionHistogram histogram) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < histogram.getBinCount(); i++) {
+            sb.append(histogram.getCount(i)).append(',');
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecosystem.model;
+
+import com.ecosystem.model.Ecosystem.OrganismType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test fork copy-on-write: nhánh dùng chung trạng thái tới lần ghi đầu tiên,
+ * sau đó mỗi bên chạy độc lập, bên nào ghi trước cũng không làm đổi bên kia.
+ */
+class EcosystemForkTest {
+
+    private static final int TICKS = 25;
+
+    private static EcosystemConfig config() {
+        return EcosystemConfig.builder()
+                .gridSize(40, 30)
+                .initialPopulation(200, 50, 10)
+                .seed(2024)
+                .build();
+    }
+
+    private static Ecosystem newEcosystem(EcosystemConfig config, int ticks) {
+        Ecosystem ecosystem = new Ecosystem(config);
+        ecosystem.initialize();
+        run(ecosystem, ticks);
+        return ecosystem;
+    }
+
+    private static void run(Ecosystem ecosystem, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            ecosystem.update();
+        }
+    }
+
+    private static Organism firstOccupant(Ecosystem ecosystem) {
+        for (int x = 0; x < ecosystem.getWidth(); x++) {
+            for (int y = 0; y < ecosystem.getHeight(); y++) {
+                Organism o = ecosystem.getCell(x, y).getOccupant();
+                if (o != null) {
+                    return o;
+                }
+            }
+        }
+        throw new AssertionError("Grid trống");
+    }
+
+    private static String histograms(Ecosystem ecosystem) {
+        StringBuilder sb = new StringBuilder();
+        for (OrganismType type : OrganismType.values()) {
+            for (DistributionHistogram h : List.of(ecosystem.getEnergyDistribution(type),
+                    ecosystem.getAgeDistribution(type))) {
+                int[] counts = new int[h.getBinCount()];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = h.getCount(i);
+                }
+                sb.append(type).append(Arrays.toString(counts)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void assertHistogramsMatchPopulation(Ecosystem ecosystem) {
+        List<List<? extends Organism>> lists = List.of(ecosystem.getProducers(), ecosystem.getHerbivores(),
+                ecosystem.getCarnivores());
+        for (OrganismType type : OrganismType.values()) {
+            long alive = lists.get(type.ordinal()).stream().filter(Organism::isAlive).count();
+            assertEquals(alive, ecosystem.getEnergyDistribution(type).getTotal(), type.name());
+            assertEquals(alive, ecosystem.getAgeDistribution(type).getTotal(), type.name());
+        }
+    }
+
+    @Test
+    void forkSharesStateUntilFirstWrite() {
+        Ecosystem parent = newEcosystem(config(), 10);
+        Ecosystem branch = parent.fork();
+
+        assertEquals(EcosystemFingerprint.of(parent), EcosystemFingerprint.of(branch));
+        Organism shared = firstOccupant(parent);
+        assertSame(shared, branch.getCell(shared.getX(), shared.getY()).getOccupant());
+        assertEquals(parent.getTotalBirths(), branch.getTotalBirths());
+    }
+
+    @Test
+    void branchWritesDoNotChangeParent() {
+        EcosystemConfig config = config();
+        Ecosystem reference = newEcosystem(config, 10);
+        Ecosystem parent = newEcosystem(config, 10);
+
+        String beforeFork = EcosystemFingerprint.of(parent);
+
+        EcosystemConfig branchConfig = EcosystemConfig.builder(config).producerSpawnRate(0.5).build();
+        Ecosystem branch = parent.fork(branchConfig);
+        run(branch, TICKS);
+        assertEquals(beforeFork, EcosystemFingerprint.of(parent));
+
+        run(parent, TICKS);
+        run(reference, TICKS);
+        assertEquals(EcosystemFingerprint.withoutIds(reference), EcosystemFingerprint.withoutIds(parent));
+        assertNotEquals(EcosystemFingerprint.withoutIds(parent), EcosystemFingerprint.withoutIds(branch));
+    }
+
+    @Test
+    void parentWritesDoNotChangeBranches() {
+        Ecosystem parent = newEcosystem(config(), 10);
+        Ecosystem first = parent.fork();
+        Ecosystem second = parent.fork();
+        String atFork = EcosystemFingerprint.of(first);
+
+        run(parent, TICKS);
+        assertEquals(atFork, EcosystemFingerprint.of(first));
+        assertEquals(atFork, EcosystemFingerprint.of(second));
+
+        // Hai nhánh cùng cấu hình (cùng seed) chạy độc lập cho cùng kết quả
+        run(first, TICKS);
+        assertEquals(atFork, EcosystemFingerprint.of(second));
+        run(second, TICKS);
+        assertEquals(EcosystemFingerprint.withoutIds(first), EcosystemFingerprint.withoutIds(second));
+    }
+
+    @Test
+    void removingFromBranchKeepsOrganismInParent() {
+        Ecosystem parent = newEcosystem(config(), 5);
+        Ecosystem branch = parent.fork();
+        Herbivore victim = branch.getHerbivores().get(0);
+        int x = victim.getX();
+        int y = victim.getY();
+        Organism parentOccupant = parent.getCell(x, y).getOccupant();
+        int herbivores = parent.getHerbivores().size();
+
+        branch.removeOrganism(victim);
+
+        assertEquals(herbivores - 1, branch.getHerbivores().size());
+        assertEquals(herbivores, parent.getHerbivores().size());
+        assertSame(parentOccupant, parent.getCell(x, y).getOccupant());
+        assertTrue(parentOccupant.isAlive());
+    }
+
+    @Test
+    void forkRejectsDifferentGridSize() {
+        Ecosystem parent = newEcosystem(config(), 0);
+        EcosystemConfig other = EcosystemConfig.builder(config()).gridSize(20, 20).build();
+        assertThrows(IllegalArgumentException.class, () -> parent.fork(other));
+    }
+
+    @Test
+    void forkCopiesHistogramsWithoutRebindingSharedOrganisms() {
+        Ecosystem parent = newEcosystem(config(), 10);
+        Map<Organism, SpeciesDistribution> bound = new IdentityHashMap<>();
+        for (Organism o : parent.getHerbivores()) {
+            bound.put(o, o.distribution);
+        }
+        String atFork = histograms(parent);
+
+        Ecosystem branch = parent.fork();
+        assertEquals(atFork, histograms(branch));
+        for (Map.Entry<Organism, SpeciesDistribution> entry : bound.entrySet()) {
+            assertSame(entry.getValue(), entry.getKey().distribution);
+        }
+
+        // Cập nhật của hệ gốc không đi vào histogram của nhánh
+        run(parent, TICKS);
+        assertEquals(atFork, histograms(branch));
+        assertHistogramsMatchPopulation(parent);
+
+        run(branch, TICKS);
+        assertHistogramsMatchPopulation(branch);
+    }
+
+    @Test
+    void forkWithDifferentBinsRecountsHistograms() {
+        Ecosystem parent = newEcosystem(config(), 10);
+        EcosystemConfig branchConfig = EcosystemConfig.builder(config()).distribution(true, 7, 3).build();
+
+        Ecosystem branch = parent.fork(branchConfig);
+        assertEquals(7, branch.getEnergyDistribution(OrganismType.PRODUCER).getBinCount());
+        assertHistogramsMatchPopulation(branch);
+
+        run(branch, TICKS);
+        assertHistogramsMatchPopulation(branch);
+    }
+}
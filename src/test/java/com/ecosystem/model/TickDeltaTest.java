@@ -0,0 +1,102 @@
+package com.ecosystem.model;
+
+import com.ecosystem.simulation.RewindBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test undo/redo bằng TickDelta: lùi rồi tiến lại phải khôi phục đúng từng ô,
+ * thuộc tính sinh vật, danh sách sinh vật, thế hệ và histogram phân bố.
+ */
+class TickDeltaTest {
+
+    private static final int TICKS = 40;
+
+    private static Ecosystem newEcosystem() {
+        EcosystemConfig config = EcosystemConfig.builder()
+                .gridSize(30, 30)
+                .initialPopulation(150, 40, 8)
+                .seed(12345)
+                .build();
+        Ecosystem ecosystem = new Ecosystem(config);
+        ecosystem.initialize();
+        ecosystem.setDeltaRecording(true);
+        return ecosystem;
+    }
+
+    @Test
+    void revertAndReapplyRestoreEveryGeneration() {
+        Ecosystem ecosystem = newEcosystem();
+        List<String> states = new ArrayList<>();
+        List<TickDelta> deltas = new ArrayList<>();
+        states.add(EcosystemFingerprint.of(ecosystem));
+        for (int i = 0; i < TICKS; i++) {
+            ecosystem.update();
+            deltas.add(ecosystem.takeLastDelta());
+            states.add(EcosystemFingerprint.of(ecosystem));
+        }
+        assertNotEquals(states.get(0), states.get(TICKS));
+
+        for (int i = TICKS - 1; i >= 0; i--) {
+            ecosystem.revert(deltas.get(i));
+            assertTrue(deltas.get(i).isReverted());
+            assertEquals(states.get(i), EcosystemFingerprint.of(ecosystem), "Lùi về thế hệ " + i);
+        }
+        for (int i = 0; i < TICKS; i++) {
+            ecosystem.reapply(deltas.get(i));
+            assertFalse(deltas.get(i).isReverted());
+            assertEquals(states.get(i + 1), EcosystemFingerprint.of(ecosystem), "Tiến lại thế hệ " + (i + 1));
+        }
+    }
+
+    @Test
+    void rewindBufferSeeksBothWaysAndBranches() {
+        Ecosystem ecosystem = newEcosystem();
+        RewindBuffer buffer = new RewindBuffer(TICKS, Long.MAX_VALUE);
+        List<String> states = new ArrayList<>();
+        states.add(EcosystemFingerprint.of(ecosystem));
+        for (int i = 0; i < TICKS; i++) {
+            ecosystem.update();
+            buffer.push(ecosystem.takeLastDelta());
+            states.add(EcosystemFingerprint.of(ecosystem));
+        }
+
+        buffer.seek(ecosystem, 5);
+        assertEquals(states.get(5), EcosystemFingerprint.of(ecosystem));
+        buffer.seek(ecosystem, 30);
+        assertEquals(states.get(30), EcosystemFingerprint.of(ecosystem));
+        assertTrue(buffer.canStepForward());
+
+        // Chạy tiếp từ trạng thái đã lùi: rẽ nhánh mới, bỏ lịch sử redo
+        ecosystem.update();
+        buffer.push(ecosystem.takeLastDelta());
+        assertFalse(buffer.canStepForward());
+        assertEquals(31, ecosystem.getGeneration());
+
+        assertTrue(buffer.stepBack(ecosystem));
+        assertEquals(states.get(30), EcosystemFingerprint.of(ecosystem));
+    }
+
+    @Test
+    void rewindBufferRespectsGenerationAndMemoryLimits() {
+        Ecosystem ecosystem = newEcosystem();
+        RewindBuffer byGenerations = new RewindBuffer(10, Long.MAX_VALUE);
+        RewindBuffer byMemory = new RewindBuffer(TICKS, 1);
+        for (int i = 0; i < 20; i++) {
+            ecosystem.update();
+            TickDelta delta = ecosystem.takeLastDelta();
+            byGenerations.push(delta);
+            byMemory.push(delta);
+        }
+        assertEquals(10, byGenerations.getOldestGeneration(ecosystem.getGeneration()));
+        // Luôn giữ ít nhất một delta dù vượt giới hạn bộ nhớ
+        assertEquals(19, byMemory.getOldestGeneration(ecosystem.getGeneration()));
+    }
+}
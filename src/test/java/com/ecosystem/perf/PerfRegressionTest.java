@@ -0,0 +1,53 @@
+package com.ecosystem.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kiểm tra hồi quy hiệu năng headless, chỉ chạy trong profile Maven
+ * {@code perf} (mvn -Pperf verify). Thất bại khi có case chậm hơn hoặc cấp
+ * phát nhiều hơn baseline quá dung sai.
+ *
+ * System property: {@code perf.baseline} (file baseline), {@code perf.update}
+ * (true = đo lại và ghi đè baseline thay vì so sánh).
+ */
+@Tag("perf")
+class PerfRegressionTest {
+
+    @Test
+    void throughputAndAllocationWithinBaseline() throws IOException {
+        Path baselineFile = Paths.get(System.getProperty("perf.baseline", "src/perf/baseline.yaml"));
+        boolean update = Boolean.getBoolean("perf.update");
+        PerfSuite suite = PerfSuite.load(baselineFile);
+
+        System.out.println("===========================================");
+        System.out.println("   Kiem tra hoi quy hieu nang");
+        System.out.println("===========================================");
+        System.out.printf("%d case | %d tick (+%d warmup) x %d lan | dung sai: tick/s -%.0f%%, KB/tick +%.0f%%%n",
+                suite.getCases().size(), suite.getTicks(), suite.getWarmupTicks(), suite.getRepeats(),
+                suite.getThroughputTolerance() * 100, suite.getAllocationTolerance() * 100);
+        System.out.printf("JVM: %s, %d CPU%n%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors());
+        System.out.print(PerfReport.formatHeader());
+
+        List<PerfResult> results = new PerfRunner(suite).run(result -> System.out.print(PerfReport.formatRow(result)));
+        PerfReport report = new PerfReport(suite, results);
+
+        if (update) {
+            report.writeBaseline(baselineFile);
+            System.out.println("\nDa cap nhat baseline: " + baselineFile);
+            return;
+        }
+
+        assertEquals(0, report.getRegressionCount(), String.format(
+                "Hiệu năng giảm ở %d/%d case so với baseline %s",
+                report.getRegressionCount(), results.size(), baselineFile));
+    }
+}
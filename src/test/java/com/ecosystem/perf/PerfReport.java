@@ -0,0 +1,111 @@
+package com.ecosystem.perf;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Báo cáo kiểm tra hiệu năng: bảng console so với baseline và ghi lại file
+ * baseline từ kết quả đo mới.
+ */
+public class PerfReport {
+
+    private final PerfSuite suite;
+    private final List<PerfResult> results;
+
+    public PerfReport(PerfSuite suite, List<PerfResult> results) {
+        this.suite = suite;
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Tiêu đề bảng console.
+     */
+    public static String formatHeader() {
+        return String.format("%-24s %10s %10s %8s %9s %9s %8s %10s  %s%n",
+                "case", "tick/s", "baseline", "delta", "KB/tick", "baseline", "delta", "organisms", "ket qua");
+    }
+
+    /**
+     * Một dòng của bảng console.
+     *
+     * @param result Kết quả trường hợp đo
+     * @return Dòng text
+     */
+    public static String formatRow(PerfResult result) {
+        PerfSuite.Case c = result.getCase();
+        String verdict;
+        if (result.isThroughputRegression() && result.isAllocationRegression()) {
+            verdict = "CHAM HON + CAP PHAT NHIEU HON";
+        } else if (result.isThroughputRegression()) {
+            verdict = "CHAM HON";
+        } else if (result.isAllocationRegression()) {
+            verdict = "CAP PHAT NHIEU HON";
+        } else if (c.getBaselineTicksPerSecond() <= 0 && c.getBaselineKbPerTick() <= 0) {
+            verdict = "chua co baseline";
+        } else {
+            verdict = "ok";
+        }
+        return String.format(Locale.ROOT, "%-24s %10.1f %10.1f %8s %9.1f %9.1f %8s %10d  %s%n",
+                c.getName(), result.getTicksPerSecond(), c.getBaselineTicksPerSecond(),
+                formatChange(result.getThroughputChange()),
+                result.getKbPerTick(), c.getBaselineKbPerTick(),
+                formatChange(result.getAllocationChange()),
+                result.getFinalOrganisms(), verdict);
+    }
+
+    private static String formatChange(double change) {
+        return Double.isNaN(change) ? "-" : String.format(Locale.ROOT, "%+.1f%%", change * 100);
+    }
+
+    /**
+     * Số trường hợp bị hồi quy.
+     */
+    public long getRegressionCount() {
+        return results.stream().filter(PerfResult::isRegression).count();
+    }
+
+    /**
+     * Ghi file baseline mới từ kết quả đo (giữ nguyên tham số của bộ kiểm tra).
+     *
+     * @param file File baseline YAML
+     * @throws IOException nếu ghi file lỗi
+     */
+    public void writeBaseline(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# Baseline kiểm tra hồi quy hiệu năng (mvn -Pperf verify)");
+            out.println("# Cập nhật sau khi cố ý thay đổi hiệu năng: mvn -Pperf verify -Dperf.update=true");
+            out.println("perf:");
+            out.println("  # Số tick chạy trước khi đo (JIT)");
+            out.println("  warmup_ticks: " + suite.getWarmupTicks());
+            out.println("  # Số tick đo mỗi lần");
+            out.println("  ticks: " + suite.getTicks());
+            out.println("  # Số lần đo mỗi case (lấy median tick/s)");
+            out.println("  repeats: " + suite.getRepeats());
+            out.println("  tolerance:");
+            out.println("    # tick/s được phép thấp hơn baseline bao nhiêu (phụ thuộc máy nên để rộng)");
+            out.println(String.format(Locale.ROOT, "    ticks_per_second: %s", suite.getThroughputTolerance()));
+            out.println("    # KB cấp phát mỗi tick được phép cao hơn baseline bao nhiêu");
+            out.println(String.format(Locale.ROOT, "    allocated_kb_per_tick: %s", suite.getAllocationTolerance()));
+            out.println("  cases:");
+            for (PerfResult result : results) {
+                PerfSuite.Case c = result.getCase();
+                out.println("    - name: " + c.getName());
+                out.println("      scenario: " + c.getScenario());
+                out.println(String.format(Locale.ROOT, "      scale: %s", c.getScale()));
+                out.println("      seed: " + c.getSeed());
+                out.println("      baseline:");
+                out.println(String.format(Locale.ROOT, "        ticks_per_second: %.1f", result.getTicksPerSecond()));
+                out.println(String.format(Locale.ROOT, "        allocated_kb_per_tick: %.1f", result.getKbPerTick()));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecosystem.perf;
+
+/**
+ * Kết quả đo một trường hợp của PerfSuite và so sánh với baseline.
+ */
+public class PerfResult {
+
+    private final PerfSuite.Case perfCase;
+    private final double ticksPerSecond;
+    private final double kbPerTick;
+    private final int finalOrganisms;
+    private final boolean throughputRegression;
+    private final boolean allocationRegression;
+
+    /**
+     * Constructor tạo kết quả.
+     *
+     * @param perfCase             Trường hợp đo
+     * @param ticksPerSecond       Median tick/s của các lần đo
+     * @param kbPerTick            KB cấp phát trung bình mỗi tick
+     * @param finalOrganisms       Số sinh vật sau lần đo cuối
+     * @param throughputRegression tick/s thấp hơn baseline quá dung sai
+     * @param allocationRegression KB/tick cao hơn baseline quá dung sai
+     */
+    public PerfResult(PerfSuite.Case perfCase, double ticksPerSecond, double kbPerTick, int finalOrganisms,
+            boolean throughputRegression, boolean allocationRegression) {
+        this.perfCase = perfCase;
+        this.ticksPerSecond = ticksPerSecond;
+        this.kbPerTick = kbPerTick;
+        this.finalOrganisms = finalOrganisms;
+        this.throughputRegression = throughputRegression;
+        this.allocationRegression = allocationRegression;
+    }
+
+    public PerfSuite.Case getCase() {
+        return perfCase;
+    }
+
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public double getKbPerTick() {
+        return kbPerTick;
+    }
+
+    public int getFinalOrganisms() {
+        return finalOrganisms;
+    }
+
+    public boolean isThroughputRegression() {
+        return throughputRegression;
+    }
+
+    public boolean isAllocationRegression() {
+        return allocationRegression;
+    }
+
+    public boolean isRegression() {
+        return throughputRegression || allocationRegression;
+    }
+
+    /**
+     * Thay đổi tick/s so với baseline.
+     *
+     * @return Tỷ lệ (0.1 = nhanh hơn 10%), NaN nếu chưa có baseline
+     */
+    public double getThroughputChange() {
+        double baseline = perfCase.getBaselineTicksPerSecond();
+        return baseline > 0 ? ticksPerSecond / baseline - 1 : Double.NaN;
+    }
+
+    /**
+     * Thay đổi KB/tick so với baseline.
+     *
+     * @return Tỷ lệ (0.1 = cấp phát nhiều hơn 10%), NaN nếu chưa có baseline
+     */
+    public double getAllocationChange() {
+        double baseline = perfCase.getBaselineKbPerTick();
+        return baseline > 0 ? kbPerTick / baseline - 1 : Double.NaN;
+    }
+}
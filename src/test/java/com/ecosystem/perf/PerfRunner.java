@@ -0,0 +1,106 @@
+package com.ecosystem.perf;
+
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.utils.AllocationMeter;
+import com.ecosystem.utils.ConfigLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Chạy PerfSuite: mỗi trường hợp chạy headless trên thread hiện tại, đo
+ * tick/s (median của các lần đo) và KB cấp phát mỗi tick (AllocationMeter),
+ * rồi so với baseline theo dung sai của bộ kiểm tra.
+ *
+ * Mỗi trường hợp chạy thêm một lần đầu không tính (JIT biên dịch các đường
+ * code của scenario). Các lần đo dùng cùng seed nên trạng thái giống hệt nhau;
+ * cấp phát gần như không đổi giữa các máy, còn tick/s phụ thuộc phần cứng
+ * nên dung sai throughput cần rộng hơn.
+ */
+public class PerfRunner {
+
+    private final PerfSuite suite;
+
+    /**
+     * Constructor tạo PerfRunner.
+     *
+     * @param suite Bộ kiểm tra
+     */
+    public PerfRunner(PerfSuite suite) {
+        this.suite = suite;
+    }
+
+    /**
+     * Chạy mọi trường hợp theo thứ tự.
+     *
+     * @param onResult Nhận kết quả ngay khi từng trường hợp chạy xong
+     * @return Kết quả theo thứ tự của suite
+     */
+    public List<PerfResult> run(Consumer<PerfResult> onResult) {
+        List<PerfResult> results = new ArrayList<>();
+        for (PerfSuite.Case perfCase : suite.getCases()) {
+            PerfResult result = runCase(perfCase);
+            results.add(result);
+            onResult.accept(result);
+        }
+        return results;
+    }
+
+    /**
+     * Đo một trường hợp.
+     *
+     * @param perfCase Trường hợp đo
+     * @return Kết quả đã so với baseline
+     */
+    public PerfResult runCase(PerfSuite.Case perfCase) {
+        EcosystemConfig base = ConfigLoader.loadScenario(perfCase.getScenario(), perfCase.getScale());
+        EcosystemConfig config = EcosystemConfig.builder(base).seed(perfCase.getSeed()).build();
+
+        double[] ticksPerSecond = new double[suite.getRepeats()];
+        long allocated = 0;
+        int finalOrganisms = 0;
+        for (int r = -1; r < suite.getRepeats(); r++) {
+            Ecosystem ecosystem = new Ecosystem(config);
+            ecosystem.initialize();
+            for (int t = 0; t < suite.getWarmupTicks(); t++) {
+                ecosystem.update();
+            }
+
+            long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int t = 0; t < suite.getTicks(); t++) {
+                ecosystem.update();
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = AllocationMeter.currentThreadAllocatedBytes();
+            if (r < 0) {
+                continue;
+            }
+
+            allocated += allocatedAfter - allocatedBefore;
+            ticksPerSecond[r] = suite.getTicks() * 1e9 / elapsed;
+            finalOrganisms = ecosystem.getStatistics().getTotalOrganisms();
+        }
+
+        Arrays.sort(ticksPerSecond);
+        double medianTicksPerSecond = ticksPerSecond[ticksPerSecond.length / 2];
+        double kbPerTick = allocated / 1024.0 / ((long) suite.getTicks() * suite.getRepeats());
+
+        double baselineTps = perfCase.getBaselineTicksPerSecond();
+        double baselineKb = perfCase.getBaselineKbPerTick();
+        boolean throughputRegression = baselineTps > 0
+                && medianTicksPerSecond < baselineTps * (1 - suite.getThroughputTolerance());
+        boolean allocationRegression = baselineKb > 0 && AllocationMeter.isSupported()
+                && kbPerTick > baselineKb * (1 + suite.getAllocationTolerance());
+
+        return new PerfResult(perfCase, medianTicksPerSecond, kbPerTick, finalOrganisms,
+                throughputRegression, allocationRegression);
+    }
+
+    public PerfSuite getSuite() {
+        return suite;
+    }
+}
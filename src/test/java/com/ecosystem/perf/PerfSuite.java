@@ -0,0 +1,181 @@
+package com.ecosystem.perf;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bộ kiểm tra hồi quy hiệu năng: danh sách trường hợp chạy headless có seed
+ * cố định, kèm baseline (tick/s và KB cấp phát mỗi tick) và dung sai.
+ *
+ * Đọc từ src/perf/baseline.yaml qua load(Path).
+ */
+public class PerfSuite {
+
+    /**
+     * Một trường hợp đo và baseline của nó.
+     */
+    public static class Case {
+
+        private final String name;
+        private final String scenario;
+        private final double scale;
+        private final long seed;
+        private final double baselineTicksPerSecond;
+        private final double baselineKbPerTick;
+
+        /**
+         * Constructor tạo trường hợp đo.
+         *
+         * @param name                   Tên (duy nhất trong bộ)
+         * @param scenario               Tên scenario trong ecosystem.yaml
+         * @param scale                  Hệ số diện tích grid
+         * @param seed                   Seed của simulation
+         * @param baselineTicksPerSecond Baseline tick/s (0 = chưa có)
+         * @param baselineKbPerTick      Baseline KB cấp phát mỗi tick (0 = chưa có)
+         */
+        public Case(String name, String scenario, double scale, long seed,
+                double baselineTicksPerSecond, double baselineKbPerTick) {
+            this.name = name;
+            this.scenario = scenario;
+            this.scale = scale;
+            this.seed = seed;
+            this.baselineTicksPerSecond = baselineTicksPerSecond;
+            this.baselineKbPerTick = baselineKbPerTick;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public double getScale() {
+            return scale;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public double getBaselineTicksPerSecond() {
+            return baselineTicksPerSecond;
+        }
+
+        public double getBaselineKbPerTick() {
+            return baselineKbPerTick;
+        }
+    }
+
+    private final int warmupTicks;
+    private final int ticks;
+    private final int repeats;
+    private final double throughputTolerance;
+    private final double allocationTolerance;
+    private final List<Case> cases;
+
+    /**
+     * Constructor tạo bộ kiểm tra.
+     *
+     * @param warmupTicks         Số tick chạy trước khi đo (JIT)
+     * @param ticks               Số tick đo mỗi lần
+     * @param repeats             Số lần đo mỗi trường hợp (lấy median tick/s)
+     * @param throughputTolerance Tỷ lệ tick/s được phép giảm so với baseline
+     * @param allocationTolerance Tỷ lệ KB/tick được phép tăng so với baseline
+     * @param cases               Các trường hợp đo
+     */
+    public PerfSuite(int warmupTicks, int ticks, int repeats,
+            double throughputTolerance, double allocationTolerance, List<Case> cases) {
+        if (ticks <= 0 || repeats <= 0 || cases.isEmpty()) {
+            throw new IllegalArgumentException("Bộ kiểm tra hiệu năng cần ticks, repeats và ít nhất một case");
+        }
+        this.warmupTicks = Math.max(0, warmupTicks);
+        this.ticks = ticks;
+        this.repeats = repeats;
+        this.throughputTolerance = throughputTolerance;
+        this.allocationTolerance = allocationTolerance;
+        this.cases = List.copyOf(cases);
+    }
+
+    public int getWarmupTicks() {
+        return warmupTicks;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getRepeats() {
+        return repeats;
+    }
+
+    public double getThroughputTolerance() {
+        return throughputTolerance;
+    }
+
+    public double getAllocationTolerance() {
+        return allocationTolerance;
+    }
+
+    public List<Case> getCases() {
+        return cases;
+    }
+
+    /**
+     * Load bộ kiểm tra (kèm baseline) từ file YAML. Case chưa có khối
+     * baseline chỉ được đo, không so sánh.
+     *
+     * @param file File YAML (mặc định src/perf/baseline.yaml)
+     * @return PerfSuite
+     * @throws IOException nếu không đọc được file
+     * @throws IllegalArgumentException nếu thiếu khối "perf"
+     */
+    @SuppressWarnings("unchecked")
+    public static PerfSuite load(Path file) throws IOException {
+        Map<String, Object> data;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            data = new Yaml().load(inputStream);
+        }
+        Map<String, Object> perf = data != null ? (Map<String, Object>) data.get("perf") : null;
+        if (perf == null) {
+            throw new IllegalArgumentException("Thiếu khối 'perf' trong " + file);
+        }
+
+        Map<String, Object> tolerance = (Map<String, Object>) perf.getOrDefault("tolerance", Map.of());
+        List<Case> cases = new ArrayList<>();
+        for (Object item : (List<Object>) perf.getOrDefault("cases", List.of())) {
+            Map<String, Object> entry = (Map<String, Object>) item;
+            Map<String, Object> baseline = (Map<String, Object>) entry.getOrDefault("baseline", Map.of());
+            String scenario = String.valueOf(entry.getOrDefault("scenario", "balanced"));
+            double scale = number(entry, "scale", 1).doubleValue();
+            cases.add(new Case(
+                    String.valueOf(entry.getOrDefault("name", scenario + "-x" + scale)),
+                    scenario,
+                    scale,
+                    number(entry, "seed", 42).longValue(),
+                    number(baseline, "ticks_per_second", 0).doubleValue(),
+                    number(baseline, "allocated_kb_per_tick", 0).doubleValue()));
+        }
+
+        return new PerfSuite(
+                number(perf, "warmup_ticks", 50).intValue(),
+                number(perf, "ticks", 200).intValue(),
+                number(perf, "repeats", 3).intValue(),
+                number(tolerance, "ticks_per_second", 0.3).doubleValue(),
+                number(tolerance, "allocated_kb_per_tick", 0.1).doubleValue(),
+                cases);
+    }
+
+    private static Number number(Map<String, Object> map, String key, Number defaultValue) {
+        Object value = map.get(key);
+        return value instanceof Number n ? n : defaultValue;
+    }
+}
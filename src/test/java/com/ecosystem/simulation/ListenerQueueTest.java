@@ -0,0 +1,188 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.simulation.ListenerQueue.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test hành vi của ListenerQueue khi buffer đầy: thứ tự giao sự kiện, bỏ
+ * update cũ nhất (DROP_OLDEST) và gộp update (CONFLATE).
+ */
+class ListenerQueueTest {
+
+    /**
+     * Listener ghi lại sự kiện nhận được; update thế hệ 0 bị giữ tới khi
+     * release() để test lấp đầy buffer.
+     */
+    private static final class RecordingListener implements SimulationListener {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void onUpdate(EcosystemStats stats) {
+            if (stats.getGeneration() == 0) {
+                entered.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add("u" + stats.getGeneration());
+        }
+
+        @Override
+        public void onStateChanged(SimulationState newState) {
+            events.add(newState.name());
+        }
+
+        @Override
+        public void onSimulationEnded(String reason, EcosystemStats stats) {
+            events.add("end");
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+
+    private ListenerQueue queue;
+
+    @AfterEach
+    void closeQueue() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    private static EcosystemStats stats(int generation) {
+        return new EcosystemStats(generation, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Publish thế hệ 0 và chờ listener bắt đầu xử lý nó (buffer trống, listener bận).
+     */
+    private static void occupy(ListenerQueue queue, RecordingListener listener) throws InterruptedException {
+        queue.publishUpdate(stats(0));
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS), "Listener không nhận update đầu tiên");
+    }
+
+    private static void awaitDelivered(ListenerQueue queue, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.getDelivered() < count) {
+            assertTrue(System.nanoTime() < deadline, "Listener chỉ nhận " + queue.getDelivered() + "/" + count);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void blockDeliversEveryEventInOrder() throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        listener.release();
+        queue = new ListenerQueue(listener, OverflowPolicy.BLOCK, 4, false);
+
+        for (int g = 0; g < 100; g++) {
+            queue.publishUpdate(stats(g));
+        }
+        queue.publishEnded("done", stats(99));
+        awaitDelivered(queue, 101);
+
+        assertEquals(101, listener.events.size());
+        for (int g = 0; g < 100; g++) {
+            assertEquals("u" + g, listener.events.get(g));
+        }
+        assertEquals("end", listener.events.get(100));
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    void dropOldestKeepsNewestUpdates() throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        queue = new ListenerQueue(listener, OverflowPolicy.DROP_OLDEST, 2, false);
+        occupy(queue, listener);
+
+        for (int g = 1; g <= 4; g++) {
+            queue.publishUpdate(stats(g));
+        }
+        assertEquals(2, queue.getPending());
+        assertEquals(2, queue.getDropped());
+
+        listener.release();
+        awaitDelivered(queue, 3);
+        assertEquals(List.of("u0", "u3", "u4"), listener.events);
+    }
+
+    @Test
+    void dropOldestPrefersUpdatesOverStateEvents() throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        queue = new ListenerQueue(listener, OverflowPolicy.DROP_OLDEST, 2, false);
+        occupy(queue, listener);
+
+        queue.publishStateChanged(SimulationState.PAUSED);
+        queue.publishUpdate(stats(1));
+        queue.publishUpdate(stats(2));
+        assertEquals(1, queue.getDropped());
+
+        listener.release();
+        awaitDelivered(queue, 3);
+        assertEquals(List.of("u0", "PAUSED", "u2"), listener.events);
+    }
+
+    @Test
+    void conflateMergesConsecutiveUpdates() throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        queue = new ListenerQueue(listener, OverflowPolicy.CONFLATE, 4, false);
+        occupy(queue, listener);
+
+        queue.publishUpdate(stats(1));
+        queue.publishUpdate(stats(2));
+        queue.publishStateChanged(SimulationState.PAUSED);
+        queue.publishUpdate(stats(3));
+        queue.publishUpdate(stats(4));
+        queue.publishUpdate(stats(5));
+        assertEquals(3, queue.getPending());
+        assertEquals(3, queue.getConflated());
+        assertEquals(0, queue.getDropped());
+
+        listener.release();
+        awaitDelivered(queue, 4);
+        assertEquals(List.of("u0", "u2", "PAUSED", "u5"), listener.events);
+    }
+
+    @Test
+    void configureShrinksByDroppingOldest() throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        queue = new ListenerQueue(listener, OverflowPolicy.BLOCK, 8, false);
+        occupy(queue, listener);
+
+        for (int g = 1; g <= 5; g++) {
+            queue.publishUpdate(stats(g));
+        }
+        queue.configure(OverflowPolicy.DROP_OLDEST, 2);
+        assertEquals(2, queue.getCapacity());
+        assertEquals(3, queue.getDropped());
+
+        listener.release();
+        awaitDelivered(queue, 3);
+        assertEquals(List.of("u0", "u4", "u5"), listener.events);
+    }
+
+    @Test
+    void policyNamesFromYaml() {
+        assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.fromName("drop-oldest"));
+        assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.fromName(" drop_oldest "));
+        assertEquals(OverflowPolicy.CONFLATE, OverflowPolicy.fromName("Conflate"));
+        assertThrows(IllegalArgumentException.class, () -> OverflowPolicy.fromName("latest"));
+    }
+}
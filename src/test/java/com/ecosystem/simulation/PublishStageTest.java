@@ -0,0 +1,192 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test PublishStage: thứ tự thế hệ, chờ khi ring đầy, drain, close, Error
+ * trong completeTick và chế độ tắt pipeline.
+ */
+class PublishStageTest {
+
+    /**
+     * Engine chỉ ghi lại các tick stage giao cho nó; có thể giữ tick tới khi release().
+     */
+    private static final class RecordingEngine extends SimulationEngine {
+        final List<Integer> generations = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        volatile boolean hold;
+        volatile int failAt = -1;
+
+        @Override
+        void completeTick(PublishStage.Tick tick) {
+            if (tick.stats.getGeneration() == failAt) {
+                throw new OutOfMemoryError("giả lập Error trong completeTick");
+            }
+            if (hold) {
+                entered.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            threads.add(Thread.currentThread());
+            generations.add(tick.stats.getGeneration());
+        }
+
+        void release() {
+            hold = false;
+            released.countDown();
+        }
+    }
+
+    private static void submit(PublishStage stage, int generation) {
+        PublishStage.Tick tick = stage.claim();
+        tick.stats = new EcosystemStats(generation, 0, 0, 0, 0, 0, 0, 0);
+        tick.recordTick = true;
+        stage.submit(tick);
+    }
+
+    @Test
+    void completesTicksInOrderOnStageThread() {
+        RecordingEngine engine = new RecordingEngine();
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+        stage.configure(true, 3);
+
+        for (int g = 1; g <= 500; g++) {
+            submit(stage, g);
+        }
+        stage.drain();
+
+        assertEquals(0, stage.getPending());
+        assertEquals(500, engine.generations.size());
+        for (int g = 1; g <= 500; g++) {
+            assertEquals(g, engine.generations.get(g - 1));
+        }
+        Thread stageThread = engine.threads.get(0);
+        assertNotSame(Thread.currentThread(), stageThread);
+        assertTrue(engine.threads.stream().allMatch(t -> t == stageThread));
+    }
+
+    @Test
+    void claimWaitsWhenRingIsFull() throws InterruptedException {
+        RecordingEngine engine = new RecordingEngine();
+        engine.hold = true;
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+        stage.configure(true, 2);
+
+        submit(stage, 1);
+        assertTrue(engine.entered.await(5, TimeUnit.SECONDS));
+        // Tick 1 đang xử lý vẫn chiếm ô: ring 2 ô chỉ nhận thêm tick 2
+        submit(stage, 2);
+        assertEquals(2, stage.getPending());
+
+        AtomicBoolean claimed = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            submit(stage, 3);
+            claimed.set(true);
+        });
+        producer.start();
+        producer.join(200);
+        assertFalse(claimed.get(), "claim() phải chờ khi ring đầy");
+
+        engine.release();
+        producer.join(5000);
+        assertTrue(claimed.get());
+        stage.drain();
+
+        assertEquals(List.of(1, 2, 3), engine.generations);
+        assertTrue(engine.getMetrics().getPipelineStallNanos() > 0);
+    }
+
+    @Test
+    void drainWaitsForTickInProgress() throws InterruptedException {
+        RecordingEngine engine = new RecordingEngine();
+        engine.hold = true;
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+
+        submit(stage, 1);
+        assertTrue(engine.entered.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean drained = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            stage.drain();
+            drained.set(true);
+        });
+        waiter.start();
+        waiter.join(200);
+        assertFalse(drained.get(), "drain() phải chờ tick đang xử lý");
+
+        engine.release();
+        waiter.join(5000);
+        assertTrue(drained.get());
+        assertEquals(List.of(1), engine.generations);
+    }
+
+    @Test
+    void disabledPipelineRunsInlineOnCaller() {
+        RecordingEngine engine = new RecordingEngine();
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+        stage.configure(false, 4);
+
+        assertFalse(stage.isEnabled());
+        for (int g = 1; g <= 3; g++) {
+            submit(stage, g);
+            // Chạy xong ngay trong submit()
+            assertEquals(g, engine.generations.size());
+        }
+        assertTrue(engine.threads.stream().allMatch(t -> t == Thread.currentThread()));
+        assertSame(stage.claim(), stage.claim());
+    }
+
+    @Test
+    void closeStopsStageThreadAndNextTickStartsNewOne() throws InterruptedException {
+        RecordingEngine engine = new RecordingEngine();
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+
+        submit(stage, 1);
+        submit(stage, 2);
+        stage.close();
+        assertEquals(List.of(1, 2), engine.generations);
+        Thread first = engine.threads.get(0);
+        first.join(5000);
+        assertFalse(first.isAlive(), "thread stage phải dừng sau close()");
+
+        submit(stage, 3);
+        stage.close();
+        assertEquals(List.of(1, 2, 3), engine.generations);
+        assertNotSame(first, engine.threads.get(2));
+    }
+
+    @Test
+    void errorInCompleteTickDoesNotBlockDrain() {
+        RecordingEngine engine = new RecordingEngine();
+        engine.failAt = 2;
+        PublishStage stage = new PublishStage(engine, engine.getMetrics());
+        stage.configure(true, 2);
+
+        for (int g = 1; g <= 5; g++) {
+            submit(stage, g);
+        }
+        stage.drain();
+
+        assertEquals(0, stage.getPending());
+        assertEquals(List.of(1, 3, 4, 5), engine.generations);
+        stage.close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.Cell;
+import com.ecosystem.model.Ecosystem;
+import com.ecosystem.model.EcosystemConfig;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Test RenderSnapshot: màu từng ô được chốt lúc chụp, simulation tick tiếp
+ * không làm đổi frame UI đang vẽ.
+ */
+class RenderSnapshotTest {
+
+    private static int[] liveColors(Ecosystem ecosystem) {
+        int[] colors = new int[ecosystem.getWidth() * ecosystem.getHeight()];
+        for (int x = 0; x < ecosystem.getWidth(); x++) {
+            for (int y = 0; y < ecosystem.getHeight(); y++) {
+                Cell cell = ecosystem.getCell(x, y);
+                if (!cell.isEmpty()) {
+                    colors[x * ecosystem.getHeight() + y] = RenderSnapshot.toArgb(cell.getOccupant().getColor());
+                }
+            }
+        }
+        return colors;
+    }
+
+    private static int[] snapshotColors(RenderSnapshot snapshot) {
+        int[] colors = new int[snapshot.getWidth() * snapshot.getHeight()];
+        for (int x = 0; x < snapshot.getWidth(); x++) {
+            for (int y = 0; y < snapshot.getHeight(); y++) {
+                Color color = snapshot.getColor(x, y);
+                if (color != null) {
+                    colors[x * snapshot.getHeight() + y] = RenderSnapshot.toArgb(color);
+                }
+            }
+        }
+        return colors;
+    }
+
+    @Test
+    void snapshotKeepsColorsOfCapturedGeneration() {
+        Ecosystem ecosystem = new Ecosystem(EcosystemConfig.builder()
+                .gridSize(40, 30)
+                .initialPopulation(200, 50, 10)
+                .seed(7)
+                .build());
+        ecosystem.initialize();
+        ecosystem.update();
+
+        RenderSnapshot snapshot = RenderSnapshot.capture(ecosystem, ecosystem.getStatistics(), List.of(), false);
+        int[] captured = liveColors(ecosystem);
+        assertArrayEquals(captured, snapshotColors(snapshot));
+
+        for (int i = 0; i < 10; i++) {
+            ecosystem.update();
+        }
+        // Grid sống đã đổi (di chuyển, năng lượng) nhưng ảnh chụp vẫn như cũ
+        assertFalse(Arrays.equals(captured, liveColors(ecosystem)));
+        assertArrayEquals(captured, snapshotColors(snapshot));
+    }
+}
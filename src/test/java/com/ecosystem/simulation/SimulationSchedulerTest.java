@@ -0,0 +1,134 @@
+package com.ecosystem.simulation;
+
+import com.ecosystem.model.EcosystemConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test SimulationScheduler: chia worker theo priority, engine có tốc độ mục
+ * tiêu không bị engine chạy không giới hạn chiếm chỗ, và gỡ engine khi stop().
+ */
+class SimulationSchedulerTest {
+
+    private static final long SLICE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /**
+     * Engine mà mỗi lát thời gian chỉ quay bận SLICE_NANOS rồi đếm tick, nên
+     * mọi engine có cùng chi phí tick và kết quả không phụ thuộc quần thể.
+     */
+    private static final class SpinEngine extends SimulationEngine {
+        final AtomicLong ticks = new AtomicLong();
+
+        SpinEngine(SimulationScheduler scheduler, int priority, double ticksPerSecond) {
+            super(scheduler);
+            initialize(new EcosystemConfig());
+            setTargetTicksPerSecond(ticksPerSecond);
+            setPriority(priority);
+        }
+
+        @Override
+        boolean runScheduledTick() {
+            if (getState() != SimulationState.RUNNING) {
+                return false;
+            }
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < SLICE_NANOS) {
+                Thread.onSpinWait();
+            }
+            ticks.incrementAndGet();
+            return true;
+        }
+    }
+
+    private SimulationScheduler scheduler;
+
+    @AfterEach
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void sharesWorkerInProportionToPriority() throws InterruptedException {
+        scheduler = new SimulationScheduler(1);
+        SpinEngine high = new SpinEngine(scheduler, 8, SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+        SpinEngine low = new SpinEngine(scheduler, 2, SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+
+        high.start();
+        low.start();
+        TimeUnit.MILLISECONDS.sleep(600);
+        high.stop();
+        low.stop();
+
+        double ratio = (double) high.ticks.get() / Math.max(1, low.ticks.get());
+        assertTrue(low.ticks.get() > 0, "engine priority thấp vẫn phải được chạy");
+        assertTrue(ratio > 2.5 && ratio < 6, "tỷ lệ tick 8:2 phải gần 4, thực tế " + ratio);
+    }
+
+    @Test
+    void equalPrioritiesGetEqualShare() throws InterruptedException {
+        scheduler = new SimulationScheduler(1);
+        SpinEngine a = new SpinEngine(scheduler, 5, SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+        SpinEngine b = new SpinEngine(scheduler, 5, SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+
+        a.start();
+        b.start();
+        TimeUnit.MILLISECONDS.sleep(400);
+        a.stop();
+        b.stop();
+
+        double ratio = (double) a.ticks.get() / Math.max(1, b.ticks.get());
+        assertTrue(ratio > 0.7 && ratio < 1.4, "cùng priority phải chia đều, thực tế " + ratio);
+    }
+
+    @Test
+    void pacedEngineKeepsItsRateBesideUnlimitedEngine() throws InterruptedException {
+        scheduler = new SimulationScheduler(1);
+        SpinEngine paced = new SpinEngine(scheduler, SimulationScheduler.DEFAULT_PRIORITY, 50);
+        SpinEngine greedy = new SpinEngine(scheduler, SimulationScheduler.DEFAULT_PRIORITY,
+                SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+
+        greedy.start();
+        paced.start();
+        TimeUnit.SECONDS.sleep(1);
+        paced.stop();
+        greedy.stop();
+
+        // Engine có tốc độ mục tiêu dùng ít CPU nên luôn có vruntime nhỏ hơn khi đến hạn
+        assertTrue(paced.ticks.get() >= 40 && paced.ticks.get() <= 55,
+                "engine 50 tick/s chạy " + paced.ticks.get() + " tick");
+        assertTrue(greedy.ticks.get() > paced.ticks.get());
+        assertTrue(paced.getSchedulingMetrics().getAverageQueueDelayMs() < 20,
+                "độ trễ hàng đợi " + paced.getSchedulingMetrics().getAverageQueueDelayMs() + " ms");
+    }
+
+    @Test
+    void stopRemovesEngineFromScheduler() throws InterruptedException {
+        scheduler = new SimulationScheduler(2);
+        SpinEngine engine = new SpinEngine(scheduler, SimulationScheduler.DEFAULT_PRIORITY,
+                SimulationEngine.UNLIMITED_TICKS_PER_SECOND);
+
+        engine.start();
+        assertEquals(1, scheduler.getScheduledCount());
+        TimeUnit.MILLISECONDS.sleep(50);
+        engine.stop();
+
+        // Tick đang chạy (nếu có) chạy xong rồi engine rời hàng đợi
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (scheduler.getScheduledCount() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertEquals(0, scheduler.getScheduledCount());
+        long ticks = engine.ticks.get();
+        TimeUnit.MILLISECONDS.sleep(20);
+        assertEquals(ticks, engine.ticks.get());
+        assertTrue(engine.getSchedulingMetrics().getTicks() > 0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecosystem.utils;
+
+import com.ecosystem.model.EcosystemConfig;
+import com.ecosystem.model.EcosystemStats;
+import com.ecosystem.utils.SteadyStateDetector.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test SteadyStateDetector trên chuỗi quần thể tổng hợp: cân bằng, chu kỳ
+ * giới hạn và nhiễu (không dừng); engine mặc định không dừng sớm, batch luôn dừng.
+ */
+class SteadyStateDetectorTest {
+
+    private static final int WINDOW = 250;
+    private static final int CHECK_INTERVAL = 50;
+
+    private static SteadyStateDetector newDetector() {
+        return new SteadyStateDetector(WINDOW, CHECK_INTERVAL, 0.01, 0.9);
+    }
+
+    private static EcosystemStats stats(int generation, double producers, double herbivores, double carnivores) {
+        return new EcosystemStats(generation, (int) Math.round(producers), (int) Math.round(herbivores),
+                (int) Math.round(carnivores), 0, 0, 0, 0);
+    }
+
+    @Test
+    void constantPopulationIsEquilibriumOnceWindowIsFull() {
+        SteadyStateDetector detector = newDetector();
+        for (int g = 1; g < WINDOW; g++) {
+            assertEquals(Outcome.NONE, detector.add(stats(g, 500, 80, 12)), "Thế hệ " + g);
+        }
+        // Kiểm tra lần đầu ngay khi cửa sổ đầy
+        assertEquals(Outcome.EQUILIBRIUM, detector.add(stats(WINDOW, 500, 80, 12)));
+        // Giữ nguyên kết quả sau khi đã xác định
+        assertEquals(Outcome.EQUILIBRIUM, detector.add(stats(WINDOW + 1, 900, 5, 1)));
+    }
+
+    @Test
+    void periodicPopulationIsCycleWithItsPeriod() {
+        SteadyStateDetector detector = newDetector();
+        int period = 60;
+        Outcome outcome = Outcome.NONE;
+        for (int g = 1; g <= 4 * WINDOW && outcome == Outcome.NONE; g++) {
+            double phase = 2 * Math.PI * g / period;
+            outcome = detector.add(stats(g, 500 + 100 * Math.sin(phase),
+                    80 + 30 * Math.sin(phase - 1), 12 + 6 * Math.sin(phase - 2)));
+        }
+        assertEquals(Outcome.CYCLE, outcome);
+        assertTrue(Math.abs(detector.getPeriod() - period) <= period * 0.1, "Chu kỳ " + detector.getPeriod());
+    }
+
+    @Test
+    void noisyPopulationNeverStops() {
+        SteadyStateDetector detector = newDetector();
+        Random random = new Random(7);
+        for (int g = 1; g <= 4 * WINDOW; g++) {
+            assertEquals(Outcome.NONE, detector.add(stats(g, 500 + 100 * random.nextGaussian(),
+                    80 + 30 * random.nextGaussian(), 12 + 6 * random.nextGaussian())));
+        }
+    }
+
+    @Test
+    void resetStartsANewWindow() {
+        SteadyStateDetector detector = newDetector();
+        for (int g = 1; g <= WINDOW; g++) {
+            detector.add(stats(g, 500, 80, 12));
+        }
+        assertEquals(Outcome.EQUILIBRIUM, detector.getOutcome());
+
+        detector.reset();
+        assertEquals(Outcome.NONE, detector.getOutcome());
+        assertEquals(Outcome.NONE, detector.add(stats(1, 500, 80, 12)));
+    }
+
+    @Test
+    void engineEarlyStopIsOffByDefaultButBatchAlwaysDetects() {
+        EcosystemConfig defaults = EcosystemConfig.builder().build();
+        assertNull(SteadyStateDetector.forConfig(defaults));
+        assertNull(SteadyStateDetector.forConfig(ConfigLoader.loadScenario("balanced")));
+
+        EcosystemConfig config = EcosystemConfig.builder().earlyStop(false, 120, 10, 0.01, 0.9).build();
+        assertEquals(120, SteadyStateDetector.forBatch(config).getWindow());
+    }
+}